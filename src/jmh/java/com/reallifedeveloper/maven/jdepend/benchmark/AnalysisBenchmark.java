@@ -0,0 +1,90 @@
+package com.reallifedeveloper.maven.jdepend.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.reallifedeveloper.maven.jdepend.analysis.JDependAnalyzer;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+
+/**
+ * Measures the JDepend analysis of a directory of class files, without a cache.
+ *
+ * @author RealLifeDeveloper
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AnalysisBenchmark {
+
+    /**
+     * The size of the synthetic codebase, as {@code classes:packages}.
+     */
+    @Param({ "100:10", "2000:100", "20000:1000", "20000:5000" })
+    public String size;
+
+    /**
+     * Whether the packages of the synthetic codebase have many cyclic dependencies.
+     */
+    @Param({ "false", "true" })
+    public boolean denseCycles;
+
+    /**
+     * The number of threads used by the analyzer, 0 meaning one per available processor.
+     */
+    @Param({ "1", "0" })
+    public int threads;
+
+    private Path classesDirectory;
+
+    /**
+     * Writes the class files to analyze.
+     *
+     * @throws IOException if writing fails
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        classesDirectory = Files.createTempDirectory("jdepend-benchmark-classes");
+        SyntheticCodebase.of(size, denseCycles).writeClassFiles(classesDirectory);
+    }
+
+    /**
+     * Deletes the class files.
+     *
+     * @throws IOException if deleting fails
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        SyntheticCodebase.delete(classesDirectory);
+    }
+
+    /**
+     * Analyzes the class files.
+     *
+     * @return the result of the analysis
+     *
+     * @throws IOException if reading the class files fails
+     */
+    @Benchmark
+    public XmlReport analyze() throws IOException {
+        return new JDependAnalyzer().threads(threads).analyze(classesDirectory.toFile());
+    }
+}
@@ -0,0 +1,125 @@
+package com.reallifedeveloper.maven.jdepend.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.reallifedeveloper.maven.jdepend.xml.StaxXmlReportParser;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReportParser;
+
+/**
+ * Compares the JAXB-based {@link XmlReportParser} with the {@link StaxXmlReportParser}.
+ *
+ * @author RealLifeDeveloper
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParserBenchmark {
+
+    /**
+     * The size of the synthetic codebase, as {@code classes:packages}.
+     */
+    @Param({ "100:10", "2000:100", "20000:1000", "20000:5000" })
+    public String size;
+
+    /**
+     * Whether the packages of the synthetic codebase have many cyclic dependencies.
+     */
+    @Param({ "false", "true" })
+    public boolean denseCycles;
+
+    private Path xmlFile;
+    private XmlReportParser jaxbParser;
+    private StaxXmlReportParser staxParser;
+
+    /**
+     * Writes the XML report to parse and creates the parsers.
+     *
+     * @throws Exception if generating the report or creating the parsers fails
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        xmlFile = Files.createTempFile("jdepend-benchmark", ".xml");
+        SyntheticCodebase.of(size, denseCycles).writeXmlReport(xmlFile);
+        jaxbParser = new XmlReportParser();
+        staxParser = new StaxXmlReportParser();
+    }
+
+    /**
+     * Deletes the XML report.
+     *
+     * @throws IOException if deleting fails
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.delete(xmlFile);
+    }
+
+    /**
+     * Parses the report with a new JAXB-based parser, which reuses the shared {@code JAXBContext} but creates a new unmarshaller.
+     *
+     * @return the parsed report
+     *
+     * @throws Exception if parsing fails
+     */
+    @Benchmark
+    public XmlReport jaxbWithNewParser() throws Exception {
+        return new XmlReportParser().parse(xmlFile.toFile());
+    }
+
+    /**
+     * Parses the report with an existing JAXB-based parser.
+     *
+     * @return the parsed report
+     *
+     * @throws IOException if parsing fails
+     */
+    @Benchmark
+    public XmlReport jaxbWithExistingParser() throws IOException {
+        return jaxbParser.parse(xmlFile.toFile());
+    }
+
+    /**
+     * Parses the report with a new StAX-based parser.
+     *
+     * @return the parsed report
+     *
+     * @throws IOException if parsing fails
+     */
+    @Benchmark
+    public XmlReport staxWithNewParser() throws IOException {
+        return new StaxXmlReportParser().parse(xmlFile.toFile());
+    }
+
+    /**
+     * Parses the report with an existing StAX-based parser.
+     *
+     * @return the parsed report
+     *
+     * @throws IOException if parsing fails
+     */
+    @Benchmark
+    public XmlReport staxWithExistingParser() throws IOException {
+        return staxParser.parse(xmlFile.toFile());
+    }
+}
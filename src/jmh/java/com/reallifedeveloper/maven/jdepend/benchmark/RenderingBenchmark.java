@@ -0,0 +1,87 @@
+package com.reallifedeveloper.maven.jdepend.benchmark;
+
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.reallifedeveloper.maven.jdepend.JDependReport;
+import com.reallifedeveloper.maven.jdepend.JDependReportRenderer;
+import com.reallifedeveloper.maven.jdepend.SinkFactory;
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+
+/**
+ * Measures the rendering of a report into a Doxia sink that discards its output.
+ *
+ * @author RealLifeDeveloper
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RenderingBenchmark {
+
+    private static final String RESOURCE_BUNDLE_BASE_NAME = "com.reallifedeveloper.maven.jdepend.jdepend-report";
+    private static final SinkFactory SINK_FACTORY = new SinkFactory();
+
+    /**
+     * The size of the synthetic codebase, as {@code classes:packages}.
+     */
+    @Param({ "100:10", "2000:100", "20000:1000", "20000:5000" })
+    public String size;
+
+    /**
+     * Whether the packages of the synthetic codebase have many cyclic dependencies.
+     */
+    @Param({ "false", "true" })
+    public boolean denseCycles;
+
+    private XmlReport xmlReport;
+    private PackageGraph packageGraph;
+    private ResourceBundle bundle;
+
+    /**
+     * Creates the report to render.
+     *
+     * @throws Exception if generating the report fails
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path xmlFile = Files.createTempFile("jdepend-benchmark", ".xml");
+        try {
+            xmlReport = SyntheticCodebase.of(size, denseCycles).writeXmlReport(xmlFile);
+        } finally {
+            Files.delete(xmlFile);
+        }
+        packageGraph = PackageGraph.of(xmlReport);
+        bundle = ResourceBundle.getBundle(RESOURCE_BUNDLE_BASE_NAME, Locale.ENGLISH, JDependReport.class.getClassLoader());
+    }
+
+    /**
+     * Renders the report.
+     */
+    @Benchmark
+    public void render() {
+        Sink sink = SINK_FACTORY.createSink(Writer.nullWriter());
+        new JDependReportRenderer(xmlReport, packageGraph, bundle, sink).render();
+    }
+}
@@ -0,0 +1,196 @@
+package com.reallifedeveloper.maven.jdepend.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import com.reallifedeveloper.maven.jdepend.analysis.JDependAnalyzer;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReportWriter;
+
+/**
+ * A generator for synthetic class trees, and the JDepend reports for them, used as input to the benchmarks.
+ * <p>
+ * The class files are written directly, without a compiler, and contain only what JDepend looks at: the constant pool with the
+ * referenced classes, the access flags and the {@code SourceFile} attribute. Class {@code i} belongs to package {@code i % packages}, and
+ * every class references the first class of a few other packages. Without dense cycles, classes only reference packages with a higher
+ * number, so there are no cycles at all; with dense cycles, classes also reference packages with a lower number, so that most packages
+ * are part of one big tangle.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class SyntheticCodebase {
+
+    private static final int MAGIC = 0xCAFE_BABE;
+    private static final int MAJOR_VERSION = 52;
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int ACC_PUBLIC_SUPER = 0x0021;
+    private static final int ACC_ABSTRACT = 0x0400;
+    private static final int ABSTRACT_CLASS_INTERVAL = 4;
+    private static final int[] FORWARD_REFERENCES = { 1, 3, 7 };
+    private static final int[] BACKWARD_REFERENCES = { 1, 2 };
+    private static final String[] LIBRARY_CLASSES = { "java/lang/Object", "java/util/List", "java/io/Serializable" };
+
+    private final int classes;
+    private final int packages;
+    private final boolean denseCycles;
+
+    /**
+     * Creates a new {@code SyntheticCodebase}.
+     *
+     * @param classes     the number of classes
+     * @param packages    the number of packages, at most {@code classes}
+     * @param denseCycles whether the packages should have many cyclic dependencies
+     */
+    public SyntheticCodebase(int classes, int packages, boolean denseCycles) {
+        if (packages < 1 || packages > classes) {
+            throw new IllegalArgumentException("Number of packages must be between 1 and the number of classes: classes=" + classes
+                    + ", packages=" + packages);
+        }
+        this.classes = classes;
+        this.packages = packages;
+        this.denseCycles = denseCycles;
+    }
+
+    /**
+     * Creates a {@code SyntheticCodebase} from a size in the format used by the benchmark parameters.
+     *
+     * @param size        the size as {@code classes:packages}, e.g., {@code 2000:100}
+     * @param denseCycles whether the packages should have many cyclic dependencies
+     *
+     * @return the {@code SyntheticCodebase}
+     */
+    public static SyntheticCodebase of(String size, boolean denseCycles) {
+        String[] parts = size.split(":", -1);
+        return new SyntheticCodebase(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), denseCycles);
+    }
+
+    /**
+     * Writes the class files of this codebase to a directory.
+     *
+     * @param directory the directory to write the class files to
+     *
+     * @throws IOException if writing fails
+     */
+    public void writeClassFiles(Path directory) throws IOException {
+        for (int i = 0; i < classes; i++) {
+            int p = i % packages;
+            Path classFile = directory.resolve(className(i) + ".class");
+            Files.createDirectories(classFile.getParent());
+            Files.write(classFile, createClassFile(i, p));
+        }
+    }
+
+    /**
+     * Writes the class files of this codebase to a temporary directory, analyzes them and writes the resulting JDepend XML report.
+     *
+     * @param xmlFile the file to write the XML report to
+     *
+     * @return the {@link XmlReport} that was written
+     *
+     * @throws Exception if generating or writing the report fails
+     */
+    public XmlReport writeXmlReport(Path xmlFile) throws Exception {
+        Path classesDirectory = Files.createTempDirectory("jdepend-benchmark-classes");
+        try {
+            writeClassFiles(classesDirectory);
+            XmlReport xmlReport = new JDependAnalyzer().analyze(classesDirectory.toFile());
+            new XmlReportWriter().write(xmlReport, xmlFile.toFile());
+            return xmlReport;
+        } finally {
+            delete(classesDirectory);
+        }
+    }
+
+    /**
+     * Deletes a directory and everything in it.
+     *
+     * @param directory the directory to delete
+     *
+     * @throws IOException if deleting fails
+     */
+    public static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    private byte[] createClassFile(int i, int p) throws IOException {
+        Set<String> referencedClasses = new LinkedHashSet<>();
+        for (int offset : FORWARD_REFERENCES) {
+            if (p + offset < packages) {
+                referencedClasses.add(className(p + offset));
+            } else if (denseCycles) {
+                referencedClasses.add(className((p + offset) % packages));
+            }
+        }
+        if (denseCycles) {
+            for (int offset : BACKWARD_REFERENCES) {
+                referencedClasses.add(className(Math.floorMod(p - offset, packages)));
+            }
+        }
+        referencedClasses.remove(className(i));
+        boolean isAbstract = i % ABSTRACT_CLASS_INTERVAL == ABSTRACT_CLASS_INTERVAL - 1;
+        return createClassFile(className(i), simpleName(i) + ".java", isAbstract, new ArrayList<>(referencedClasses));
+    }
+
+    private static byte[] createClassFile(String className, String sourceFile, boolean isAbstract, List<String> referencedClasses)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(0);
+        out.writeShort(MAJOR_VERSION);
+        List<String> classNames = new ArrayList<>();
+        classNames.add(className);
+        for (String libraryClass : LIBRARY_CLASSES) {
+            classNames.add(libraryClass);
+        }
+        classNames.addAll(referencedClasses);
+        // Constant pool: a Utf8 entry and a Class entry for each class, followed by the entries for the SourceFile attribute.
+        out.writeShort(2 * classNames.size() + 3);
+        for (int i = 0; i < classNames.size(); i++) {
+            out.writeByte(CONSTANT_UTF8);
+            out.writeUTF(classNames.get(i));
+            out.writeByte(CONSTANT_CLASS);
+            out.writeShort(2 * i + 1);
+        }
+        int sourceFileAttributeIndex = 2 * classNames.size() + 1;
+        out.writeByte(CONSTANT_UTF8);
+        out.writeUTF("SourceFile");
+        out.writeByte(CONSTANT_UTF8);
+        out.writeUTF(sourceFile);
+        out.writeShort(isAbstract ? ACC_PUBLIC_SUPER | ACC_ABSTRACT : ACC_PUBLIC_SUPER);
+        out.writeShort(2);
+        out.writeShort(4);
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeShort(0);
+        out.writeShort(1);
+        out.writeShort(sourceFileAttributeIndex);
+        out.writeInt(2);
+        out.writeShort(sourceFileAttributeIndex + 1);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private String className(int i) {
+        return String.format(Locale.ROOT, "bench/p%05d/%s", i % packages, simpleName(i));
+    }
+
+    private static String simpleName(int i) {
+        return String.format(Locale.ROOT, "C%06d", i);
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * JMH benchmarks for the stages of report generation: analysis, XML parsing and rendering. Run them using the {@code benchmark} profile.
+ *
+ * @author RealLifeDeveloper
+ */
+package com.reallifedeveloper.maven.jdepend.benchmark;
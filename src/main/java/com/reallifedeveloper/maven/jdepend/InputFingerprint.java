@@ -0,0 +1,133 @@
+package com.reallifedeveloper.maven.jdepend;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+import com.reallifedeveloper.maven.jdepend.analysis.JDependAnalyzer;
+
+/**
+ * A fingerprint of everything that affects the JDepend report: the content of the class files, the plugin configuration and the locale.
+ * If the fingerprint is the same as for the previous run, the report does not have to be generated again.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class InputFingerprint {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+    private static final byte SEPARATOR = 0;
+
+    private final String value;
+
+    private InputFingerprint(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Calculates the fingerprint for the given inputs.
+     *
+     * @param classesDirectory the directory containing the class files to analyze
+     * @param configuration    a description of the plugin configuration that affects the report
+     * @param locale           the locale used for the report
+     *
+     * @return the fingerprint of the inputs
+     *
+     * @throws IOException if reading the class files fails
+     */
+    public static InputFingerprint of(File classesDirectory, String configuration, Locale locale) throws IOException {
+        return of(List.of(classesDirectory), configuration, locale);
+    }
+
+    /**
+     * Calculates the fingerprint for the given inputs, with the class files in several directories, e.g., the main and test classes.
+     * A class file that moves from one directory to another changes the fingerprint.
+     *
+     * @param classesDirectories the directories containing the class files to analyze
+     * @param configuration      a description of the plugin configuration that affects the report
+     * @param locale             the locale used for the report
+     *
+     * @return the fingerprint of the inputs
+     *
+     * @throws IOException if reading the class files fails
+     */
+    public static InputFingerprint of(List<File> classesDirectories, String configuration, Locale locale) throws IOException {
+        MessageDigest digest = createDigest();
+        update(digest, configuration);
+        update(digest, locale.toString());
+        for (int i = 0; i < classesDirectories.size(); i++) {
+            update(digest, Integer.toString(i));
+            Path root = classesDirectories.get(i).toPath();
+            for (Path classFile : JDependAnalyzer.findClassFiles(root)) {
+                update(digest, root.relativize(classFile).toString().replace(File.separatorChar, '/'));
+                digest.update(Files.readAllBytes(classFile));
+                digest.update(SEPARATOR);
+            }
+        }
+        return new InputFingerprint(HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Checks if this fingerprint is the same as the one stored in a file.
+     *
+     * @param file the file containing a previously stored fingerprint
+     *
+     * @return {@code true} if {@code file} exists and contains this fingerprint, {@code false} otherwise
+     */
+    public boolean matches(File file) {
+        if (!file.isFile()) {
+            return false;
+        }
+        try {
+            return value.equals(Files.readString(file.toPath(), StandardCharsets.UTF_8).trim());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Stores this fingerprint in a file, creating the parent directory if necessary.
+     *
+     * @param file the file to store the fingerprint in
+     *
+     * @throws IOException if writing the file fails
+     */
+    public void writeTo(File file) throws IOException {
+        Path path = file.toPath().toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gives the fingerprint as a hexadecimal string.
+     *
+     * @return the hexadecimal representation of this fingerprint
+     */
+    public String value() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+    private static void update(MessageDigest digest, String s) {
+        digest.update(s.getBytes(StandardCharsets.UTF_8));
+        digest.update(SEPARATOR);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every Java platform must support " + HASH_ALGORITHM, e);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package com.reallifedeveloper.maven.jdepend;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.reporting.AbstractMavenReport;
+import org.apache.maven.reporting.MavenReportException;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import lombok.Setter;
+
+import com.reallifedeveloper.maven.jdepend.analysis.AnalysisCache;
+import com.reallifedeveloper.maven.jdepend.analysis.JDependAnalyzer;
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+import com.reallifedeveloper.maven.jdepend.analysis.PackagePatternFilter;
+import com.reallifedeveloper.maven.jdepend.analysis.XmlReportMerger;
+import com.reallifedeveloper.maven.jdepend.check.LayerRules;
+import com.reallifedeveloper.maven.jdepend.check.Violation;
+import com.reallifedeveloper.maven.jdepend.xml.StaxXmlReportParser;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReportWriter;
+
+/**
+ * Generates one JDepend report for all modules in a multi-module build.
+ * <p>
+ * The report is created from the analysis results that the {@code report} goal has already produced for each module, so class files
+ * are not parsed again. The package graphs of the modules are merged, and metrics and cycles are recalculated across module
+ * boundaries. To make the results available, configure the {@code report} goal with {@code writeXmlReport} set to {@code true}. If no
+ * result is found for a module, its classes are analyzed, using the incremental cache of the module if there is one, and the in-memory
+ * analysis cache shared with the {@code report} goal.
+ *
+ * @author RealLifeDeveloper
+ */
+@Mojo(name = "aggregate", aggregator = true, inheritByDefault = false, defaultPhase = LifecyclePhase.SITE, threadSafe = true)
+public class JDependAggregateReport extends AbstractMavenReport {
+
+    private static final String RESOURCE_BUNDLE_BASE_NAME = "com.reallifedeveloper.maven.jdepend.jdepend-report";
+    private static final String OUTPUT_NAME = "jdepend-aggregate-report";
+    private static final String POM_PACKAGING = "pom";
+
+    /**
+     * The name of the file, in the build directory of each module, that contains the analysis result of the module.
+     */
+    @Parameter(property = "jdepend.moduleReportFileName", defaultValue = "jdepend-report.xml")
+    @Setter
+    private String moduleReportFileName = "jdepend-report.xml";
+
+    /**
+     * The name of the incremental cache file, in the build directory of each module, used if a module has to be analyzed.
+     */
+    @Parameter(property = "jdepend.moduleCacheFileName", defaultValue = "jdepend-cache.bin")
+    @Setter
+    private String moduleCacheFileName = "jdepend-cache.bin";
+
+    /**
+     * The maximum number of classes kept in the in-memory analysis cache shared with the {@code report} goal, used if a module has to be
+     * analyzed. A value of 0 disables the cache. If several goals set different sizes, the shared cache uses the largest one.
+     */
+    @Parameter(property = "jdepend.analysisCacheSize", defaultValue = "200000")
+    @Setter
+    private int analysisCacheSize = AnalysisCache.DEFAULT_MAX_CLASSES;
+
+    /**
+     * Patterns of the packages to include in the merged result, using the same syntax as the {@code report} goal. Classes of other
+     * packages are not read if a module has to be analyzed, and are left out of the results of the modules that have already been
+     * analyzed, so the merged result is the same regardless of how the modules were analyzed. If no patterns are given, all packages
+     * are included.
+     */
+    @Parameter(property = "jdepend.includePackages")
+    @Setter
+    private List<String> includePackages = List.of();
+
+    /**
+     * Patterns of the packages to leave out of the merged result, e.g., {@code **.generated.**}, using the same syntax as
+     * {@code includePackages}. Excluded packages are also left out of the couplings of the other packages.
+     */
+    @Parameter(property = "jdepend.excludePackages")
+    @Setter
+    private List<String> excludePackages = List.of();
+
+    /**
+     * Location of the XML report for the merged result, written only if {@code writeXmlReport} is {@code true}.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/jdepend-aggregate-report.xml", readonly = true)
+    @Setter
+    private @Nullable File reportFile;
+
+    /**
+     * Also write the merged result to {@code reportFile} as a JDepend XML report.
+     */
+    @Parameter(property = "jdepend.writeXmlReport", defaultValue = "false")
+    @Setter
+    private boolean writeXmlReport;
+
+    /**
+     * Layer rules that the dependencies between the packages of all modules should follow, e.g., {@code ..domain.. must not depend on
+     * ..infrastructure..}, using the same syntax as the {@code report} goal. The violations are shown in a section of the report.
+     */
+    @Parameter(property = "jdepend.layerRules")
+    @Setter
+    private List<String> layerRules = List.of();
+
+    /**
+     * Skip execution of the plugin.
+     */
+    @Parameter(property = "jdepend.skip", defaultValue = "false")
+    @Setter
+    private boolean skip;
+
+    /**
+     * The projects in the reactor, set by Maven. The setter is mostly useful for testing.
+     *
+     * @param reactorProjects the projects in the reactor
+     */
+    public void setReactorProjects(List<MavenProject> reactorProjects) {
+        this.reactorProjects = reactorProjects;
+    }
+
+    @Override
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    protected void executeReport(Locale locale) throws MavenReportException {
+        if (skip) {
+            getLog().info("Skipping execution on behalf of user");
+            return;
+        }
+        PackagePatternFilter packageFilter;
+        try {
+            packageFilter = PackagePatternFilter.of(includePackages, excludePackages);
+        } catch (IllegalArgumentException e) {
+            throw new MavenReportException("Invalid package pattern: " + e.getMessage(), e);
+        }
+        try {
+            List<XmlReport> moduleReports = new ArrayList<>();
+            for (MavenProject module : reactorProjects) {
+                XmlReport moduleReport = readModuleReport(module, packageFilter);
+                if (moduleReport != null) {
+                    moduleReports.add(moduleReport);
+                }
+            }
+            getLog().debug("Merging JDepend results of " + moduleReports.size() + " modules");
+            XmlReport xmlReport = XmlReportMerger.merge(moduleReports, packageFilter);
+            if (writeXmlReport && reportFile != null) {
+                getLog().debug("Writing XML report: reportFile=" + reportFile);
+                new XmlReportWriter().write(xmlReport, reportFile);
+            }
+            PackageGraph packageGraph = PackageGraph.of(xmlReport);
+            List<Violation> layerViolations = layerRules.isEmpty() ? null : LayerRules.of(layerRules).violations(packageGraph).toList();
+            JDependReportRenderer reportRenderer = new JDependReportRenderer(xmlReport, packageGraph, getBundle(locale), getSink())
+                    .layerViolations(layerViolations);
+            getLog().debug("Rendering HTML report: outputDirectory=" + outputDirectory);
+            reportRenderer.render();
+        } catch (Exception e) {
+            throw new MavenReportException("Error occurred during JDepend aggregate report generation", e);
+        }
+    }
+
+    private @Nullable XmlReport readModuleReport(MavenProject module, PackagePatternFilter packageFilter) throws Exception {
+        if (POM_PACKAGING.equals(module.getPackaging())) {
+            return null;
+        }
+        File moduleReportFile = new File(module.getBuild().getDirectory(), moduleReportFileName);
+        if (moduleReportFile.isFile()) {
+            getLog().debug("Reading JDepend result of " + module.getId() + ": " + moduleReportFile);
+            return new StaxXmlReportParser().parse(moduleReportFile);
+        }
+        File classesDirectory = new File(module.getBuild().getOutputDirectory());
+        if (!classesDirectory.isDirectory()) {
+            getLog().debug("No JDepend result or classes found for " + module.getId() + ", skipping module");
+            return null;
+        }
+        getLog().warn("No JDepend result found for " + module.getId() + " in " + moduleReportFile
+                + ", analyzing classes; set writeXmlReport to true for the report goal to avoid this");
+        File cacheFile = new File(module.getBuild().getDirectory(), moduleCacheFileName);
+        return new JDependAnalyzer().cacheFile(cacheFile).analysisCache(AnalysisCache.shared(analysisCacheSize))
+                .packageFilter(packageFilter).analyze(classesDirectory);
+    }
+
+    @Override
+    public boolean canGenerateReport() throws MavenReportException {
+        return project == null || project.isExecutionRoot();
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public String getOutputName() {
+        return getOutputPath();
+    }
+
+    @Override
+    public String getOutputPath() {
+        return OUTPUT_NAME;
+    }
+
+    @Override
+    public String getName(Locale locale) {
+        return getBundle(locale).getString("jdepend.aggregate.name");
+    }
+
+    @Override
+    public String getDescription(Locale locale) {
+        return getBundle(locale).getString("jdepend.aggregate.description");
+    }
+
+    @SuppressWarnings("PMD.UseProperClassLoader") // We want the class loader of this class, not the Maven code creating the report.
+    private static ResourceBundle getBundle(Locale locale) {
+        return ResourceBundle.getBundle(RESOURCE_BUNDLE_BASE_NAME, locale, JDependAggregateReport.class.getClassLoader());
+    }
+}
@@ -0,0 +1,236 @@
+package com.reallifedeveloper.maven.jdepend;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import lombok.Setter;
+
+import com.reallifedeveloper.maven.jdepend.analysis.ClassRoot;
+import com.reallifedeveloper.maven.jdepend.analysis.JDependAnalyzer;
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+import com.reallifedeveloper.maven.jdepend.analysis.PackagePatternFilter;
+import com.reallifedeveloper.maven.jdepend.check.CycleRule;
+import com.reallifedeveloper.maven.jdepend.check.LayerRules;
+import com.reallifedeveloper.maven.jdepend.check.Rule;
+import com.reallifedeveloper.maven.jdepend.check.ThresholdRule;
+import com.reallifedeveloper.maven.jdepend.check.Violation;
+
+/**
+ * Checks the result of a JDepend analysis against a number of rules, and fails the build if any rule is violated.
+ * <p>
+ * Only the analysis is run, no report is rendered, so this goal is cheap enough to run in every build.
+ *
+ * @author RealLifeDeveloper
+ */
+@Mojo(name = "check", defaultPhase = LifecyclePhase.VERIFY, threadSafe = true)
+public class JDependCheck extends AbstractMojo {
+
+    private static final String MAIN_CLASS_ROOT = "main";
+
+    /**
+     * Directory containing the class files to analyze.
+     */
+    @Parameter(property = "jdepend.classesDirectory", defaultValue = "${project.build.outputDirectory}")
+    @Setter
+    private @Nullable File classesDirectory;
+
+    /**
+     * Cache the dependencies extracted from each class file in {@code cacheFile}, so that only new or changed class files are parsed the
+     * next time the check is run.
+     */
+    @Parameter(property = "jdepend.incremental", defaultValue = "true")
+    @Setter
+    private boolean incremental;
+
+    /**
+     * Location of the cache used when {@code incremental} is {@code true}. This is the same cache as the one used by the {@code report}
+     * goal, so running both goals only parses each class file once.
+     */
+    @Parameter(property = "jdepend.cacheFile", defaultValue = "${project.build.directory}/jdepend-cache.bin")
+    @Setter
+    private @Nullable File cacheFile;
+
+    /**
+     * The number of threads used to find and parse class files. The default value of 0 means one thread per available processor.
+     */
+    @Parameter(property = "jdepend.threads", defaultValue = "0")
+    @Setter
+    private int threads;
+
+    /**
+     * Patterns of the packages to analyze, e.g., {@code com.example.**}. In a pattern, {@code *} matches one part of a package name and
+     * {@code **} matches any number of parts. If no patterns are given, all packages are analyzed.
+     */
+    @Parameter(property = "jdepend.includePackages")
+    @Setter
+    private List<String> includePackages = List.of();
+
+    /**
+     * Patterns of the packages not to analyze, e.g., {@code **.generated.**}, using the same syntax as {@code includePackages}. Class
+     * files in excluded packages are never read, and excluded packages are left out of the couplings of the other packages.
+     */
+    @Parameter(property = "jdepend.excludePackages")
+    @Setter
+    private List<String> excludePackages = List.of();
+
+    /**
+     * Fail if any package has cyclic dependencies, directly or through the packages it depends upon.
+     */
+    @Parameter(property = "jdepend.failOnCycles", defaultValue = "true")
+    @Setter
+    private boolean failOnCycles = true;
+
+    /**
+     * The highest allowed distance from the main sequence (D) for any package, or no limit if not set.
+     */
+    @Parameter(property = "jdepend.maxDistance")
+    @Setter
+    private @Nullable Double maxDistance;
+
+    /**
+     * The highest allowed instability (I) for any package, or no limit if not set.
+     */
+    @Parameter(property = "jdepend.maxInstability")
+    @Setter
+    private @Nullable Double maxInstability;
+
+    /**
+     * The highest allowed number of efferent couplings (Ce) for any package, or no limit if not set.
+     */
+    @Parameter(property = "jdepend.maxEfferentCouplings")
+    @Setter
+    private @Nullable Integer maxEfferentCouplings;
+
+    /**
+     * The highest allowed number of afferent couplings (Ca) for any package, or no limit if not set.
+     */
+    @Parameter(property = "jdepend.maxAfferentCouplings")
+    @Setter
+    private @Nullable Integer maxAfferentCouplings;
+
+    /**
+     * Layer rules that the dependencies between packages must follow, e.g., {@code ..domain.. must not depend on ..infrastructure..}
+     * or {@code ..domain.. may only depend on ..domain.., java..}. In a pattern, {@code *} matches one part of a package name, and
+     * {@code **} or {@code ..} matches any number of parts.
+     */
+    @Parameter(property = "jdepend.layerRules")
+    @Setter
+    private List<String> layerRules = List.of();
+
+    /**
+     * Stop at the first violation instead of reporting all of them.
+     */
+    @Parameter(property = "jdepend.failFast", defaultValue = "false")
+    @Setter
+    private boolean failFast;
+
+    /**
+     * Fail the build if any rule is violated. If this is {@code false}, violations are only logged as warnings.
+     */
+    @Parameter(property = "jdepend.failOnViolation", defaultValue = "true")
+    @Setter
+    private boolean failOnViolation = true;
+
+    /**
+     * Skip execution of the plugin.
+     */
+    @Parameter(property = "jdepend.skip", defaultValue = "false")
+    @Setter
+    private boolean skip;
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        if (skip) {
+            getLog().info("Skipping execution on behalf of user");
+            return;
+        }
+        if (classesDirectory == null || !classesDirectory.isDirectory()) {
+            getLog().info("No classes to check: classesDirectory=" + classesDirectory);
+            return;
+        }
+        List<Rule> rules;
+        try {
+            rules = rules();
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException("Invalid layer rule: " + e.getMessage(), e);
+        }
+        if (rules.isEmpty()) {
+            getLog().info("No JDepend rules configured, skipping check");
+            return;
+        }
+        PackagePatternFilter packageFilter;
+        try {
+            packageFilter = PackagePatternFilter.of(includePackages, excludePackages);
+        } catch (IllegalArgumentException e) {
+            throw new MojoExecutionException("Invalid package pattern: " + e.getMessage(), e);
+        }
+        PackageGraph packageGraph;
+        try {
+            getLog().debug("Running JDepend in-process: classesDirectory=" + classesDirectory + ", " + packageFilter);
+            packageGraph = new JDependAnalyzer().cacheFile(incremental ? cacheFile : null).threads(threads).packageFilter(packageFilter)
+                    .analyze(List.of(new ClassRoot(MAIN_CLASS_ROOT, classesDirectory))).packageGraph();
+        } catch (IOException e) {
+            throw new MojoExecutionException("Error occurred during JDepend analysis", e);
+        }
+        Stream<Violation> allViolations = rules.stream().flatMap(rule -> rule.violations(packageGraph));
+        List<Violation> violations = failFast ? allViolations.limit(1).toList() : allViolations.toList();
+        if (violations.isEmpty()) {
+            getLog().info("JDepend check passed: " + rules);
+            return;
+        }
+        for (Violation violation : violations) {
+            if (failOnViolation) {
+                getLog().error(violation.toString());
+            } else {
+                getLog().warn(violation.toString());
+            }
+        }
+        String message = failFast ? "JDepend check failed: " + violations.get(0)
+                : "JDepend check failed with " + violations.size() + " violation(s), see the log for details";
+        if (failOnViolation) {
+            throw new MojoFailureException(message);
+        }
+        getLog().warn(message);
+    }
+
+    /**
+     * Creates the rules to check, based on the configuration.
+     *
+     * @return the rules to check, in the order they should be evaluated
+     *
+     * @throws IllegalArgumentException if a layer rule is invalid
+     */
+    private List<Rule> rules() {
+        List<Rule> rules = new ArrayList<>();
+        if (failOnCycles) {
+            rules.add(new CycleRule());
+        }
+        if (maxDistance != null) {
+            rules.add(ThresholdRule.maxDistance(maxDistance));
+        }
+        if (maxInstability != null) {
+            rules.add(ThresholdRule.maxInstability(maxInstability));
+        }
+        if (maxEfferentCouplings != null) {
+            rules.add(ThresholdRule.maxEfferentCouplings(maxEfferentCouplings));
+        }
+        if (maxAfferentCouplings != null) {
+            rules.add(ThresholdRule.maxAfferentCouplings(maxAfferentCouplings));
+        }
+        if (!layerRules.isEmpty()) {
+            rules.add(LayerRules.of(layerRules));
+        }
+        return rules;
+    }
+}
@@ -1,22 +1,63 @@
 package com.reallifedeveloper.maven.jdepend;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
+import org.apache.maven.RepositoryUtils;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkFactory;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.Execute;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.DefaultDependencyResolutionRequest;
+import org.apache.maven.project.DependencyResolutionException;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.project.ProjectDependenciesResolver;
 import org.apache.maven.reporting.AbstractMavenReport;
 import org.apache.maven.reporting.MavenReportException;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.eclipse.aether.graph.Dependency;
+import org.eclipse.aether.graph.DependencyFilter;
 
-import jdepend.xmlui.JDepend;
 import lombok.Setter;
 
+import com.reallifedeveloper.maven.jdepend.analysis.AnalysisCache;
+import com.reallifedeveloper.maven.jdepend.analysis.AnalysisResult;
+import com.reallifedeveloper.maven.jdepend.analysis.ClassArchive;
+import com.reallifedeveloper.maven.jdepend.analysis.ClassGraph;
+import com.reallifedeveloper.maven.jdepend.analysis.ClassRoot;
+import com.reallifedeveloper.maven.jdepend.analysis.JDependAnalyzer;
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+import com.reallifedeveloper.maven.jdepend.analysis.PackagePatternFilter;
+import com.reallifedeveloper.maven.jdepend.analysis.StreamingAnalyzer;
+import com.reallifedeveloper.maven.jdepend.check.LayerRules;
+import com.reallifedeveloper.maven.jdepend.check.Violation;
+import com.reallifedeveloper.maven.jdepend.format.BinaryReportWriter;
+import com.reallifedeveloper.maven.jdepend.format.JsonReportWriter;
+import com.reallifedeveloper.maven.jdepend.format.PackageGraphWriter;
+import com.reallifedeveloper.maven.jdepend.history.HistoryDelta;
+import com.reallifedeveloper.maven.jdepend.history.HistoryFile;
+import com.reallifedeveloper.maven.jdepend.xml.StaxXmlReportParser;
 import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
-import com.reallifedeveloper.maven.jdepend.xml.XmlReportParser;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReportWriter;
 
 /**
  * Generates a JDepend report.
@@ -29,7 +70,19 @@ public class JDependReport extends AbstractMavenReport {
 
     private static final String RESOURCE_BUNDLE_BASE_NAME = "com.reallifedeveloper.maven.jdepend.jdepend-report";
     private static final String OUTPUT_NAME = "jdepend-report";
-    private static final String JDEPEND_FILE_ARGUMENT = "-file";
+    private static final String HTML_SUFFIX = ".html";
+    private static final String ARTIFACT_CACHE_SUFFIX = ".jdepend";
+    private static final String WILDCARD = "*";
+    private static final String MAIN_CLASS_ROOT = "main";
+    private static final Set<String> COMPILE_SCOPES = Set.of("compile", "provided", "system");
+
+    /**
+     * The fields that do not affect the generated report, and so are left out of the {@link InputFingerprint}. All other fields are
+     * part of it, so that a new parameter is included unless it is explicitly added here.
+     */
+    private static final Set<String> FIELDS_NOT_IN_FINGERPRINT = Set.of("artifactCacheDirectory", "incremental", "cacheFile", "threads",
+            "analysisCacheSize", "upToDateCheck", "fingerprintFile", "skip", "checkedFingerprint", "dependenciesResolver",
+            "mavenSession", "resolvedDependencies");
 
     /**
      * Directory containing the class files to analyze.
@@ -39,12 +92,297 @@ public class JDependReport extends AbstractMavenReport {
     private @Nullable File classesDirectory;
 
     /**
-     * Location of the generated JDepend XML report that is used as the basis of the HTML report generated by this plugin.
+     * Other directories whose classes should be analyzed together with the classes in {@code classesDirectory}, which is labelled
+     * {@code main}, e.g., test classes or generated classes. Each entry has the form {@code label=directory}, e.g.,
+     * {@code test=${project.build.testOutputDirectory}}, and a relative directory is resolved against the base directory of the project.
+     * The directories are analyzed concurrently and combined into one result, and the report shows which class roots the classes of each
+     * package were found in. As on a class path, a class in {@code classesDirectory} or an earlier class root hides a class with the
+     * same name in a later one. Directories that do not exist are skipped.
+     */
+    @Parameter(property = "jdepend.classRoots")
+    @Setter
+    private List<String> classRoots = List.of();
+
+    /**
+     * Dependencies whose classes should be analyzed together with the classes in {@code classesDirectory}, e.g., internal platform
+     * libraries. Each entry has the form {@code groupId:artifactId} or {@code groupId}, where a trailing {@code *} matches any suffix,
+     * e.g., {@code com.example.platform:*}. The class files are read directly from the JAR files of the resolved dependencies.
+     */
+    @Parameter(property = "jdepend.includeDependencies")
+    @Setter
+    private List<String> includeDependencies = List.of();
+
+    /**
+     * Resolves the dependencies of {@code includeDependencies} when needed, so that the dependencies of the project do not have to be
+     * resolved every time the report is generated. If not injected, e.g., in tests, the artifacts already resolved for the project are
+     * used.
+     */
+    @Component
+    private @Nullable ProjectDependenciesResolver dependenciesResolver;
+
+    /**
+     * The Maven session, whose repository session is used to resolve the dependencies of {@code includeDependencies}.
+     */
+    @Parameter(defaultValue = "${session}", readonly = true)
+    private @Nullable MavenSession mavenSession;
+
+    /**
+     * The dependencies resolved for {@code includeDependencies}, so that they are only resolved once per execution.
+     */
+    private @Nullable ResolvedDependencies resolvedDependencies;
+
+    /**
+     * Directory used to cache the information extracted from the JAR files of {@code includeDependencies}, keyed by the coordinates and
+     * the checksum of each artifact. By default, the cache is kept in the local repository, so that each artifact is only analyzed once
+     * per machine.
+     */
+    @Parameter(property = "jdepend.artifactCacheDirectory", defaultValue = "${settings.localRepository}/.cache/jdepend-maven-plugin")
+    @Setter
+    private @Nullable File artifactCacheDirectory;
+
+    /**
+     * Location of the JDepend XML report, written only if {@code writeXmlReport} is {@code true}.
      */
     @Parameter(defaultValue = "${project.build.directory}/jdepend-report.xml", readonly = true)
     @Setter
     private @Nullable File reportFile;
 
+    /**
+     * Also write the result of the analysis to {@code reportFile} as a JDepend XML report. The HTML report is created directly from the
+     * in-memory result of the analysis, so this is only needed if you want to process the XML report with other tools.
+     */
+    @Parameter(property = "jdepend.writeXmlReport", defaultValue = "false")
+    @Setter
+    private boolean writeXmlReport;
+
+    /**
+     * Location of the JSON report, written only if {@code writeJsonReport} is {@code true}.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/jdepend-report.json", readonly = true)
+    @Setter
+    private @Nullable File jsonReportFile;
+
+    /**
+     * Also write the result of the analysis to {@code jsonReportFile} as JSON, with the same structure as the JDepend XML report, for
+     * dashboards and other tools that work better with JSON than with XML.
+     */
+    @Parameter(property = "jdepend.writeJsonReport", defaultValue = "false")
+    @Setter
+    private boolean writeJsonReport;
+
+    /**
+     * Location of the binary report, written only if {@code writeBinaryReport} is {@code true}.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/jdepend-report.bin", readonly = true)
+    @Setter
+    private @Nullable File binaryReportFile;
+
+    /**
+     * Also write the result of the analysis to {@code binaryReportFile} in a compact binary format, that is much smaller and faster to
+     * read than the XML report. The file can be read with {@code BinaryReportParser}.
+     */
+    @Parameter(property = "jdepend.writeBinaryReport", defaultValue = "false")
+    @Setter
+    private boolean writeBinaryReport;
+
+    /**
+     * Location of the package dependency graph in the DOT format of Graphviz, written only if {@code writeDotGraph} is {@code true}.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/jdepend-graph.dot", readonly = true)
+    @Setter
+    private @Nullable File dotGraphFile;
+
+    /**
+     * Also write the package dependency graph to {@code dotGraphFile} in the DOT format of Graphviz, with the packages in each cycle
+     * grouped in a cluster and the packages colored by their distance from the main sequence.
+     */
+    @Parameter(property = "jdepend.writeDotGraph", defaultValue = "false")
+    @Setter
+    private boolean writeDotGraph;
+
+    /**
+     * Location of the package dependency graph in GraphML, written only if {@code writeGraphml} is {@code true}.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/jdepend-graph.graphml", readonly = true)
+    @Setter
+    private @Nullable File graphmlFile;
+
+    /**
+     * Also write the package dependency graph to {@code graphmlFile} in GraphML, with the same grouping and colors as the DOT graph.
+     */
+    @Parameter(property = "jdepend.writeGraphml", defaultValue = "false")
+    @Setter
+    private boolean writeGraphml;
+
+    /**
+     * Collapse all packages with the same first {@code graphPrefixDepth} name parts into one node of the DOT and GraphML graphs, to
+     * keep large graphs small enough to be laid out. The default value of 0 means one node per package.
+     */
+    @Parameter(property = "jdepend.graphPrefixDepth", defaultValue = "0")
+    @Setter
+    private int graphPrefixDepth;
+
+    /**
+     * Cache the dependencies extracted from each class file in {@code cacheFile}, so that only new or changed class files are parsed the
+     * next time the report is generated.
+     */
+    @Parameter(property = "jdepend.incremental", defaultValue = "true")
+    @Setter
+    private boolean incremental;
+
+    /**
+     * Location of the cache used when {@code incremental} is {@code true}.
+     */
+    @Parameter(property = "jdepend.cacheFile", defaultValue = "${project.build.directory}/jdepend-cache.bin")
+    @Setter
+    private @Nullable File cacheFile;
+
+    /**
+     * The number of threads used to find and parse class files and to render the report. The default value of 0 means one thread per
+     * available processor, and with 1, everything is done on the thread running the report. The result is the same regardless of the
+     * number of threads.
+     */
+    @Parameter(property = "jdepend.threads", defaultValue = "0")
+    @Setter
+    private int threads;
+
+    /**
+     * The maximum number of classes kept in the in-memory analysis cache that is shared by all modules of a build, and by consecutive
+     * builds in the Maven daemon. Classes directories and JAR files that have already been analyzed in the same JVM, e.g., a reactor
+     * dependency included with {@code includeDependencies}, are then not read again. The least recently used entries are evicted when the
+     * cache is full. A value of 0 disables the cache. If modules set different sizes, the shared cache uses the largest one.
+     */
+    @Parameter(property = "jdepend.analysisCacheSize", defaultValue = "200000")
+    @Setter
+    private int analysisCacheSize = AnalysisCache.DEFAULT_MAX_CLASSES;
+
+    /**
+     * Patterns of the packages to analyze, e.g., {@code com.example.**}. In a pattern, {@code *} matches one part of a package name and
+     * {@code **} matches any number of parts. If no patterns are given, all packages are analyzed.
+     */
+    @Parameter(property = "jdepend.includePackages")
+    @Setter
+    private List<String> includePackages = List.of();
+
+    /**
+     * Patterns of the packages not to analyze, e.g., {@code **.generated.**}, using the same syntax as {@code includePackages}. Class
+     * files in excluded packages are never read, and excluded packages are left out of the couplings of the other packages.
+     */
+    @Parameter(property = "jdepend.excludePackages")
+    @Setter
+    private List<String> excludePackages = List.of();
+
+    /**
+     * Skip analysis and rendering if the class files, the plugin configuration and the locale are the same as the last time the report
+     * was generated. When running as part of a site, the HTML report is always rendered, but from the previous analysis result.
+     * <p>
+     * The analysis result is always written to {@code reportFile} when this is {@code true}, so that it can be reused.
+     */
+    @Parameter(property = "jdepend.upToDateCheck", defaultValue = "false")
+    @Setter
+    private boolean upToDateCheck;
+
+    /**
+     * Location of the fingerprint of the inputs used when {@code upToDateCheck} is {@code true}.
+     */
+    @Parameter(defaultValue = "${project.build.directory}/jdepend-report.fingerprint", readonly = true)
+    @Setter
+    private @Nullable File fingerprintFile;
+
+    /**
+     * Append the package metrics of each run to this file, and show the changes since a baseline run in the report. The file only grows,
+     * so keep it outside of the build directory, e.g., in {@code ${project.basedir}/.jdepend/history.bin}, for the history to survive
+     * {@code mvn clean}. No history is kept if this is not set.
+     */
+    @Parameter(property = "jdepend.historyFile")
+    @Setter
+    private @Nullable File historyFile;
+
+    /**
+     * The run in {@code historyFile} to compare the current result to, counted backwards from the most recent run, so that 1 means the
+     * previous run.
+     */
+    @Parameter(property = "jdepend.historyBaseline", defaultValue = "1")
+    @Setter
+    private int historyBaseline = 1;
+
+    /**
+     * Also analyze the dependencies between individual classes, and show the classes that are responsible for each package dependency
+     * in a cycle. The classes of {@code classesDirectory}, {@code classRoots} and {@code includeDependencies} are analyzed in the same
+     * pass as the packages, but every class file has to be read even if it is unchanged, so it makes the report slower to generate.
+     */
+    @Parameter(property = "jdepend.classLevel", defaultValue = "false")
+    @Setter
+    private boolean classLevel;
+
+    /**
+     * Split the HTML report into an index page, that links to one page per package ({@code PACKAGE}) or per package prefix
+     * ({@code PREFIX}), instead of rendering all packages on one page ({@code NONE}). This keeps the pages of very large reports small
+     * enough for a browser, and the pages are rendered in parallel. Splitting is only possible when the report is generated as part of a
+     * site.
+     */
+    @Parameter(property = "jdepend.splitBy", defaultValue = "NONE")
+    @Setter
+    private ReportPage.Split splitBy = ReportPage.Split.NONE;
+
+    /**
+     * The number of leading parts of the package names that make up the prefix when {@code splitBy} is {@code PREFIX}, e.g., 3 to put
+     * all packages below {@code com.example.foo} on the same page.
+     */
+    @Parameter(property = "jdepend.prefixDepth", defaultValue = "3")
+    @Setter
+    private int prefixDepth = 3;
+
+    /**
+     * The maximum number of packages on a page when the report is split. Packages with the same prefix are split over several pages if
+     * there are more of them. A value of 0 means no limit.
+     */
+    @Parameter(property = "jdepend.maxRowsPerPage", defaultValue = "500")
+    @Setter
+    private int maxRowsPerPage = 500;
+
+    /**
+     * Analyze the classes in a memory-bounded streaming mode, for code bases too large to analyze in memory. The memory used depends on
+     * the number of packages and package dependencies, rather than on the number of classes. The XML report is always written to
+     * {@code reportFile}, one package at a time, and is the only output that lists the classes of each package: the HTML, JSON and
+     * binary reports only have the package metrics, dependencies and cycles. Streaming mode does not support
+     * {@code includeDependencies}, {@code classRoots}, {@code incremental} or {@code classLevel}, which are ignored.
+     */
+    @Parameter(property = "jdepend.streaming", defaultValue = "false")
+    @Setter
+    private boolean streaming;
+
+    /**
+     * Layer rules that the dependencies between packages should follow, e.g., {@code ..domain.. must not depend on
+     * ..infrastructure..} or {@code ..domain.. may only depend on ..domain.., java..}. In a pattern, {@code *} matches one part of a
+     * package name, and {@code **} or {@code ..} matches any number of parts. The violations are shown in a section of the report.
+     */
+    @Parameter(property = "jdepend.layerRules")
+    @Setter
+    private List<String> layerRules = List.of();
+
+    /**
+     * Fail the build if any layer rule is violated. The report is rendered before the build fails.
+     */
+    @Parameter(property = "jdepend.failOnLayerViolations", defaultValue = "false")
+    @Setter
+    private boolean failOnLayerViolations;
+
+    /**
+     * Log the wall time, CPU time and allocated bytes of each phase of the report generation, e.g., analysis and rendering, together
+     * with the number of classes, packages and dependencies, and write them as JSON to {@code metricsFile}.
+     */
+    @Parameter(property = "jdepend.writeMetrics", defaultValue = "false")
+    @Setter
+    private boolean writeMetrics;
+
+    /**
+     * Location of the metrics of the report generation, written only if {@code writeMetrics} is {@code true}.
+     */
+    @Parameter(property = "jdepend.metricsFile", defaultValue = "${project.build.directory}/jdepend-metrics.json")
+    @Setter
+    private @Nullable File metricsFile;
+
     /**
      * Skip execution of the plugin.
      */
@@ -52,6 +390,30 @@ public class JDependReport extends AbstractMavenReport {
     @Setter
     private boolean skip;
 
+    /**
+     * The fingerprint of the inputs calculated by the up-to-date check in {@link #execute()}, reused when the report is generated so that
+     * the class files are only read once.
+     */
+    private @Nullable CheckedFingerprint checkedFingerprint;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (upToDateCheck && !skip) {
+            Locale locale = getLocale();
+            InputFingerprint fingerprint = createFingerprintIfPossible(locale);
+            if (isReportUpToDate(fingerprint)) {
+                getLog().info("JDepend report is up to date, skipping analysis and rendering");
+                return;
+            }
+            checkedFingerprint = fingerprint == null ? null : new CheckedFingerprint(locale, fingerprint);
+        }
+        try {
+            super.execute();
+        } finally {
+            checkedFingerprint = null;
+        }
+    }
+
     @Override
     @SuppressWarnings("PMD.AvoidCatchingGenericException")
     protected void executeReport(Locale locale) throws MavenReportException {
@@ -63,20 +425,569 @@ public class JDependReport extends AbstractMavenReport {
             throw new MavenReportException(
                     "Fields have not been correctly set: classesDirectory=" + classesDirectory + ", reportFile=" + reportFile);
         }
+        PhaseMetrics metrics = new PhaseMetrics(writeMetrics);
         try {
-            getLog().debug("Running JDepend to generate XML report: reportFile=" + reportFile + ", classesDirectory=" + classesDirectory);
-            JDepend.main(new String[] { JDEPEND_FILE_ARGUMENT, reportFile.getPath(), classesDirectory.getPath() });
-            XmlReportParser xmlReportParser = new XmlReportParser();
-            getLog().debug("Parsing XML file into XmlReport object");
-            XmlReport xmlReport = xmlReportParser.parse(reportFile);
-            JDependReportRenderer reportRenderer = new JDependReportRenderer(xmlReport, getBundle(locale), getSink());
-            getLog().debug("Rendering HTML reportm: outputDirectory=" + outputDirectory);
-            reportRenderer.render();
+            File fingerprintLocation = upToDateCheck ? fingerprintFile : null;
+            List<ClassRoot> roots = classRoots(classesDirectory);
+            InputFingerprint fingerprint = fingerprintLocation == null ? null : checkedOrCreatedFingerprint(roots, locale);
+            XmlReport xmlReport;
+            PackageGraph packageGraph = null;
+            Map<String, List<String>> packageRoots = null;
+            ClassGraph classGraph = null;
+            boolean upToDate = fingerprint != null && fingerprintLocation != null && fingerprint.matches(fingerprintLocation);
+            if (streaming) {
+                try (PhaseMetrics.Phase phase = metrics.start("analysis")) {
+                    xmlReport = analyzeStreaming(classesDirectory, reportFile, metrics);
+                }
+            } else if (upToDate && reportFile.isFile() && classRoots.isEmpty()) {
+                // The XML report does not tell which class roots the packages were found in, so it is only reused for a single root.
+                getLog().info("Inputs unchanged since the last run, reusing analysis result: reportFile=" + reportFile);
+                try (PhaseMetrics.Phase phase = metrics.start("xmlParsing")) {
+                    xmlReport = new StaxXmlReportParser().parse(reportFile);
+                }
+            } else {
+                getLog().debug("Running JDepend in-process: classRoots=" + roots);
+                try (PhaseMetrics.Phase phase = metrics.start("analysis")) {
+                    AnalysisResult analysisResult = createAnalyzer(metrics).classLevel(classLevel).analyze(roots);
+                    xmlReport = analysisResult.xmlReport();
+                    packageGraph = analysisResult.packageGraph();
+                    classGraph = analysisResult.classGraph();
+                    if (!classRoots.isEmpty()) {
+                        packageRoots = analysisResult.packageRoots();
+                    }
+                }
+                if (writeXmlReport || upToDateCheck) {
+                    getLog().debug("Writing XML report: reportFile=" + reportFile);
+                    try (PhaseMetrics.Phase phase = metrics.start("xmlWriting")) {
+                        new XmlReportWriter().write(xmlReport, reportFile);
+                    }
+                }
+            }
+            if (packageGraph == null) {
+                // The streaming analysis and a reused XML report do not give a package graph, so it is created once here
+                packageGraph = PackageGraph.of(xmlReport);
+            }
+            metrics.countPackages(xmlReport);
+            if (writeJsonReport && jsonReportFile != null) {
+                getLog().debug("Writing JSON report: jsonReportFile=" + jsonReportFile);
+                try (PhaseMetrics.Phase phase = metrics.start("jsonWriting")) {
+                    new JsonReportWriter().write(xmlReport, jsonReportFile);
+                }
+            }
+            if (writeBinaryReport && binaryReportFile != null) {
+                getLog().debug("Writing binary report: binaryReportFile=" + binaryReportFile);
+                try (PhaseMetrics.Phase phase = metrics.start("binaryWriting")) {
+                    new BinaryReportWriter().write(xmlReport, binaryReportFile);
+                }
+            }
+            if ((writeDotGraph && dotGraphFile != null) || (writeGraphml && graphmlFile != null)) {
+                try (PhaseMetrics.Phase phase = metrics.start("graphWriting")) {
+                    writeGraphs(packageGraph);
+                }
+            }
+            HistoryDelta historyDelta = null;
+            if (historyFile != null) {
+                try (PhaseMetrics.Phase phase = metrics.start("history")) {
+                    historyDelta = updateHistory(xmlReport, historyFile);
+                }
+            }
+            List<Violation> layerViolations = null;
+            if (!layerRules.isEmpty()) {
+                try (PhaseMetrics.Phase phase = metrics.start("layerRules")) {
+                    layerViolations = LayerRules.of(layerRules).violations(packageGraph).toList();
+                }
+                metrics.count("layerViolations", layerViolations.size());
+            }
+            if (classLevel && !streaming && classGraph == null) {
+                // The package-level analysis result was reused, so only the class-level dependencies are analyzed.
+                getLog().debug("Analyzing class dependencies: classRoots=" + roots);
+                try (PhaseMetrics.Phase phase = metrics.start("classAnalysis")) {
+                    classGraph = createAnalyzer(metrics).analyzeClasses(roots);
+                }
+            }
+            if (classGraph != null) {
+                metrics.count("classDependencies", classGraph.dependencyCount());
+            }
+            ForkJoinPool renderingPool = createRenderingPool(metrics);
+            try (PhaseMetrics.Phase phase = metrics.start("rendering")) {
+                JDependReportRenderer reportRenderer = new JDependReportRenderer(xmlReport, packageGraph, getBundle(locale), getSink())
+                        .historyDelta(historyDelta).classGraph(classGraph).layerViolations(layerViolations).packageRoots(packageRoots)
+                        .pool(renderingPool);
+                SinkFactory pageSinkFactory = getSinkFactory();
+                List<ReportPage> pages = splitIntoPages(xmlReport, pageSinkFactory != null);
+                getLog().debug("Rendering HTML report: outputDirectory=" + outputDirectory);
+                reportRenderer.pages(pages).render();
+                if (pages != null && pageSinkFactory != null) {
+                    renderPages(reportRenderer, pages, pageSinkFactory, renderingPool);
+                }
+            } finally {
+                if (renderingPool != null) {
+                    renderingPool.shutdown();
+                }
+            }
+            if (layerViolations != null && !layerViolations.isEmpty()) {
+                reportLayerViolations(layerViolations);
+            }
+            if (fingerprint != null && fingerprintLocation != null) {
+                fingerprint.writeTo(fingerprintLocation);
+            }
+            if (writeMetrics) {
+                writeMetrics(metrics);
+            }
+        } catch (MavenReportException e) {
+            throw e;
         } catch (Exception e) {
             throw new MavenReportException("Error occurred during JDepend report generation", e);
         }
     }
 
+    /**
+     * Creates the analyzer used for the in-process analysis of the class roots and the archives of {@code includeDependencies}.
+     *
+     * @param metrics the metrics of the report generation, whose thread factory is used for the analysis threads
+     *
+     * @return a new {@link JDependAnalyzer}
+     *
+     * @throws MavenReportException if resolving the dependencies fails
+     */
+    private JDependAnalyzer createAnalyzer(PhaseMetrics metrics) throws MavenReportException {
+        return new JDependAnalyzer().cacheFile(incremental ? cacheFile : null).threads(threads).packageFilter(packageFilter())
+                .analysisCache(AnalysisCache.shared(analysisCacheSize)).threadFactory(metrics.threadFactory())
+                .archives(findDependencyArchives());
+    }
+
+    /**
+     * Writes the package dependency graph in the formats that have been requested.
+     *
+     * @param packageGraph the packages found by the analysis and the dependencies between them
+     *
+     * @throws IOException if writing a graph fails
+     */
+    private void writeGraphs(PackageGraph packageGraph) throws IOException {
+        PackageGraphWriter graphWriter = new PackageGraphWriter().prefixDepth(graphPrefixDepth);
+        if (writeDotGraph && dotGraphFile != null) {
+            getLog().debug("Writing DOT graph: dotGraphFile=" + dotGraphFile);
+            graphWriter.write(packageGraph, PackageGraphWriter.Format.DOT, dotGraphFile);
+        }
+        if (writeGraphml && graphmlFile != null) {
+            getLog().debug("Writing GraphML graph: graphmlFile=" + graphmlFile);
+            graphWriter.write(packageGraph, PackageGraphWriter.Format.GRAPHML, graphmlFile);
+        }
+    }
+
+    /**
+     * Logs the violations of the layer rules, and fails if {@code failOnLayerViolations} is {@code true}. The fingerprint of the inputs
+     * is not written when failing, so the report is not considered up to date the next time.
+     *
+     * @param layerViolations the violations of the layer rules, not empty
+     *
+     * @throws MavenReportException if {@code failOnLayerViolations} is {@code true}
+     */
+    private void reportLayerViolations(List<Violation> layerViolations) throws MavenReportException {
+        for (Violation violation : layerViolations) {
+            if (failOnLayerViolations) {
+                getLog().error(violation.toString());
+            } else {
+                getLog().warn(violation.toString());
+            }
+        }
+        if (failOnLayerViolations) {
+            throw new MavenReportException(
+                    "JDepend layer rules violated with " + layerViolations.size() + " violation(s), see the log for details");
+        }
+    }
+
+    /**
+     * Analyzes the classes using a {@link StreamingAnalyzer}, warning about each parameter that has been set but is not supported in
+     * streaming mode. The class file cache is not used either, but {@code incremental} is on by default, so it is silently ignored.
+     *
+     * @param classesDirectory the directory containing the class files to analyze
+     * @param xmlFile          the file to write the XML report to
+     * @param metrics          the metrics of the report generation, whose thread factory is used for the parsing threads
+     *
+     * @return the analysis result, without the classes of the packages
+     *
+     * @throws IOException if reading the class files or writing the XML report fails
+     */
+    private XmlReport analyzeStreaming(File classesDirectory, File xmlFile, PhaseMetrics metrics) throws IOException {
+        if (!includeDependencies.isEmpty()) {
+            getLog().warn("includeDependencies is not supported in streaming mode and is ignored");
+        }
+        if (!classRoots.isEmpty()) {
+            getLog().warn("classRoots is not supported in streaming mode and is ignored");
+        }
+        if (classLevel) {
+            getLog().warn("classLevel is not supported in streaming mode and is ignored");
+        }
+        getLog().debug("Running JDepend in streaming mode: classesDirectory=" + classesDirectory + ", reportFile=" + xmlFile);
+        return new StreamingAnalyzer().threads(threads).packageFilter(packageFilter()).threadFactory(metrics.threadFactory())
+                .analyze(classesDirectory, xmlFile);
+    }
+
+    /**
+     * Logs the metrics of the report generation and writes them to {@code metricsFile}.
+     *
+     * @param metrics the metrics to log and write
+     *
+     * @throws IOException if writing the metrics file fails
+     */
+    private void writeMetrics(PhaseMetrics metrics) throws IOException {
+        for (String line : metrics.summary()) {
+            getLog().info("JDepend " + line);
+        }
+        if (metricsFile != null) {
+            getLog().debug("Writing metrics: metricsFile=" + metricsFile);
+            metrics.write(metricsFile);
+        }
+    }
+
+    private PackagePatternFilter packageFilter() {
+        return PackagePatternFilter.of(includePackages, excludePackages);
+    }
+
+    /**
+     * Splits the packages of the report into pages according to {@code splitBy}.
+     *
+     * @param xmlReport      the analysis result
+     * @param canCreatePages {@code true} if a sink factory is available to create the pages
+     *
+     * @return the pages, or {@code null} if all packages should be rendered on a single page
+     */
+    private @Nullable List<ReportPage> splitIntoPages(XmlReport xmlReport, boolean canCreatePages) {
+        int packageCount = xmlReport.packagesWithoutError().size();
+        if (splitBy == ReportPage.Split.NONE) {
+            if (maxRowsPerPage > 0 && packageCount > maxRowsPerPage) {
+                getLog().warn("The JDepend report has " + packageCount + " packages, more than maxRowsPerPage=" + maxRowsPerPage
+                        + "; consider setting splitBy to PREFIX or PACKAGE");
+            }
+            return null;
+        }
+        if (!canCreatePages) {
+            getLog().warn("Splitting the JDepend report into pages is only possible as part of a site, rendering a single page");
+            return null;
+        }
+        List<ReportPage> pages = ReportPage.split(xmlReport.packagesWithoutError(), splitBy, prefixDepth, maxRowsPerPage,
+                getOutputPath());
+        getLog().debug("Splitting " + packageCount + " packages into " + pages.size() + " pages: splitBy=" + splitBy);
+        return pages;
+    }
+
+    /**
+     * Creates the pool used for rendering, with {@code threads} threads, or {@code null} if only one thread should be used, in which
+     * case everything is rendered on the current thread.
+     *
+     * @param metrics the metrics of the report generation, whose thread factory is used for the rendering threads
+     *
+     * @return the pool used for rendering, or {@code null}
+     */
+    private @Nullable ForkJoinPool createRenderingPool(PhaseMetrics metrics) {
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return parallelism > 1 ? new ForkJoinPool(parallelism, metrics.threadFactory(), null, false) : null;
+    }
+
+    /**
+     * Renders the pages of a split report, each page with its own renderer and sink, in parallel if there is a pool.
+     *
+     * @param indexRenderer the renderer of the index page
+     * @param pages         the pages to render
+     * @param sinkFactory   the factory used to create a sink for each page
+     * @param pool          the pool used to render the pages in parallel, or {@code null} to render them one at a time
+     *
+     * @throws IOException if creating a page fails
+     */
+    private void renderPages(JDependReportRenderer indexRenderer, List<ReportPage> pages, SinkFactory sinkFactory,
+            @Nullable ForkJoinPool pool) throws IOException {
+        File pageDirectory = getReportOutputDirectory();
+        String indexFileName = getOutputPath() + HTML_SUFFIX;
+        if (pool == null) {
+            for (ReportPage page : pages) {
+                indexRenderer.forPage(page, indexFileName, sinkFactory.createSink(pageDirectory, page.fileName())).render();
+            }
+            return;
+        }
+        try {
+            pool.submit(() -> pages.parallelStream().forEach(page -> {
+                try {
+                    Sink pageSink = sinkFactory.createSink(pageDirectory, page.fileName());
+                    indexRenderer.forPage(page, indexFileName, pageSink).render();
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to create report page " + page.fileName(), e);
+                }
+            })).join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Finds the changes since the baseline run in the history file, and appends the current result to it.
+     *
+     * @param xmlReport the current analysis result
+     * @param file      the history file
+     *
+     * @return the changes since the baseline run, or {@code null} if there is no such run
+     *
+     * @throws IOException if reading or writing the history file fails
+     */
+    private @Nullable HistoryDelta updateHistory(XmlReport xmlReport, File file) throws IOException {
+        try (HistoryFile history = HistoryFile.open(file)) {
+            getLog().debug("Comparing to run " + historyBaseline + " back of " + history.runCount() + ": historyFile=" + file);
+            HistoryDelta historyDelta = history.changesSince(xmlReport, historyBaseline);
+            history.append(xmlReport, System.currentTimeMillis());
+            return historyDelta;
+        }
+    }
+
+    /**
+     * Gives the class roots to analyze: {@code classesDirectory}, labelled {@code main}, followed by the existing directories of
+     * {@code classRoots}.
+     *
+     * @param mainDirectory the directory containing the main classes
+     *
+     * @return the class roots to analyze, in class path order
+     *
+     * @throws MavenReportException if an entry in {@code classRoots} is not of the form {@code label=directory}, or has the same label
+     *                              as another class root
+     */
+    private List<ClassRoot> classRoots(File mainDirectory) throws MavenReportException {
+        List<ClassRoot> roots = new ArrayList<>();
+        roots.add(new ClassRoot(MAIN_CLASS_ROOT, mainDirectory));
+        Set<String> labels = new HashSet<>();
+        labels.add(MAIN_CLASS_ROOT);
+        for (String classRoot : classRoots) {
+            int separator = classRoot.indexOf('=');
+            String label = separator < 0 ? "" : classRoot.substring(0, separator).trim();
+            String path = classRoot.substring(separator + 1).trim();
+            if (label.isEmpty() || path.isEmpty() || !labels.add(label)) {
+                throw new MavenReportException("Invalid class root, expected label=directory with a unique label: " + classRoot);
+            }
+            File directory = new File(path);
+            if (!directory.isAbsolute() && project != null) {
+                directory = new File(project.getBasedir(), path);
+            }
+            if (directory.isDirectory()) {
+                roots.add(new ClassRoot(label, directory));
+            } else {
+                getLog().debug("Skipping class root that does not exist: " + label + "=" + directory);
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * Finds the JAR files of the dependencies matching {@code includeDependencies}, in class path order.
+     *
+     * @return the archives to analyze in addition to {@code classesDirectory}
+     *
+     * @throws MavenReportException if resolving the dependencies fails
+     */
+    private List<ClassArchive> findDependencyArchives() throws MavenReportException {
+        if (includeDependencies.isEmpty() || project == null) {
+            return List.of();
+        }
+        List<ClassArchive> archives = new ArrayList<>();
+        for (Artifact artifact : resolveIncludedDependencies(project)) {
+            if (includeDependencies.stream().noneMatch(pattern -> matches(pattern, artifact))) {
+                continue;
+            }
+            File file = artifact.getFile();
+            if (file == null || !file.isFile()) {
+                getLog().debug("Not analyzing dependency without JAR file: " + artifact.getId() + ", file=" + file);
+                continue;
+            }
+            File archiveCacheFile = artifactCacheDirectory == null ? null : new File(artifactCacheDirectory, cachePath(artifact));
+            archives.add(new ClassArchive(file, artifact.getId(), archiveCacheFile));
+        }
+        getLog().debug("Analyzing " + archives.size() + " dependencies: " + archives.stream().map(ClassArchive::key).toList());
+        return archives;
+    }
+
+    /**
+     * Resolves the compile scope dependencies of the project that match {@code includeDependencies}. Only the matching dependencies are
+     * resolved, and only once per execution, so the report does not require dependency resolution when {@code includeDependencies} is
+     * not used.
+     *
+     * @param mavenProject the project being reported on
+     *
+     * @return the matching dependencies, in class path order
+     *
+     * @throws MavenReportException if resolving the dependencies fails
+     */
+    private Collection<Artifact> resolveIncludedDependencies(MavenProject mavenProject) throws MavenReportException {
+        ProjectDependenciesResolver resolver = dependenciesResolver;
+        MavenSession session = mavenSession;
+        if (resolver == null || session == null) {
+            return mavenProject.getArtifacts();
+        }
+        ResolvedDependencies resolved = resolvedDependencies;
+        if (resolved != null && resolved.patterns().equals(includeDependencies)) {
+            return resolved.artifacts();
+        }
+        DependencyFilter filter = (node, parents) -> {
+            Dependency dependency = node.getDependency();
+            return dependency != null && COMPILE_SCOPES.contains(dependency.getScope()) && includeDependencies.stream()
+                    .anyMatch(pattern -> matches(pattern, dependency.getArtifact().getGroupId(), dependency.getArtifact().getArtifactId()));
+        };
+        getLog().debug("Resolving dependencies: includeDependencies=" + includeDependencies);
+        try {
+            List<Artifact> artifacts = resolver.resolve(new DefaultDependencyResolutionRequest(mavenProject,
+                    session.getRepositorySession()).setResolutionFilter(filter)).getDependencies().stream()
+                    .map(dependency -> RepositoryUtils.toArtifact(dependency.getArtifact())).toList();
+            resolvedDependencies = new ResolvedDependencies(List.copyOf(includeDependencies), artifacts);
+            return artifacts;
+        } catch (DependencyResolutionException e) {
+            throw new MavenReportException("Failed to resolve includeDependencies " + includeDependencies, e);
+        }
+    }
+
+    private static boolean matches(String pattern, Artifact artifact) {
+        return matches(pattern, artifact.getGroupId(), artifact.getArtifactId());
+    }
+
+    private static boolean matches(String pattern, String groupId, String artifactId) {
+        String[] parts = pattern.trim().split(":", -1);
+        return switch (parts.length) {
+        case 1 -> matches(parts[0], groupId);
+        case 2 -> matches(parts[0], groupId) && matches(parts[1], artifactId);
+        default -> false;
+        };
+    }
+
+    private static boolean matches(String pattern, String value) {
+        return pattern.endsWith(WILDCARD) ? value.startsWith(pattern.substring(0, pattern.length() - 1)) : pattern.equals(value);
+    }
+
+    private static String cachePath(Artifact artifact) {
+        String classifier = artifact.hasClassifier() ? "-" + artifact.getClassifier() : "";
+        return artifact.getGroupId().replace('.', '/') + "/" + artifact.getArtifactId() + "/" + artifact.getVersion() + "/"
+                + artifact.getArtifactId() + "-" + artifact.getVersion() + classifier + ARTIFACT_CACHE_SUFFIX;
+    }
+
+    /**
+     * Checks if the HTML report exists and the fingerprint of the inputs and the configuration is the same as in the previous run, so
+     * that analysis and rendering can be skipped. Package-private for testing.
+     *
+     * @return {@code true} if the report is up to date, {@code false} otherwise
+     */
+    boolean isReportUpToDate() {
+        return isReportUpToDate(createFingerprintIfPossible(getLocale()));
+    }
+
+    private boolean isReportUpToDate(@Nullable InputFingerprint fingerprint) {
+        if (fingerprint == null || fingerprintFile == null) {
+            return false;
+        }
+        File htmlFile = new File(getReportOutputDirectory(), getOutputPath() + HTML_SUFFIX);
+        return htmlFile.isFile() && requestedOutputsExist() && fingerprint.matches(fingerprintFile);
+    }
+
+    private @Nullable InputFingerprint createFingerprintIfPossible(Locale locale) {
+        if (classesDirectory == null || fingerprintFile == null || !classesDirectory.canRead()) {
+            return null;
+        }
+        try {
+            return createFingerprint(classRoots(classesDirectory), locale);
+        } catch (IOException | MavenReportException e) {
+            getLog().debug("Failed to check if JDepend report is up to date", e);
+            return null;
+        }
+    }
+
+    /**
+     * Checks that the files of the optional outputs that have been requested exist, so that an output that has been deleted since the
+     * previous run is written again. This includes the pages of the report if {@code splitBy} is set.
+     *
+     * @return {@code true} if all requested outputs exist, {@code false} otherwise
+     */
+    private boolean requestedOutputsExist() {
+        return outputExists(writeJsonReport, jsonReportFile) && outputExists(writeBinaryReport, binaryReportFile)
+                && outputExists(writeDotGraph, dotGraphFile) && outputExists(writeGraphml, graphmlFile) && outputExists(true, historyFile)
+                && outputExists(writeMetrics, metricsFile) && pagesExist();
+    }
+
+    /**
+     * Checks that the pages of a split report exist. The pages depend on the packages found, so they are calculated from the XML report
+     * of the previous run, which is always written when {@code upToDateCheck} is {@code true}.
+     *
+     * @return {@code true} if the report is not split or all its pages exist, {@code false} otherwise
+     */
+    private boolean pagesExist() {
+        if (splitBy == ReportPage.Split.NONE) {
+            return true;
+        }
+        if (reportFile == null || !reportFile.isFile()) {
+            return false;
+        }
+        try {
+            XmlReport xmlReport = new StaxXmlReportParser().parse(reportFile);
+            List<ReportPage> pages = ReportPage.split(xmlReport.packagesWithoutError(), splitBy, prefixDepth, maxRowsPerPage,
+                    getOutputPath());
+            return pages.stream().allMatch(page -> new File(getReportOutputDirectory(), page.fileName()).isFile());
+        } catch (IOException e) {
+            getLog().debug("Failed to read the pages of the JDepend report from " + reportFile, e);
+            return false;
+        }
+    }
+
+    private static boolean outputExists(boolean requested, @Nullable File file) {
+        return !requested || file == null || file.isFile();
+    }
+
+    private InputFingerprint checkedOrCreatedFingerprint(List<ClassRoot> roots, Locale locale)
+            throws IOException, MavenReportException {
+        CheckedFingerprint checked = checkedFingerprint;
+        checkedFingerprint = null;
+        return checked != null && checked.locale().equals(locale) ? checked.fingerprint() : createFingerprint(roots, locale);
+    }
+
+    private InputFingerprint createFingerprint(List<ClassRoot> roots, Locale locale) throws IOException, MavenReportException {
+        return InputFingerprint.of(roots.stream().map(ClassRoot::directory).toList(), describeConfiguration(), locale);
+    }
+
+    /**
+     * Describes the parts of the configuration that affect the generated report, for use in the {@link InputFingerprint}. This is the
+     * plugin version, the values of all fields except {@link #FIELDS_NOT_IN_FINGERPRINT}, and the size and modification time of the JAR
+     * files of {@code includeDependencies}.
+     *
+     * @return a description of the configuration
+     *
+     * @throws MavenReportException if resolving the dependencies fails
+     */
+    private String describeConfiguration() throws MavenReportException {
+        String pluginVersion = mojoExecution == null ? "" : mojoExecution.getVersion();
+        StringBuilder sb = new StringBuilder();
+        sb.append("pluginVersion=").append(pluginVersion);
+        List<Field> fields = new ArrayList<>(List.of(JDependReport.class.getDeclaredFields()));
+        fields.sort(Comparator.comparing(Field::getName));
+        for (Field field : fields) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic() && !FIELDS_NOT_IN_FINGERPRINT.contains(field.getName())) {
+                sb.append(", ").append(field.getName()).append('=').append(fieldValue(field));
+            }
+        }
+        for (ClassArchive archive : findDependencyArchives()) {
+            File file = archive.file();
+            sb.append(", archive=").append(archive.key()).append(':').append(file.length()).append(':').append(file.lastModified());
+        }
+        return sb.toString();
+    }
+
+    private @Nullable Object fieldValue(Field field) {
+        try {
+            return field.get(this);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Failed to read field " + field.getName(), e);
+        }
+    }
+
+    /**
+     * Sets the project being reported on. This is set by Maven, and the setter is mostly useful for testing.
+     *
+     * @param project the project
+     */
+    public void setProject(MavenProject project) {
+        this.project = project;
+    }
+
     @Override
     public boolean canGenerateReport() throws MavenReportException {
         return classesDirectory != null && classesDirectory.canRead() && reportFile != null;
@@ -107,4 +1018,16 @@ public class JDependReport extends AbstractMavenReport {
     private static ResourceBundle getBundle(Locale locale) {
         return ResourceBundle.getBundle(RESOURCE_BUNDLE_BASE_NAME, locale, JDependReport.class.getClassLoader());
     }
+
+    /**
+     * A fingerprint of the inputs, and the locale it was calculated for.
+     */
+    private record CheckedFingerprint(Locale locale, InputFingerprint fingerprint) {
+    }
+
+    /**
+     * The dependencies resolved for some {@code includeDependencies} patterns.
+     */
+    private record ResolvedDependencies(List<String> patterns, List<Artifact> artifacts) {
+    }
 }
@@ -1,19 +1,29 @@
 package com.reallifedeveloper.maven.jdepend;
 
+import java.text.MessageFormat;
+import java.time.Instant;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.ResourceBundle;
-import java.util.function.Supplier;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.reporting.AbstractMavenReportRenderer;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import lombok.Setter;
+import lombok.experimental.Accessors;
 
+import com.reallifedeveloper.maven.jdepend.analysis.ClassGraph;
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+import com.reallifedeveloper.maven.jdepend.analysis.StronglyConnectedComponents;
+import com.reallifedeveloper.maven.jdepend.check.Violation;
+import com.reallifedeveloper.maven.jdepend.history.HistoryDelta;
+import com.reallifedeveloper.maven.jdepend.history.HistoryDelta.PackageChange;
 import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
-import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlClass;
 import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
-import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackageWithCycle;
 import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
 
 /**
@@ -30,37 +40,181 @@ public class JDependReportRenderer extends AbstractMavenReportRenderer {
     private final XmlReport xmlReport;
     private final ResourceBundle bundle;
     private final List<XmlPackage> packagesToReport;
+    private final PackageGraph packageGraph;
+    private final StronglyConnectedComponents components;
+    private final @Nullable ReportPage page;
+    private final @Nullable String indexFileName;
 
     /**
-     * Creates a new {@code JDependReportRenderer}.
+     * The changes since a baseline run, or {@code null} to leave out the section with changes.
+     */
+    @Setter
+    @Accessors(fluent = true)
+    private @Nullable HistoryDelta historyDelta;
+
+    /**
+     * The violations of the layer rules, or {@code null} to leave out the section with layer rule violations.
+     */
+    @Setter
+    @Accessors(fluent = true)
+    private @Nullable List<Violation> layerViolations;
+
+    /**
+     * The labels of the class roots that each package was found in, or {@code null} to leave out the section with class roots.
+     */
+    @Setter
+    @Accessors(fluent = true)
+    private @Nullable Map<String, List<String>> packageRoots;
+
+    /**
+     * The dependencies between individual classes, or {@code null} to not show the classes that are responsible for cycles.
+     */
+    @Setter
+    @Accessors(fluent = true)
+    private @Nullable ClassGraph classGraph;
+
+    /**
+     * The pages that the packages have been split into, or {@code null} to render the summary and the details of all packages on this
+     * page. If set, this page only links to the pages, which are rendered by the renderers given by {@link #forPage(ReportPage, String,
+     * Sink)}.
+     */
+    @Setter
+    @Accessors(fluent = true)
+    private @Nullable List<ReportPage> pages;
+
+    /**
+     * The pool used to render the sections of the packages in parallel, or {@code null} to render them one at a time on the calling
+     * thread. The renderers given by {@link #forPage(ReportPage, String, Sink)} use the same pool.
+     */
+    @Setter
+    @Accessors(fluent = true)
+    private @Nullable ForkJoinPool pool;
+
+    /**
+     * Creates a new {@code JDependReportRenderer}, creating the {@link PackageGraph} from the {@link XmlReport}.
      *
      * @param xmlReport the {@link XmlReport} to use as basis for the report
      * @param bundle    the {@code ResourceBundle} to use to translate the report to different languages
      * @param sink      the {@link Sink} to use to produce markup for the report
      */
-    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "ResourceBundle is motable, but that is OK")
     public JDependReportRenderer(XmlReport xmlReport, ResourceBundle bundle, Sink sink) {
+        this(xmlReport, PackageGraph.of(xmlReport), bundle, sink);
+    }
+
+    /**
+     * Creates a new {@code JDependReportRenderer} using a {@link PackageGraph} that has already been created, e.g., by the analysis.
+     *
+     * @param xmlReport    the {@link XmlReport} to use as basis for the report
+     * @param packageGraph the {@link PackageGraph} of the packages in {@code xmlReport}
+     * @param bundle       the {@code ResourceBundle} to use to translate the report to different languages
+     * @param sink         the {@link Sink} to use to produce markup for the report
+     */
+    @SuppressFBWarnings(value = "EI_EXPOSE_REP2", justification = "ResourceBundle is motable, but that is OK")
+    public JDependReportRenderer(XmlReport xmlReport, PackageGraph packageGraph, ResourceBundle bundle, Sink sink) {
         super(sink);
         this.xmlReport = xmlReport;
         this.bundle = bundle;
         this.packagesToReport = xmlReport.packagesWithoutError();
+        this.packageGraph = packageGraph;
+        this.components = StronglyConnectedComponents.of(packageGraph);
+        this.page = null;
+        this.indexFileName = null;
+    }
+
+    private JDependReportRenderer(JDependReportRenderer parent, ReportPage page, String indexFileName, Sink sink) {
+        super(sink);
+        this.xmlReport = parent.xmlReport;
+        this.bundle = parent.bundle;
+        this.packagesToReport = page.packages();
+        this.packageGraph = parent.packageGraph;
+        this.components = parent.components;
+        this.classGraph = parent.classGraph;
+        this.pool = parent.pool;
+        this.page = page;
+        this.indexFileName = indexFileName;
+    }
+
+    /**
+     * Creates a renderer for one of the pages of a report that has been split into several pages. The renderer shares the analysis
+     * result and the package graph with this renderer, and does not modify them, so the pages can be rendered in parallel.
+     *
+     * @param reportPage          the page to render
+     * @param reportIndexFileName the name of the file of the page that links to all pages
+     * @param pageSink            the {@link Sink} to use to produce markup for the page
+     *
+     * @return a new {@code JDependReportRenderer} for {@code reportPage}
+     */
+    public JDependReportRenderer forPage(ReportPage reportPage, String reportIndexFileName, Sink pageSink) {
+        return new JDependReportRenderer(this, reportPage, reportIndexFileName, pageSink);
     }
 
     @Override
     public String getTitle() {
+        if (page != null) {
+            return MessageFormat.format(bundle.getString("report.page.title"), page.title());
+        }
         return bundle.getString("report.title");
     }
 
     @Override
     protected void renderBody() {
         startSection(getTitle());
-        doIntroSection();
-        doSummarySection();
-        doPackagesSection();
-        doExplanationSection();
+        if (page != null && indexFileName != null) {
+            doIndexLink(indexFileName);
+            doSummarySection();
+            doPackagesSection();
+        } else if (pages != null) {
+            doIntroSection();
+            doPagesSection(pages);
+            doClassRootsSection();
+            doLayerViolationsSection();
+            doChangesSection();
+            doExplanationSection();
+        } else {
+            doIntroSection();
+            doSummarySection();
+            doClassRootsSection();
+            doLayerViolationsSection();
+            doChangesSection();
+            doPackagesSection();
+            doExplanationSection();
+        }
         endSection();
     }
 
+    private void doIndexLink(String reportIndexFileName) {
+        sink.link(reportIndexFileName);
+        text(bundle.getString("report.page.index"));
+        sink.link_();
+        sink.lineBreak();
+        sink.lineBreak();
+    }
+
+    private void doPagesSection(List<ReportPage> reportPages) {
+        startSection(bundle.getString("report.pages.title"));
+        startTable(new int[] { JUSTIFY_LEFT, JUSTIFY_CENTER, JUSTIFY_CENTER }, true);
+        tableHeader(new String[] { bundle.getString("report.page"), bundle.getString("report.pages.packages"),
+                bundle.getString("report.pages.cycles") });
+        for (ReportPage reportPage : reportPages) {
+            long packagesWithCycles = reportPage.packages().stream().filter(p -> hasCycles(p.name())).count();
+            sink.tableRow();
+            sink.tableCell();
+            sink.link(reportPage.fileName());
+            text(reportPage.title());
+            sink.link_();
+            sink.tableCell_();
+            tableCell(Integer.toString(reportPage.packages().size()));
+            tableCell(Long.toString(packagesWithCycles));
+            sink.tableRow_();
+        }
+        endTable();
+        endSection();
+    }
+
+    private boolean hasCycles(String packageName) {
+        return xmlReport.findPackageWithCycle(packageName).map(p -> !p.packagesInCycle().isEmpty()).orElse(false);
+    }
+
     private void doIntroSection() {
         sink.rawText(bundle.getString("report.intro"));
         sink.lineBreak();
@@ -91,8 +245,7 @@ public class JDependReportRenderer extends AbstractMavenReportRenderer {
             tableCell(convertToPercentString(stats.abstractness()));
             tableCell(convertToPercentString(stats.instability()));
             tableCell(convertToPercentString(stats.distance()));
-            boolean hasCycles = xmlReport.findPackageWithCycle(xmlPackage.name()).map(p -> !p.packagesInCycle().isEmpty()).orElse(false);
-            tableCell(Boolean.toString(hasCycles));
+            tableCell(Boolean.toString(hasCycles(xmlPackage.name())));
             tableCell(Boolean.toString(stats.hasPackageInfo()));
             sink.tableRow_();
         }
@@ -100,66 +253,121 @@ public class JDependReportRenderer extends AbstractMavenReportRenderer {
         endSection();
     }
 
-    private static String convertToPercentString(double value) {
-        return String.format("%.0f%%", value * CENT);
+    private void doClassRootsSection() {
+        if (packageRoots == null) {
+            return;
+        }
+        startSection(bundle.getString("report.roots.title"));
+        text(bundle.getString("report.roots.intro"));
+        sink.lineBreak();
+        sink.lineBreak();
+        startTable(new int[] { JUSTIFY_LEFT, JUSTIFY_LEFT }, true);
+        tableHeader(new String[] { bundle.getString("report.package"), bundle.getString("report.roots") });
+        packageRoots.forEach((packageName, labels) -> tableRow(new String[] { packageName, String.join(", ", labels) }));
+        endTable();
+        endSection();
     }
 
-    private void doPackagesSection() {
-        startSection(bundle.getString("report.packages"));
-        if (packagesToReport.isEmpty()) {
-            text(bundle.getString("report.nopackages"));
+    private void doLayerViolationsSection() {
+        if (layerViolations == null) {
+            return;
+        }
+        startSection(bundle.getString("report.layers.title"));
+        if (layerViolations.isEmpty()) {
+            text(bundle.getString("report.layers.none"));
         } else {
-            for (XmlPackage xmlPackage : packagesToReport) {
-                startSection(xmlPackage.name());
-
-                startSection(bundle.getString("report.abstractclasses"));
-                addListOrDefaultText(() -> xmlPackage.abstractClasses().stream().map(XmlClass::name).toList(), "");
-                endSection();
-
-                startSection(bundle.getString("report.concreteclasses"));
-                addListOrDefaultText(() -> xmlPackage.concreteClasses().stream().map(XmlClass::name).toList(), "");
-                endSection();
-
-                startSection(bundle.getString("report.usedbypackages"));
-                addListOrDefaultText(xmlPackage::usedBy, "");
-                endSection();
-
-                startSection(bundle.getString("report.usespackage"));
-                addListOrDefaultText(xmlPackage::dependsUpon, "");
-                endSection();
-
-                startSection(bundle.getString("report.cycles"));
-                Optional<XmlPackageWithCycle> cycles = xmlReport.findPackageWithCycle(xmlPackage.name());
-                if (cycles.isEmpty()) {
-                    text(bundle.getString("report.nocyclicdependencies"));
-                    sink.lineBreak();
-                    sink.lineBreak();
-                } else {
-                    addListOrDefaultText(() -> cycles.get().packagesInCycle(), "");
-                    sink.lineBreak();
-                }
-                endSection();
-
-                endSection();
+            text(bundle.getString("report.layers.intro"));
+            sink.lineBreak();
+            sink.lineBreak();
+            startTable(new int[] { JUSTIFY_LEFT, JUSTIFY_LEFT }, true);
+            tableHeader(new String[] { bundle.getString("report.package"), bundle.getString("report.violation") });
+            for (Violation violation : layerViolations) {
+                tableRow(new String[] { violation.packageName(), violation.message() });
             }
+            endTable();
+        }
+        endSection();
+    }
 
+    private void doChangesSection() {
+        if (historyDelta == null) {
+            return;
+        }
+        startSection(bundle.getString("report.changes.title"));
+        text(MessageFormat.format(bundle.getString("report.changes.intro"), Instant.ofEpochMilli(historyDelta.baselineTimestamp())));
+        sink.lineBreak();
+        sink.lineBreak();
+        if (historyDelta.changes().isEmpty()) {
+            text(bundle.getString("report.changes.none"));
+        } else {
+            startTable(new int[] { JUSTIFY_LEFT, JUSTIFY_CENTER, JUSTIFY_CENTER, JUSTIFY_CENTER, JUSTIFY_CENTER, JUSTIFY_CENTER,
+                    JUSTIFY_CENTER, JUSTIFY_CENTER }, true);
+            tableHeader(new String[] { bundle.getString("report.package"), bundle.getString("report.change"),
+                    bundle.getString("report.TC"), bundle.getString("report.Ca"), bundle.getString("report.Ce"),
+                    bundle.getString("report.A"), bundle.getString("report.I"), bundle.getString("report.D") });
+            for (PackageChange change : historyDelta.changes()) {
+                XmlStats before = change.before();
+                XmlStats after = change.after();
+                String changeKey = before == null ? "report.change.added"
+                        : after == null ? "report.change.removed" : "report.change.changed";
+                tableRow(new String[] { change.packageName(), bundle.getString(changeKey),
+                        changeString(before, after, stats -> Integer.toString(stats.totalClasses())),
+                        changeString(before, after, stats -> Integer.toString(stats.afferentCouplings())),
+                        changeString(before, after, stats -> Integer.toString(stats.efferentCouplings())),
+                        changeString(before, after, stats -> convertToPercentString(stats.abstractness())),
+                        changeString(before, after, stats -> convertToPercentString(stats.instability())),
+                        changeString(before, after, stats -> convertToPercentString(stats.distance())) });
+            }
+            endTable();
         }
         endSection();
     }
 
-    private void addListOrDefaultText(Supplier<List<String>> stringSupplier, String defaultText) {
-        List<String> strings = stringSupplier.get();
-        if (strings.isEmpty()) {
-            text(defaultText);
+    /**
+     * Formats a metric as {@code before -> after} if it has changed, or as a single value if it has not changed or only one of the values
+     * is available.
+     */
+    private static String changeString(@Nullable XmlStats before, @Nullable XmlStats after, Function<XmlStats, String> metric) {
+        if (before == null) {
+            return after == null ? "" : metric.apply(after);
+        }
+        String beforeString = metric.apply(before);
+        if (after == null) {
+            return beforeString;
+        }
+        String afterString = metric.apply(after);
+        return beforeString.equals(afterString) ? afterString : beforeString + " \u2192 " + afterString;
+    }
+
+    private static String convertToPercentString(double value) {
+        double percent = value * CENT;
+        return (Double.isFinite(percent) ? Long.toString(Math.round(percent)) : Double.toString(percent)) + "%";
+    }
+
+    /**
+     * Renders the sections of the packages in parallel in {@link #pool}, each into its own fragment, and writes the fragments in order.
+     * If there is no pool, or the sink does not produce XHTML, the sections are rendered one at a time directly to the sink instead.
+     */
+    private void doPackagesSection() {
+        startSection(bundle.getString("report.packages"));
+        if (packagesToReport.isEmpty()) {
+            text(bundle.getString("report.nopackages"));
         } else {
-            sink.list();
-            for (String string : strings) {
-                sink.listItem();
-                text(string);
-                sink.listItem_();
+            PackageSectionRenderer sectionRenderer = new PackageSectionRenderer(xmlReport, bundle, packageGraph, components, classGraph);
+            ForkJoinPool renderingPool = pool;
+            if (renderingPool != null && PackageSectionRenderer.canWriteFragmentsTo(sink)) {
+                List<String> fragments = renderingPool.submit(() -> packagesToReport.parallelStream().map(sectionRenderer::render).toList())
+                        .join();
+                for (String fragment : fragments) {
+                    sink.rawText(fragment);
+                }
+            } else {
+                for (XmlPackage xmlPackage : packagesToReport) {
+                    sectionRenderer.render(xmlPackage, sink);
+                }
             }
-            sink.list_();
         }
+        endSection();
     }
 
     private void doExplanationSection() {
@@ -0,0 +1,201 @@
+package com.reallifedeveloper.maven.jdepend;
+
+import java.io.StringWriter;
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.ResourceBundle;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.impl.Xhtml5BaseSink;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.reallifedeveloper.maven.jdepend.analysis.ClassGraph;
+import com.reallifedeveloper.maven.jdepend.analysis.ClassGraph.ClassDependency;
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+import com.reallifedeveloper.maven.jdepend.analysis.StronglyConnectedComponents;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlClass;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackageWithCycle;
+
+/**
+ * Renders the section with the details of a single package, either directly to the report sink, or into an XHTML fragment with the same
+ * markup that {@code AbstractMavenReportRenderer} would produce for the section.
+ * <p>
+ * Each fragment is rendered using its own {@link Sink}, and the analysis result is only read, so the sections of different packages can
+ * be rendered in parallel and then written to the report sink in order. The fragments are XHTML markup, so this is only done when the
+ * report sink produces XHTML, see {@link #canWriteFragmentsTo(Sink)}.
+ *
+ * @author RealLifeDeveloper
+ */
+final class PackageSectionRenderer {
+
+    /**
+     * The section level of a package: the report title is level 1, and the packages section is level 2.
+     */
+    private static final int PACKAGE_LEVEL = 3;
+    private static final int SUBSECTION_LEVEL = 4;
+    private static final String ARROW = " \u2192 ";
+
+    private final XmlReport xmlReport;
+    private final ResourceBundle bundle;
+    private final PackageGraph packageGraph;
+    private final StronglyConnectedComponents components;
+    private final @Nullable ClassGraph classGraph;
+
+    PackageSectionRenderer(XmlReport xmlReport, ResourceBundle bundle, PackageGraph packageGraph, StronglyConnectedComponents components,
+            @Nullable ClassGraph classGraph) {
+        this.xmlReport = xmlReport;
+        this.bundle = bundle;
+        this.packageGraph = packageGraph;
+        this.components = components;
+        this.classGraph = classGraph;
+    }
+
+    /**
+     * Checks if the fragments created by {@link #render(XmlPackage)} can be written as raw text to a sink, which is the case if the sink
+     * produces XHTML. Other sinks, e.g., one producing PDF, must be given the section using {@link #render(XmlPackage, Sink)} instead.
+     *
+     * @param sink the report sink
+     *
+     * @return {@code true} if the fragments can be written to {@code sink}
+     */
+    static boolean canWriteFragmentsTo(Sink sink) {
+        return sink instanceof Xhtml5BaseSink;
+    }
+
+    /**
+     * Renders the section of a package into an XHTML fragment.
+     *
+     * @param xmlPackage the package to render
+     *
+     * @return the XHTML markup of the section
+     */
+    String render(XmlPackage xmlPackage) {
+        StringWriter out = new StringWriter();
+        Sink sink = new Xhtml5BaseSink(out);
+        render(xmlPackage, sink);
+        sink.flush();
+        return out.toString();
+    }
+
+    /**
+     * Renders the section of a package to a sink.
+     *
+     * @param xmlPackage the package to render
+     * @param sink       the {@link Sink} to render the section to
+     */
+    void render(XmlPackage xmlPackage, Sink sink) {
+        startSection(sink, PACKAGE_LEVEL, xmlPackage.name());
+
+        startSection(sink, SUBSECTION_LEVEL, bundle.getString("report.abstractclasses"));
+        addClassListOrDash(sink, xmlPackage.abstractClasses());
+        sink.section_(SUBSECTION_LEVEL);
+
+        startSection(sink, SUBSECTION_LEVEL, bundle.getString("report.concreteclasses"));
+        addClassListOrDash(sink, xmlPackage.concreteClasses());
+        sink.section_(SUBSECTION_LEVEL);
+
+        startSection(sink, SUBSECTION_LEVEL, bundle.getString("report.usedbypackages"));
+        addListOrDash(sink, xmlPackage.usedBy());
+        sink.section_(SUBSECTION_LEVEL);
+
+        startSection(sink, SUBSECTION_LEVEL, bundle.getString("report.usespackage"));
+        addListOrDash(sink, xmlPackage.dependsUpon());
+        sink.section_(SUBSECTION_LEVEL);
+
+        startSection(sink, SUBSECTION_LEVEL, bundle.getString("report.cycles"));
+        XmlPackageWithCycle cycles = xmlReport.findPackageWithCycle(xmlPackage.name()).orElse(null);
+        if (cycles == null) {
+            text(sink, bundle.getString("report.nocyclicdependencies"));
+            sink.lineBreak();
+            sink.lineBreak();
+        } else {
+            int tangleSize = components.tangleSize(packageGraph.id(xmlPackage.name()));
+            if (tangleSize > 1) {
+                text(sink, MessageFormat.format(bundle.getString("report.tangle"), tangleSize));
+                sink.lineBreak();
+            }
+            addListOrDash(sink, cycles.packagesInCycle());
+            sink.lineBreak();
+            addCycleClasses(sink, xmlPackage.name(), cycles.packagesInCycle());
+        }
+        sink.section_(SUBSECTION_LEVEL);
+
+        sink.section_(PACKAGE_LEVEL);
+    }
+
+    /**
+     * Lists the class dependencies behind each package dependency in a cycle, if class-level dependencies are available.
+     */
+    private void addCycleClasses(Sink sink, String packageName, List<String> packagesInCycle) {
+        ClassGraph graph = classGraph;
+        if (graph == null || packagesInCycle.isEmpty()) {
+            return;
+        }
+        text(sink, bundle.getString("report.cycleclasses"));
+        sink.list();
+        String from = packageName;
+        for (String to : packagesInCycle) {
+            List<ClassDependency> dependencies = graph.dependencies(from, to);
+            for (ClassDependency dependency : dependencies) {
+                sink.listItem();
+                text(sink, dependency.className() + ARROW + dependency.dependsUpon());
+                sink.listItem_();
+            }
+            if (dependencies.isEmpty()) {
+                // E.g., a dependency that JDepend finds in a type annotation, which the class graph does not record
+                sink.listItem();
+                text(sink, MessageFormat.format(bundle.getString("report.cyclenoclasses"), from + ARROW + to));
+                sink.listItem_();
+            }
+            from = to;
+        }
+        sink.list_();
+        sink.lineBreak();
+    }
+
+    private static void startSection(Sink sink, int level, String name) {
+        sink.section(level, null);
+        sink.anchor(name);
+        sink.anchor_();
+        sink.sectionTitle(level, null);
+        text(sink, name);
+        sink.sectionTitle_(level);
+    }
+
+    private static void addClassListOrDash(Sink sink, List<XmlClass> classes) {
+        if (classes.isEmpty()) {
+            text(sink, null);
+            return;
+        }
+        sink.list();
+        for (XmlClass xmlClass : classes) {
+            sink.listItem();
+            text(sink, xmlClass.name());
+            sink.listItem_();
+        }
+        sink.list_();
+    }
+
+    private static void addListOrDash(Sink sink, List<String> strings) {
+        if (strings.isEmpty()) {
+            text(sink, null);
+            return;
+        }
+        sink.list();
+        for (String string : strings) {
+            sink.listItem();
+            text(sink, string);
+            sink.listItem_();
+        }
+        sink.list_();
+    }
+
+    /**
+     * Writes text the same way as {@code AbstractMavenReportRenderer}, i.e., a dash if the text is empty.
+     */
+    private static void text(Sink sink, @Nullable String text) {
+        sink.text(text == null || text.isEmpty() ? "-" : text);
+    }
+}
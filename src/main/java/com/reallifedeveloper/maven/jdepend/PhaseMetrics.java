@@ -0,0 +1,329 @@
+package com.reallifedeveloper.maven.jdepend;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
+
+/**
+ * Measures the wall time, CPU time and allocated bytes of the phases of a report generation, e.g., analysis, writing and rendering,
+ * and counts the classes, packages and dependencies of the analysis result.
+ * <p>
+ * The CPU time and the allocated bytes are summed over the thread that created the {@code PhaseMetrics}, normally the thread running the
+ * mojo, and the worker threads created by {@link #threadFactory()}, including workers that have terminated, so the work of a
+ * {@code ForkJoinPool} that is shut down before the end of a phase is included. Other threads are not measured, so in a parallel
+ * build, the work done for other modules at the same time is not counted. Values that the JVM cannot provide are reported as -1.
+ * <p>
+ * A {@code PhaseMetrics} created as disabled measures nothing: phases and counts are ignored, and {@link #threadFactory()} gives the
+ * default factory, so that the instrumentation costs nothing when the metrics are not wanted.
+ * <p>
+ * The result can be written as JSON:
+ *
+ * <pre>
+ * {"phases":[{"name":"analysis","wallTimeNanos":81234567,"cpuTimeNanos":250000000,"allocatedBytes":123456789},...],
+ * "counts":{"classes":120,"packages":25,"dependencies":140}}
+ * </pre>
+ * <p>
+ * This class is not thread-safe, and phases should not overlap.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class PhaseMetrics {
+
+    private static final long UNAVAILABLE = -1;
+    private static final long BYTES_PER_MIB = 1024 * 1024;
+
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final List<PhaseResult> phases = new ArrayList<>();
+    private final Map<String, Long> counts = new LinkedHashMap<>();
+    private final boolean enabled;
+    private final long ownerThreadId;
+    private final Set<Long> liveWorkerThreadIds = ConcurrentHashMap.newKeySet();
+    private final Map<Long, ThreadUsage> terminatedWorkerThreadUsage = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new {@code PhaseMetrics} that measures the current thread and the worker threads created by {@link #threadFactory()}.
+     */
+    public PhaseMetrics() {
+        this(true);
+    }
+
+    /**
+     * Creates a new {@code PhaseMetrics} that measures the current thread and the worker threads created by {@link #threadFactory()},
+     * or that measures nothing.
+     *
+     * @param enabled {@code true} to measure the phases, {@code false} to ignore them
+     */
+    @SuppressWarnings("deprecation")
+    public PhaseMetrics(boolean enabled) {
+        this.enabled = enabled;
+        this.ownerThreadId = Thread.currentThread().getId();
+    }
+
+    /**
+     * Starts measuring a phase. The phase ends when the returned {@link Phase} is closed.
+     *
+     * @param name the name of the phase
+     *
+     * @return the phase being measured
+     */
+    public Phase start(String name) {
+        return new Phase(name);
+    }
+
+    /**
+     * Gives a factory for the worker threads of a {@code ForkJoinPool} used during the phases. When such a worker terminates, e.g.,
+     * because the pool is shut down, the bytes it allocated are recorded, so that they still count in the phase that is measured.
+     *
+     * @return a {@code ForkJoinWorkerThreadFactory} for measured worker threads
+     */
+    public ForkJoinWorkerThreadFactory threadFactory() {
+        return enabled ? MeasuredWorkerThread::new : ForkJoinPool.defaultForkJoinWorkerThreadFactory;
+    }
+
+    /**
+     * Records the number of classes, packages and package dependencies in an analysis result.
+     *
+     * @param xmlReport the analysis result
+     */
+    public void countPackages(XmlReport xmlReport) {
+        if (!enabled) {
+            return;
+        }
+        long classes = 0;
+        long dependencies = 0;
+        for (XmlPackage xmlPackage : xmlReport.packagesWithoutError()) {
+            XmlStats stats = xmlPackage.stats();
+            classes += stats == null ? 0 : stats.totalClasses();
+            dependencies += xmlPackage.dependsUpon().size();
+        }
+        count("classes", classes);
+        count("packages", xmlReport.packages().size());
+        count("dependencies", dependencies);
+    }
+
+    /**
+     * Records a count, replacing any earlier count with the same name.
+     *
+     * @param name  the name of the count
+     * @param value the value of the count
+     */
+    public void count(String name, long value) {
+        if (enabled) {
+            counts.put(name, value);
+        }
+    }
+
+    /**
+     * Gives the phases measured so far, in the order they ended.
+     *
+     * @return an unmodifiable list of the measured phases
+     */
+    public List<PhaseResult> phases() {
+        return List.copyOf(phases);
+    }
+
+    /**
+     * Gives the counts recorded so far, in the order they were first recorded.
+     *
+     * @return an unmodifiable map from count name to value
+     */
+    public Map<String, Long> counts() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(counts));
+    }
+
+    /**
+     * Gives a one-line summary of each phase and a line with the counts, suitable for logging.
+     *
+     * @return the lines of the summary
+     */
+    public List<String> summary() {
+        List<String> lines = new ArrayList<>();
+        for (PhaseResult phase : phases) {
+            lines.add(phase.name() + ": wall=" + TimeUnit.NANOSECONDS.toMillis(phase.wallTimeNanos()) + " ms, cpu="
+                    + (phase.cpuTimeNanos() < 0 ? "n/a" : TimeUnit.NANOSECONDS.toMillis(phase.cpuTimeNanos()) + " ms") + ", allocated="
+                    + (phase.allocatedBytes() < 0 ? "n/a" : phase.allocatedBytes() / BYTES_PER_MIB + " MiB"));
+        }
+        if (!counts.isEmpty()) {
+            StringBuilder sb = new StringBuilder();
+            counts.forEach((name, value) -> sb.append(sb.length() == 0 ? "" : ", ").append(name).append('=').append(value));
+            lines.add(sb.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Writes the measured phases and the counts as JSON to a file, creating the parent directory if necessary. The names of the phases
+     * and counts are written as they are, so they should be simple identifiers.
+     *
+     * @param file the file to write to
+     *
+     * @throws IOException if writing the file fails
+     */
+    public void write(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            out.write("{\"phases\":[");
+            for (int i = 0; i < phases.size(); i++) {
+                PhaseResult phase = phases.get(i);
+                out.write(i == 0 ? "" : ",");
+                out.write("{\"name\":\"" + phase.name() + "\",\"wallTimeNanos\":" + phase.wallTimeNanos() + ",\"cpuTimeNanos\":"
+                        + phase.cpuTimeNanos() + ",\"allocatedBytes\":" + phase.allocatedBytes() + "}");
+            }
+            out.write("],\"counts\":{");
+            boolean first = true;
+            for (Map.Entry<String, Long> count : counts.entrySet()) {
+                out.write(first ? "" : ",");
+                out.write("\"" + count.getKey() + "\":" + count.getValue());
+                first = false;
+            }
+            out.write("}}");
+        }
+    }
+
+    /**
+     * Gives the CPU time and the bytes allocated so far by the measured threads: the owner thread, the live worker threads and the
+     * terminated worker threads created by {@link #threadFactory()}. A value that the JVM cannot provide is -1.
+     */
+    private Map<Long, ThreadUsage> usagePerThread() {
+        Map<Long, ThreadUsage> usage = new HashMap<>(terminatedWorkerThreadUsage);
+        usage.put(ownerThreadId, usage(ownerThreadId));
+        for (long threadId : liveWorkerThreadIds) {
+            usage.putIfAbsent(threadId, usage(threadId));
+        }
+        return usage;
+    }
+
+    private ThreadUsage usage(long threadId) {
+        long cpuTime = UNAVAILABLE;
+        if (threadBean.isThreadCpuTimeSupported() && threadBean.isThreadCpuTimeEnabled()) {
+            cpuTime = Math.max(threadBean.getThreadCpuTime(threadId), UNAVAILABLE);
+        }
+        long allocatedBytes = UNAVAILABLE;
+        if (threadBean instanceof com.sun.management.ThreadMXBean sunThreadBean && sunThreadBean.isThreadAllocatedMemorySupported()
+                && sunThreadBean.isThreadAllocatedMemoryEnabled()) {
+            allocatedBytes = Math.max(sunThreadBean.getThreadAllocatedBytes(threadId), UNAVAILABLE);
+        }
+        return new ThreadUsage(cpuTime, allocatedBytes);
+    }
+
+    /**
+     * Sums the increase of a measurement over all threads, or gives -1 if the measurement is not available for the owner thread.
+     */
+    private long sumIncrease(Map<Long, ThreadUsage> start, Map<Long, ThreadUsage> end, ToLongFunction<ThreadUsage> measurement) {
+        ThreadUsage ownerStart = start.get(ownerThreadId);
+        if (ownerStart == null || measurement.applyAsLong(ownerStart) < 0) {
+            return UNAVAILABLE;
+        }
+        long sum = 0;
+        for (Map.Entry<Long, ThreadUsage> thread : end.entrySet()) {
+            long endValue = measurement.applyAsLong(thread.getValue());
+            if (endValue >= 0) {
+                ThreadUsage threadStart = start.get(thread.getKey());
+                long startValue = threadStart == null ? 0 : measurement.applyAsLong(threadStart);
+                sum += endValue - Math.max(startValue, 0);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * A {@code ForkJoinPool} worker thread that records the bytes it has allocated when it terminates.
+     */
+    private final class MeasuredWorkerThread extends ForkJoinWorkerThread {
+
+        private MeasuredWorkerThread(ForkJoinPool pool) {
+            super(pool);
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        protected void onStart() {
+            super.onStart();
+            liveWorkerThreadIds.add(getId());
+        }
+
+        @Override
+        @SuppressWarnings("deprecation")
+        protected void onTermination(@Nullable Throwable exception) {
+            // Recorded before the thread is removed from the live threads, so that it is always included in a measurement
+            terminatedWorkerThreadUsage.put(getId(), usage(getId()));
+            liveWorkerThreadIds.remove(getId());
+            super.onTermination(exception);
+        }
+    }
+
+    /**
+     * A phase being measured.
+     */
+    public final class Phase implements AutoCloseable {
+
+        private final String name;
+        private final long startNanos = System.nanoTime();
+        private final Map<Long, ThreadUsage> startUsage;
+        private boolean closed;
+
+        private Phase(String name) {
+            this.name = name;
+            this.startUsage = enabled ? usagePerThread() : Map.of();
+            this.closed = !enabled;
+        }
+
+        /**
+         * Ends the phase and records its measurements. Closing a phase more than once has no effect.
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            long wallTime = System.nanoTime() - startNanos;
+            Map<Long, ThreadUsage> endUsage = usagePerThread();
+            phases.add(new PhaseResult(name, wallTime, sumIncrease(startUsage, endUsage, ThreadUsage::cpuTimeNanos),
+                    sumIncrease(startUsage, endUsage, ThreadUsage::allocatedBytes)));
+        }
+    }
+
+    /**
+     * The measurements of a phase.
+     *
+     * @param name           the name of the phase
+     * @param wallTimeNanos  the elapsed wall clock time, in nanoseconds
+     * @param cpuTimeNanos   the CPU time used by the measured threads, in nanoseconds, or -1 if not available
+     * @param allocatedBytes the number of bytes allocated on the heap by the measured threads, or -1 if not available
+     */
+    public record PhaseResult(String name, long wallTimeNanos, long cpuTimeNanos, long allocatedBytes) {
+    }
+
+    /**
+     * The CPU time and allocated bytes of a thread at some point in time, -1 if not available.
+     */
+    private record ThreadUsage(long cpuTimeNanos, long allocatedBytes) {
+    }
+}
@@ -0,0 +1,90 @@
+package com.reallifedeveloper.maven.jdepend;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+
+/**
+ * A page of a JDepend report that has been split into several pages, with the summary and the details of some of the packages.
+ *
+ * @param fileName the name of the file of the page, relative to the report output directory
+ * @param title    the title of the page, i.e., the package or package prefix covered by the page
+ * @param packages the packages on the page
+ *
+ * @author RealLifeDeveloper
+ */
+public record ReportPage(String fileName, String title, List<XmlPackage> packages) {
+
+    private static final String HTML_SUFFIX = ".html";
+
+    /**
+     * Creates a new {@code ReportPage}.
+     *
+     * @param fileName the name of the file of the page, relative to the report output directory
+     * @param title    the title of the page, i.e., the package or package prefix covered by the page
+     * @param packages the packages on the page, the list is copied
+     */
+    public ReportPage {
+        packages = List.copyOf(packages);
+    }
+
+    /**
+     * Splits a report into pages.
+     * <p>
+     * The packages are grouped by name or by prefix, in the order they are given, and a group with more than {@code maxRowsPerPage}
+     * packages is split over several pages, so that no page has a summary table with more than {@code maxRowsPerPage} rows.
+     *
+     * @param packages       the packages to put on the pages
+     * @param splitBy        how to group packages into pages, should not be {@link Split#NONE}
+     * @param prefixDepth    the number of leading parts of the package names used as prefix if {@code splitBy} is {@link Split#PREFIX}
+     * @param maxRowsPerPage the maximum number of packages on a page, or 0 for no limit
+     * @param outputName     the output name of the report, used as the first part of the file names of the pages
+     *
+     * @return the pages, each with a unique file name
+     */
+    public static List<ReportPage> split(List<XmlPackage> packages, Split splitBy, int prefixDepth, int maxRowsPerPage,
+            String outputName) {
+        Map<String, List<XmlPackage>> groups = new LinkedHashMap<>();
+        for (XmlPackage xmlPackage : packages) {
+            String group = splitBy == Split.PREFIX ? PackageGraph.prefix(xmlPackage.name(), Math.max(prefixDepth, 1)) : xmlPackage.name();
+            groups.computeIfAbsent(group, g -> new ArrayList<>()).add(xmlPackage);
+        }
+        List<ReportPage> pages = new ArrayList<>();
+        for (Map.Entry<String, List<XmlPackage>> group : groups.entrySet()) {
+            List<XmlPackage> groupPackages = group.getValue();
+            int pageSize = maxRowsPerPage > 0 ? maxRowsPerPage : groupPackages.size();
+            int pageCount = (groupPackages.size() + pageSize - 1) / pageSize;
+            for (int i = 0; i < pageCount; i++) {
+                String suffix = pageCount == 1 ? "" : "-" + (i + 1);
+                String title = pageCount == 1 ? group.getKey() : group.getKey() + " (" + (i + 1) + "/" + pageCount + ")";
+                List<XmlPackage> pagePackages = groupPackages.subList(i * pageSize, Math.min(groupPackages.size(), (i + 1) * pageSize));
+                pages.add(new ReportPage(outputName + "-" + group.getKey() + suffix + HTML_SUFFIX, title, pagePackages));
+            }
+        }
+        return pages;
+    }
+
+    /**
+     * The ways a report can be split into pages.
+     */
+    public enum Split {
+        /**
+         * Do not split the report, render everything on a single page.
+         */
+        NONE,
+
+        /**
+         * One page per package.
+         */
+        PACKAGE,
+
+        /**
+         * One page per package prefix, e.g., {@code com.example.foo} for all packages below it if the prefix depth is 3.
+         */
+        PREFIX
+    }
+}
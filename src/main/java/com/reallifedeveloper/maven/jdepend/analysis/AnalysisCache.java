@@ -0,0 +1,221 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * An in-memory cache of the information extracted from the class files of a classes directory or an archive, shared by all analyses in
+ * the same JVM, e.g., by the modules of a parallel Maven build, or by consecutive builds in the Maven daemon.
+ * <p>
+ * The entries are keyed by a fingerprint of the content that was analyzed: for a classes directory, the relative paths of the class
+ * files and the SHA-256 hashes of their content, and for an archive, the checksum of its content. Directories or archives with the same
+ * content therefore share an entry, regardless of where they are or which module analyzes them. When a {@link ClassFileCache} is used,
+ * the hash of a class file whose size and modification time have not changed is taken from it, so an entry can then be stale in the
+ * same rare cases as the class file cache, e.g., a class file rewritten with the same size within the resolution of the modification
+ * time. The cache is bounded by the total number of classes in its entries,
+ * and the least recently used entries are evicted when the bound is exceeded.
+ * <p>
+ * The {@link #shared() shared} instance is held in a static field, so it lives as long as the class loader of the plugin. Maven keeps
+ * that class loader for the whole build, and the Maven daemon keeps it between builds. Its bound is the largest one asked for with
+ * {@link #shared(int)}, so that analyses with different settings, e.g., the modules of a parallel build, do not shrink it for each
+ * other, and the result does not depend on the order in which they run.
+ * <p>
+ * Instances of this class are thread-safe. If two threads miss the same entry at the same time, both analyze the classes, and the
+ * result of the last one is kept.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class AnalysisCache {
+
+    /**
+     * The default maximum number of classes that an analysis allows the shared cache to hold.
+     */
+    public static final int DEFAULT_MAX_CLASSES = 200_000;
+
+    private static final AnalysisCache SHARED = new AnalysisCache(0);
+    private static final String FINGERPRINT_ALGORITHM = "SHA-256";
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final Map<String, List<ClassFileInfo>> entries = new LinkedHashMap<>(INITIAL_CAPACITY, LOAD_FACTOR, true);
+    private int maxClasses;
+    private long classCount;
+
+    /**
+     * Creates a new, empty {@code AnalysisCache}.
+     *
+     * @param maxClasses the maximum total number of classes in the entries of the cache
+     */
+    public AnalysisCache(int maxClasses) {
+        this.maxClasses = maxClasses;
+    }
+
+    /**
+     * Gives the cache shared by all analyses using the same class loader. It holds no classes until a bound has been asked for with
+     * {@link #shared(int)}.
+     *
+     * @return the shared {@code AnalysisCache}
+     */
+    public static AnalysisCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Gives the cache shared by all analyses using the same class loader, first raising its bound to {@code maxClasses} if it is lower.
+     * The bound is never lowered.
+     *
+     * @param maxClasses the maximum number of classes that the analysis allows the cache to hold, or 0 to not use the cache
+     *
+     * @return the shared {@code AnalysisCache}, or {@code null} if {@code maxClasses} is not positive
+     */
+    public static @Nullable AnalysisCache shared(int maxClasses) {
+        if (maxClasses <= 0) {
+            return null;
+        }
+        SHARED.raiseMaxClasses(maxClasses);
+        return SHARED;
+    }
+
+    /**
+     * Gives the information about the classes analyzed for a key, and marks the entry as recently used.
+     *
+     * @param key the fingerprint of the analyzed content
+     *
+     * @return the information about the classes, or {@code null} if there is no entry for {@code key}
+     */
+    public synchronized @Nullable List<ClassFileInfo> get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Adds or replaces an entry, and evicts the least recently used entries if the cache has grown too large. An entry with more
+     * classes than the cache may hold is not added.
+     *
+     * @param key            the fingerprint of the analyzed content
+     * @param classFileInfos the information about the classes
+     */
+    public synchronized void put(String key, List<ClassFileInfo> classFileInfos) {
+        if (classFileInfos.size() > maxClasses) {
+            return;
+        }
+        List<ClassFileInfo> previous = entries.put(key, List.copyOf(classFileInfos));
+        classCount += classFileInfos.size() - (previous == null ? 0 : previous.size());
+        evict();
+    }
+
+    /**
+     * Changes the maximum total number of classes in the entries of the cache, evicting entries if necessary.
+     *
+     * @param maxClasses the new maximum number of classes
+     */
+    public synchronized void maxClasses(int maxClasses) {
+        this.maxClasses = maxClasses;
+        evict();
+    }
+
+    private synchronized void raiseMaxClasses(int minMaxClasses) {
+        maxClasses = Math.max(maxClasses, minMaxClasses);
+    }
+
+    /**
+     * Gives the number of entries in the cache.
+     *
+     * @return the number of entries
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gives the total number of classes in the entries of the cache.
+     *
+     * @return the number of classes
+     */
+    public synchronized long classCount() {
+        return classCount;
+    }
+
+    /**
+     * Removes all entries.
+     */
+    public synchronized void clear() {
+        entries.clear();
+        classCount = 0;
+    }
+
+    private void evict() {
+        Iterator<List<ClassFileInfo>> iterator = entries.values().iterator();
+        while (classCount > maxClasses && iterator.hasNext()) {
+            classCount -= iterator.next().size();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Calculates the key of the class files found in a classes directory, from their paths relative to the directory and the hashes of
+     * their content.
+     *
+     * @param root       the classes directory
+     * @param classFiles the class files in the directory, sorted by path
+     * @param hashes     the hashes of the content of the class files, see {@link ClassFileCache#hash(byte[])}, in the same order as
+     *                   {@code classFiles}
+     *
+     * @return the key of the class files
+     */
+    public static String directoryKey(Path root, List<Path> classFiles, List<byte[]> hashes) {
+        if (classFiles.size() != hashes.size()) {
+            throw new IllegalArgumentException("Expected one hash per class file: classFiles=" + classFiles.size() + ", hashes="
+                    + hashes.size());
+        }
+        MessageDigest digest = newDigest();
+        HexFormat hex = HexFormat.of();
+        for (int i = 0; i < classFiles.size(); i++) {
+            String path = root.relativize(classFiles.get(i)).toString().replace(File.separatorChar, '/');
+            digest.update((path + ':' + hex.formatHex(hashes.get(i)) + '\n').getBytes(StandardCharsets.UTF_8));
+        }
+        return "directory:" + hex.formatHex(digest.digest());
+    }
+
+    /**
+     * Calculates the key of an archive from the checksum of its content.
+     *
+     * @param archive the archive
+     *
+     * @return the key of the archive
+     *
+     * @throws IOException if reading the archive fails
+     */
+    public static String archiveKey(File archive) throws IOException {
+        return archiveKey(ClassArchiveCache.checksum(archive));
+    }
+
+    /**
+     * Gives the key of an archive whose checksum has already been calculated.
+     *
+     * @param checksum the checksum of the archive, see {@link ClassArchiveCache#checksum(File)}
+     *
+     * @return the key of the archive
+     */
+    public static String archiveKey(byte[] checksum) {
+        return "archive:" + HexFormat.of().formatHex(checksum);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(FINGERPRINT_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every Java platform must support " + FINGERPRINT_ALGORITHM, e);
+        }
+    }
+}
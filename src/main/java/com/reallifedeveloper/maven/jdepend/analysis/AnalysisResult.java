@@ -0,0 +1,37 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.util.List;
+import java.util.Map;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+
+/**
+ * The result of analyzing several {@link ClassRoot class roots} together: one {@link XmlReport} for the classes of all roots, the
+ * {@link PackageGraph} of the same packages, the roots that each analyzed package was found in, and optionally the dependencies between
+ * the individual classes.
+ *
+ * @param xmlReport    the combined result of the analysis
+ * @param packageGraph the packages in {@code xmlReport} and the dependencies between them
+ * @param packageRoots the labels of the class roots containing classes of each package, in the order the roots were given, keyed by
+ *                     package name and sorted by it; packages only found in archives are not included
+ * @param classGraph   the dependencies between the classes of the same class roots and archives, or {@code null} if the class-level
+ *                     dependencies were not analyzed
+ *
+ * @author RealLifeDeveloper
+ */
+public record AnalysisResult(XmlReport xmlReport, PackageGraph packageGraph, Map<String, List<String>> packageRoots,
+        @Nullable ClassGraph classGraph) {
+
+    /**
+     * Creates a new {@code AnalysisResult} without class-level dependencies.
+     *
+     * @param xmlReport    the combined result of the analysis
+     * @param packageGraph the packages in {@code xmlReport} and the dependencies between them
+     * @param packageRoots the labels of the class roots containing classes of each package
+     */
+    public AnalysisResult(XmlReport xmlReport, PackageGraph packageGraph, Map<String, List<String>> packageRoots) {
+        this(xmlReport, packageGraph, packageRoots, null);
+    }
+}
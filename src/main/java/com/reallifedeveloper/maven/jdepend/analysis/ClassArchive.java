@@ -0,0 +1,131 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import jdepend.framework.ClassFileParser;
+import jdepend.framework.PackageFilter;
+
+/**
+ * An archive, such as a JAR file, containing class files to analyze in addition to the classes directory.
+ * <p>
+ * The class files are read directly from the archive, without extracting them to disk. If a cache file is given, the information
+ * extracted from the archive is stored there together with the key and a checksum of the archive, so that an unchanged archive is
+ * only read once.
+ *
+ * @param file      the archive file
+ * @param key       a key identifying the archive, e.g., the Maven coordinates of an artifact
+ * @param cacheFile the file used to cache the information extracted from the archive, or {@code null} to not use a cache
+ *
+ * @author RealLifeDeveloper
+ */
+public record ClassArchive(File file, String key, @Nullable File cacheFile) {
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+    private static final String MODULE_INFO_CLASS_NAME = "module-info.class";
+    private static final String META_INF_DIRECTORY = "META-INF/";
+
+    /**
+     * Gives the information about the class files in the archive, from the cache if the archive is unchanged.
+     *
+     * @return the information about the class files in the archive, sorted by the names of the entries
+     *
+     * @throws IOException if reading the archive fails
+     */
+    public List<ClassFileInfo> read() throws IOException {
+        return cacheFile == null ? readClassFiles(file) : read(ClassArchiveCache.checksum(file));
+    }
+
+    /**
+     * Gives the information about the class files in the archive, from the cache if the archive is unchanged, using a checksum of the
+     * archive that has already been calculated, e.g., for the key in the {@link AnalysisCache}.
+     *
+     * @param checksum the checksum of the archive, see {@link ClassArchiveCache#checksum(File)}
+     *
+     * @return the information about the class files in the archive, sorted by the names of the entries
+     *
+     * @throws IOException if reading the archive fails
+     */
+    public List<ClassFileInfo> read(byte[] checksum) throws IOException {
+        File cacheLocation = cacheFile;
+        if (cacheLocation == null) {
+            return readClassFiles(file);
+        }
+        List<ClassFileInfo> classFileInfos = ClassArchiveCache.load(cacheLocation, key, checksum);
+        if (classFileInfos == null) {
+            classFileInfos = readClassFiles(file);
+            ClassArchiveCache.save(cacheLocation, key, checksum, classFileInfos);
+        }
+        return classFileInfos;
+    }
+
+    /**
+     * Reads the class files in an archive, streaming each entry from the archive.
+     * <p>
+     * The {@code module-info} class and everything in {@code META-INF}, e.g., versioned class files in a multi-release JAR, are ignored.
+     *
+     * @param archive the archive to read
+     *
+     * @return the information about the class files in the archive, sorted by the names of the entries
+     *
+     * @throws IOException if reading the archive fails
+     */
+    public static List<ClassFileInfo> readClassFiles(File archive) throws IOException {
+        // Imports are filtered when assembling the packages, so that cached entries do not depend on the filter configuration.
+        ClassFileParser parser = new ClassFileParser(new PackageFilter(List.of()));
+        List<ClassFileInfo> classFileInfos = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            for (ZipEntry entry : classFileEntries(zipFile)) {
+                try (InputStream in = new BufferedInputStream(zipFile.getInputStream(entry))) {
+                    classFileInfos.add(ClassFileInfo.of(parser.parse(in)));
+                } catch (IOException e) {
+                    throw new IOException("Failed to read class file " + entry.getName() + " in " + archive, e);
+                }
+            }
+        }
+        return classFileInfos;
+    }
+
+    /**
+     * Reads the references to other classes from the class files in an archive, for the class-level analysis. The same class files
+     * are read as by {@link #readClassFiles(File)}. The result is not cached.
+     *
+     * @param archive the archive to read
+     *
+     * @return the class references of the class files in the archive, sorted by the names of the entries
+     *
+     * @throws IOException if reading the archive fails
+     */
+    public static List<ClassReferences> readClassReferences(File archive) throws IOException {
+        List<ClassReferences> classReferences = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            for (ZipEntry entry : classFileEntries(zipFile)) {
+                try (InputStream in = zipFile.getInputStream(entry)) {
+                    classReferences.add(ClassReferences.parse(in.readAllBytes()));
+                } catch (IOException e) {
+                    throw new IOException("Failed to read class file " + entry.getName() + " in " + archive, e);
+                }
+            }
+        }
+        return classReferences;
+    }
+
+    private static List<? extends ZipEntry> classFileEntries(ZipFile zipFile) {
+        return zipFile.stream().filter(ClassArchive::isClassFile).sorted(Comparator.comparing(ZipEntry::getName)).toList();
+    }
+
+    private static boolean isClassFile(ZipEntry entry) {
+        String name = entry.getName();
+        return !entry.isDirectory() && name.endsWith(CLASS_FILE_SUFFIX) && !name.startsWith(META_INF_DIRECTORY)
+                && !name.endsWith(MODULE_INFO_CLASS_NAME);
+    }
+}
@@ -0,0 +1,126 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Stores the {@link ClassFileInfo} extracted from a {@link ClassArchive} in a file, keyed by the key of the archive and a checksum of
+ * its content.
+ * <p>
+ * Each archive has a cache file of its own, so the cache files of archives that are shared between projects, e.g., dependencies in the
+ * local Maven repository, can be shared as well.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class ClassArchiveCache {
+
+    private static final int MAGIC = 0x4A44_4341;
+    private static final int VERSION = 1;
+    private static final String CHECKSUM_ALGORITHM = "SHA-256";
+
+    private ClassArchiveCache() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Loads the cached information about an archive.
+     *
+     * @param file     the cache file
+     * @param key      the key of the archive
+     * @param checksum the checksum of the current content of the archive, see {@link #checksum(File)}
+     *
+     * @return the cached information, or {@code null} if the file does not exist, cannot be read, or was created for another key or
+     *         another version of the archive
+     */
+    public static @Nullable List<ClassFileInfo> load(File file, String key, byte[] checksum) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !key.equals(in.readUTF())) {
+                return null;
+            }
+            byte[] cachedChecksum = new byte[in.readUnsignedByte()];
+            in.readFully(cachedChecksum);
+            if (!Arrays.equals(cachedChecksum, checksum)) {
+                return null;
+            }
+            int numClasses = in.readInt();
+            List<ClassFileInfo> classFileInfos = new ArrayList<>(numClasses);
+            for (int i = 0; i < numClasses; i++) {
+                classFileInfos.add(ClassFileInfo.readFrom(in));
+            }
+            return classFileInfos;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Saves the information about an archive. The file is first written to a temporary file that then replaces {@code file}, so that
+     * concurrent builds sharing the cache never see a half-written file.
+     *
+     * @param file           the cache file
+     * @param key            the key of the archive
+     * @param checksum       the checksum of the content of the archive, see {@link #checksum(File)}
+     * @param classFileInfos the information extracted from the archive
+     *
+     * @throws IOException if writing the file fails
+     */
+    public static void save(File file, String key, byte[] checksum, List<ClassFileInfo> classFileInfos) throws IOException {
+        Path target = file.toPath().toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(key);
+            out.writeByte(checksum.length);
+            out.write(checksum);
+            out.writeInt(classFileInfos.size());
+            for (ClassFileInfo classFileInfo : classFileInfos) {
+                classFileInfo.writeTo(out);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Calculates the checksum of an archive, reading it in chunks so that large archives do not have to fit in memory.
+     *
+     * @param archive the archive
+     *
+     * @return the checksum of the content of {@code archive}
+     *
+     * @throws IOException if reading the archive fails
+     */
+    public static byte[] checksum(File archive) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(CHECKSUM_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every Java platform must support " + CHECKSUM_ALGORITHM, e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(archive.toPath()), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return digest.digest();
+    }
+}
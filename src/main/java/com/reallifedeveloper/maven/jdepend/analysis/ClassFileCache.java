@@ -0,0 +1,214 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A persistent cache of the {@link ClassFileInfo} extracted from the class files in a directory, keyed by the path of each class file
+ * relative to the directory and a hash of its content.
+ * <p>
+ * A cached entry is used without reading the class file if the size and last modification time of the file are unchanged. Otherwise,
+ * the content hash decides: a class file that was rewritten with identical content, e.g., by a clean build, is not parsed again.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class ClassFileCache {
+
+    private static final int MAGIC = 0x4A44_4343;
+    private static final int VERSION = 1;
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private final String root;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private boolean modified;
+
+    /**
+     * Creates a new, empty {@code ClassFileCache} for class files in the given directory.
+     *
+     * @param root the directory containing the class files
+     */
+    public ClassFileCache(File root) {
+        this.root = root.getAbsolutePath();
+    }
+
+    /**
+     * Loads a {@code ClassFileCache} from a file. If the file does not exist, cannot be read, or was created for another directory, an
+     * empty cache is returned.
+     *
+     * @param file the file to load the cache from
+     * @param root the directory containing the class files
+     *
+     * @return the {@code ClassFileCache} read from {@code file}, or an empty cache
+     */
+    public static ClassFileCache load(File file, File root) {
+        ClassFileCache cache = new ClassFileCache(root);
+        if (!file.isFile()) {
+            return cache;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || !cache.root.equals(in.readUTF())) {
+                return cache;
+            }
+            int numEntries = in.readInt();
+            for (int i = 0; i < numEntries; i++) {
+                String path = in.readUTF();
+                long size = in.readLong();
+                long lastModified = in.readLong();
+                byte[] hash = new byte[in.readUnsignedByte()];
+                in.readFully(hash);
+                cache.entries.put(path, new Entry(size, lastModified, hash, ClassFileInfo.readFrom(in)));
+            }
+        } catch (IOException e) {
+            cache.entries.clear();
+        }
+        return cache;
+    }
+
+    /**
+     * Saves this cache to a file. The file is first written to a temporary file that then replaces {@code file}, so a failed build never
+     * leaves a half-written cache behind.
+     *
+     * @param file the file to save the cache to
+     *
+     * @throws IOException if writing the file fails
+     */
+    public void save(File file) throws IOException {
+        Path target = file.toPath().toAbsolutePath();
+        Files.createDirectories(target.getParent());
+        Path temp = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(root);
+            out.writeInt(entries.size());
+            for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+                Entry entry = mapEntry.getValue();
+                out.writeUTF(mapEntry.getKey());
+                out.writeLong(entry.size());
+                out.writeLong(entry.lastModified());
+                out.writeByte(entry.hash().length);
+                out.write(entry.hash());
+                entry.classFileInfo().writeTo(out);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        modified = false;
+    }
+
+    /**
+     * Gives the cached information about a class file if the size and last modification time of the file are unchanged.
+     *
+     * @param path         the path of the class file, relative to the root directory
+     * @param size         the current size of the class file
+     * @param lastModified the current last modification time of the class file
+     *
+     * @return the cached {@link ClassFileInfo}, or {@code null} if the file may have changed
+     */
+    public @Nullable ClassFileInfo get(String path, long size, long lastModified) {
+        Entry entry = entries.get(path);
+        return entry != null && entry.size() == size && entry.lastModified() == lastModified ? entry.classFileInfo() : null;
+    }
+
+    /**
+     * Gives the cached hash of the content of a class file if the size and last modification time of the file are unchanged.
+     *
+     * @param path         the path of the class file, relative to the root directory
+     * @param size         the current size of the class file
+     * @param lastModified the current last modification time of the class file
+     *
+     * @return a copy of the cached hash, or {@code null} if the file may have changed
+     */
+    public byte @Nullable [] hash(String path, long size, long lastModified) {
+        Entry entry = entries.get(path);
+        return entry != null && entry.size() == size && entry.lastModified() == lastModified ? entry.hash().clone() : null;
+    }
+
+    /**
+     * Gives the cached information about a class file if the content of the file is unchanged.
+     *
+     * @param path the path of the class file, relative to the root directory
+     * @param hash the hash of the current content of the class file, see {@link #hash(byte[])}
+     *
+     * @return the cached {@link ClassFileInfo}, or {@code null} if the content of the file has changed
+     */
+    public @Nullable ClassFileInfo get(String path, byte[] hash) {
+        Entry entry = entries.get(path);
+        return entry != null && Arrays.equals(entry.hash(), hash) ? entry.classFileInfo() : null;
+    }
+
+    /**
+     * Adds or replaces the information about a class file.
+     *
+     * @param path          the path of the class file, relative to the root directory
+     * @param size          the size of the class file
+     * @param lastModified  the last modification time of the class file
+     * @param hash          the hash of the content of the class file, see {@link #hash(byte[])}
+     * @param classFileInfo the information extracted from the class file
+     */
+    public void put(String path, long size, long lastModified, byte[] hash, ClassFileInfo classFileInfo) {
+        entries.put(path, new Entry(size, lastModified, hash.clone(), classFileInfo));
+        modified = true;
+    }
+
+    /**
+     * Removes the entries for all class files except the given ones, e.g., to forget about deleted class files.
+     *
+     * @param paths the paths of the class files to keep
+     */
+    public void retainAll(Set<String> paths) {
+        modified |= entries.keySet().retainAll(paths);
+    }
+
+    /**
+     * Tells if this cache has changed since it was loaded or last saved.
+     *
+     * @return {@code true} if this cache has been modified, {@code false} otherwise
+     */
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Gives the number of class files in this cache.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Calculates the content hash used by this cache.
+     *
+     * @param content the content of a class file
+     *
+     * @return the hash of {@code content}
+     */
+    public static byte[] hash(byte[] content) {
+        try {
+            return MessageDigest.getInstance(HASH_ALGORITHM).digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Every Java platform must support " + HASH_ALGORITHM, e);
+        }
+    }
+
+    private record Entry(long size, long lastModified, byte[] hash, ClassFileInfo classFileInfo) {
+    }
+}
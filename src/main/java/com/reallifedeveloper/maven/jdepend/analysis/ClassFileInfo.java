@@ -0,0 +1,93 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import jdepend.framework.JavaClass;
+import jdepend.framework.JavaPackage;
+
+/**
+ * The information that is extracted from a single class file: enough to recreate the JDepend package model without parsing the class
+ * file again.
+ *
+ * @param name             the fully qualified name of the class
+ * @param packageName      the name of the package the class belongs to
+ * @param sourceFile       the name of the source file of the class, as recorded in the class file
+ * @param isAbstract       whether the class is abstract or an interface
+ * @param importedPackages the names of the packages that the class depends upon, sorted by name
+ *
+ * @author RealLifeDeveloper
+ */
+public record ClassFileInfo(String name, String packageName, String sourceFile, boolean isAbstract, List<String> importedPackages) {
+
+    /**
+     * Creates a new {@code ClassFileInfo}, making a defensive copy of {@code importedPackages}.
+     *
+     * @param name             the fully qualified name of the class
+     * @param packageName      the name of the package the class belongs to
+     * @param sourceFile       the name of the source file of the class
+     * @param isAbstract       whether the class is abstract or an interface
+     * @param importedPackages the names of the packages that the class depends upon
+     */
+    public ClassFileInfo {
+        importedPackages = List.copyOf(importedPackages);
+    }
+
+    /**
+     * Creates a {@code ClassFileInfo} from a {@code JavaClass} produced by the JDepend class file parser.
+     *
+     * @param javaClass the {@code JavaClass} to use
+     *
+     * @return a {@code ClassFileInfo} with the information from {@code javaClass}
+     */
+    public static ClassFileInfo of(JavaClass javaClass) {
+        Collection<JavaPackage> imports = javaClass.getImportedPackages();
+        List<String> importedPackages = imports.stream().map(JavaPackage::getName).sorted().toList();
+        return new ClassFileInfo(javaClass.getName(), javaClass.getPackageName(), javaClass.getSourceFile(), javaClass.isAbstract(),
+                importedPackages);
+    }
+
+    /**
+     * Writes this {@code ClassFileInfo} in a compact binary form.
+     *
+     * @param out the {@code DataOutput} to write to
+     *
+     * @throws IOException if writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeUTF(name);
+        out.writeUTF(packageName);
+        out.writeUTF(sourceFile);
+        out.writeBoolean(isAbstract);
+        out.writeInt(importedPackages.size());
+        for (String importedPackage : importedPackages) {
+            out.writeUTF(importedPackage);
+        }
+    }
+
+    /**
+     * Reads a {@code ClassFileInfo} previously written using {@link #writeTo(DataOutput)}.
+     *
+     * @param in the {@code DataInput} to read from
+     *
+     * @return the {@code ClassFileInfo} read
+     *
+     * @throws IOException if reading fails
+     */
+    public static ClassFileInfo readFrom(DataInput in) throws IOException {
+        String name = in.readUTF();
+        String packageName = in.readUTF();
+        String sourceFile = in.readUTF();
+        boolean isAbstract = in.readBoolean();
+        int numImports = in.readInt();
+        List<String> importedPackages = new ArrayList<>(numImports);
+        for (int i = 0; i < numImports; i++) {
+            importedPackages.add(in.readUTF());
+        }
+        return new ClassFileInfo(name, packageName, sourceFile, isAbstract, importedPackages);
+    }
+}
@@ -0,0 +1,265 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, compact model of the dependencies between individual classes, used to find the classes that are responsible for a
+ * dependency between two packages.
+ * <p>
+ * The classes are sorted by package and then by name, and each class is identified by its index in that order, so the classes of a
+ * package have consecutive ids. The dependencies are stored in compressed sparse row form, in the same way as in a
+ * {@link PackageGraph}: the efferents of class {@code c} are {@code efferents[efferentOffsets[c]]} up to, but not including,
+ * {@code efferents[efferentOffsets[c + 1]]}, sorted by id. Class and package names are interned, and a dependency costs a single
+ * {@code int}, so even codebases with tens of thousands of classes need only a few megabytes.
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class ClassGraph {
+
+    private static final Comparator<String> BY_PACKAGE_AND_NAME = Comparator.comparing(ClassGraph::packageOf)
+            .thenComparing(Comparator.naturalOrder());
+
+    private final String[] names;
+    private final String[] packageNames;
+    private final int[] packageOffsets;
+    private final int[] efferentOffsets;
+    private final int[] efferents;
+    private final BitSet analyzed;
+
+    private ClassGraph(String[] names, String[] packageNames, int[] packageOffsets, int[] efferentOffsets, int[] efferents,
+            BitSet analyzed) {
+        this.names = names;
+        this.packageNames = packageNames;
+        this.packageOffsets = packageOffsets;
+        this.efferentOffsets = efferentOffsets;
+        this.efferents = efferents;
+        this.analyzed = analyzed;
+    }
+
+    /**
+     * Gives the name of the package of a class.
+     *
+     * @param className the fully qualified name of the class
+     *
+     * @return the name of the package, or the empty string for a class in the default package
+     */
+    public static String packageOf(String className) {
+        int lastDot = className.lastIndexOf('.');
+        return lastDot < 0 ? "" : className.substring(0, lastDot);
+    }
+
+    /**
+     * Gives the number of classes, including classes that were referenced but not analyzed.
+     *
+     * @return the number of classes
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Gives the name of a class.
+     *
+     * @param id the id of the class
+     *
+     * @return the fully qualified name of the class
+     */
+    public String name(int id) {
+        return names[id];
+    }
+
+    /**
+     * Gives the id of a class.
+     *
+     * @param name the fully qualified name of the class
+     *
+     * @return the id of the class, or -1 if there is no such class
+     */
+    public int id(String name) {
+        int id = Arrays.binarySearch(names, name, BY_PACKAGE_AND_NAME);
+        return id < 0 ? -1 : id;
+    }
+
+    /**
+     * Tells if a class was analyzed, as opposed to only being referenced by an analyzed class.
+     *
+     * @param id the id of the class
+     *
+     * @return {@code true} if the class was analyzed, {@code false} otherwise
+     */
+    public boolean isAnalyzed(int id) {
+        return analyzed.get(id);
+    }
+
+    /**
+     * Gives the number of classes that a class depends upon.
+     *
+     * @param id the id of the class
+     *
+     * @return the number of efferent classes
+     */
+    public int efferentCount(int id) {
+        return efferentOffsets[id + 1] - efferentOffsets[id];
+    }
+
+    /**
+     * Gives one of the classes that a class depends upon.
+     *
+     * @param id    the id of the class
+     * @param index the index of the efferent class, from 0 to {@code efferentCount(id) - 1}
+     *
+     * @return the id of the efferent class
+     */
+    public int efferent(int id, int index) {
+        return efferents[efferentOffsets[id] + index];
+    }
+
+    /**
+     * Gives the total number of dependencies between classes.
+     *
+     * @return the number of dependencies
+     */
+    public int dependencyCount() {
+        return efferents.length;
+    }
+
+    /**
+     * Finds the dependencies between classes that cause a package to depend upon another package.
+     *
+     * @param packageName        the name of the package that depends upon the other package
+     * @param dependsUponPackage the name of the package that is depended upon
+     *
+     * @return the class dependencies from classes in {@code packageName} to classes in {@code dependsUponPackage}, sorted by class name
+     *         and then by the name of the class depended upon
+     */
+    public List<ClassDependency> dependencies(String packageName, String dependsUponPackage) {
+        int from = Arrays.binarySearch(packageNames, packageName);
+        int to = Arrays.binarySearch(packageNames, dependsUponPackage);
+        if (from < 0 || to < 0) {
+            return List.of();
+        }
+        List<ClassDependency> dependencies = new ArrayList<>();
+        for (int id = packageOffsets[from]; id < packageOffsets[from + 1]; id++) {
+            for (int i = efferentOffsets[id]; i < efferentOffsets[id + 1]; i++) {
+                int efferent = efferents[i];
+                if (efferent >= packageOffsets[to] && efferent < packageOffsets[to + 1]) {
+                    dependencies.add(new ClassDependency(names[id], names[efferent]));
+                }
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * A dependency of one class upon another.
+     *
+     * @param className   the fully qualified name of the class that depends upon the other class
+     * @param dependsUpon the fully qualified name of the class that is depended upon
+     */
+    public record ClassDependency(String className, String dependsUpon) {
+
+        @Override
+        public String toString() {
+            return className + " -> " + dependsUpon;
+        }
+    }
+
+    /**
+     * A builder of {@link ClassGraph ClassGraphs}. This class is not thread-safe.
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 64;
+        private static final int INT_BITS = 32;
+        private static final long INT_MASK = 0xFFFF_FFFFL;
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private final BitSet analyzed = new BitSet();
+        private long[] dependencies = new long[INITIAL_CAPACITY];
+        private int dependencyCount;
+
+        /**
+         * Adds a class that was analyzed, and its dependencies upon other classes. Dependencies of a class upon itself are ignored.
+         *
+         * @param name        the fully qualified name of the class
+         * @param dependsUpon the fully qualified names of the classes that the class depends upon
+         *
+         * @return this {@code Builder}
+         */
+        public Builder addClass(String name, Collection<String> dependsUpon) {
+            int from = index(name);
+            analyzed.set(from);
+            for (String dependsUponName : dependsUpon) {
+                int to = index(dependsUponName);
+                if (from != to) {
+                    if (dependencyCount == dependencies.length) {
+                        dependencies = Arrays.copyOf(dependencies, 2 * dependencies.length);
+                    }
+                    dependencies[dependencyCount++] = (long) from << INT_BITS | to;
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Creates the {@link ClassGraph}.
+         *
+         * @return a new {@link ClassGraph} with the classes and dependencies added so far
+         */
+        public ClassGraph build() {
+            int size = names.size();
+            String[] sortedNames = names.stream().map(String::intern).sorted(BY_PACKAGE_AND_NAME).toArray(String[]::new);
+            int[] ids = new int[size];
+            BitSet sortedAnalyzed = new BitSet(size);
+            List<String> packageNames = new ArrayList<>();
+            List<Integer> packageOffsets = new ArrayList<>();
+            for (int id = 0; id < size; id++) {
+                int index = indexes.get(sortedNames[id]);
+                ids[index] = id;
+                sortedAnalyzed.set(id, analyzed.get(index));
+                String packageName = packageOf(sortedNames[id]).intern();
+                if (packageNames.isEmpty() || !packageNames.get(packageNames.size() - 1).equals(packageName)) {
+                    packageNames.add(packageName);
+                    packageOffsets.add(id);
+                }
+            }
+            packageOffsets.add(size);
+            long[] edges = new long[dependencyCount];
+            for (int i = 0; i < dependencyCount; i++) {
+                edges[i] = (long) ids[(int) (dependencies[i] >>> INT_BITS)] << INT_BITS | ids[(int) (dependencies[i] & INT_MASK)];
+            }
+            edges = Arrays.stream(edges).sorted().distinct().toArray();
+            int[] efferentOffsets = new int[size + 1];
+            int[] efferents = new int[edges.length];
+            for (int i = 0; i < edges.length; i++) {
+                efferentOffsets[(int) (edges[i] >>> INT_BITS) + 1]++;
+                efferents[i] = (int) (edges[i] & INT_MASK);
+            }
+            for (int id = 0; id < size; id++) {
+                efferentOffsets[id + 1] += efferentOffsets[id];
+            }
+            return new ClassGraph(sortedNames, packageNames.toArray(String[]::new),
+                    packageOffsets.stream().mapToInt(Integer::intValue).toArray(), efferentOffsets, efferents, sortedAnalyzed);
+        }
+
+        private int index(String name) {
+            Integer index = indexes.get(name);
+            if (index == null) {
+                index = names.size();
+                indexes.put(name, index);
+                names.add(name);
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The classes that a single class refers to, read directly from its class file.
+ * <p>
+ * The JDepend class file parser only keeps the packages that a class depends upon. To find the classes that are responsible for a
+ * dependency between two packages, this class reads the constant pool of a class file, and collects the classes that are referenced as
+ * class constants or in the descriptors of fields, methods and method types. The annotations of the class, its fields, methods and
+ * method parameters, including the values of their elements, and the generic signatures are read as well, since the classes
+ * referenced there may not appear anywhere else in the class file.
+ *
+ * @param name              the fully qualified name of the class
+ * @param referencedClasses the fully qualified names of the classes referenced by the class, not including the class itself, sorted
+ *
+ * @author RealLifeDeveloper
+ */
+public record ClassReferences(String name, List<String> referencedClasses) {
+
+    private static final int MAGIC = 0xCAFE_BABE;
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+    private static final String SIGNATURE = "Signature";
+    private static final String ANNOTATION_DEFAULT = "AnnotationDefault";
+    private static final Set<String> ANNOTATIONS = Set.of("RuntimeVisibleAnnotations", "RuntimeInvisibleAnnotations");
+    private static final Set<String> PARAMETER_ANNOTATIONS = Set.of("RuntimeVisibleParameterAnnotations",
+            "RuntimeInvisibleParameterAnnotations");
+
+    /**
+     * Creates a new {@code ClassReferences}, making a defensive copy of {@code referencedClasses}.
+     *
+     * @param name              the fully qualified name of the class
+     * @param referencedClasses the fully qualified names of the classes referenced by the class
+     */
+    public ClassReferences {
+        referencedClasses = List.copyOf(referencedClasses);
+    }
+
+    /**
+     * Reads the class references from the content of a class file.
+     *
+     * @param classFile the content of the class file
+     *
+     * @return the {@code ClassReferences} of the class
+     *
+     * @throws IOException if {@code classFile} is not a valid class file
+     */
+    @SuppressWarnings("checkstyle:CyclomaticComplexity")
+    public static ClassReferences parse(byte[] classFile) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(classFile));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a class file");
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+        int constantPoolCount = in.readUnsignedShort();
+        String[] utf8 = new String[constantPoolCount];
+        int[] classNameIndexes = new int[constantPoolCount];
+        List<Integer> descriptorIndexes = new ArrayList<>();
+        for (int i = 1; i < constantPoolCount; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+            case CONSTANT_UTF8 -> utf8[i] = in.readUTF();
+            case CONSTANT_CLASS -> classNameIndexes[i] = in.readUnsignedShort();
+            case CONSTANT_NAME_AND_TYPE -> {
+                in.readUnsignedShort();
+                descriptorIndexes.add(in.readUnsignedShort());
+            }
+            case CONSTANT_METHOD_TYPE -> descriptorIndexes.add(in.readUnsignedShort());
+            case CONSTANT_STRING, CONSTANT_MODULE, CONSTANT_PACKAGE -> in.readUnsignedShort();
+            case CONSTANT_METHOD_HANDLE -> in.skipNBytes(Byte.BYTES + Short.BYTES);
+            case CONSTANT_INTEGER, CONSTANT_FLOAT, CONSTANT_FIELDREF, CONSTANT_METHODREF, CONSTANT_INTERFACE_METHODREF, CONSTANT_DYNAMIC,
+                    CONSTANT_INVOKE_DYNAMIC -> in.readInt();
+            case CONSTANT_LONG, CONSTANT_DOUBLE -> {
+                in.readLong();
+                i++; // Takes up two entries in the constant pool
+            }
+            default -> throw new IOException("Unknown constant pool tag " + tag + " at index " + i);
+            }
+        }
+        in.readUnsignedShort(); // access flags
+        String name = className(utf8, classNameIndexes, in.readUnsignedShort());
+        Set<String> referencedClasses = new TreeSet<>();
+        for (int i = 1; i < constantPoolCount; i++) {
+            if (classNameIndexes[i] != 0) {
+                addClassName(utf(utf8, classNameIndexes[i]), referencedClasses);
+            }
+        }
+        in.readUnsignedShort(); // super class, already included as a class constant
+        in.skipNBytes((long) in.readUnsignedShort() * Short.BYTES); // interfaces, already included as class constants
+        for (int members = 0; members < 2; members++) { // fields, then methods
+            int count = in.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                in.readUnsignedShort(); // access flags
+                in.readUnsignedShort(); // name
+                descriptorIndexes.add(in.readUnsignedShort());
+                readAttributes(in, utf8, referencedClasses);
+            }
+        }
+        readAttributes(in, utf8, referencedClasses);
+        for (int descriptorIndex : descriptorIndexes) {
+            addDescriptorClassNames(utf(utf8, descriptorIndex), referencedClasses);
+        }
+        referencedClasses.remove(name);
+        return new ClassReferences(name, new ArrayList<>(referencedClasses));
+    }
+
+    /**
+     * Reads the attributes of a class, field or method, adding the classes referenced by annotations and generic signatures, and
+     * skipping all other attributes.
+     */
+    private static void readAttributes(DataInputStream in, String[] utf8, Set<String> classNames) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            String name = utf(utf8, in.readUnsignedShort());
+            long length = Integer.toUnsignedLong(in.readInt());
+            if (SIGNATURE.equals(name)) {
+                addSignatureClassNames(utf(utf8, in.readUnsignedShort()), classNames);
+            } else if (ANNOTATIONS.contains(name)) {
+                readAnnotations(in, utf8, classNames);
+            } else if (PARAMETER_ANNOTATIONS.contains(name)) {
+                int parameters = in.readUnsignedByte();
+                for (int parameter = 0; parameter < parameters; parameter++) {
+                    readAnnotations(in, utf8, classNames);
+                }
+            } else if (ANNOTATION_DEFAULT.equals(name)) {
+                readElementValue(in, utf8, classNames);
+            } else {
+                in.skipNBytes(length);
+            }
+        }
+    }
+
+    private static void readAnnotations(DataInputStream in, String[] utf8, Set<String> classNames) throws IOException {
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            readAnnotation(in, utf8, classNames);
+        }
+    }
+
+    private static void readAnnotation(DataInputStream in, String[] utf8, Set<String> classNames) throws IOException {
+        addDescriptorClassNames(utf(utf8, in.readUnsignedShort()), classNames);
+        int pairs = in.readUnsignedShort();
+        for (int i = 0; i < pairs; i++) {
+            in.readUnsignedShort(); // element name
+            readElementValue(in, utf8, classNames);
+        }
+    }
+
+    private static void readElementValue(DataInputStream in, String[] utf8, Set<String> classNames) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+        case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's' -> in.readUnsignedShort();
+        case 'e' -> {
+            addDescriptorClassNames(utf(utf8, in.readUnsignedShort()), classNames);
+            in.readUnsignedShort(); // enum constant name
+        }
+        case 'c' -> addDescriptorClassNames(utf(utf8, in.readUnsignedShort()), classNames);
+        case '@' -> readAnnotation(in, utf8, classNames);
+        case '[' -> {
+            int count = in.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                readElementValue(in, utf8, classNames);
+            }
+        }
+        default -> throw new IOException("Unknown annotation element value tag " + (char) tag);
+        }
+    }
+
+    private static String className(String[] utf8, int[] classNameIndexes, int classIndex) throws IOException {
+        if (classIndex <= 0 || classIndex >= classNameIndexes.length || classNameIndexes[classIndex] == 0) {
+            throw new IOException("Invalid class constant index: " + classIndex);
+        }
+        return utf(utf8, classNameIndexes[classIndex]).replace('/', '.');
+    }
+
+    private static String utf(String[] utf8, int index) throws IOException {
+        if (index <= 0 || index >= utf8.length || utf8[index] == null) {
+            throw new IOException("Invalid UTF-8 constant index: " + index);
+        }
+        return utf8[index];
+    }
+
+    /**
+     * Adds the name of a class constant, which is either an internal class name or, for array classes, a field descriptor.
+     */
+    private static void addClassName(String internalName, Set<String> classNames) {
+        if (internalName.startsWith("[")) {
+            addDescriptorClassNames(internalName, classNames);
+        } else {
+            classNames.add(internalName.replace('/', '.'));
+        }
+    }
+
+    /**
+     * Adds the names of the classes in a generic signature of a class, field or method, including the type arguments and the bounds of
+     * type parameters. The names of type variables are not class names and are skipped.
+     */
+    private static void addSignatureClassNames(String signature, Set<String> classNames) throws IOException {
+        SignatureReader reader = new SignatureReader(signature, classNames);
+        if (reader.peek() == '<') {
+            reader.readTypeParameters();
+        }
+        while (reader.hasMore()) {
+            char c = reader.peek();
+            if (c == '(' || c == ')' || c == '^') {
+                reader.next();
+            } else {
+                reader.readType();
+            }
+        }
+    }
+
+    /**
+     * Adds the names of the classes in a field or method descriptor, i.e., of all {@code L<internal name>;} sequences.
+     */
+    private static void addDescriptorClassNames(String descriptor, Set<String> classNames) {
+        int start = descriptor.indexOf('L');
+        while (start >= 0) {
+            int end = descriptor.indexOf(';', start);
+            if (end < 0) {
+                return;
+            }
+            classNames.add(descriptor.substring(start + 1, end).replace('/', '.'));
+            start = descriptor.indexOf('L', end);
+        }
+    }
+
+    /**
+     * Reads the types in a generic signature, as defined in section 4.7.9.1 of the Java Virtual Machine Specification.
+     */
+    private static final class SignatureReader {
+
+        private final String signature;
+        private final Set<String> classNames;
+        private int position;
+
+        SignatureReader(String signature, Set<String> classNames) {
+            this.signature = signature;
+            this.classNames = classNames;
+        }
+
+        boolean hasMore() {
+            return position < signature.length();
+        }
+
+        char peek() throws IOException {
+            if (!hasMore()) {
+                throw new IOException("Invalid signature: " + signature);
+            }
+            return signature.charAt(position);
+        }
+
+        char next() throws IOException {
+            char c = peek();
+            position++;
+            return c;
+        }
+
+        /**
+         * Reads the type parameters of a class or method, e.g., {@code <T:Ljava/lang/Object;U::Ljava/lang/Comparable<TU;>;>}.
+         */
+        void readTypeParameters() throws IOException {
+            next(); // <
+            while (peek() != '>') {
+                readIdentifier(":");
+                while (peek() == ':') {
+                    next();
+                    char c = peek();
+                    if (c == 'L' || c == 'T' || c == '[') {
+                        readType();
+                    }
+                }
+            }
+            next(); // >
+        }
+
+        /**
+         * Reads a base type, a class type, a type variable or an array type.
+         */
+        void readType() throws IOException {
+            char c = next();
+            if (c == 'L') {
+                readClassType();
+            } else if (c == 'T') {
+                readIdentifier(";");
+                next(); // ;
+            } else if (c == '[') {
+                readType();
+            }
+        }
+
+        private void readClassType() throws IOException {
+            StringBuilder name = new StringBuilder(readIdentifier("<.;"));
+            while (true) {
+                char c = next();
+                if (c == '<') {
+                    readTypeArguments();
+                } else if (c == '.') {
+                    name.append('$').append(readIdentifier("<.;"));
+                } else {
+                    classNames.add(name.toString().replace('/', '.'));
+                    return;
+                }
+            }
+        }
+
+        private void readTypeArguments() throws IOException {
+            while (peek() != '>') {
+                char c = peek();
+                if (c == '*') {
+                    next();
+                } else {
+                    if (c == '+' || c == '-') {
+                        next();
+                    }
+                    readType();
+                }
+            }
+            next(); // >
+        }
+
+        private String readIdentifier(String terminators) throws IOException {
+            int start = position;
+            while (terminators.indexOf(peek()) < 0) {
+                position++;
+            }
+            return signature.substring(start, position);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.io.File;
+
+/**
+ * A labelled directory containing class files to analyze, e.g., the main classes, the test classes or the output of an annotation
+ * processor.
+ *
+ * @param label     a short name of the class root, e.g., {@code main} or {@code test}, used to tell which root a package comes from
+ * @param directory the directory containing the class files
+ *
+ * @author RealLifeDeveloper
+ */
+public record ClassRoot(String label, File directory) {
+}
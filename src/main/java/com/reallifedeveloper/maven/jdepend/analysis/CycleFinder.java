@@ -0,0 +1,249 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Finds representative cycles in a {@link PackageGraph}, based on its {@link StronglyConnectedComponents}.
+ * <p>
+ * JDepend reports a cycle for every package that is part of a cycle or depends, directly or indirectly, upon a package that is part of a
+ * cycle, and finds it by a depth-first search from each package that may visit the same packages many times. This class gives the same
+ * kind of information, but uses breadth-first searches that are restricted to a single component, so the cycle reported for a package is
+ * a shortest one. The path from a package outside the cycles to the nearest package in a cycle is found for all packages at once.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class CycleFinder {
+
+    private static final int NONE = -1;
+    private static final int[] NO_PACKAGES = new int[0];
+
+    private final PackageGraph graph;
+    private final StronglyConnectedComponents components;
+    private final int[] towardsCycle;
+    private final int[][] shortestCycles;
+    private final int[] parents;
+    private final int[] queue;
+
+    /**
+     * Creates a new {@code CycleFinder}, finding the strongly connected components of {@code graph} and, for each package that depends
+     * upon a cycle without being part of one, the next package on a shortest path to a cycle.
+     *
+     * @param graph the {@link PackageGraph} to use
+     */
+    public CycleFinder(PackageGraph graph) {
+        this.graph = graph;
+        this.components = StronglyConnectedComponents.of(graph);
+        int size = graph.size();
+        this.shortestCycles = new int[size][];
+        this.parents = new int[size];
+        this.queue = new int[size];
+        Arrays.fill(parents, NONE);
+        this.towardsCycle = new int[size];
+        Arrays.fill(towardsCycle, NONE);
+        // A breadth-first search backwards from all packages in cycles at the same time.
+        BitSetQueue visited = new BitSetQueue(size);
+        for (int id = 0; id < size; id++) {
+            if (components.isInCycle(id)) {
+                visited.add(id);
+            }
+        }
+        while (!visited.isEmpty()) {
+            int id = visited.remove();
+            for (int i = 0; i < graph.afferentCount(id); i++) {
+                int afferent = graph.afferent(id, i);
+                if (visited.add(afferent)) {
+                    towardsCycle[afferent] = id;
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives the strongly connected components of the graph.
+     *
+     * @return the {@link StronglyConnectedComponents}
+     */
+    public StronglyConnectedComponents components() {
+        return components;
+    }
+
+    /**
+     * Tells if a package is part of a cycle or depends, directly or indirectly, upon a package that is part of a cycle.
+     *
+     * @param id the id of the package
+     *
+     * @return {@code true} if a cycle can be reached from the package, {@code false} otherwise
+     */
+    public boolean reachesCycle(int id) {
+        return components.isInCycle(id) || towardsCycle[id] != NONE;
+    }
+
+    /**
+     * Gives a cycle for a package in the format used by the {@code Cycles} element of a JDepend XML report: the packages on a path from
+     * the package, not including the package itself, that ends when a package is visited for the second time.
+     * <p>
+     * For a package that is part of a cycle, this is a shortest cycle through the package. For a package that depends upon a cycle, this
+     * is a shortest path to a package in a cycle, followed by a shortest cycle through that package.
+     *
+     * @param id the id of the package
+     *
+     * @return the ids of the packages, or an empty array if no cycle can be reached from the package
+     */
+    public int[] cycle(int id) {
+        if (components.isInCycle(id)) {
+            return shortestCycle(id);
+        }
+        if (towardsCycle[id] == NONE) {
+            return NO_PACKAGES;
+        }
+        List<Integer> path = new ArrayList<>();
+        int current = towardsCycle[id];
+        while (!components.isInCycle(current)) {
+            path.add(current);
+            current = towardsCycle[current];
+        }
+        path.add(current);
+        int[] cycle = shortestCycle(current);
+        int[] result = new int[path.size() + cycle.length];
+        for (int i = 0; i < path.size(); i++) {
+            result[i] = path.get(i);
+        }
+        System.arraycopy(cycle, 0, result, path.size(), cycle.length);
+        return result;
+    }
+
+    /**
+     * Gives a shortest cycle through a package that is part of a cycle.
+     *
+     * @param id the id of the package
+     *
+     * @return the ids of the packages on the cycle, starting with a package that {@code id} depends upon and ending with {@code id}, or
+     *         an empty array if the package is not part of a cycle
+     */
+    public int[] shortestCycle(int id) {
+        if (!components.isInCycle(id)) {
+            return NO_PACKAGES;
+        }
+        int[] cycle = shortestCycles[id];
+        if (cycle == null) {
+            cycle = findShortestCycle(id);
+            shortestCycles[id] = cycle;
+        }
+        return cycle.clone();
+    }
+
+    /**
+     * Enumerates distinct elementary cycles, at most {@code maxCycles} of them, to give an overview of the cycles in the graph without
+     * the exponential cost of enumerating all of them. A shortest cycle through each package in a cycle is used, and cycles that contain
+     * the same packages in the same order are only included once.
+     *
+     * @param maxCycles the maximum number of cycles to give
+     *
+     * @return the cycles, each rotated to start with its package with the lowest id, ordered by component and package
+     */
+    public List<int[]> representativeCycles(int maxCycles) {
+        List<int[]> cycles = new ArrayList<>();
+        Set<List<Integer>> seen = new HashSet<>();
+        for (int component = 0; component < components.componentCount() && cycles.size() < maxCycles; component++) {
+            if (components.componentSize(component) < 2) {
+                continue;
+            }
+            for (int id : components.members(component)) {
+                int[] cycle = rotateToLowestId(shortestCycle(id));
+                if (seen.add(Arrays.stream(cycle).boxed().toList())) {
+                    cycles.add(cycle);
+                    if (cycles.size() == maxCycles) {
+                        break;
+                    }
+                }
+            }
+        }
+        return cycles;
+    }
+
+    private int[] findShortestCycle(int start) {
+        int component = components.component(start);
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        int last = NONE;
+        while (head < tail && last == NONE) {
+            int id = queue[head++];
+            for (int i = 0; i < graph.efferentCount(id) && last == NONE; i++) {
+                int efferent = graph.efferent(id, i);
+                if (efferent == start) {
+                    last = id;
+                } else if (components.component(efferent) == component && parents[efferent] == NONE) {
+                    parents[efferent] = id;
+                    queue[tail++] = efferent;
+                }
+            }
+        }
+        List<Integer> reversedPath = new ArrayList<>();
+        reversedPath.add(start);
+        for (int id = last; id != start; id = parents[id]) {
+            reversedPath.add(id);
+        }
+        for (int i = 0; i < tail; i++) {
+            parents[queue[i]] = NONE;
+        }
+        int[] cycle = new int[reversedPath.size()];
+        for (int i = 0; i < cycle.length; i++) {
+            cycle[i] = reversedPath.get(cycle.length - 1 - i);
+        }
+        return cycle;
+    }
+
+    private static int[] rotateToLowestId(int[] cycle) {
+        int lowest = 0;
+        for (int i = 1; i < cycle.length; i++) {
+            if (cycle[i] < cycle[lowest]) {
+                lowest = i;
+            }
+        }
+        int[] rotated = new int[cycle.length];
+        for (int i = 0; i < cycle.length; i++) {
+            rotated[i] = cycle[(lowest + i) % cycle.length];
+        }
+        return rotated;
+    }
+
+    /**
+     * A first-in-first-out queue of package ids where each id can only be added once.
+     */
+    private static final class BitSetQueue {
+        private final BitSet added;
+        private final int[] ids;
+        private int head;
+        private int tail;
+
+        BitSetQueue(int size) {
+            this.added = new BitSet(size);
+            this.ids = new int[size];
+        }
+
+        boolean add(int id) {
+            if (added.get(id)) {
+                return false;
+            }
+            added.set(id);
+            ids[tail++] = id;
+            return true;
+        }
+
+        int remove() {
+            return ids[head++];
+        }
+
+        boolean isEmpty() {
+            return head == tail;
+        }
+    }
+}
@@ -0,0 +1,561 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import jdepend.framework.ClassFileParser;
+import jdepend.framework.PackageFilter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+
+/**
+ * Runs the JDepend analyzer in-process and creates an {@link XmlReport} directly from the result, without the detour of writing and
+ * parsing an XML file.
+ * <p>
+ * If a cache file has been set, the information extracted from each class file is stored in a {@link ClassFileCache} so that only new
+ * or changed class files have to be parsed the next time the same directory is analyzed.
+ * <p>
+ * Directory traversal and class file parsing are done in a {@code ForkJoinPool}. The parsed classes are always added to the package
+ * model in the order of their paths, so the result is the same regardless of the number of threads used.
+ * <p>
+ * Class files in archives are read in the same {@code ForkJoinPool}, one task per archive, while the classes directory is analyzed.
+ * Several classes directories, e.g., main and test classes, can be analyzed together as labelled {@link ClassRoot class roots}, one
+ * task per root, and the result tells which roots each package was found in.
+ * <p>
+ * If an {@link AnalysisCache} has been set, the information extracted from the classes directory and from each archive is looked up
+ * there before any class file is read, and added to it after reading, so that classes already analyzed in the same JVM, e.g., by
+ * another module of the build, are not read again.
+ * <p>
+ * If a {@link PackagePatternFilter} has been set, directories whose packages are all rejected are not traversed, and class files in
+ * rejected packages are never read. Rejected packages are also left out of the dependencies of the remaining packages.
+ * <p>
+ * If {@link #classLevel(boolean) classLevel} has been set, the dependencies between individual classes are found in the same pass, from
+ * the same class roots and archives, and each class file is read at most once for both analyses.
+ *
+ * @author RealLifeDeveloper
+ */
+@Accessors(fluent = true)
+public final class JDependAnalyzer {
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+    private static final int CLASS_FILES_PER_TASK = 64;
+    private static final String MAIN_LABEL = "main";
+
+    /**
+     * The file used to cache the information extracted from class files between runs, or {@code null} to not use a cache.
+     */
+    @Setter
+    private @Nullable File cacheFile;
+
+    /**
+     * Archives, such as JAR files, containing class files to analyze in addition to the classes directory.
+     */
+    @Setter
+    private List<ClassArchive> archives = List.of();
+
+    /**
+     * The number of threads used to find and parse class files, or 0 to use one thread per available processor.
+     */
+    @Setter
+    private int threads;
+
+    /**
+     * The filter deciding which packages to analyze.
+     */
+    @Setter
+    private PackagePatternFilter packageFilter = PackagePatternFilter.ACCEPT_ALL;
+
+    /**
+     * The in-memory cache of analyzed classes directories and archives, or {@code null} to not use one.
+     */
+    @Setter
+    private @Nullable AnalysisCache analysisCache;
+
+    /**
+     * The factory used to create the worker threads that find and parse class files, e.g., to measure the work done by them.
+     */
+    @Setter
+    private ForkJoinWorkerThreadFactory threadFactory = ForkJoinPool.defaultForkJoinWorkerThreadFactory;
+
+    /**
+     * Whether {@link #analyze(List)} should also find the dependencies between individual classes, giving a {@link ClassGraph} in the
+     * {@link AnalysisResult}. The class files then have to be read even if the information about them is cached.
+     */
+    @Setter
+    private boolean classLevel;
+
+    /**
+     * Analyzes the class files in the given directory.
+     *
+     * @param classesDirectory the directory containing the class files to analyze
+     *
+     * @return an {@link XmlReport} with the result of the analysis
+     *
+     * @throws IOException if reading the class files fails
+     */
+    public XmlReport analyze(File classesDirectory) throws IOException {
+        return analyze(List.of(new ClassRoot(MAIN_LABEL, classesDirectory))).xmlReport();
+    }
+
+    /**
+     * Analyzes the class files in several class roots together, e.g., the main and test classes of a module, and combines them into
+     * one result.
+     * <p>
+     * The class roots are read concurrently, each one as a task in the same {@code ForkJoinPool} as the archives, so the total
+     * parallelism is bounded by the number of {@link #threads(int) threads}. As on a class path, a class in an earlier root hides a
+     * class with the same name in a later root or in an archive.
+     * <p>
+     * The first root uses the {@link #cacheFile(File) cache file} as it is. Every other root gets a cache file of its own next to it,
+     * with the label of the root added to the name, e.g., {@code jdepend-cache-test.bin}.
+     *
+     * @param classRoots the class roots to analyze, which must all be existing directories
+     *
+     * @return the result of the analysis, with the class roots that each package was found in, and the dependencies between
+     *         individual classes if {@link #classLevel(boolean) classLevel} has been set
+     *
+     * @throws IOException if reading the class files fails
+     */
+    public AnalysisResult analyze(List<ClassRoot> classRoots) throws IOException {
+        return analyze(classRoots, classLevel);
+    }
+
+    private AnalysisResult analyze(List<ClassRoot> classRoots, boolean withReferences) throws IOException {
+        JavaPackageAssembler assembler = new JavaPackageAssembler(new PackageFilter(), packageFilter);
+        Set<String> classNames = new HashSet<>();
+        Map<String, Set<String>> packageRoots = new TreeMap<>();
+        ClassGraph.Builder classGraphBuilder = withReferences ? new ClassGraph.Builder() : null;
+        Set<String> classGraphNames = new HashSet<>();
+        ForkJoinPool pool = new ForkJoinPool(effectiveThreads(), threadFactory, null, false);
+        try {
+            List<ForkJoinTask<ClassesRead>> archiveTasks = archives.stream()
+                    .map(archive -> pool.submit(() -> read(archive, withReferences))).toList();
+            List<ForkJoinTask<ClassesRead>> rootTasks = new ArrayList<>();
+            for (int i = 0; i < classRoots.size(); i++) {
+                File rootCacheFile = i == 0 ? cacheFile : cacheFile(classRoots.get(i));
+                File directory = classRoots.get(i).directory();
+                rootTasks.add(pool.submit(() -> read(pool, directory, rootCacheFile, withReferences)));
+            }
+            for (int i = 0; i < classRoots.size(); i++) {
+                String label = classRoots.get(i).label();
+                ClassesRead classesRead = rootTasks.get(i).join();
+                for (ClassFileInfo classFileInfo : classesRead.classFileInfos()) {
+                    if (classNames.add(classFileInfo.name())) {
+                        assembler.add(classFileInfo);
+                        packageRoots.computeIfAbsent(classFileInfo.packageName(), packageName -> new LinkedHashSet<>()).add(label);
+                    }
+                }
+                addClassReferences(classGraphBuilder, classGraphNames, classesRead.classReferences());
+            }
+            for (ForkJoinTask<ClassesRead> archiveTask : archiveTasks) {
+                // As on a class path, a class in a classes directory or an earlier archive hides a class with the same name.
+                ClassesRead classesRead = archiveTask.join();
+                for (ClassFileInfo classFileInfo : classesRead.classFileInfos()) {
+                    if (classNames.add(classFileInfo.name())) {
+                        assembler.add(classFileInfo);
+                    }
+                }
+                addClassReferences(classGraphBuilder, classGraphNames, classesRead.classReferences());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+        PackageGraph packageGraph = assembler.toPackageGraph();
+        XmlReport xmlReport = assembler.toXmlReport(packageGraph);
+        Map<String, List<String>> analyzedPackageRoots = new LinkedHashMap<>();
+        packageRoots.forEach((packageName, labels) -> {
+            if (packageFilter.accept(packageName)) {
+                analyzedPackageRoots.put(packageName, List.copyOf(labels));
+            }
+        });
+        return new AnalysisResult(xmlReport, packageGraph, Collections.unmodifiableMap(analyzedPackageRoots),
+                classGraphBuilder == null ? null : classGraphBuilder.build());
+    }
+
+    /**
+     * Adds the classes of a classes directory or an archive to the class graph, except the classes hidden by a class with the same name
+     * that has already been added.
+     */
+    private static void addClassReferences(ClassGraph.@Nullable Builder classGraphBuilder, Set<String> classGraphNames,
+            List<ClassReferences> classReferences) {
+        if (classGraphBuilder == null) {
+            return;
+        }
+        for (ClassReferences references : classReferences) {
+            if (classGraphNames.add(references.name())) {
+                classGraphBuilder.addClass(references.name(), references.referencedClasses());
+            }
+        }
+    }
+
+    /**
+     * Reads the class files in a classes directory, using the analysis cache and the class file cache if possible, and updates the
+     * class file cache. Runs as a task in {@code pool}, so failures are thrown as {@code UncheckedIOException}.
+     */
+    private ClassesRead read(ForkJoinPool pool, File classesDirectory, @Nullable File rootCacheFile, boolean withReferences) {
+        try {
+            Path root = classesDirectory.toPath();
+            List<Path> classFilesFound = findClassFiles(pool, root, packageFilter);
+            ClassFileCache cache = rootCacheFile == null ? new ClassFileCache(classesDirectory)
+                    : ClassFileCache.load(rootCacheFile, classesDirectory);
+            AnalysisCache sessionCache = analysisCache;
+            String key = sessionCache == null ? null
+                    : AnalysisCache.directoryKey(root, classFilesFound, contentHashes(pool, root, classFilesFound, cache));
+            List<ClassFileInfo> cachedClassFileInfos = sessionCache == null || key == null ? null : sessionCache.get(key);
+            if (cachedClassFileInfos != null) {
+                // No class files were parsed, so the class file cache is left as it is.
+                return new ClassesRead(cachedClassFileInfos, withReferences ? readClassReferences(pool, classFilesFound) : List.of());
+            }
+            Set<String> classFiles = new HashSet<>();
+            List<ClassFileInfo> classFileInfos = new ArrayList<>();
+            List<ClassReferences> classReferences = new ArrayList<>();
+            for (ParsedClassFile parsedClassFile : parseClassFiles(pool, root, classFilesFound, cache, withReferences)) {
+                classFiles.add(parsedClassFile.path());
+                byte[] hash = parsedClassFile.hash();
+                if (hash != null) {
+                    cache.put(parsedClassFile.path(), parsedClassFile.size(), parsedClassFile.lastModified(), hash,
+                            parsedClassFile.classFileInfo());
+                }
+                classFileInfos.add(parsedClassFile.classFileInfo());
+                ClassReferences references = parsedClassFile.classReferences();
+                if (references != null) {
+                    classReferences.add(references);
+                }
+            }
+            if (sessionCache != null && key != null) {
+                sessionCache.put(key, classFileInfos);
+            }
+            cache.retainAll(classFiles);
+            if (rootCacheFile != null && cache.isModified()) {
+                cache.save(rootCacheFile);
+            }
+            return new ClassesRead(classFileInfos, classReferences);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to analyze classes directory " + classesDirectory, e);
+        }
+    }
+
+    /**
+     * Gives the cache file of a class root other than the first one: the {@link #cacheFile(File) cache file} with the label of the root
+     * added to the name, or {@code null} if no cache file has been set.
+     */
+    private @Nullable File cacheFile(ClassRoot classRoot) {
+        File file = cacheFile;
+        if (file == null) {
+            return null;
+        }
+        String name = file.getName();
+        int extension = name.lastIndexOf('.');
+        String label = classRoot.label().replaceAll("[^A-Za-z0-9_.-]", "_");
+        String rootName = extension > 0 ? name.substring(0, extension) + "-" + label + name.substring(extension) : name + "-" + label;
+        return new File(file.getParentFile(), rootName);
+    }
+
+    /**
+     * Analyzes the dependencies between individual classes in the given directory and the archives. See
+     * {@link #analyzeClasses(List)}.
+     *
+     * @param classesDirectory the directory containing the class files to analyze
+     *
+     * @return a {@link ClassGraph} with the classes and their dependencies
+     *
+     * @throws IOException if reading the class files fails
+     */
+    public ClassGraph analyzeClasses(File classesDirectory) throws IOException {
+        return analyzeClasses(List.of(new ClassRoot(MAIN_LABEL, classesDirectory)));
+    }
+
+    /**
+     * Analyzes the dependencies between individual classes in the given class roots and the archives, when the package-level analysis
+     * is not needed, e.g., because its result has been reused from a previous run. Otherwise, set {@link #classLevel(boolean)
+     * classLevel} and use {@link #analyze(List)}, which reads each class file only once for both analyses. As for the packages, a class
+     * in an earlier root hides a class with the same name in a later root or in an archive, and classes in packages rejected by the
+     * {@link PackagePatternFilter} are not read.
+     *
+     * @param classRoots the class roots to analyze, which must all be existing directories
+     *
+     * @return a {@link ClassGraph} with the classes and their dependencies
+     *
+     * @throws IOException if reading the class files fails
+     */
+    public ClassGraph analyzeClasses(List<ClassRoot> classRoots) throws IOException {
+        ClassGraph classGraph = analyze(classRoots, true).classGraph();
+        if (classGraph == null) {
+            throw new IllegalStateException("The class graph is always created when analyzing classes");
+        }
+        return classGraph;
+    }
+
+    /**
+     * Gives the number of threads that will actually be used.
+     *
+     * @return the configured number of threads, or the number of available processors if not configured
+     */
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static List<Path> findClassFiles(ForkJoinPool pool, Path root, PackagePatternFilter filter) throws IOException {
+        try {
+            List<Path> classFiles = new ArrayList<>(pool.invoke(new FindClassFilesTask(root, "", filter)));
+            classFiles.sort(null);
+            return classFiles;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static List<ParsedClassFile> parseClassFiles(ForkJoinPool pool, Path root, List<Path> classFiles, ClassFileCache cache,
+            boolean withReferences) throws IOException {
+        try {
+            ParsedClassFile[] parsedClassFiles = new ParsedClassFile[classFiles.size()];
+            // Imports are filtered when assembling the packages, so that cached entries do not depend on the filter configuration.
+            ThreadLocal<ClassFileParser> parsers = ThreadLocal.withInitial(() -> new ClassFileParser(new PackageFilter(List.of())));
+            pool.invoke(new ParseClassFilesTask(root, classFiles, parsedClassFiles, 0, classFiles.size(), cache, parsers,
+                    withReferences));
+            return List.of(parsedClassFiles);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Gives the hashes of the content of class files, for the key in the analysis cache. The hash of a class file whose size and
+     * modification time are unchanged is taken from the class file cache, and other class files are read and hashed.
+     */
+    private static List<byte[]> contentHashes(ForkJoinPool pool, Path root, List<Path> classFiles, ClassFileCache cache)
+            throws IOException {
+        try {
+            return pool.submit(() -> classFiles.parallelStream().map(classFile -> contentHash(root, classFile, cache)).toList()).join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static byte[] contentHash(Path root, Path classFile, ClassFileCache cache) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(classFile, BasicFileAttributes.class);
+            String path = root.relativize(classFile).toString().replace(File.separatorChar, '/');
+            byte[] hash = cache.hash(path, attributes.size(), attributes.lastModifiedTime().toMillis());
+            return hash != null ? hash : ClassFileCache.hash(Files.readAllBytes(classFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read class file " + classFile, e);
+        }
+    }
+
+    private ClassesRead read(ClassArchive archive, boolean withReferences) {
+        try {
+            List<ClassReferences> classReferences = List.of();
+            if (withReferences) {
+                classReferences = ClassArchive.readClassReferences(archive.file()).stream()
+                        .filter(references -> packageFilter.accept(ClassGraph.packageOf(references.name()))).toList();
+            }
+            AnalysisCache sessionCache = analysisCache;
+            if (sessionCache == null) {
+                return new ClassesRead(archive.read(), classReferences);
+            }
+            // The checksum is calculated once, for the key in the analysis cache and for the cache file of the archive.
+            byte[] checksum = ClassArchiveCache.checksum(archive.file());
+            String key = AnalysisCache.archiveKey(checksum);
+            List<ClassFileInfo> classFileInfos = sessionCache.get(key);
+            if (classFileInfos == null) {
+                classFileInfos = archive.read(checksum);
+                sessionCache.put(key, classFileInfos);
+            }
+            return new ClassesRead(classFileInfos, classReferences);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read class archive " + archive.file(), e);
+        }
+    }
+
+    private static List<ClassReferences> readClassReferences(ForkJoinPool pool, List<Path> classFiles) {
+        return pool.submit(() -> classFiles.parallelStream().map(JDependAnalyzer::readClassReferences).toList()).join();
+    }
+
+    private static ClassReferences readClassReferences(Path classFile) {
+        try {
+            return ClassReferences.parse(Files.readAllBytes(classFile));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read class file " + classFile, e);
+        }
+    }
+
+    /**
+     * Reads a class file, using the cache if possible. The cache is only read here, never modified, so this method may be called
+     * concurrently. If the class references are wanted, the class file is always read, but only once.
+     */
+    private static ParsedClassFile readClassFile(Path classFile, String path, ClassFileCache cache, ClassFileParser parser,
+            boolean withReferences) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(classFile, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        ClassFileInfo classFileInfo = cache.get(path, size, lastModified);
+        if (classFileInfo != null && !withReferences) {
+            return new ParsedClassFile(path, size, lastModified, null, classFileInfo, null);
+        }
+        byte[] content = Files.readAllBytes(classFile);
+        ClassReferences classReferences = withReferences ? ClassReferences.parse(content) : null;
+        if (classFileInfo != null) {
+            return new ParsedClassFile(path, size, lastModified, null, classFileInfo, classReferences);
+        }
+        byte[] hash = ClassFileCache.hash(content);
+        classFileInfo = cache.get(path, hash);
+        if (classFileInfo == null) {
+            classFileInfo = ClassFileInfo.of(parser.parse(new ByteArrayInputStream(content)));
+        }
+        return new ParsedClassFile(path, size, lastModified, hash, classFileInfo, classReferences);
+    }
+
+    /**
+     * Finds all class files in a directory and its subdirectories.
+     *
+     * @param root the directory to search
+     *
+     * @return the class files found, sorted by path
+     *
+     * @throws IOException if traversing the directory fails
+     */
+    public static List<Path> findClassFiles(Path root) throws IOException {
+        try (Stream<Path> paths = Files.walk(root)) {
+            return paths.filter(p -> p.toString().endsWith(CLASS_FILE_SUFFIX) && Files.isRegularFile(p)).sorted().toList();
+        }
+    }
+
+    /**
+     * The result of reading a class file. The hash is {@code null} if the cached entry could be used without hashing the file, and the
+     * class references are {@code null} if they were not wanted.
+     */
+    private record ParsedClassFile(String path, long size, long lastModified, byte @Nullable [] hash, ClassFileInfo classFileInfo,
+            @Nullable ClassReferences classReferences) {
+    }
+
+    /**
+     * The classes read from a classes directory or an archive, in the order of their paths, and their class references, which are
+     * empty if they were not wanted.
+     */
+    private record ClassesRead(List<ClassFileInfo> classFileInfos, List<ClassReferences> classReferences) {
+    }
+
+    /**
+     * Finds the class files in a directory, forking a new task for each subdirectory that may contain accepted packages. The package of
+     * a directory is given by its path relative to the classes directory, and class files are only included if their package is
+     * accepted. Class files directly in the classes directory belong to the default package and are always included.
+     */
+    private static final class FindClassFilesTask extends RecursiveTask<List<Path>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Path directory;
+        private final String packageName;
+        private final transient PackagePatternFilter filter;
+
+        FindClassFilesTask(Path directory, String packageName, PackagePatternFilter filter) {
+            this.directory = directory;
+            this.packageName = packageName;
+            this.filter = filter;
+        }
+
+        @Override
+        protected List<Path> compute() {
+            List<Path> classFiles = new ArrayList<>();
+            List<FindClassFilesTask> subtasks = new ArrayList<>();
+            boolean acceptClassFiles = packageName.isEmpty() || filter.accept(packageName);
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    if (Files.isDirectory(entry)) {
+                        String name = entry.getFileName().toString();
+                        String subpackageName = packageName.isEmpty() ? name : packageName + "." + name;
+                        if (filter.acceptsAnyBelow(subpackageName)) {
+                            FindClassFilesTask subtask = new FindClassFilesTask(entry, subpackageName, filter);
+                            subtask.fork();
+                            subtasks.add(subtask);
+                        }
+                    } else if (acceptClassFiles && entry.toString().endsWith(CLASS_FILE_SUFFIX) && Files.isRegularFile(entry)) {
+                        classFiles.add(entry);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            for (FindClassFilesTask subtask : subtasks) {
+                classFiles.addAll(subtask.join());
+            }
+            return classFiles;
+        }
+    }
+
+    /**
+     * Parses a range of class files, splitting the range in two until it is small enough.
+     */
+    private static final class ParseClassFilesTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Path root;
+        private final transient List<Path> classFiles;
+        private final transient ParsedClassFile[] result;
+        private final int from;
+        private final int to;
+        private final transient ClassFileCache cache;
+        private final transient ThreadLocal<ClassFileParser> parsers;
+        private final boolean withReferences;
+
+        @SuppressWarnings("checkstyle:ParameterNumber")
+        ParseClassFilesTask(Path root, List<Path> classFiles, ParsedClassFile[] result, int from, int to, ClassFileCache cache,
+                ThreadLocal<ClassFileParser> parsers, boolean withReferences) {
+            this.root = root;
+            this.classFiles = classFiles;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+            this.cache = cache;
+            this.parsers = parsers;
+            this.withReferences = withReferences;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > CLASS_FILES_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(new ParseClassFilesTask(root, classFiles, result, from, middle, cache, parsers, withReferences),
+                        new ParseClassFilesTask(root, classFiles, result, middle, to, cache, parsers, withReferences));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                Path classFile = classFiles.get(i);
+                String path = root.relativize(classFile).toString().replace(File.separatorChar, '/');
+                try {
+                    result[i] = readClassFile(classFile, path, cache, parsers.get(), withReferences);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Failed to read class file " + classFile, e);
+                }
+            }
+        }
+    }
+}
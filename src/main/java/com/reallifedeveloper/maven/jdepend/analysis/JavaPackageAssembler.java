@@ -0,0 +1,171 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import jdepend.framework.JavaClass;
+import jdepend.framework.JavaPackage;
+import jdepend.framework.PackageFilter;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+
+/**
+ * Assembles the JDepend package model from {@link ClassFileInfo} objects, the same way that {@code jdepend.framework.JDepend} does it
+ * from the classes it parses.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class JavaPackageAssembler {
+
+    private final PackageFilter filter;
+    private final PackagePatternFilter patternFilter;
+    private final Map<String, JavaPackage> packages = new HashMap<>();
+    private final Map<String, Set<String>> efferents = new HashMap<>();
+    private final Set<String> packagesWithPackageInfo = new HashSet<>();
+
+    /**
+     * Creates a new {@code JavaPackageAssembler}.
+     *
+     * @param filter the {@code PackageFilter} deciding which packages to include
+     */
+    public JavaPackageAssembler(PackageFilter filter) {
+        this(filter, PackagePatternFilter.ACCEPT_ALL);
+    }
+
+    /**
+     * Creates a new {@code JavaPackageAssembler} that only includes packages accepted by both filters.
+     *
+     * @param filter        the {@code PackageFilter} deciding which packages to include
+     * @param patternFilter the {@link PackagePatternFilter} deciding which packages to include
+     */
+    public JavaPackageAssembler(PackageFilter filter, PackagePatternFilter patternFilter) {
+        this.filter = filter;
+        this.patternFilter = patternFilter;
+    }
+
+    /**
+     * Adds a class to the package model. The class is ignored if its package is not accepted by the filter, and dependencies on
+     * packages not accepted by the filter are ignored.
+     *
+     * @param classFileInfo the class to add
+     */
+    public void add(ClassFileInfo classFileInfo) {
+        String packageName = classFileInfo.packageName();
+        if (!accept(packageName)) {
+            return;
+        }
+        if (XmlReportBuilder.isPackageInfo(classFileInfo.name())) {
+            addPackageInfo(packageName);
+            return;
+        }
+        addClass(classFileInfo.name(), packageName, classFileInfo.sourceFile(), classFileInfo.isAbstract());
+        for (String importedPackage : classFileInfo.importedPackages()) {
+            addDependency(packageName, importedPackage);
+        }
+    }
+
+    /**
+     * Adds a class, but not its dependencies, to the package model. The class is ignored if its package is not accepted by the filter.
+     *
+     * @param className   the fully qualified name of the class
+     * @param packageName the name of the package the class belongs to
+     * @param sourceFile  the name of the source file of the class
+     * @param isAbstract  whether the class is abstract or an interface
+     */
+    public void addClass(String className, String packageName, String sourceFile, boolean isAbstract) {
+        if (!accept(packageName)) {
+            return;
+        }
+        JavaClass javaClass = new JavaClass(className);
+        javaClass.setPackageName(packageName);
+        javaClass.setSourceFile(sourceFile);
+        javaClass.isAbstract(isAbstract);
+        getOrCreatePackage(packageName).addClass(javaClass);
+    }
+
+    /**
+     * Records that a package contains a {@code package-info} class. This is ignored if the package is not accepted by the filter.
+     *
+     * @param packageName the name of the package
+     */
+    public void addPackageInfo(String packageName) {
+        if (accept(packageName)) {
+            getOrCreatePackage(packageName);
+            packagesWithPackageInfo.add(packageName);
+        }
+    }
+
+    /**
+     * Adds a dependency between two packages. Dependencies of a package on itself, and dependencies involving a package not accepted
+     * by the filter, are ignored.
+     *
+     * @param packageName         the name of the package that depends on the other package
+     * @param importedPackageName the name of the package that is depended upon
+     */
+    public void addDependency(String packageName, String importedPackageName) {
+        if (packageName.equals(importedPackageName) || !accept(packageName) || !accept(importedPackageName)) {
+            return;
+        }
+        if (efferents.computeIfAbsent(packageName, k -> new HashSet<>()).add(importedPackageName)) {
+            getOrCreatePackage(packageName).dependsUpon(getOrCreatePackage(importedPackageName));
+        }
+    }
+
+    /**
+     * Creates an {@link XmlReport} from the classes added so far.
+     *
+     * @return an {@link XmlReport} representing the package model
+     */
+    public XmlReport toXmlReport() {
+        return toXmlReport(toPackageGraph());
+    }
+
+    /**
+     * Creates an {@link XmlReport} from the classes added so far, using a {@link PackageGraph} created by {@link #toPackageGraph()} to
+     * find the cycles, so that a caller that needs both does not create the graph twice.
+     *
+     * @param packageGraph the {@link PackageGraph} of the classes added so far
+     *
+     * @return an {@link XmlReport} representing the package model
+     */
+    public XmlReport toXmlReport(PackageGraph packageGraph) {
+        return XmlReportBuilder.build(packages.values(), packagesWithPackageInfo::contains, packageGraph);
+    }
+
+    /**
+     * Creates a {@link PackageGraph} from the classes added so far.
+     * <p>
+     * As in the {@link XmlReport}, a package without any classes other than {@code package-info} is considered not analyzed.
+     *
+     * @return a {@link PackageGraph} representing the package model
+     */
+    public PackageGraph toPackageGraph() {
+        PackageGraph.Builder builder = new PackageGraph.Builder();
+        for (JavaPackage javaPackage : packages.values()) {
+            String packageName = javaPackage.getName();
+            Collection<JavaClass> classes = javaPackage.getClasses();
+            if (classes.isEmpty()) {
+                builder.addPackage(packageName);
+                continue;
+            }
+            int abstractClasses = (int) classes.stream().filter(JavaClass::isAbstract).count();
+            builder.addAnalyzedPackage(packageName, abstractClasses, classes.size() - abstractClasses, javaPackage.getVolatility(),
+                    packagesWithPackageInfo.contains(packageName));
+        }
+        efferents.forEach((packageName, importedPackageNames) -> importedPackageNames.forEach(i -> builder.addDependency(packageName, i)));
+        return builder.build();
+    }
+
+    private boolean accept(String packageName) {
+        return filter.accept(packageName) && patternFilter.accept(packageName);
+    }
+
+    private JavaPackage getOrCreatePackage(String packageName) {
+        return packages.computeIfAbsent(packageName, JavaPackage::new);
+    }
+}
@@ -0,0 +1,489 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
+
+/**
+ * An immutable, compact model of the packages found by an analysis and the dependencies between them.
+ * <p>
+ * Each package is identified by an {@code int} id, which is its index when the packages are sorted by name. The dependencies are stored
+ * in compressed sparse row form: the efferents of package {@code p} are {@code efferents[efferentOffsets[p]]} up to, but not including,
+ * {@code efferents[efferentOffsets[p + 1]]}, sorted by id, and the same for the afferents. The number of classes and the volatility of
+ * the packages are kept in parallel arrays indexed by package id, and the derived metrics are calculated when needed.
+ * <p>
+ * Compared to an {@link XmlReport}, where every package has lists of the names of the packages it depends upon and is used by, a
+ * dependency costs two {@code int}s instead of two object references and two list slots, and no metric is boxed or stored twice.
+ * The graph is currently created in addition to the {@link XmlReport}, not instead of it, so it makes the checks and the rendering
+ * cheaper, but does not lower the peak memory use of a report.
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class PackageGraph {
+
+    private final String[] names;
+    private final int[] efferentOffsets;
+    private final int[] efferents;
+    private final int[] afferentOffsets;
+    private final int[] afferents;
+    private final int[] abstractClasses;
+    private final int[] concreteClasses;
+    private final int[] volatility;
+    private final BitSet analyzed;
+    private final BitSet packageInfo;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private PackageGraph(String[] names, int[] efferentOffsets, int[] efferents, int[] afferentOffsets, int[] afferents,
+            int[] abstractClasses, int[] concreteClasses, int[] volatility, BitSet analyzed, BitSet packageInfo) {
+        this.names = names;
+        this.efferentOffsets = efferentOffsets;
+        this.efferents = efferents;
+        this.afferentOffsets = afferentOffsets;
+        this.afferents = afferents;
+        this.abstractClasses = abstractClasses;
+        this.concreteClasses = concreteClasses;
+        this.volatility = volatility;
+        this.analyzed = analyzed;
+        this.packageInfo = packageInfo;
+    }
+
+    /**
+     * Creates a {@code PackageGraph} from an {@link XmlReport}, e.g., one parsed from a JDepend XML file.
+     *
+     * @param xmlReport the {@link XmlReport} to use
+     *
+     * @return a {@code PackageGraph} with the packages and dependencies in {@code xmlReport}
+     */
+    public static PackageGraph of(XmlReport xmlReport) {
+        Builder builder = new Builder();
+        for (XmlPackage xmlPackage : xmlReport.packages()) {
+            XmlStats stats = xmlPackage.stats();
+            if (xmlPackage.error() != null || stats == null) {
+                builder.addPackage(xmlPackage.name());
+                continue;
+            }
+            builder.addAnalyzedPackage(xmlPackage.name(), stats.abstractClasses(), stats.concreteClasses(), stats.volatility(),
+                    stats.hasPackageInfo());
+            for (String dependsUpon : xmlPackage.dependsUpon()) {
+                builder.addDependency(xmlPackage.name(), dependsUpon);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gives the number of packages in this graph.
+     *
+     * @return the number of packages
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Gives the name of a package.
+     *
+     * @param id the id of the package
+     *
+     * @return the name of the package
+     */
+    public String name(int id) {
+        return names[id];
+    }
+
+    /**
+     * Gives the id of the package with the given name.
+     *
+     * @param name the name of the package
+     *
+     * @return the id of the package, or {@code -1} if there is no package named {@code name}
+     */
+    public int id(String name) {
+        int id = Arrays.binarySearch(names, name);
+        return id >= 0 ? id : -1;
+    }
+
+    /**
+     * Gives the number of packages that a package depends upon, i.e., the efferent couplings (Ce).
+     *
+     * @param id the id of the package
+     *
+     * @return the number of efferent couplings
+     */
+    public int efferentCount(int id) {
+        return efferentOffsets[id + 1] - efferentOffsets[id];
+    }
+
+    /**
+     * Gives one of the packages that a package depends upon.
+     *
+     * @param id    the id of the package
+     * @param index the index of the efferent, between 0 and {@link #efferentCount(int)}, exclusive
+     *
+     * @return the id of the package depended upon; the efferents of a package are sorted by id
+     */
+    public int efferent(int id, int index) {
+        return efferents[efferentOffsets[id] + index];
+    }
+
+    /**
+     * Gives the number of packages that depend upon a package, i.e., the afferent couplings (Ca).
+     *
+     * @param id the id of the package
+     *
+     * @return the number of afferent couplings
+     */
+    public int afferentCount(int id) {
+        return afferentOffsets[id + 1] - afferentOffsets[id];
+    }
+
+    /**
+     * Gives one of the packages that depend upon a package.
+     *
+     * @param id    the id of the package
+     * @param index the index of the afferent, between 0 and {@link #afferentCount(int)}, exclusive
+     *
+     * @return the id of the depending package; the afferents of a package are sorted by id
+     */
+    public int afferent(int id, int index) {
+        return afferents[afferentOffsets[id] + index];
+    }
+
+    /**
+     * Gives the total number of dependencies between packages in this graph.
+     *
+     * @return the number of edges
+     */
+    public int dependencyCount() {
+        return efferents.length;
+    }
+
+    /**
+     * Tells if a package was analyzed, as opposed to only being referenced by analyzed packages.
+     *
+     * @param id the id of the package
+     *
+     * @return {@code true} if the package was analyzed, {@code false} otherwise
+     */
+    public boolean isAnalyzed(int id) {
+        return analyzed.get(id);
+    }
+
+    /**
+     * Tells if a package contains a {@code package-info} class.
+     *
+     * @param id the id of the package
+     *
+     * @return {@code true} if the package contains a {@code package-info} class, {@code false} otherwise
+     */
+    public boolean hasPackageInfo(int id) {
+        return packageInfo.get(id);
+    }
+
+    /**
+     * Gives the number of abstract classes and interfaces in a package.
+     *
+     * @param id the id of the package
+     *
+     * @return the number of abstract classes (AC)
+     */
+    public int abstractClasses(int id) {
+        return abstractClasses[id];
+    }
+
+    /**
+     * Gives the number of concrete classes in a package.
+     *
+     * @param id the id of the package
+     *
+     * @return the number of concrete classes (CC)
+     */
+    public int concreteClasses(int id) {
+        return concreteClasses[id];
+    }
+
+    /**
+     * Gives the total number of classes in a package.
+     *
+     * @param id the id of the package
+     *
+     * @return the number of classes (TC)
+     */
+    public int totalClasses(int id) {
+        return abstractClasses[id] + concreteClasses[id];
+    }
+
+    /**
+     * Gives the volatility of a package.
+     *
+     * @param id the id of the package
+     *
+     * @return the volatility (V)
+     */
+    public int volatility(int id) {
+        return volatility[id];
+    }
+
+    /**
+     * Gives the abstractness of a package, the ratio of abstract classes to the total number of classes.
+     *
+     * @param id the id of the package
+     *
+     * @return the abstractness (A), not rounded
+     */
+    public double abstractness(int id) {
+        int totalClasses = totalClasses(id);
+        return totalClasses == 0 ? 0 : (double) abstractClasses[id] / totalClasses;
+    }
+
+    /**
+     * Gives the instability of a package, the ratio of efferent couplings to the total number of couplings.
+     *
+     * @param id the id of the package
+     *
+     * @return the instability (I), not rounded
+     */
+    public double instability(int id) {
+        int ca = afferentCount(id);
+        int ce = efferentCount(id);
+        return ca + ce == 0 ? 0 : (double) ce / (ca + ce);
+    }
+
+    /**
+     * Gives the distance of a package from the main sequence, where abstractness and instability are balanced.
+     *
+     * @param id the id of the package
+     *
+     * @return the distance (D), not rounded
+     */
+    public double distance(int id) {
+        return Math.abs(abstractness(id) + instability(id) - 1);
+    }
+
+    /**
+     * Creates a smaller graph where all packages with the same prefix, i.e., the same first {@code prefixDepth} parts of the name, are
+     * collapsed into one package named by the prefix. The classes of the collapsed packages are added up, the volatility is the highest
+     * one, and dependencies between packages with the same prefix disappear. A collapsed package counts as analyzed if any of its
+     * packages was analyzed.
+     *
+     * @param prefixDepth the number of leading parts of the package names to keep
+     *
+     * @return a new {@code PackageGraph} with the collapsed packages, or this graph if {@code prefixDepth} is less than 1
+     */
+    public PackageGraph collapse(int prefixDepth) {
+        if (prefixDepth < 1) {
+            return this;
+        }
+        String[] prefixes = new String[size()];
+        Map<String, CollapsedPackage> collapsedPackages = new HashMap<>();
+        for (int id = 0; id < size(); id++) {
+            prefixes[id] = prefix(names[id], prefixDepth);
+            if (isAnalyzed(id)) {
+                CollapsedPackage collapsed = collapsedPackages.computeIfAbsent(prefixes[id], prefix -> new CollapsedPackage());
+                collapsed.abstractClasses += abstractClasses[id];
+                collapsed.concreteClasses += concreteClasses[id];
+                collapsed.volatility = Math.max(collapsed.volatility, volatility[id]);
+                collapsed.hasPackageInfo |= packageInfo.get(id);
+            }
+        }
+        Builder builder = new Builder();
+        for (int id = 0; id < size(); id++) {
+            CollapsedPackage collapsed = collapsedPackages.remove(prefixes[id]);
+            if (collapsed == null) {
+                builder.addPackage(prefixes[id]);
+            } else {
+                builder.addAnalyzedPackage(prefixes[id], collapsed.abstractClasses, collapsed.concreteClasses, collapsed.volatility,
+                        collapsed.hasPackageInfo);
+            }
+            for (int i = efferentOffsets[id]; i < efferentOffsets[id + 1]; i++) {
+                builder.addDependency(prefixes[id], prefixes[efferents[i]]);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gives the prefix of a package name, i.e., the first {@code depth} parts of the name, or the whole name if it has fewer parts.
+     *
+     * @param packageName the name of the package
+     * @param depth       the number of leading parts of the name to keep, at least 1
+     *
+     * @return the prefix of {@code packageName}
+     */
+    public static String prefix(String packageName, int depth) {
+        int end = -1;
+        for (int i = 0; i < depth; i++) {
+            end = packageName.indexOf('.', end + 1);
+            if (end < 0) {
+                return packageName;
+            }
+        }
+        return packageName.substring(0, end);
+    }
+
+    /**
+     * The metrics of the packages with the same prefix, added up by {@link #collapse(int)}.
+     */
+    private static final class CollapsedPackage {
+        private int abstractClasses;
+        private int concreteClasses;
+        private int volatility;
+        private boolean hasPackageInfo;
+    }
+
+    /**
+     * Collects the packages and dependencies of a {@link PackageGraph}. Packages may be added in any order, and a package that is only
+     * mentioned in a dependency is added as a package that was not analyzed.
+     * <p>
+     * This class is not thread-safe.
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 64;
+        private static final int INT_BITS = 32;
+        private static final long INT_MASK = 0xFFFF_FFFFL;
+
+        private final Map<String, Integer> indexes = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+        private int[] abstractClasses = new int[INITIAL_CAPACITY];
+        private int[] concreteClasses = new int[INITIAL_CAPACITY];
+        private int[] volatility = new int[INITIAL_CAPACITY];
+        private final BitSet analyzed = new BitSet();
+        private final BitSet packageInfo = new BitSet();
+        private long[] dependencies = new long[INITIAL_CAPACITY];
+        private int dependencyCount;
+
+        /**
+         * Adds a package that was not analyzed, unless it has already been added.
+         *
+         * @param name the name of the package
+         *
+         * @return this {@code Builder}
+         */
+        public Builder addPackage(String name) {
+            index(name);
+            return this;
+        }
+
+        /**
+         * Adds a package that was analyzed, or updates the metrics of a package that has already been added.
+         *
+         * @param name            the name of the package
+         * @param abstractClasses the number of abstract classes and interfaces in the package
+         * @param concreteClasses the number of concrete classes in the package
+         * @param volatility      the volatility of the package
+         * @param hasPackageInfo  whether the package contains a {@code package-info} class
+         *
+         * @return this {@code Builder}
+         */
+        public Builder addAnalyzedPackage(String name, int abstractClasses, int concreteClasses, int volatility, boolean hasPackageInfo) {
+            int index = index(name);
+            this.abstractClasses[index] = abstractClasses;
+            this.concreteClasses[index] = concreteClasses;
+            this.volatility[index] = volatility;
+            analyzed.set(index);
+            packageInfo.set(index, hasPackageInfo);
+            return this;
+        }
+
+        /**
+         * Adds a dependency between two packages. Dependencies of a package on itself are ignored, and a dependency that is added more
+         * than once is only included once.
+         *
+         * @param name            the name of the package that depends upon the other package
+         * @param dependsUponName the name of the package that is depended upon
+         *
+         * @return this {@code Builder}
+         */
+        public Builder addDependency(String name, String dependsUponName) {
+            int from = index(name);
+            int to = index(dependsUponName);
+            if (from != to) {
+                if (dependencyCount == dependencies.length) {
+                    dependencies = Arrays.copyOf(dependencies, 2 * dependencies.length);
+                }
+                dependencies[dependencyCount++] = (long) from << INT_BITS | to;
+            }
+            return this;
+        }
+
+        /**
+         * Creates the {@link PackageGraph}.
+         *
+         * @return a new {@link PackageGraph} with the packages and dependencies added so far
+         */
+        public PackageGraph build() {
+            int size = names.size();
+            String[] sortedNames = names.stream().map(String::intern).sorted().toArray(String[]::new);
+            int[] ids = new int[size];
+            for (int id = 0; id < size; id++) {
+                ids[indexes.get(sortedNames[id])] = id;
+            }
+            int[] sortedAbstractClasses = new int[size];
+            int[] sortedConcreteClasses = new int[size];
+            int[] sortedVolatility = new int[size];
+            BitSet sortedAnalyzed = new BitSet(size);
+            BitSet sortedPackageInfo = new BitSet(size);
+            for (int index = 0; index < size; index++) {
+                int id = ids[index];
+                sortedAbstractClasses[id] = abstractClasses[index];
+                sortedConcreteClasses[id] = concreteClasses[index];
+                sortedVolatility[id] = volatility[index];
+                sortedAnalyzed.set(id, analyzed.get(index));
+                sortedPackageInfo.set(id, packageInfo.get(index));
+            }
+            long[] edges = new long[dependencyCount];
+            for (int i = 0; i < dependencyCount; i++) {
+                edges[i] = (long) ids[(int) (dependencies[i] >>> INT_BITS)] << INT_BITS | ids[(int) (dependencies[i] & INT_MASK)];
+            }
+            edges = Arrays.stream(edges).sorted().distinct().toArray();
+            int[] efferentOffsets = new int[size + 1];
+            int[] efferents = new int[edges.length];
+            int[] afferentOffsets = new int[size + 1];
+            int[] afferents = new int[edges.length];
+            for (long edge : edges) {
+                efferentOffsets[(int) (edge >>> INT_BITS) + 1]++;
+                afferentOffsets[(int) (edge & INT_MASK) + 1]++;
+            }
+            for (int id = 0; id < size; id++) {
+                efferentOffsets[id + 1] += efferentOffsets[id];
+                afferentOffsets[id + 1] += afferentOffsets[id];
+            }
+            int[] afferentPositions = Arrays.copyOf(afferentOffsets, size);
+            // The edges are sorted by source and then by target, so both efferents and afferents end up sorted.
+            for (int i = 0; i < edges.length; i++) {
+                int from = (int) (edges[i] >>> INT_BITS);
+                int to = (int) (edges[i] & INT_MASK);
+                efferents[i] = to;
+                afferents[afferentPositions[to]++] = from;
+            }
+            return new PackageGraph(sortedNames, efferentOffsets, efferents, afferentOffsets, afferents, sortedAbstractClasses,
+                    sortedConcreteClasses, sortedVolatility, sortedAnalyzed, sortedPackageInfo);
+        }
+
+        private int index(String name) {
+            Integer index = indexes.get(name);
+            if (index != null) {
+                return index;
+            }
+            int newIndex = names.size();
+            indexes.put(name, newIndex);
+            names.add(name);
+            if (newIndex == abstractClasses.length) {
+                abstractClasses = Arrays.copyOf(abstractClasses, 2 * newIndex);
+                concreteClasses = Arrays.copyOf(concreteClasses, 2 * newIndex);
+                volatility = Arrays.copyOf(volatility, 2 * newIndex);
+            }
+            return newIndex;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Decides which packages to analyze, based on include and exclude patterns.
+ * <p>
+ * A pattern is a package name where each part may be replaced by {@code *}, matching exactly one part, or {@code **}, matching any
+ * number of parts, including none. For example, {@code com.example.**} matches {@code com.example} and all packages below it, and
+ * {@code **.generated.**} matches every package with a part named {@code generated}. A package is accepted if it matches at least one
+ * include pattern, or there are no include patterns, and does not match any exclude pattern.
+ * <p>
+ * The patterns are compiled into a {@link PackagePatternTrie}, so a package name is matched against all patterns in a single pass over
+ * its parts. The filter can also tell if a package and all packages below it are rejected, which lets the directory traversal skip
+ * whole subtrees of class files without reading them.
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class PackagePatternFilter {
+
+    /**
+     * A filter accepting all packages.
+     */
+    public static final PackagePatternFilter ACCEPT_ALL = new PackagePatternFilter(List.of(), List.of());
+
+    private final @Nullable PackagePatternTrie includes;
+    private final @Nullable PackagePatternTrie excludes;
+    private final String description;
+
+    private PackagePatternFilter(Collection<String> includePatterns, Collection<String> excludePatterns) {
+        this.includes = compile(includePatterns);
+        this.excludes = compile(excludePatterns);
+        this.description = "includes=" + includePatterns + ", excludes=" + excludePatterns;
+    }
+
+    /**
+     * Creates a filter from include and exclude patterns.
+     *
+     * @param includePatterns the patterns of the packages to include, or an empty collection to include all packages
+     * @param excludePatterns the patterns of the packages to exclude
+     *
+     * @return a {@code PackagePatternFilter} using the patterns
+     *
+     * @throws IllegalArgumentException if a pattern is empty or has an empty part
+     */
+    public static PackagePatternFilter of(Collection<String> includePatterns, Collection<String> excludePatterns) {
+        if (includePatterns.isEmpty() && excludePatterns.isEmpty()) {
+            return ACCEPT_ALL;
+        }
+        return new PackagePatternFilter(List.copyOf(includePatterns), List.copyOf(excludePatterns));
+    }
+
+    /**
+     * Tells if a package should be analyzed.
+     *
+     * @param packageName the name of the package
+     *
+     * @return {@code true} if the package is accepted by the patterns, {@code false} otherwise
+     */
+    public boolean accept(String packageName) {
+        if (includes == null && excludes == null) {
+            return true;
+        }
+        return (includes == null || includes.matchesAny(packageName)) && (excludes == null || !excludes.matchesAny(packageName));
+    }
+
+    /**
+     * Tells if a package or any package below it may be accepted, i.e., if the classes in a directory corresponding to the package
+     * have to be considered at all.
+     *
+     * @param packageName the name of the package
+     *
+     * @return {@code false} if the package and all packages below it are rejected, {@code true} otherwise
+     */
+    public boolean acceptsAnyBelow(String packageName) {
+        if (includes == null && excludes == null) {
+            return true;
+        }
+        return (includes == null || includes.canMatchBelow(packageName))
+                && (excludes == null || !excludes.matchesAllBelow(packageName));
+    }
+
+    /**
+     * Tells if this filter accepts all packages.
+     *
+     * @return {@code true} if there are no patterns, {@code false} otherwise
+     */
+    public boolean acceptsAll() {
+        return includes == null && excludes == null;
+    }
+
+    @Override
+    public String toString() {
+        return "PackagePatternFilter{" + description + "}";
+    }
+
+    private static @Nullable PackagePatternTrie compile(Collection<String> patterns) {
+        return patterns.isEmpty() ? null : PackagePatternTrie.of(List.copyOf(patterns));
+    }
+}
@@ -0,0 +1,205 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A set of package name patterns compiled into a trie of package name parts, so that a package name is matched against all patterns in
+ * a single pass over its parts, regardless of the number of patterns.
+ * <p>
+ * A pattern is a package name where each part may be replaced by {@code *}, matching exactly one part, or {@code **}, matching any
+ * number of parts, including none. Each pattern is identified by its index in the list of patterns that the trie was created from.
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class PackagePatternTrie {
+
+    private static final String ONE_PART = "*";
+    private static final String ANY_PARTS = "**";
+    private static final char SEPARATOR = '.';
+
+    private final Node root = new Node(false);
+    private final int size;
+
+    private PackagePatternTrie(List<String> patterns) {
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            String trimmed = pattern.trim();
+            if (trimmed.isEmpty()) {
+                throw new IllegalArgumentException("Package pattern must not be empty");
+            }
+            Node node = root;
+            for (String part : split(trimmed)) {
+                if (part.isEmpty()) {
+                    throw new IllegalArgumentException("Package pattern must not have an empty part: " + pattern);
+                }
+                node = node.child(part);
+            }
+            node.terminals.set(id);
+        }
+        this.size = patterns.size();
+    }
+
+    /**
+     * Compiles a list of patterns.
+     *
+     * @param patterns the patterns, identified by their indexes in the list
+     *
+     * @return a {@code PackagePatternTrie} with the patterns
+     *
+     * @throws IllegalArgumentException if a pattern is empty or has an empty part
+     */
+    public static PackagePatternTrie of(List<String> patterns) {
+        return new PackagePatternTrie(patterns);
+    }
+
+    /**
+     * Gives the number of patterns in the trie.
+     *
+     * @return the number of patterns
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Finds the patterns that match a package name.
+     *
+     * @param packageName the name of the package
+     *
+     * @return a new {@code BitSet} with the ids of the matching patterns
+     */
+    public BitSet matches(String packageName) {
+        BitSet matches = new BitSet(size);
+        for (Node node : match(packageName)) {
+            matches.or(node.terminals);
+        }
+        return matches;
+    }
+
+    /**
+     * Tells if at least one pattern matches a package name.
+     *
+     * @param packageName the name of the package
+     *
+     * @return {@code true} if a pattern matches {@code packageName}, {@code false} otherwise
+     */
+    public boolean matchesAny(String packageName) {
+        return match(packageName).stream().anyMatch(node -> !node.terminals.isEmpty());
+    }
+
+    /**
+     * Tells if at least one pattern matches a package name and all packages below it, i.e., if the pattern ends with {@code **} after
+     * the parts matching the package name.
+     *
+     * @param packageName the name of the package
+     *
+     * @return {@code true} if a pattern matches {@code packageName} and all packages below it, {@code false} otherwise
+     */
+    public boolean matchesAllBelow(String packageName) {
+        return match(packageName).stream().anyMatch(node -> !node.terminals.isEmpty() && node.anyParts);
+    }
+
+    /**
+     * Tells if at least one pattern may match a package name or a package below it.
+     *
+     * @param packageName the name of the package
+     *
+     * @return {@code false} if no pattern matches {@code packageName} or any package below it, {@code true} otherwise
+     */
+    public boolean canMatchBelow(String packageName) {
+        return match(packageName).stream().anyMatch(
+                node -> !node.terminals.isEmpty() || node.anyParts || node.oneChild != null || !node.children.isEmpty());
+    }
+
+    /**
+     * Gives the nodes of the trie that can be reached by the parts of a package name, including the nodes reached by letting a
+     * {@code **} match no parts.
+     */
+    private List<Node> match(String packageName) {
+        List<Node> current = new ArrayList<>();
+        addWithClosure(current, root);
+        if (packageName.isEmpty()) {
+            return current;
+        }
+        for (String part : split(packageName)) {
+            List<Node> next = new ArrayList<>();
+            for (Node node : current) {
+                Node child = node.children.get(part);
+                if (child != null) {
+                    addWithClosure(next, child);
+                }
+                if (node.oneChild != null) {
+                    addWithClosure(next, node.oneChild);
+                }
+                if (node.anyParts) {
+                    addWithClosure(next, node);
+                }
+            }
+            if (next.isEmpty()) {
+                return next;
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    private static void addWithClosure(List<Node> nodes, Node node) {
+        if (!nodes.contains(node)) {
+            nodes.add(node);
+            if (node.anyChild != null) {
+                addWithClosure(nodes, node.anyChild);
+            }
+        }
+    }
+
+    private static List<String> split(String name) {
+        List<String> parts = new ArrayList<>();
+        int start = 0;
+        for (int i = name.indexOf(SEPARATOR); i >= 0; i = name.indexOf(SEPARATOR, start)) {
+            parts.add(name.substring(start, i));
+            start = i + 1;
+        }
+        parts.add(name.substring(start));
+        return parts;
+    }
+
+    /**
+     * A node in the trie of patterns. A node reached by {@code **} can consume any number of package name parts while staying in the
+     * same node. The ids of the patterns ending in a node are kept in {@code terminals}.
+     */
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private final BitSet terminals = new BitSet();
+        private final boolean anyParts;
+        private @Nullable Node oneChild;
+        private @Nullable Node anyChild;
+
+        Node(boolean anyParts) {
+            this.anyParts = anyParts;
+        }
+
+        Node child(String part) {
+            if (ONE_PART.equals(part)) {
+                if (oneChild == null) {
+                    oneChild = new Node(false);
+                }
+                return oneChild;
+            }
+            if (ANY_PARTS.equals(part)) {
+                if (anyChild == null) {
+                    anyChild = new Node(true);
+                }
+                return anyChild;
+            }
+            return children.computeIfAbsent(part, p -> new Node(false));
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinPool.ForkJoinWorkerThreadFactory;
+
+import jdepend.framework.ClassFileParser;
+import jdepend.framework.PackageFilter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlClass;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackageWithCycle;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReportStreamWriter;
+
+/**
+ * Analyzes the class files in a directory with a peak memory use that is proportional to the number of packages and package
+ * dependencies, rather than to the number of classes, and writes the result as a JDepend XML report.
+ * <p>
+ * The class files are parsed one batch of directories at a time. For each package, only the number of abstract and concrete classes,
+ * whether it has a {@code package-info} class, and the set of packages it depends upon are kept in memory, with each package name stored
+ * once. The name, source file and abstractness of each class are written to a temporary file and the parsed class is discarded. When
+ * all class files have been parsed, the packages are written to the XML report one at a time, reading back only the classes of the
+ * package being written.
+ * <p>
+ * The peak memory use is therefore bounded by the package model and the {@link PackageGraph}, plus the parsed classes of one batch of
+ * directories, plus the classes of the largest package. The XML report is the same as the one written for the result of
+ * {@link JDependAnalyzer#analyze(File)}, but the {@link XmlReport} returned by {@link #analyze(File, File)} only has the package
+ * metrics, the package dependencies and the cycles, without the lists of classes.
+ * <p>
+ * Neither the class file cache nor archives are supported, since both need memory proportional to the number of classes.
+ *
+ * @author RealLifeDeveloper
+ */
+@Accessors(fluent = true)
+public final class StreamingAnalyzer {
+
+    private static final String CLASS_FILE_GLOB = "*.class";
+    private static final int DIRECTORIES_PER_THREAD = 4;
+    /**
+     * The volatility that JDepend gives a {@code JavaPackage} unless configured otherwise.
+     */
+    private static final int VOLATILITY = 1;
+
+    /**
+     * The number of threads used to parse class files, or 0 to use one thread per available processor.
+     */
+    @Setter
+    private int threads;
+
+    /**
+     * The filter deciding which packages to analyze.
+     */
+    @Setter
+    private PackagePatternFilter packageFilter = PackagePatternFilter.ACCEPT_ALL;
+
+    /**
+     * The factory used to create the worker threads that parse class files, e.g., to measure the work done by them.
+     */
+    @Setter
+    private ForkJoinWorkerThreadFactory threadFactory = ForkJoinPool.defaultForkJoinWorkerThreadFactory;
+
+    /**
+     * Analyzes the class files in a directory and writes the result as a JDepend XML report.
+     *
+     * @param classesDirectory the directory containing the class files to analyze
+     * @param xmlFile          the file to write the XML report to
+     *
+     * @return an {@link XmlReport} with the metrics, dependencies and cycles of the packages, but no classes
+     *
+     * @throws IOException if reading the class files or writing the XML report fails
+     */
+    public XmlReport analyze(File classesDirectory, File xmlFile) throws IOException {
+        PackageFilter jdependFilter = new PackageFilter();
+        Path classesFile = Files.createTempFile("jdepend-classes", ".bin");
+        try {
+            Map<String, PackageSummary> packages = new HashMap<>();
+            try (CountingOutputStream counter = new CountingOutputStream(Files.newOutputStream(classesFile));
+                    DataOutputStream out = new DataOutputStream(new BufferedOutputStream(counter))) {
+                List<Path> directories = findDirectories(classesDirectory.toPath());
+                int batchSize = DIRECTORIES_PER_THREAD * effectiveThreads();
+                ForkJoinPool pool = new ForkJoinPool(effectiveThreads(), threadFactory, null, false);
+                ThreadLocal<ClassFileParser> parsers = ThreadLocal.withInitial(() -> new ClassFileParser(new PackageFilter(List.of())));
+                try {
+                    for (int start = 0; start < directories.size(); start += batchSize) {
+                        List<Path> batch = directories.subList(start, Math.min(directories.size(), start + batchSize));
+                        List<List<ClassFileInfo>> parsed = pool.submit(() -> batch.parallelStream()
+                                .map(directory -> parseDirectory(directory, parsers.get())).toList()).join();
+                        for (List<ClassFileInfo> classFileInfos : parsed) {
+                            add(classFileInfos, packages, jdependFilter, out, counter);
+                        }
+                    }
+                } catch (UncheckedIOException e) {
+                    throw e.getCause();
+                } finally {
+                    pool.shutdown();
+                }
+            }
+            PackageGraph graph = toPackageGraph(packages);
+            return write(graph, packages, classesFile, xmlFile);
+        } finally {
+            Files.deleteIfExists(classesFile);
+        }
+    }
+
+    /**
+     * Gives the number of threads that will actually be used.
+     *
+     * @return the configured number of threads, or the number of available processors if not configured
+     */
+    public int effectiveThreads() {
+        return threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Finds the directories that may contain class files of accepted packages, skipping subtrees where all packages are rejected.
+     */
+    private List<Path> findDirectories(Path root) throws IOException {
+        List<Path> directories = new ArrayList<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) {
+                String packageName = root.relativize(directory).toString().replace(File.separatorChar, '.');
+                if (packageName.isEmpty()) {
+                    directories.add(directory);
+                    return FileVisitResult.CONTINUE;
+                }
+                if (!packageFilter.acceptsAnyBelow(packageName)) {
+                    return FileVisitResult.SKIP_SUBTREE;
+                }
+                if (packageFilter.accept(packageName)) {
+                    directories.add(directory);
+                }
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        directories.sort(null);
+        return directories;
+    }
+
+    private static List<ClassFileInfo> parseDirectory(Path directory, ClassFileParser parser) {
+        List<Path> classFiles = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, CLASS_FILE_GLOB)) {
+            for (Path entry : entries) {
+                if (Files.isRegularFile(entry)) {
+                    classFiles.add(entry);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list class files in " + directory, e);
+        }
+        classFiles.sort(null);
+        List<ClassFileInfo> classFileInfos = new ArrayList<>(classFiles.size());
+        for (Path classFile : classFiles) {
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(classFile))) {
+                classFileInfos.add(ClassFileInfo.of(parser.parse(in)));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read class file " + classFile, e);
+            }
+        }
+        return classFileInfos;
+    }
+
+    /**
+     * Adds the classes of a directory to the package summaries, and writes the classes themselves to the temporary file, the same way
+     * that {@link JavaPackageAssembler#add(ClassFileInfo)} adds them to the package model.
+     */
+    private void add(List<ClassFileInfo> classFileInfos, Map<String, PackageSummary> packages, PackageFilter jdependFilter,
+            DataOutputStream out, CountingOutputStream counter) throws IOException {
+        Map<String, List<ClassFileInfo>> classesByPackage = new HashMap<>();
+        for (ClassFileInfo classFileInfo : classFileInfos) {
+            String packageName = classFileInfo.packageName();
+            if (!jdependFilter.accept(packageName) || !packageFilter.accept(packageName)) {
+                continue;
+            }
+            PackageSummary summary = packages.computeIfAbsent(packageName, PackageSummary::new);
+            if (XmlReportBuilder.isPackageInfo(classFileInfo.name())) {
+                summary.hasPackageInfo = true;
+                continue;
+            }
+            classesByPackage.computeIfAbsent(packageName, p -> new ArrayList<>()).add(classFileInfo);
+            for (String importedPackage : classFileInfo.importedPackages()) {
+                if (!importedPackage.equals(packageName) && jdependFilter.accept(importedPackage)
+                        && packageFilter.accept(importedPackage)) {
+                    // Use the name of the summary, so that each package name is stored only once.
+                    summary.efferents.add(packages.computeIfAbsent(importedPackage, PackageSummary::new).name);
+                }
+            }
+        }
+        for (Map.Entry<String, List<ClassFileInfo>> entry : classesByPackage.entrySet()) {
+            PackageSummary summary = packages.get(entry.getKey());
+            out.flush();
+            summary.segments.add(new long[] { counter.count, entry.getValue().size() });
+            for (ClassFileInfo classFileInfo : entry.getValue()) {
+                out.writeUTF(classFileInfo.name());
+                out.writeUTF(classFileInfo.sourceFile());
+                out.writeBoolean(classFileInfo.isAbstract());
+                if (classFileInfo.isAbstract()) {
+                    summary.abstractClasses++;
+                } else {
+                    summary.concreteClasses++;
+                }
+            }
+        }
+    }
+
+    private static PackageGraph toPackageGraph(Map<String, PackageSummary> packages) {
+        PackageGraph.Builder builder = new PackageGraph.Builder();
+        for (PackageSummary summary : packages.values()) {
+            if (summary.abstractClasses + summary.concreteClasses == 0) {
+                builder.addPackage(summary.name);
+                continue;
+            }
+            builder.addAnalyzedPackage(summary.name, summary.abstractClasses, summary.concreteClasses, VOLATILITY, summary.hasPackageInfo);
+            for (String efferent : summary.efferents) {
+                builder.addDependency(summary.name, efferent);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Writes the XML report, one package at a time, and creates the summary report that is returned.
+     */
+    private static XmlReport write(PackageGraph graph, Map<String, PackageSummary> packages, Path classesFile, File xmlFile)
+            throws IOException {
+        XmlReport summaryReport = new XmlReport();
+        List<XmlPackageWithCycle> cycles = XmlReportBuilder.cycles(graph);
+        try (FileChannel channel = FileChannel.open(classesFile, StandardOpenOption.READ);
+                XmlReportStreamWriter writer = new XmlReportStreamWriter(xmlFile)) {
+            for (int id = 0; id < graph.size(); id++) {
+                XmlPackage xmlPackage = new XmlPackage();
+                xmlPackage.name(graph.name(id));
+                if (graph.isAnalyzed(id)) {
+                    for (int i = 0; i < graph.efferentCount(id); i++) {
+                        xmlPackage.dependsUpon().add(graph.name(graph.efferent(id, i)));
+                    }
+                    for (int i = 0; i < graph.afferentCount(id); i++) {
+                        xmlPackage.usedBy().add(graph.name(graph.afferent(id, i)));
+                    }
+                    xmlPackage.stats(XmlReportBuilder.createStats(graph.abstractClasses(id), graph.concreteClasses(id),
+                            graph.afferentCount(id), graph.efferentCount(id), graph.volatility(id), graph.hasPackageInfo(id)));
+                } else {
+                    xmlPackage.error(XmlReportBuilder.NOT_ANALYZED_ERROR);
+                }
+                PackageSummary summary = packages.get(xmlPackage.name());
+                if (summary != null) {
+                    readClasses(channel, summary.segments, xmlPackage);
+                }
+                writer.writePackage(xmlPackage);
+                xmlPackage.abstractClasses().clear();
+                xmlPackage.concreteClasses().clear();
+                summaryReport.packages().add(xmlPackage);
+            }
+            writer.writeCycles(cycles);
+        }
+        summaryReport.cycles(cycles);
+        return summaryReport;
+    }
+
+    /**
+     * Reads the classes of a package from the temporary file and adds them to the package, sorted by name.
+     */
+    private static void readClasses(FileChannel channel, List<long[]> segments, XmlPackage xmlPackage) throws IOException {
+        for (long[] segment : segments) {
+            channel.position(segment[0]);
+            // The stream is not closed, since that would close the channel.
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            for (long i = 0; i < segment[1]; i++) {
+                XmlClass xmlClass = new XmlClass();
+                xmlClass.name(in.readUTF());
+                xmlClass.sourceFile(in.readUTF());
+                (in.readBoolean() ? xmlPackage.abstractClasses() : xmlPackage.concreteClasses()).add(xmlClass);
+            }
+        }
+        xmlPackage.abstractClasses().sort(Comparator.comparing(XmlClass::name));
+        xmlPackage.concreteClasses().sort(Comparator.comparing(XmlClass::name));
+    }
+
+    /**
+     * What is kept in memory for a package while the class files are parsed.
+     */
+    private static final class PackageSummary {
+        private final String name;
+        private final Set<String> efferents = new HashSet<>();
+        private final List<long[]> segments = new ArrayList<>(1);
+        private int abstractClasses;
+        private int concreteClasses;
+        private boolean hasPackageInfo;
+
+        PackageSummary(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * An output stream that counts the bytes written to it, to find the position of the classes of each package in the temporary file.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The strongly connected components of a {@link PackageGraph}, i.e., the maximal groups of packages where every package can reach every
+ * other package. A component with more than one package is a tangle of cyclic dependencies.
+ * <p>
+ * The components are found using an iterative version of Tarjan's algorithm, in time linear in the number of packages and dependencies,
+ * and without recursion, so deeply tangled graphs cannot cause a {@code StackOverflowError}. The components are numbered in the order
+ * Tarjan's algorithm completes them, which means that all dependencies of the packages in a component lead to the component itself or to
+ * a component with a lower number.
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class StronglyConnectedComponents {
+
+    private static final int UNVISITED = -1;
+
+    private final int[] components;
+    private final int[] memberOffsets;
+    private final int[] members;
+
+    private StronglyConnectedComponents(int[] components, int[] memberOffsets, int[] members) {
+        this.components = components;
+        this.memberOffsets = memberOffsets;
+        this.members = members;
+    }
+
+    /**
+     * Finds the strongly connected components of a {@link PackageGraph}.
+     *
+     * @param graph the {@link PackageGraph} to use
+     *
+     * @return the strongly connected components of {@code graph}
+     */
+    public static StronglyConnectedComponents of(PackageGraph graph) {
+        int size = graph.size();
+        int[] index = new int[size];
+        int[] lowLink = new int[size];
+        int[] components = new int[size];
+        Arrays.fill(index, UNVISITED);
+        BitSet onStack = new BitSet(size);
+        int[] stack = new int[size];
+        int stackSize = 0;
+        // The call stack of the recursive algorithm: the package, and the index of the next efferent to visit.
+        int[] callStack = new int[size];
+        int[] nextEfferent = new int[size];
+        int nextIndex = 0;
+        int componentCount = 0;
+        for (int root = 0; root < size; root++) {
+            if (index[root] != UNVISITED) {
+                continue;
+            }
+            int depth = 0;
+            callStack[depth] = root;
+            nextEfferent[depth++] = 0;
+            index[root] = nextIndex;
+            lowLink[root] = nextIndex++;
+            stack[stackSize++] = root;
+            onStack.set(root);
+            while (depth > 0) {
+                int id = callStack[depth - 1];
+                if (nextEfferent[depth - 1] < graph.efferentCount(id)) {
+                    int efferent = graph.efferent(id, nextEfferent[depth - 1]++);
+                    if (index[efferent] == UNVISITED) {
+                        callStack[depth] = efferent;
+                        nextEfferent[depth++] = 0;
+                        index[efferent] = nextIndex;
+                        lowLink[efferent] = nextIndex++;
+                        stack[stackSize++] = efferent;
+                        onStack.set(efferent);
+                    } else if (onStack.get(efferent)) {
+                        lowLink[id] = Math.min(lowLink[id], index[efferent]);
+                    }
+                    continue;
+                }
+                depth--;
+                if (lowLink[id] == index[id]) {
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack.clear(member);
+                        components[member] = componentCount;
+                    } while (member != id);
+                    componentCount++;
+                }
+                if (depth > 0) {
+                    int caller = callStack[depth - 1];
+                    lowLink[caller] = Math.min(lowLink[caller], lowLink[id]);
+                }
+            }
+        }
+        int[] memberOffsets = new int[componentCount + 1];
+        for (int id = 0; id < size; id++) {
+            memberOffsets[components[id] + 1]++;
+        }
+        for (int component = 0; component < componentCount; component++) {
+            memberOffsets[component + 1] += memberOffsets[component];
+        }
+        int[] members = new int[size];
+        int[] positions = Arrays.copyOf(memberOffsets, componentCount);
+        for (int id = 0; id < size; id++) {
+            members[positions[components[id]]++] = id;
+        }
+        return new StronglyConnectedComponents(components, memberOffsets, members);
+    }
+
+    /**
+     * Gives the number of strongly connected components.
+     *
+     * @return the number of components
+     */
+    public int componentCount() {
+        return memberOffsets.length - 1;
+    }
+
+    /**
+     * Gives the component that a package belongs to.
+     *
+     * @param id the id of the package
+     *
+     * @return the number of the component containing the package
+     */
+    public int component(int id) {
+        return components[id];
+    }
+
+    /**
+     * Gives the number of packages in a component.
+     *
+     * @param component the number of the component
+     *
+     * @return the number of packages in the component
+     */
+    public int componentSize(int component) {
+        return memberOffsets[component + 1] - memberOffsets[component];
+    }
+
+    /**
+     * Gives the packages in a component.
+     *
+     * @param component the number of the component
+     *
+     * @return the ids of the packages in the component, sorted
+     */
+    public int[] members(int component) {
+        return Arrays.copyOfRange(members, memberOffsets[component], memberOffsets[component + 1]);
+    }
+
+    /**
+     * Gives the number of packages in the tangle that a package is part of.
+     *
+     * @param id the id of the package
+     *
+     * @return the number of packages in the component containing the package, which is 1 if the package is not part of a cycle
+     */
+    public int tangleSize(int id) {
+        return componentSize(components[id]);
+    }
+
+    /**
+     * Tells if a package is part of a cycle, i.e., if it belongs to a component with more than one package. A package never depends upon
+     * itself in a {@link PackageGraph}.
+     *
+     * @param id the id of the package
+     *
+     * @return {@code true} if the package is part of a cycle, {@code false} otherwise
+     */
+    public boolean isInCycle(int id) {
+        return tangleSize(id) > 1;
+    }
+}
@@ -0,0 +1,194 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+import jdepend.framework.JavaClass;
+import jdepend.framework.JavaPackage;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlClass;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackageWithCycle;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
+
+/**
+ * Creates an {@link XmlReport} directly from the {@code JavaPackage} objects produced by the JDepend analyzer.
+ * <p>
+ * The resulting report contains the same information, in the same order, as the one you get by letting {@code jdepend.xmlui.JDepend}
+ * write an XML file and parsing that file, except for the cycles. The same packages are reported as having cycles, but the cycles are
+ * found by a {@link CycleFinder} in linear time instead of by JDepend's recursive search, so the cycle shown for a package is a shortest
+ * one, which may differ from the one JDepend happens to find first.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class XmlReportBuilder {
+
+    /**
+     * The error message that JDepend uses for packages that are referenced, but not analyzed.
+     */
+    public static final String NOT_ANALYZED_ERROR = "No stats available: package referenced, but not analyzed.";
+
+    /**
+     * The simple name of the class that is generated for a {@code package-info.java} file.
+     */
+    public static final String PACKAGE_INFO_CLASS_NAME = "package-info";
+
+    private static final int DECIMALS = 2;
+
+    private XmlReportBuilder() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Creates an {@link XmlReport} from the packages found by JDepend.
+     *
+     * @param packages       the packages found when running JDepend
+     * @param hasPackageInfo tells if the package with a given name contains a {@code package-info} class
+     *
+     * @return an {@link XmlReport} representing the packages
+     */
+    public static XmlReport build(Collection<JavaPackage> packages, Predicate<String> hasPackageInfo) {
+        XmlReport xmlReport = buildPackages(packages, hasPackageInfo);
+        xmlReport.cycles().addAll(cycles(PackageGraph.of(xmlReport)));
+        return xmlReport;
+    }
+
+    /**
+     * Creates an {@link XmlReport} from the packages found by JDepend, finding the cycles in a {@link PackageGraph} that has already been
+     * created for the same packages.
+     *
+     * @param packages       the packages found when running JDepend
+     * @param hasPackageInfo tells if the package with a given name contains a {@code package-info} class
+     * @param graph          the {@link PackageGraph} of {@code packages}
+     *
+     * @return an {@link XmlReport} representing the packages
+     */
+    public static XmlReport build(Collection<JavaPackage> packages, Predicate<String> hasPackageInfo, PackageGraph graph) {
+        XmlReport xmlReport = buildPackages(packages, hasPackageInfo);
+        xmlReport.cycles().addAll(cycles(graph));
+        return xmlReport;
+    }
+
+    private static XmlReport buildPackages(Collection<JavaPackage> packages, Predicate<String> hasPackageInfo) {
+        XmlReport xmlReport = new XmlReport();
+        for (JavaPackage javaPackage : sortByName(packages)) {
+            xmlReport.packages().add(createPackage(javaPackage, hasPackageInfo.test(javaPackage.getName())));
+        }
+        return xmlReport;
+    }
+
+    /**
+     * Finds the cycles of the packages in a {@link PackageGraph}, in the format used by the {@code Cycles} element of an XML report.
+     *
+     * @param graph the {@link PackageGraph} to use
+     *
+     * @return a cycle for each package that is part of a cycle or depends upon a cycle, ordered by package name
+     */
+    public static List<XmlPackageWithCycle> cycles(PackageGraph graph) {
+        CycleFinder cycleFinder = new CycleFinder(graph);
+        List<XmlPackageWithCycle> cycles = new ArrayList<>();
+        for (int id = 0; id < graph.size(); id++) {
+            if (cycleFinder.reachesCycle(id)) {
+                XmlPackageWithCycle xmlPackageWithCycle = new XmlPackageWithCycle();
+                xmlPackageWithCycle.name(graph.name(id));
+                for (int packageInCycle : cycleFinder.cycle(id)) {
+                    xmlPackageWithCycle.packagesInCycle().add(graph.name(packageInCycle));
+                }
+                cycles.add(xmlPackageWithCycle);
+            }
+        }
+        return cycles;
+    }
+
+    /**
+     * Rounds a metric to two decimals, the precision used in the XML report written by JDepend.
+     *
+     * @param value the value to round
+     *
+     * @return {@code value} rounded to two decimals
+     */
+    public static double round(double value) {
+        return new BigDecimal(value).setScale(DECIMALS, RoundingMode.HALF_EVEN).doubleValue();
+    }
+
+    /**
+     * Checks if the class with the given fully qualified name is a {@code package-info} class.
+     *
+     * @param className the fully qualified name of the class to check
+     *
+     * @return {@code true} if {@code className} is the name of a {@code package-info} class, {@code false} otherwise
+     */
+    public static boolean isPackageInfo(String className) {
+        return className.equals(PACKAGE_INFO_CLASS_NAME) || className.endsWith("." + PACKAGE_INFO_CLASS_NAME);
+    }
+
+    private static XmlPackage createPackage(JavaPackage javaPackage, boolean hasPackageInfo) {
+        XmlPackage xmlPackage = new XmlPackage();
+        xmlPackage.name(javaPackage.getName());
+        Collection<JavaClass> javaClasses = javaPackage.getClasses();
+        List<JavaClass> classes = javaClasses.stream().filter(c -> !isPackageInfo(c.getName()))
+                .sorted(Comparator.comparing(JavaClass::getName)).toList();
+        if (classes.isEmpty()) {
+            xmlPackage.error(NOT_ANALYZED_ERROR);
+            return xmlPackage;
+        }
+        for (JavaClass javaClass : classes) {
+            XmlClass xmlClass = new XmlClass();
+            xmlClass.name(javaClass.getName());
+            xmlClass.sourceFile(javaClass.getSourceFile());
+            if (javaClass.isAbstract()) {
+                xmlPackage.abstractClasses().add(xmlClass);
+            } else {
+                xmlPackage.concreteClasses().add(xmlClass);
+            }
+        }
+        Collection<JavaPackage> efferents = javaPackage.getEfferents();
+        Collection<JavaPackage> afferents = javaPackage.getAfferents();
+        sortByName(efferents).forEach(p -> xmlPackage.dependsUpon().add(p.getName()));
+        sortByName(afferents).forEach(p -> xmlPackage.usedBy().add(p.getName()));
+        xmlPackage.stats(createStats(xmlPackage.abstractClasses().size(), xmlPackage.concreteClasses().size(), afferents.size(),
+                efferents.size(), javaPackage.getVolatility(), hasPackageInfo));
+        return xmlPackage;
+    }
+
+    /**
+     * Creates the {@link XmlStats} for a package, calculating the derived metrics the same way JDepend does.
+     *
+     * @param abstractClasses the number of abstract classes and interfaces in the package
+     * @param concreteClasses the number of concrete classes in the package
+     * @param ca              the number of afferent couplings
+     * @param ce              the number of efferent couplings
+     * @param volatility      the volatility of the package
+     * @param hasPackageInfo  whether the package contains a {@code package-info} class
+     *
+     * @return the {@link XmlStats} for the package
+     */
+    public static XmlStats createStats(int abstractClasses, int concreteClasses, int ca, int ce, int volatility, boolean hasPackageInfo) {
+        int totalClasses = abstractClasses + concreteClasses;
+        double abstractness = totalClasses == 0 ? 0 : (double) abstractClasses / totalClasses;
+        double instability = ca + ce == 0 ? 0 : (double) ce / (ca + ce);
+        double distance = Math.abs(abstractness + instability - 1);
+        XmlStats stats = new XmlStats();
+        stats.totalClasses(totalClasses);
+        stats.concreteClasses(concreteClasses);
+        stats.abstractClasses(abstractClasses);
+        stats.hasPackageInfo(hasPackageInfo);
+        stats.afferentCouplings(ca);
+        stats.efferentCouplings(ce);
+        stats.abstractness(round(abstractness));
+        stats.instability(round(instability));
+        stats.distance(round(distance));
+        stats.volatility(volatility);
+        return stats;
+    }
+
+    private static List<JavaPackage> sortByName(Collection<JavaPackage> packages) {
+        return packages.stream().sorted(Comparator.comparing(JavaPackage::getName)).toList();
+    }
+}
@@ -0,0 +1,79 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import jdepend.framework.PackageFilter;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlClass;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+
+/**
+ * Merges the results of analyzing several modules into one {@link XmlReport}, without analyzing any class files again.
+ * <p>
+ * The package graphs of the modules are combined, so a package that is only referenced by one module, but analyzed in another, ends
+ * up with the classes from the other module and with dependencies in both directions. All metrics and cycles are then recalculated for
+ * the combined graph, which means that cycles spanning module boundaries are found.
+ * <p>
+ * A {@link PackagePatternFilter} can be applied while merging, so that reports produced without the filter, or with a different one,
+ * are consistent with the classes analyzed with it.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class XmlReportMerger {
+
+    private XmlReportMerger() {
+        // Prevent instantiation
+    }
+
+    /**
+     * Merges a number of reports.
+     *
+     * @param reports the reports to merge
+     *
+     * @return a new {@link XmlReport} for the combined package graph
+     */
+    public static XmlReport merge(List<XmlReport> reports) {
+        return merge(reports, PackagePatternFilter.ACCEPT_ALL);
+    }
+
+    /**
+     * Merges a number of reports, leaving out the packages that are rejected by a filter, and the dependencies on them.
+     *
+     * @param reports       the reports to merge
+     * @param packageFilter the filter deciding which packages to include
+     *
+     * @return a new {@link XmlReport} for the combined package graph
+     */
+    public static XmlReport merge(List<XmlReport> reports, PackagePatternFilter packageFilter) {
+        // The default JDepend filters have already been applied to the reports, so only the pattern filter is applied here.
+        JavaPackageAssembler assembler = new JavaPackageAssembler(new PackageFilter(List.of()), packageFilter);
+        Set<String> classNames = new HashSet<>();
+        for (XmlReport report : reports) {
+            for (XmlPackage xmlPackage : report.packagesWithoutError()) {
+                String packageName = xmlPackage.name();
+                if (xmlPackage.stats() != null && xmlPackage.stats().hasPackageInfo()) {
+                    assembler.addPackageInfo(packageName);
+                }
+                addClasses(assembler, classNames, packageName, xmlPackage.abstractClasses(), true);
+                addClasses(assembler, classNames, packageName, xmlPackage.concreteClasses(), false);
+                for (String importedPackageName : xmlPackage.dependsUpon()) {
+                    assembler.addDependency(packageName, importedPackageName);
+                }
+            }
+        }
+        return assembler.toXmlReport();
+    }
+
+    private static void addClasses(JavaPackageAssembler assembler, Set<String> classNames, String packageName, List<XmlClass> classes,
+            boolean isAbstract) {
+        for (XmlClass xmlClass : classes) {
+            // The same class may be present in more than one module, e.g., if a module repackages another one.
+            if (classNames.add(xmlClass.name())) {
+                assembler.addClass(xmlClass.name(), packageName, xmlClass.sourceFile(), isAbstract);
+            }
+        }
+    }
+}
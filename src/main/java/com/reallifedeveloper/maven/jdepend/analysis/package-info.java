@@ -0,0 +1,6 @@
+/**
+ * Contains code to analyze class files with JDepend and turn the result into a model that can be used to create reports.
+ *
+ * @author RealLifeDeveloper
+ */
+package com.reallifedeveloper.maven.jdepend.analysis;
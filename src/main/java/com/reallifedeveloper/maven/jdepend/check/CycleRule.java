@@ -0,0 +1,30 @@
+package com.reallifedeveloper.maven.jdepend.check;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.reallifedeveloper.maven.jdepend.analysis.CycleFinder;
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+
+/**
+ * A {@link Rule} saying that no package may have cyclic dependencies, directly or through the packages it depends upon.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class CycleRule implements Rule {
+
+    @Override
+    public Stream<Violation> violations(PackageGraph packageGraph) {
+        CycleFinder cycleFinder = new CycleFinder(packageGraph);
+        return IntStream.range(0, packageGraph.size()).filter(cycleFinder::reachesCycle)
+                .mapToObj(id -> new Violation(packageGraph.name(id), "Cyclic dependency: " + packageGraph.name(id) + " -> "
+                        + Arrays.stream(cycleFinder.cycle(id)).mapToObj(packageGraph::name).collect(Collectors.joining(" -> "))));
+    }
+
+    @Override
+    public String toString() {
+        return "No cycles";
+    }
+}
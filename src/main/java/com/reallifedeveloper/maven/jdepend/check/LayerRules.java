@@ -0,0 +1,169 @@
+package com.reallifedeveloper.maven.jdepend.check;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+import com.reallifedeveloper.maven.jdepend.analysis.PackagePatternTrie;
+
+/**
+ * A {@link Rule} saying that the dependencies between packages must follow a number of declarative layer rules, e.g.,
+ * {@code ..domain.. must not depend on ..infrastructure..}.
+ * <p>
+ * A layer rule has one of two forms:
+ * <ul>
+ * <li>{@code <pattern> must not depend on <patterns>}: no package matching the first pattern may depend on a package matching any of the
+ * comma-separated patterns.</li>
+ * <li>{@code <pattern> may only depend on <patterns>}: a package matching the first pattern may only depend on packages matching at
+ * least one of the comma-separated patterns.</li>
+ * </ul>
+ * The patterns use the syntax of {@link com.reallifedeveloper.maven.jdepend.analysis.PackagePatternFilter}, where {@code *} matches one
+ * part of a package name and {@code **} matches any number of parts. A {@code ..} is also accepted, as in AspectJ, and matches any number
+ * of parts, so {@code ..domain..} is the same as {@code **.domain.**}.
+ * <p>
+ * The first patterns of all rules are compiled into one {@link PackagePatternTrie}, and the other patterns into another, so each package
+ * is matched against all rules in a single pass over its name parts. The rules that apply to a dependency are then found with a few
+ * bit set operations, so the cost of checking is proportional to the number of packages and dependencies, not to the number of rules
+ * times the number of dependencies.
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class LayerRules implements Rule {
+
+    private static final Pattern RULE = Pattern.compile("\\s*(\\S+)\\s+(must\\s+not|may\\s+only)\\s+depend\\s+on\\s+(\\S.*)",
+            Pattern.CASE_INSENSITIVE);
+    private static final String ANY_PARTS = "..";
+
+    private final List<String> rules;
+    private final PackagePatternTrie sources;
+    private final PackagePatternTrie targets;
+    private final int[] ruleOfTarget;
+    private final BitSet whitelists;
+
+    private LayerRules(List<String> rules) {
+        List<String> sourcePatterns = new ArrayList<>();
+        List<String> targetPatterns = new ArrayList<>();
+        List<Integer> targetRules = new ArrayList<>();
+        this.whitelists = new BitSet(rules.size());
+        for (int rule = 0; rule < rules.size(); rule++) {
+            Matcher matcher = RULE.matcher(rules.get(rule));
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid layer rule, expected '<pattern> must not depend on <patterns>' or "
+                        + "'<pattern> may only depend on <patterns>': " + rules.get(rule));
+            }
+            sourcePatterns.add(toPackagePattern(matcher.group(1)));
+            for (String target : matcher.group(3).split(",")) {
+                targetPatterns.add(toPackagePattern(target));
+                targetRules.add(rule);
+            }
+            whitelists.set(rule, matcher.group(2).toLowerCase(Locale.ROOT).startsWith("may"));
+        }
+        this.rules = List.copyOf(rules);
+        this.sources = PackagePatternTrie.of(sourcePatterns);
+        this.targets = PackagePatternTrie.of(targetPatterns);
+        this.ruleOfTarget = targetRules.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Compiles a list of layer rules.
+     *
+     * @param rules the layer rules
+     *
+     * @return a {@code LayerRules} checking all of {@code rules}
+     *
+     * @throws IllegalArgumentException if a rule or one of its patterns is invalid
+     */
+    public static LayerRules of(List<String> rules) {
+        return new LayerRules(rules);
+    }
+
+    /**
+     * Gives the number of layer rules.
+     *
+     * @return the number of rules
+     */
+    public int size() {
+        return rules.size();
+    }
+
+    /**
+     * Finds the violations of the layer rules in a package graph.
+     * <p>
+     * The stream is lazy, and the patterns are only matched against a package the first time it is needed. The results of the matching
+     * are kept in the stream, so it must not be made parallel.
+     *
+     * @param packageGraph the packages and the dependencies between them
+     *
+     * @return a stream of the violations, in package order, with one violation per dependency and violated rule
+     */
+    @Override
+    public Stream<Violation> violations(PackageGraph packageGraph) {
+        BitSet[] violatedByTarget = new BitSet[packageGraph.size()];
+        return IntStream.range(0, packageGraph.size()).boxed().flatMap(id -> {
+            BitSet applicable = sources.matches(packageGraph.name(id));
+            if (applicable.isEmpty()) {
+                return Stream.empty();
+            }
+            List<Violation> violations = new ArrayList<>();
+            for (int i = 0; i < packageGraph.efferentCount(id); i++) {
+                int efferent = packageGraph.efferent(id, i);
+                BitSet violated = violatedByTarget(packageGraph, efferent, violatedByTarget);
+                for (int rule = applicable.nextSetBit(0); rule >= 0; rule = applicable.nextSetBit(rule + 1)) {
+                    if (violated.get(rule)) {
+                        violations.add(new Violation(packageGraph.name(id),
+                                "Dependency on " + packageGraph.name(efferent) + " violates layer rule: " + rules.get(rule)));
+                    }
+                }
+            }
+            return violations.stream();
+        });
+    }
+
+    /**
+     * Gives the rules violated by a dependency upon a package, from any package the rules apply to. A "must not" rule is violated if
+     * the package matches one of its patterns, and a "may only" rule if the package does not match any of its patterns, so the result
+     * is the rules with a matching pattern, flipped for the "may only" rules.
+     */
+    private BitSet violatedByTarget(PackageGraph packageGraph, int id, @Nullable BitSet[] violatedByTarget) {
+        BitSet violated = violatedByTarget[id];
+        if (violated == null) {
+            BitSet matchingPatterns = targets.matches(packageGraph.name(id));
+            violated = new BitSet(rules.size());
+            for (int pattern = matchingPatterns.nextSetBit(0); pattern >= 0; pattern = matchingPatterns.nextSetBit(pattern + 1)) {
+                violated.set(ruleOfTarget[pattern]);
+            }
+            violated.xor(whitelists);
+            violatedByTarget[id] = violated;
+        }
+        return violated;
+    }
+
+    /**
+     * Converts a pattern where {@code ..} matches any number of parts to the {@link PackagePatternTrie} syntax, where {@code **} is used.
+     */
+    private static String toPackagePattern(String pattern) {
+        String trimmed = pattern.trim();
+        if (!trimmed.contains(ANY_PARTS)) {
+            return trimmed;
+        }
+        String converted = trimmed.replace(ANY_PARTS, ".**.");
+        int start = converted.startsWith(".") ? 1 : 0;
+        int end = converted.endsWith(".") ? converted.length() - 1 : converted.length();
+        return start < end ? converted.substring(start, end) : converted;
+    }
+
+    @Override
+    public String toString() {
+        return "Layer rules " + rules;
+    }
+}
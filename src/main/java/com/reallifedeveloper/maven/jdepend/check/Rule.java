@@ -0,0 +1,24 @@
+package com.reallifedeveloper.maven.jdepend.check;
+
+import java.util.stream.Stream;
+
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+
+/**
+ * A rule that the result of a JDepend analysis should follow.
+ *
+ * @author RealLifeDeveloper
+ */
+public interface Rule {
+
+    /**
+     * Finds the violations of this rule.
+     * <p>
+     * The stream is lazy, so a caller that only needs the first violation does not pay for evaluating the rule for all packages.
+     *
+     * @param packageGraph the packages found by the analysis and the dependencies between them
+     *
+     * @return a stream of the violations of this rule, in package order
+     */
+    Stream<Violation> violations(PackageGraph packageGraph);
+}
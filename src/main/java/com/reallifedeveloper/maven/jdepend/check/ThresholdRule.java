@@ -0,0 +1,114 @@
+package com.reallifedeveloper.maven.jdepend.check;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+import com.reallifedeveloper.maven.jdepend.analysis.XmlReportBuilder;
+
+/**
+ * A {@link Rule} saying that a metric may not be higher than a given maximum for any of the analyzed packages.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class ThresholdRule implements Rule {
+
+    private final String metricName;
+    private final Metric metric;
+    private final double maximum;
+
+    /**
+     * Creates a new {@code ThresholdRule}.
+     *
+     * @param metricName the name of the metric, used in violation messages
+     * @param metric     a function giving the value of the metric for a package
+     * @param maximum    the highest allowed value of the metric
+     */
+    public ThresholdRule(String metricName, Metric metric, double maximum) {
+        this.metricName = metricName;
+        this.metric = metric;
+        this.maximum = maximum;
+    }
+
+    /**
+     * Creates a rule for the distance from the main sequence (D).
+     *
+     * @param maximum the highest allowed distance
+     *
+     * @return the rule
+     */
+    public static ThresholdRule maxDistance(double maximum) {
+        return new ThresholdRule("Distance (D)", (graph, id) -> XmlReportBuilder.round(graph.distance(id)), maximum);
+    }
+
+    /**
+     * Creates a rule for the instability (I).
+     *
+     * @param maximum the highest allowed instability
+     *
+     * @return the rule
+     */
+    public static ThresholdRule maxInstability(double maximum) {
+        return new ThresholdRule("Instability (I)", (graph, id) -> XmlReportBuilder.round(graph.instability(id)), maximum);
+    }
+
+    /**
+     * Creates a rule for the number of efferent couplings (Ce).
+     *
+     * @param maximum the highest allowed number of efferent couplings
+     *
+     * @return the rule
+     */
+    public static ThresholdRule maxEfferentCouplings(int maximum) {
+        return new ThresholdRule("Efferent couplings (Ce)", PackageGraph::efferentCount, maximum);
+    }
+
+    /**
+     * Creates a rule for the number of afferent couplings (Ca).
+     *
+     * @param maximum the highest allowed number of afferent couplings
+     *
+     * @return the rule
+     */
+    public static ThresholdRule maxAfferentCouplings(int maximum) {
+        return new ThresholdRule("Afferent couplings (Ca)", PackageGraph::afferentCount, maximum);
+    }
+
+    @Override
+    public Stream<Violation> violations(PackageGraph packageGraph) {
+        return IntStream.range(0, packageGraph.size()).filter(id -> packageGraph.isAnalyzed(id) && value(packageGraph, id) > maximum)
+                .mapToObj(id -> new Violation(packageGraph.name(id),
+                        metricName + " is " + format(value(packageGraph, id)) + ", but must be at most " + format(maximum)));
+    }
+
+    private double value(PackageGraph packageGraph, int id) {
+        return metric.value(packageGraph, id);
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    @Override
+    public String toString() {
+        return metricName + " <= " + format(maximum);
+    }
+
+    /**
+     * A metric of a package in a {@link PackageGraph}.
+     */
+    @FunctionalInterface
+    public interface Metric {
+
+        /**
+         * Gives the value of the metric for a package. Fractions should be rounded to two decimals, as in the XML report, so that the
+         * value compared with the maximum is the same as the reported one.
+         *
+         * @param packageGraph the packages and the dependencies between them
+         * @param id           the id of the package
+         *
+         * @return the value of the metric
+         */
+        double value(PackageGraph packageGraph, int id);
+    }
+}
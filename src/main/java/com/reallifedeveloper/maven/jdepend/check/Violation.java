@@ -0,0 +1,17 @@
+package com.reallifedeveloper.maven.jdepend.check;
+
+/**
+ * A violation of a {@link Rule}.
+ *
+ * @param packageName the name of the package violating the rule
+ * @param message     a description of the violation
+ *
+ * @author RealLifeDeveloper
+ */
+public record Violation(String packageName, String message) {
+
+    @Override
+    public String toString() {
+        return packageName + ": " + message;
+    }
+}
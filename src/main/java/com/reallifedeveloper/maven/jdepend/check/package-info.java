@@ -0,0 +1,6 @@
+/**
+ * Contains rules that the result of a JDepend analysis can be checked against, e.g., to fail a build if there are cyclic dependencies.
+ *
+ * @author RealLifeDeveloper
+ */
+package com.reallifedeveloper.maven.jdepend.check;
@@ -0,0 +1,164 @@
+package com.reallifedeveloper.maven.jdepend.format;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.reallifedeveloper.maven.jdepend.xml.ReportParser;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlClass;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackageWithCycle;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
+
+/**
+ * A {@link ReportParser} for files created by {@link BinaryReportWriter}.
+ * <p>
+ * Strings are read once from the string table, so equal names in the resulting {@link XmlReport} are the same {@code String} instance.
+ * <p>
+ * Instances of this class are thread-safe.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class BinaryReportParser implements ReportParser {
+
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_PAYLOAD_MASK = 0x7F;
+    private static final int VARINT_CONTINUATION_BIT = 0x80;
+    private static final int VARINT_MAX_SHIFT = 28;
+
+    @Override
+    public XmlReport parse(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            return parse(in);
+        } catch (IOException e) {
+            throw new IOException("Failed to parse binary JDepend report " + file, e);
+        }
+    }
+
+    /**
+     * Parses a report created by {@link BinaryReportWriter}. The stream is not closed.
+     *
+     * @param in the {@code InputStream} to read from
+     *
+     * @return an {@link XmlReport} representing the information in the stream
+     *
+     * @throws IOException if reading fails, or if the stream does not contain a binary JDepend report of a supported version
+     */
+    public XmlReport parse(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != BinaryReportWriter.MAGIC) {
+            throw new IOException("Not a binary JDepend report");
+        }
+        int version = data.readInt();
+        if (version != BinaryReportWriter.VERSION) {
+            throw new IOException("Unsupported binary JDepend report version: " + version);
+        }
+        String[] strings = new String[readVarint(data)];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[readVarint(data)];
+            data.readFully(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        int numPackages = readVarint(data);
+        List<XmlPackage> packages = new ArrayList<>(numPackages);
+        for (int i = 0; i < numPackages; i++) {
+            packages.add(readPackage(data, strings));
+        }
+        int numCycles = readVarint(data);
+        List<XmlPackageWithCycle> cycles = new ArrayList<>(numCycles);
+        for (int i = 0; i < numCycles; i++) {
+            XmlPackageWithCycle cycle = new XmlPackageWithCycle();
+            cycle.name(requireString(data, strings));
+            readStrings(data, strings, cycle.packagesInCycle());
+            cycles.add(cycle);
+        }
+        return new XmlReport().packages(packages).cycles(cycles);
+    }
+
+    private static XmlPackage readPackage(DataInputStream data, String[] strings) throws IOException {
+        XmlPackage xmlPackage = new XmlPackage();
+        xmlPackage.name(requireString(data, strings));
+        int flags = data.readUnsignedByte();
+        if ((flags & BinaryReportWriter.FLAG_ERROR) != 0) {
+            xmlPackage.error(readString(data, strings));
+        }
+        if ((flags & BinaryReportWriter.FLAG_STATS) != 0) {
+            XmlStats stats = new XmlStats();
+            stats.totalClasses(readVarint(data));
+            stats.concreteClasses(readVarint(data));
+            stats.abstractClasses(readVarint(data));
+            stats.hasPackageInfo((flags & BinaryReportWriter.FLAG_HAS_PACKAGE_INFO) != 0);
+            stats.afferentCouplings(readVarint(data));
+            stats.efferentCouplings(readVarint(data));
+            stats.abstractness(data.readDouble());
+            stats.instability(data.readDouble());
+            stats.distance(data.readDouble());
+            stats.volatility(readVarint(data));
+            xmlPackage.stats(stats);
+        }
+        readClasses(data, strings, xmlPackage.abstractClasses());
+        readClasses(data, strings, xmlPackage.concreteClasses());
+        readStrings(data, strings, xmlPackage.dependsUpon());
+        readStrings(data, strings, xmlPackage.usedBy());
+        return xmlPackage;
+    }
+
+    private static void readClasses(DataInputStream data, String[] strings, List<XmlClass> classes) throws IOException {
+        int numClasses = readVarint(data);
+        for (int i = 0; i < numClasses; i++) {
+            XmlClass xmlClass = new XmlClass();
+            xmlClass.name(requireString(data, strings));
+            xmlClass.sourceFile(readString(data, strings));
+            classes.add(xmlClass);
+        }
+    }
+
+    private static void readStrings(DataInputStream data, String[] strings, List<String> list) throws IOException {
+        int size = readVarint(data);
+        for (int i = 0; i < size; i++) {
+            list.add(requireString(data, strings));
+        }
+    }
+
+    private static String requireString(DataInputStream data, String[] strings) throws IOException {
+        String s = readString(data, strings);
+        if (s == null) {
+            throw new IOException("Unexpected null string");
+        }
+        return s;
+    }
+
+    private static @Nullable String readString(DataInputStream data, String[] strings) throws IOException {
+        int reference = readVarint(data);
+        if (reference == 0) {
+            return null;
+        }
+        if (reference < 0 || reference > strings.length) {
+            throw new IOException("Invalid string reference: " + reference);
+        }
+        return strings[reference - 1];
+    }
+
+    private static int readVarint(DataInputStream data) throws IOException {
+        int value = 0;
+        for (int shift = 0;; shift += VARINT_PAYLOAD_BITS) {
+            int b = data.readUnsignedByte();
+            value |= (b & VARINT_PAYLOAD_MASK) << shift;
+            if ((b & VARINT_CONTINUATION_BIT) == 0) {
+                return value;
+            }
+            if (shift == VARINT_MAX_SHIFT) {
+                throw new IOException("Variable-length integer is too long");
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.reallifedeveloper.maven.jdepend.format;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlClass;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackageWithCycle;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
+
+/**
+ * A writer that creates a compact binary representation of an {@link XmlReport}, that can be read by {@link BinaryReportParser}.
+ * <p>
+ * Package, class and file names are stored once, in a string table at the start of the file, and referred to by their index everywhere
+ * else. Counts, indexes and integer metrics are written as variable-length integers, so most of them take a single byte. This makes the
+ * file much smaller than the XML report, and fast to read since no text has to be parsed.
+ * <p>
+ * The format is: the magic number {@code 0x4A445242} and the format version as 4-byte integers, the string table as a count followed
+ * by the UTF-8 bytes of each string prefixed with their length, the packages, and the cycles. A reference to a string is its index in
+ * the string table plus one, with 0 meaning {@code null}.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class BinaryReportWriter {
+
+    static final int MAGIC = 0x4A44_5242;
+    static final int VERSION = 1;
+    static final int FLAG_ERROR = 1;
+    static final int FLAG_STATS = 2;
+    static final int FLAG_HAS_PACKAGE_INFO = 4;
+
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_PAYLOAD_MASK = 0x7F;
+    private static final int VARINT_CONTINUATION_BIT = 0x80;
+
+    /**
+     * Writes an {@link XmlReport} in binary format to a file, creating the parent directory if necessary.
+     *
+     * @param xmlReport the {@link XmlReport} to write
+     * @param file      the file to write to
+     *
+     * @throws IOException if writing the file fails
+     */
+    public void write(XmlReport xmlReport, File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file.toPath()))) {
+            write(xmlReport, out);
+        }
+    }
+
+    /**
+     * Writes an {@link XmlReport} in binary format. The stream is flushed, but not closed.
+     *
+     * @param xmlReport the {@link XmlReport} to write
+     * @param out       the {@code OutputStream} to write to
+     *
+     * @throws IOException if writing fails
+     */
+    public void write(XmlReport xmlReport, OutputStream out) throws IOException {
+        Map<String, Integer> strings = stringTable(xmlReport);
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        writeVarint(strings.size(), data);
+        for (String s : strings.keySet()) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarint(bytes.length, data);
+            data.write(bytes);
+        }
+        writeVarint(xmlReport.packages().size(), data);
+        for (XmlPackage xmlPackage : xmlReport.packages()) {
+            writePackage(xmlPackage, strings, data);
+        }
+        writeVarint(xmlReport.cycles().size(), data);
+        for (XmlPackageWithCycle cycle : xmlReport.cycles()) {
+            writeString(cycle.name(), strings, data);
+            writeStrings(cycle.packagesInCycle(), strings, data);
+        }
+        data.flush();
+    }
+
+    private static void writePackage(XmlPackage xmlPackage, Map<String, Integer> strings, DataOutputStream data) throws IOException {
+        XmlStats stats = xmlPackage.stats();
+        int flags = 0;
+        if (xmlPackage.error() != null) {
+            flags |= FLAG_ERROR;
+        }
+        if (stats != null) {
+            flags |= FLAG_STATS;
+            if (stats.hasPackageInfo()) {
+                flags |= FLAG_HAS_PACKAGE_INFO;
+            }
+        }
+        writeString(xmlPackage.name(), strings, data);
+        data.writeByte(flags);
+        if (xmlPackage.error() != null) {
+            writeString(xmlPackage.error(), strings, data);
+        }
+        if (stats != null) {
+            writeVarint(stats.totalClasses(), data);
+            writeVarint(stats.concreteClasses(), data);
+            writeVarint(stats.abstractClasses(), data);
+            writeVarint(stats.afferentCouplings(), data);
+            writeVarint(stats.efferentCouplings(), data);
+            data.writeDouble(stats.abstractness());
+            data.writeDouble(stats.instability());
+            data.writeDouble(stats.distance());
+            writeVarint(stats.volatility(), data);
+        }
+        writeClasses(xmlPackage.abstractClasses(), strings, data);
+        writeClasses(xmlPackage.concreteClasses(), strings, data);
+        writeStrings(xmlPackage.dependsUpon(), strings, data);
+        writeStrings(xmlPackage.usedBy(), strings, data);
+    }
+
+    private static void writeClasses(List<XmlClass> classes, Map<String, Integer> strings, DataOutputStream data) throws IOException {
+        writeVarint(classes.size(), data);
+        for (XmlClass xmlClass : classes) {
+            writeString(xmlClass.name(), strings, data);
+            writeString(xmlClass.sourceFile(), strings, data);
+        }
+    }
+
+    private static void writeStrings(List<String> list, Map<String, Integer> strings, DataOutputStream data) throws IOException {
+        writeVarint(list.size(), data);
+        for (String s : list) {
+            writeString(s, strings, data);
+        }
+    }
+
+    private static void writeString(@Nullable String s, Map<String, Integer> strings, DataOutputStream data) throws IOException {
+        writeVarint(s == null ? 0 : strings.get(s) + 1, data);
+    }
+
+    /**
+     * Writes a non-negative integer using 7 bits per byte, least significant bits first, with the high bit set on all bytes but the
+     * last. Negative numbers are written as unsigned numbers, using five bytes.
+     */
+    static void writeVarint(int value, DataOutputStream data) throws IOException {
+        int remaining = value;
+        while ((remaining & ~VARINT_PAYLOAD_MASK) != 0) {
+            data.writeByte((remaining & VARINT_PAYLOAD_MASK) | VARINT_CONTINUATION_BIT);
+            remaining >>>= VARINT_PAYLOAD_BITS;
+        }
+        data.writeByte(remaining);
+    }
+
+    /**
+     * Creates the string table of a report: all strings in the report, each mapped to its index in the table.
+     */
+    private static Map<String, Integer> stringTable(XmlReport xmlReport) {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (XmlPackage xmlPackage : xmlReport.packages()) {
+            add(xmlPackage.name(), strings);
+            add(xmlPackage.error(), strings);
+            for (XmlClass xmlClass : xmlPackage.abstractClasses()) {
+                add(xmlClass.name(), strings);
+                add(xmlClass.sourceFile(), strings);
+            }
+            for (XmlClass xmlClass : xmlPackage.concreteClasses()) {
+                add(xmlClass.name(), strings);
+                add(xmlClass.sourceFile(), strings);
+            }
+            xmlPackage.dependsUpon().forEach(s -> add(s, strings));
+            xmlPackage.usedBy().forEach(s -> add(s, strings));
+        }
+        for (XmlPackageWithCycle cycle : xmlReport.cycles()) {
+            add(cycle.name(), strings);
+            cycle.packagesInCycle().forEach(s -> add(s, strings));
+        }
+        return strings;
+    }
+
+    private static void add(@Nullable String s, Map<String, Integer> strings) {
+        if (s != null) {
+            strings.putIfAbsent(s, strings.size());
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.reallifedeveloper.maven.jdepend.format;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * A minimal pull parser for the subset of JSON written by {@link JsonReportWriter}: objects, arrays, strings, numbers, booleans and
+ * {@code null}.
+ * <p>
+ * Objects are read by calling {@link #beginObject()}, then {@link #nextName()} followed by one of the value methods as long as
+ * {@link #hasNext()} returns {@code true}, and finally {@link #endObject()}. Arrays are read in the same way, without names. Values that
+ * are not needed can be skipped with {@link #skipValue()}.
+ */
+final class JsonReader {
+
+    private static final int EOF = -1;
+    private static final int HEX_RADIX = 16;
+    private static final int UNICODE_ESCAPE_LENGTH = 4;
+
+    private final Reader in;
+    private int peeked = EOF;
+    private boolean hasPeeked;
+    private long position;
+
+    JsonReader(Reader in) {
+        this.in = in;
+    }
+
+    void beginObject() throws IOException {
+        expect('{');
+    }
+
+    void endObject() throws IOException {
+        expect('}');
+    }
+
+    void beginArray() throws IOException {
+        expect('[');
+    }
+
+    void endArray() throws IOException {
+        expect(']');
+    }
+
+    /**
+     * Tells if there are more elements in the current object or array, consuming the comma between elements.
+     */
+    boolean hasNext() throws IOException {
+        int c = peekNonWhitespace();
+        if (c == ',') {
+            read();
+            return true;
+        }
+        return c != '}' && c != ']';
+    }
+
+    String nextName() throws IOException {
+        String name = nextString();
+        if (name == null) {
+            throw syntaxError("Expected a name");
+        }
+        expect(':');
+        return name;
+    }
+
+    @Nullable String nextString() throws IOException {
+        int c = peekNonWhitespace();
+        if (c == 'n') {
+            readLiteral("null");
+            return null;
+        }
+        expect('"');
+        StringBuilder sb = new StringBuilder();
+        for (c = read(); c != '"'; c = read()) {
+            if (c == EOF || c < ' ') {
+                throw syntaxError("Unterminated string");
+            }
+            sb.append(c == '\\' ? readEscape() : (char) c);
+        }
+        return sb.toString();
+    }
+
+    int nextInt() throws IOException {
+        try {
+            return Integer.parseInt(readNumber());
+        } catch (NumberFormatException e) {
+            throw syntaxError("Expected an integer: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reads a number, giving {@code NaN} for {@code null}.
+     */
+    double nextDouble() throws IOException {
+        if (peekNonWhitespace() == 'n') {
+            readLiteral("null");
+            return Double.NaN;
+        }
+        try {
+            return Double.parseDouble(readNumber());
+        } catch (NumberFormatException e) {
+            throw syntaxError("Expected a number: " + e.getMessage());
+        }
+    }
+
+    boolean nextBoolean() throws IOException {
+        if (peekNonWhitespace() == 't') {
+            readLiteral("true");
+            return true;
+        }
+        readLiteral("false");
+        return false;
+    }
+
+    void skipValue() throws IOException {
+        int c = peekNonWhitespace();
+        switch (c) {
+        case '{' -> {
+            beginObject();
+            while (hasNext()) {
+                nextName();
+                skipValue();
+            }
+            endObject();
+        }
+        case '[' -> {
+            beginArray();
+            while (hasNext()) {
+                skipValue();
+            }
+            endArray();
+        }
+        case '"', 'n' -> nextString();
+        case 't', 'f' -> nextBoolean();
+        default -> readNumber();
+        }
+    }
+
+    /**
+     * Verifies that there is nothing but whitespace left in the input.
+     */
+    void endDocument() throws IOException {
+        if (peekNonWhitespace() != EOF) {
+            throw syntaxError("Unexpected content after end of document");
+        }
+    }
+
+    private char readEscape() throws IOException {
+        int c = read();
+        return switch (c) {
+        case '"', '\\', '/' -> (char) c;
+        case 'b' -> '\b';
+        case 'f' -> '\f';
+        case 'n' -> '\n';
+        case 'r' -> '\r';
+        case 't' -> '\t';
+        case 'u' -> {
+            StringBuilder hex = new StringBuilder(UNICODE_ESCAPE_LENGTH);
+            for (int i = 0; i < UNICODE_ESCAPE_LENGTH; i++) {
+                hex.append((char) read());
+            }
+            try {
+                yield (char) Integer.parseInt(hex.toString(), HEX_RADIX);
+            } catch (NumberFormatException e) {
+                throw syntaxError("Invalid unicode escape: " + hex);
+            }
+        }
+        default -> throw syntaxError("Invalid escape character: " + (char) c);
+        };
+    }
+
+    private String readNumber() throws IOException {
+        peekNonWhitespace();
+        StringBuilder sb = new StringBuilder();
+        for (int c = peek(); c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E' || Character.isDigit(c); c = peek()) {
+            sb.append((char) read());
+        }
+        if (sb.length() == 0) {
+            throw syntaxError("Expected a value");
+        }
+        return sb.toString();
+    }
+
+    private void readLiteral(String literal) throws IOException {
+        for (int i = 0; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw syntaxError("Expected " + literal);
+            }
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        if (peekNonWhitespace() != expected) {
+            throw syntaxError("Expected '" + expected + "'");
+        }
+        read();
+    }
+
+    private int peekNonWhitespace() throws IOException {
+        while (Character.isWhitespace(peek())) {
+            read();
+        }
+        return peek();
+    }
+
+    private int peek() throws IOException {
+        if (!hasPeeked) {
+            peeked = in.read();
+            hasPeeked = true;
+        }
+        return peeked;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        hasPeeked = false;
+        position++;
+        return c;
+    }
+
+    private IOException syntaxError(String message) {
+        return new IOException(message + " at position " + position);
+    }
+}
@@ -0,0 +1,166 @@
+package com.reallifedeveloper.maven.jdepend.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import com.reallifedeveloper.maven.jdepend.xml.ReportParser;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlClass;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackageWithCycle;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
+
+/**
+ * A {@link ReportParser} for JSON files created by {@link JsonReportWriter}.
+ * <p>
+ * The JSON is read as a stream and the {@link XmlReport} is populated directly, without building a document tree in memory. Unknown
+ * fields are ignored, so files written by later versions of the writer can be read as long as the existing fields are kept.
+ * <p>
+ * Instances of this class are thread-safe.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class JsonReportParser implements ReportParser {
+
+    @Override
+    public XmlReport parse(File file) throws IOException {
+        try (Reader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            return parse(in);
+        } catch (IOException e) {
+            throw new IOException("Failed to parse JDepend JSON report " + file, e);
+        }
+    }
+
+    /**
+     * Parses JSON created by {@link JsonReportWriter}. The reader is not closed.
+     *
+     * @param in the {@code Reader} to read JSON from
+     *
+     * @return an {@link XmlReport} representing the information in the JSON
+     *
+     * @throws IOException if reading fails, or if the input is not valid JSON
+     */
+    public XmlReport parse(Reader in) throws IOException {
+        JsonReader reader = new JsonReader(in);
+        XmlReport xmlReport = new XmlReport();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+            case "packages" -> {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    xmlReport.packages().add(readPackage(reader));
+                }
+                reader.endArray();
+            }
+            case "cycles" -> {
+                reader.beginArray();
+                while (reader.hasNext()) {
+                    xmlReport.cycles().add(readCycle(reader));
+                }
+                reader.endArray();
+            }
+            default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        reader.endDocument();
+        return xmlReport;
+    }
+
+    private static XmlPackage readPackage(JsonReader reader) throws IOException {
+        XmlPackage xmlPackage = new XmlPackage();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+            case "name" -> xmlPackage.name(requireString(reader, "name"));
+            case "error" -> xmlPackage.error(reader.nextString());
+            case "stats" -> xmlPackage.stats(readStats(reader));
+            case "abstractClasses" -> readClasses(reader, xmlPackage.abstractClasses());
+            case "concreteClasses" -> readClasses(reader, xmlPackage.concreteClasses());
+            case "dependsUpon" -> readStrings(reader, xmlPackage.dependsUpon());
+            case "usedBy" -> readStrings(reader, xmlPackage.usedBy());
+            default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        if (xmlPackage.name() == null) {
+            throw new IOException("Package without name");
+        }
+        return xmlPackage;
+    }
+
+    private static XmlStats readStats(JsonReader reader) throws IOException {
+        XmlStats stats = new XmlStats();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+            case "totalClasses" -> stats.totalClasses(reader.nextInt());
+            case "concreteClasses" -> stats.concreteClasses(reader.nextInt());
+            case "abstractClasses" -> stats.abstractClasses(reader.nextInt());
+            case "hasPackageInfo" -> stats.hasPackageInfo(reader.nextBoolean());
+            case "afferentCouplings" -> stats.afferentCouplings(reader.nextInt());
+            case "efferentCouplings" -> stats.efferentCouplings(reader.nextInt());
+            case "abstractness" -> stats.abstractness(reader.nextDouble());
+            case "instability" -> stats.instability(reader.nextDouble());
+            case "distance" -> stats.distance(reader.nextDouble());
+            case "volatility" -> stats.volatility(reader.nextInt());
+            default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return stats;
+    }
+
+    private static void readClasses(JsonReader reader, List<XmlClass> classes) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            XmlClass xmlClass = new XmlClass();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                case "name" -> xmlClass.name(requireString(reader, "name"));
+                case "sourceFile" -> xmlClass.sourceFile(reader.nextString());
+                default -> reader.skipValue();
+                }
+            }
+            reader.endObject();
+            classes.add(xmlClass);
+        }
+        reader.endArray();
+    }
+
+    private static XmlPackageWithCycle readCycle(JsonReader reader) throws IOException {
+        XmlPackageWithCycle cycle = new XmlPackageWithCycle();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+            case "name" -> cycle.name(requireString(reader, "name"));
+            case "packagesInCycle" -> readStrings(reader, cycle.packagesInCycle());
+            default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return cycle;
+    }
+
+    private static void readStrings(JsonReader reader, List<String> strings) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            strings.add(requireString(reader, "element"));
+        }
+        reader.endArray();
+    }
+
+    private static String requireString(JsonReader reader, String what) throws IOException {
+        String s = reader.nextString();
+        if (s == null) {
+            throw new IOException("Unexpected null " + what);
+        }
+        return s;
+    }
+}
@@ -0,0 +1,193 @@
+package com.reallifedeveloper.maven.jdepend.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlClass;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackageWithCycle;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
+
+/**
+ * A writer that creates a JSON representation of an {@link XmlReport}, with the same structure and names as the XML format.
+ * <p>
+ * The JSON is written directly to the output while traversing the report, without building a document tree in memory. Packages that
+ * were not analyzed have only a {@code name} and an {@code error}, all other packages have {@code stats}, class lists and dependencies:
+ *
+ * <pre>
+ * {"packages":[{"name":"com.example","stats":{"totalClasses":2,...},"abstractClasses":[{"name":"com.example.Foo",
+ * "sourceFile":"Foo.java"}],"concreteClasses":[...],"dependsUpon":["java.util"],"usedBy":[]},...],
+ * "cycles":[{"name":"com.example","packagesInCycle":["com.example.a","com.example"]}]}
+ * </pre>
+ *
+ * @author RealLifeDeveloper
+ */
+public final class JsonReportWriter {
+
+    private static final int HEX_RADIX = 16;
+    private static final int FIRST_PRINTABLE_CHARACTER = 0x20;
+    private static final String UNICODE_ESCAPE = "\\u0000";
+
+    /**
+     * Writes an {@link XmlReport} as JSON to a file, creating the parent directory if necessary.
+     *
+     * @param xmlReport the {@link XmlReport} to write
+     * @param file      the file to write to
+     *
+     * @throws IOException if writing the file fails
+     */
+    public void write(XmlReport xmlReport, File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            write(xmlReport, out);
+        }
+    }
+
+    /**
+     * Writes an {@link XmlReport} as JSON. The writer is not closed.
+     *
+     * @param xmlReport the {@link XmlReport} to write
+     * @param out       the {@code Writer} to write to
+     *
+     * @throws IOException if writing fails
+     */
+    public void write(XmlReport xmlReport, Writer out) throws IOException {
+        out.write("{\"packages\":[");
+        boolean first = true;
+        for (XmlPackage xmlPackage : xmlReport.packages()) {
+            first = separator(out, first);
+            writePackage(xmlPackage, out);
+        }
+        out.write("],\"cycles\":[");
+        first = true;
+        for (XmlPackageWithCycle cycle : xmlReport.cycles()) {
+            first = separator(out, first);
+            out.write("{\"name\":");
+            writeString(cycle.name(), out);
+            out.write(",\"packagesInCycle\":");
+            writeStrings(cycle.packagesInCycle(), out);
+            out.write('}');
+        }
+        out.write("]}");
+        out.flush();
+    }
+
+    private static void writePackage(XmlPackage xmlPackage, Writer out) throws IOException {
+        out.write("{\"name\":");
+        writeString(xmlPackage.name(), out);
+        String error = xmlPackage.error();
+        if (error != null) {
+            out.write(",\"error\":");
+            writeString(error, out);
+        }
+        XmlStats stats = xmlPackage.stats();
+        if (stats != null) {
+            out.write(",\"stats\":");
+            writeStats(stats, out);
+        }
+        if (error == null) {
+            out.write(",\"abstractClasses\":");
+            writeClasses(xmlPackage.abstractClasses(), out);
+            out.write(",\"concreteClasses\":");
+            writeClasses(xmlPackage.concreteClasses(), out);
+            out.write(",\"dependsUpon\":");
+            writeStrings(xmlPackage.dependsUpon(), out);
+            out.write(",\"usedBy\":");
+            writeStrings(xmlPackage.usedBy(), out);
+        }
+        out.write('}');
+    }
+
+    private static void writeStats(XmlStats stats, Writer out) throws IOException {
+        out.write("{\"totalClasses\":" + stats.totalClasses());
+        out.write(",\"concreteClasses\":" + stats.concreteClasses());
+        out.write(",\"abstractClasses\":" + stats.abstractClasses());
+        out.write(",\"hasPackageInfo\":" + stats.hasPackageInfo());
+        out.write(",\"afferentCouplings\":" + stats.afferentCouplings());
+        out.write(",\"efferentCouplings\":" + stats.efferentCouplings());
+        out.write(",\"abstractness\":");
+        writeDouble(stats.abstractness(), out);
+        out.write(",\"instability\":");
+        writeDouble(stats.instability(), out);
+        out.write(",\"distance\":");
+        writeDouble(stats.distance(), out);
+        out.write(",\"volatility\":" + stats.volatility());
+        out.write('}');
+    }
+
+    /**
+     * Writes a number, or {@code null} for {@code NaN} and infinite values, which cannot be represented in JSON.
+     */
+    private static void writeDouble(double d, Writer out) throws IOException {
+        out.write(Double.isFinite(d) ? Double.toString(d) : "null");
+    }
+
+    private static void writeClasses(List<XmlClass> classes, Writer out) throws IOException {
+        out.write('[');
+        boolean first = true;
+        for (XmlClass xmlClass : classes) {
+            first = separator(out, first);
+            out.write("{\"name\":");
+            writeString(xmlClass.name(), out);
+            out.write(",\"sourceFile\":");
+            writeString(xmlClass.sourceFile(), out);
+            out.write('}');
+        }
+        out.write(']');
+    }
+
+    private static void writeStrings(List<String> strings, Writer out) throws IOException {
+        out.write('[');
+        boolean first = true;
+        for (String s : strings) {
+            first = separator(out, first);
+            writeString(s, out);
+        }
+        out.write(']');
+    }
+
+    private static boolean separator(Writer out, boolean first) throws IOException {
+        if (!first) {
+            out.write(',');
+        }
+        return false;
+    }
+
+    private static void writeString(@Nullable String s, Writer out) throws IOException {
+        if (s == null) {
+            out.write("null");
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+            case '"' -> out.write("\\\"");
+            case '\\' -> out.write("\\\\");
+            case '\n' -> out.write("\\n");
+            case '\r' -> out.write("\\r");
+            case '\t' -> out.write("\\t");
+            default -> {
+                if (c < FIRST_PRINTABLE_CHARACTER) {
+                    String hex = Integer.toString(c, HEX_RADIX);
+                    out.write(UNICODE_ESCAPE, 0, UNICODE_ESCAPE.length() - hex.length());
+                    out.write(hex);
+                } else {
+                    out.write(c);
+                }
+            }
+            }
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,292 @@
+package com.reallifedeveloper.maven.jdepend.format;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Locale;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import lombok.Setter;
+import lombok.experimental.Accessors;
+
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+import com.reallifedeveloper.maven.jdepend.analysis.StronglyConnectedComponents;
+
+/**
+ * A writer that exports the package dependency graph of an analysis for visualization, in the DOT format used by Graphviz or in
+ * GraphML.
+ * <p>
+ * Packages that are part of a cycle are grouped by strongly connected component, as a {@code cluster} subgraph in DOT and as a node with
+ * a nested graph in GraphML, and the dependencies within a component are marked. The analyzed packages are colored by their distance
+ * from the main sequence, from green for a distance of 0 through yellow to red for a distance of 1, and the packages that were not
+ * analyzed are gray.
+ * <p>
+ * The output is written directly while traversing the {@link PackageGraph}, without building a document in memory, so the memory used
+ * does not grow with the size of the output. For graphs too large to be laid out, the packages can be collapsed by prefix with
+ * {@link #prefixDepth(int)}.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class PackageGraphWriter {
+
+    private static final String GRAPHML_NAMESPACE = "http://graphml.graphdrawing.org/xmlns";
+    private static final String NOT_ANALYZED_COLOR = "#d3d3d3";
+    private static final int COLOR_BASE = 128;
+    private static final int COLOR_RANGE = 127;
+    private static final double HALF = 0.5;
+    private static final int NODE_DEPTH = 2;
+
+    /**
+     * The number of leading parts of the package names to keep, collapsing all packages with the same prefix into one node, or 0 to
+     * write every package as a node of its own.
+     */
+    @Setter
+    @Accessors(fluent = true)
+    private int prefixDepth;
+
+    /**
+     * Writes a package graph to a file, creating the parent directory if necessary.
+     *
+     * @param packageGraph the package graph to write
+     * @param format       the format to write
+     * @param file         the file to write to
+     *
+     * @throws IOException if writing the file fails
+     */
+    public void write(PackageGraph packageGraph, Format format, File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        try (Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            write(packageGraph, format, out);
+        }
+    }
+
+    /**
+     * Writes a package graph. The writer is not closed.
+     *
+     * @param packageGraph the package graph to write
+     * @param format       the format to write
+     * @param out          the {@code Writer} to write to
+     *
+     * @throws IOException if writing fails
+     */
+    public void write(PackageGraph packageGraph, Format format, Writer out) throws IOException {
+        PackageGraph graph = packageGraph.collapse(prefixDepth);
+        StronglyConnectedComponents components = StronglyConnectedComponents.of(graph);
+        if (format == Format.DOT) {
+            writeDot(graph, components, out);
+        } else {
+            writeGraphml(graph, components, out);
+        }
+        out.flush();
+    }
+
+    private static void writeDot(PackageGraph graph, StronglyConnectedComponents components, Writer out) throws IOException {
+        out.write("digraph \"jdepend\" {\n");
+        out.write("    node [shape=box, style=filled];\n");
+        for (int component = 0; component < components.componentCount(); component++) {
+            if (components.componentSize(component) > 1) {
+                out.write("    subgraph \"cluster_" + component + "\" {\n");
+                out.write("        label=\"Cycle with " + components.componentSize(component) + " packages\";\n");
+                out.write("        style=dashed;\n");
+                out.write("        color=red;\n");
+                for (int id : components.members(component)) {
+                    writeDotNode(graph, id, "        ", out);
+                }
+                out.write("    }\n");
+            }
+        }
+        for (int id = 0; id < graph.size(); id++) {
+            if (!components.isInCycle(id)) {
+                writeDotNode(graph, id, "    ", out);
+            }
+        }
+        for (int id = 0; id < graph.size(); id++) {
+            for (int i = 0; i < graph.efferentCount(id); i++) {
+                int efferent = graph.efferent(id, i);
+                out.write("    ");
+                writeDotString(graph.name(id), out);
+                out.write(" -> ");
+                writeDotString(graph.name(efferent), out);
+                out.write(components.component(id) == components.component(efferent) ? " [color=red];\n" : ";\n");
+            }
+        }
+        out.write("}\n");
+    }
+
+    private static void writeDotNode(PackageGraph graph, int id, String indent, Writer out) throws IOException {
+        out.write(indent);
+        writeDotString(graph.name(id), out);
+        out.write(" [fillcolor=\"" + color(graph, id) + "\"");
+        if (graph.isAnalyzed(id)) {
+            out.write(", tooltip=\"TC=" + graph.totalClasses(id) + ", Ca=" + graph.afferentCount(id) + ", Ce=" + graph.efferentCount(id)
+                    + ", D=" + format(graph.distance(id)) + "\"");
+        }
+        out.write("];\n");
+    }
+
+    private static void writeDotString(String s, Writer out) throws IOException {
+        out.write('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.write('\\');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private static void writeGraphml(PackageGraph graph, StronglyConnectedComponents components, Writer out) throws IOException {
+        try {
+            XMLStreamWriter writer = XMLOutputFactory.newFactory().createXMLStreamWriter(out);
+            writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0");
+            writer.writeCharacters("\n");
+            writer.writeStartElement("graphml");
+            writer.writeDefaultNamespace(GRAPHML_NAMESPACE);
+            writeGraphmlKey(writer, "label", "node", "string");
+            writeGraphmlKey(writer, "analyzed", "node", "boolean");
+            writeGraphmlKey(writer, "totalClasses", "node", "int");
+            writeGraphmlKey(writer, "distance", "node", "double");
+            writeGraphmlKey(writer, "color", "node", "string");
+            writeGraphmlKey(writer, "cycle", "edge", "boolean");
+            startGraphmlGraph(writer, "jdepend", 1);
+            for (int component = 0; component < components.componentCount(); component++) {
+                if (components.componentSize(component) > 1) {
+                    String clusterId = "cluster_" + component;
+                    newLine(writer, NODE_DEPTH);
+                    writer.writeStartElement("node");
+                    writer.writeAttribute("id", clusterId);
+                    writeGraphmlData(writer, "label", "Cycle with " + components.componentSize(component) + " packages", NODE_DEPTH + 1);
+                    startGraphmlGraph(writer, clusterId + ":", NODE_DEPTH + 1);
+                    for (int id : components.members(component)) {
+                        writeGraphmlNode(graph, id, writer, NODE_DEPTH + 2);
+                    }
+                    newLine(writer, NODE_DEPTH + 1);
+                    writer.writeEndElement();
+                    newLine(writer, NODE_DEPTH);
+                    writer.writeEndElement();
+                }
+            }
+            for (int id = 0; id < graph.size(); id++) {
+                if (!components.isInCycle(id)) {
+                    writeGraphmlNode(graph, id, writer, NODE_DEPTH);
+                }
+            }
+            for (int id = 0; id < graph.size(); id++) {
+                for (int i = 0; i < graph.efferentCount(id); i++) {
+                    int efferent = graph.efferent(id, i);
+                    boolean inCycle = components.component(id) == components.component(efferent);
+                    newLine(writer, NODE_DEPTH);
+                    if (inCycle) {
+                        writer.writeStartElement("edge");
+                    } else {
+                        writer.writeEmptyElement("edge");
+                    }
+                    writer.writeAttribute("source", graph.name(id));
+                    writer.writeAttribute("target", graph.name(efferent));
+                    if (inCycle) {
+                        writeGraphmlData(writer, "cycle", "true", NODE_DEPTH + 1);
+                        newLine(writer, NODE_DEPTH);
+                        writer.writeEndElement();
+                    }
+                }
+            }
+            newLine(writer, 1);
+            writer.writeEndElement();
+            newLine(writer, 0);
+            writer.writeEndElement();
+            writer.writeCharacters("\n");
+            writer.writeEndDocument();
+            writer.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write GraphML", e);
+        }
+    }
+
+    private static void writeGraphmlKey(XMLStreamWriter writer, String name, String scope, String type) throws XMLStreamException {
+        newLine(writer, 1);
+        writer.writeEmptyElement("key");
+        writer.writeAttribute("id", name);
+        writer.writeAttribute("for", scope);
+        writer.writeAttribute("attr.name", name);
+        writer.writeAttribute("attr.type", type);
+    }
+
+    private static void startGraphmlGraph(XMLStreamWriter writer, String id, int depth) throws XMLStreamException {
+        newLine(writer, depth);
+        writer.writeStartElement("graph");
+        writer.writeAttribute("id", id);
+        writer.writeAttribute("edgedefault", "directed");
+    }
+
+    private static void writeGraphmlNode(PackageGraph graph, int id, XMLStreamWriter writer, int depth) throws XMLStreamException {
+        newLine(writer, depth);
+        writer.writeStartElement("node");
+        writer.writeAttribute("id", graph.name(id));
+        writeGraphmlData(writer, "label", graph.name(id), depth + 1);
+        writeGraphmlData(writer, "analyzed", Boolean.toString(graph.isAnalyzed(id)), depth + 1);
+        if (graph.isAnalyzed(id)) {
+            writeGraphmlData(writer, "totalClasses", Integer.toString(graph.totalClasses(id)), depth + 1);
+            writeGraphmlData(writer, "distance", format(graph.distance(id)), depth + 1);
+        }
+        writeGraphmlData(writer, "color", color(graph, id), depth + 1);
+        newLine(writer, depth);
+        writer.writeEndElement();
+    }
+
+    private static void writeGraphmlData(XMLStreamWriter writer, String key, String value, int depth) throws XMLStreamException {
+        newLine(writer, depth);
+        writer.writeStartElement("data");
+        writer.writeAttribute("key", key);
+        writer.writeCharacters(value);
+        writer.writeEndElement();
+    }
+
+    private static void newLine(XMLStreamWriter writer, int depth) throws XMLStreamException {
+        writer.writeCharacters("\n" + "    ".repeat(depth));
+    }
+
+    /**
+     * Gives the fill color of a package, as {@code #rrggbb}: a light color going from green through yellow to red as the distance goes
+     * from 0 to 1, or gray if the package was not analyzed.
+     */
+    private static String color(PackageGraph graph, int id) {
+        if (!graph.isAnalyzed(id)) {
+            return NOT_ANALYZED_COLOR;
+        }
+        double distance = Math.min(Math.max(graph.distance(id), 0), 1);
+        double red = distance < HALF ? distance / HALF : 1;
+        double green = distance < HALF ? 1 : (1 - distance) / HALF;
+        return String.format(Locale.ROOT, "#%02x%02x%02x", COLOR_BASE + Math.round(COLOR_RANGE * red),
+                COLOR_BASE + Math.round(COLOR_RANGE * green), COLOR_BASE);
+    }
+
+    private static String format(double d) {
+        return String.format(Locale.ROOT, "%.2f", d);
+    }
+
+    /**
+     * The formats that a package graph can be written in.
+     */
+    public enum Format {
+        /**
+         * The DOT language of Graphviz.
+         */
+        DOT,
+
+        /**
+         * The XML-based GraphML format, readable by, e.g., yEd, Gephi and NetworkX.
+         */
+        GRAPHML
+    }
+}
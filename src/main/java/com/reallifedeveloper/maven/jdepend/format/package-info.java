@@ -0,0 +1,7 @@
+/**
+ * Contains writers and readers for compact, machine-readable representations of the result of a JDepend analysis, as alternatives to
+ * the XML format used by JDepend itself, and a writer that exports the package dependency graph for visualization.
+ *
+ * @author RealLifeDeveloper
+ */
+package com.reallifedeveloper.maven.jdepend.format;
@@ -0,0 +1,56 @@
+package com.reallifedeveloper.maven.jdepend.history;
+
+import java.util.List;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
+
+/**
+ * The changes in package metrics between a baseline run stored in a {@link HistoryFile} and the current analysis result.
+ *
+ * @param baselineTimestamp the time of the baseline run, in milliseconds since the epoch
+ * @param changes           the packages that were added, removed or have changed metrics, sorted by package name
+ *
+ * @author RealLifeDeveloper
+ */
+public record HistoryDelta(long baselineTimestamp, List<PackageChange> changes) {
+
+    /**
+     * Creates a new {@code HistoryDelta}.
+     *
+     * @param baselineTimestamp the time of the baseline run, in milliseconds since the epoch
+     * @param changes           the packages that were added, removed or have changed metrics, sorted by package name
+     */
+    public HistoryDelta {
+        changes = List.copyOf(changes);
+    }
+
+    /**
+     * The metrics of a package in the baseline run and in the current analysis result.
+     *
+     * @param packageName the name of the package
+     * @param before      the metrics of the package in the baseline run, or {@code null} if the package has been added since then
+     * @param after       the current metrics of the package, or {@code null} if the package has been removed
+     */
+    public record PackageChange(String packageName, @Nullable XmlStats before, @Nullable XmlStats after) {
+
+        /**
+         * Tells if the package has been added since the baseline run.
+         *
+         * @return {@code true} if the package has been added, {@code false} otherwise
+         */
+        public boolean isAdded() {
+            return before == null;
+        }
+
+        /**
+         * Tells if the package has been removed since the baseline run.
+         *
+         * @return {@code true} if the package has been removed, {@code false} otherwise
+         */
+        public boolean isRemoved() {
+            return after == null;
+        }
+    }
+}
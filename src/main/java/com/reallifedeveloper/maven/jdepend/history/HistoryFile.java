@@ -0,0 +1,316 @@
+package com.reallifedeveloper.maven.jdepend.history;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+import com.reallifedeveloper.maven.jdepend.history.HistoryDelta.PackageChange;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
+
+/**
+ * An append-only file with the package metrics of every analysis run, used to find the changes since an earlier run.
+ * <p>
+ * The file starts with the magic number {@code 0x4A444853} and the format version, followed by records that each start with a type
+ * byte and the length of the rest of the record:
+ * <ul>
+ * <li>A package record contains the name of a package in UTF-8. The id of the package is the number of package records before it, so
+ * each package name is stored only once, no matter how many runs there are.</li>
+ * <li>A run record contains the time of the run, the number of packages and a fixed-size entry for each package with its id and
+ * metrics, sorted by id.</li>
+ * </ul>
+ * When the file is opened, only the package names and the positions of the run records are read. The entries of a run are memory-mapped
+ * when needed, and compared to the current analysis result by a merge-join over the sorted package ids, so the size of the history does
+ * not affect the memory used. A record that is incomplete, e.g., because a build was interrupted while writing it, is ignored and
+ * overwritten by the next run.
+ * <p>
+ * The file is locked while open, so concurrent builds using the same file wait for each other. This class is not thread-safe.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class HistoryFile implements Closeable {
+
+    static final int MAGIC = 0x4A44_4853;
+    static final int VERSION = 1;
+    static final int ENTRY_SIZE = 7 * Integer.BYTES + Byte.BYTES + 3 * Double.BYTES;
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int RECORD_HEADER_SIZE = Byte.BYTES + Integer.BYTES;
+    private static final int RUN_HEADER_SIZE = Long.BYTES + Integer.BYTES;
+    private static final byte TYPE_PACKAGE = 1;
+    private static final byte TYPE_RUN = 2;
+    private static final int FLAG_HAS_PACKAGE_INFO = 1;
+    private static final int INITIAL_RUN_CAPACITY = 16;
+    private static final int NONE = -1;
+
+    private final File file;
+    private final FileChannel channel;
+    private final List<String> packageNames = new ArrayList<>();
+    private final Map<String, Integer> packageIds = new HashMap<>();
+    private long[] runPositions = new long[INITIAL_RUN_CAPACITY];
+    private int runCount;
+    private long end;
+
+    private HistoryFile(File file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+    }
+
+    /**
+     * Opens a history file, creating it if it does not exist.
+     *
+     * @param file the history file
+     *
+     * @return the opened {@code HistoryFile}, that must be closed when no longer needed
+     *
+     * @throws IOException if the file cannot be opened, or is not a history file of a supported version
+     */
+    public static HistoryFile open(File file) throws IOException {
+        Path path = file.toPath().toAbsolutePath();
+        Files.createDirectories(path.getParent());
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            channel.lock();
+            HistoryFile historyFile = new HistoryFile(file, channel);
+            historyFile.scan();
+            return historyFile;
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void scan() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).flip();
+            writeFully(header, 0);
+            end = HEADER_SIZE;
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        if (size < HEADER_SIZE || readFully(header, 0).getInt(0) != MAGIC) {
+            throw new IOException("Not a JDepend history file: " + file);
+        }
+        if (header.getInt(Integer.BYTES) != VERSION) {
+            throw new IOException("Unsupported JDepend history file version " + header.getInt(Integer.BYTES) + ": " + file);
+        }
+        ByteBuffer recordHeader = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        long position = HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= size) {
+            readFully(recordHeader.clear(), position);
+            byte type = recordHeader.get(0);
+            int length = recordHeader.getInt(Byte.BYTES);
+            long payload = position + RECORD_HEADER_SIZE;
+            if (length < 0 || payload + length > size) {
+                break;
+            }
+            if (type == TYPE_PACKAGE) {
+                addPackageName(new String(readFully(ByteBuffer.allocate(length), payload).array(), StandardCharsets.UTF_8));
+            } else if (type == TYPE_RUN) {
+                addRunPosition(payload);
+            }
+            position = payload + length;
+        }
+        end = position;
+    }
+
+    /**
+     * Gives the number of runs in the history.
+     *
+     * @return the number of runs
+     */
+    public int runCount() {
+        return runCount;
+    }
+
+    /**
+     * Compares an analysis result to an earlier run.
+     *
+     * @param xmlReport the current analysis result
+     * @param runsBack  the run to compare to, counted backwards from the most recent run, so that 1 means the most recent run
+     *
+     * @return the changes since the earlier run, or {@code null} if there are fewer than {@code runsBack} runs in the history
+     *
+     * @throws IOException if reading the file fails
+     */
+    public @Nullable HistoryDelta changesSince(XmlReport xmlReport, int runsBack) throws IOException {
+        if (runsBack < 1 || runsBack > runCount) {
+            return null;
+        }
+        long position = runPositions[runCount - runsBack];
+        ByteBuffer runHeader = readFully(ByteBuffer.allocate(RUN_HEADER_SIZE), position);
+        long timestamp = runHeader.getLong(0);
+        int count = runHeader.getInt(Long.BYTES);
+        ByteBuffer entries = channel.map(FileChannel.MapMode.READ_ONLY, position + RUN_HEADER_SIZE, (long) count * ENTRY_SIZE);
+        List<PackageChange> changes = new ArrayList<>();
+        List<XmlPackage> known = new ArrayList<>();
+        for (XmlPackage xmlPackage : analyzedPackages(xmlReport)) {
+            if (packageIds.containsKey(xmlPackage.name())) {
+                known.add(xmlPackage);
+            } else {
+                changes.add(new PackageChange(xmlPackage.name(), null, xmlPackage.stats()));
+            }
+        }
+        known.sort(Comparator.comparingInt(xmlPackage -> packageId(xmlPackage.name())));
+        int i = 0;
+        int j = 0;
+        while (i < known.size() || j < count) {
+            int currentId = i < known.size() ? packageId(known.get(i).name()) : Integer.MAX_VALUE;
+            int baselineId = j < count ? entries.getInt(j * ENTRY_SIZE) : Integer.MAX_VALUE;
+            if (currentId < baselineId) {
+                changes.add(new PackageChange(known.get(i).name(), null, known.get(i).stats()));
+                i++;
+            } else if (currentId > baselineId) {
+                changes.add(new PackageChange(packageNames.get(baselineId), readStats(entries, j), null));
+                j++;
+            } else {
+                XmlStats before = readStats(entries, j);
+                XmlStats after = known.get(i).stats();
+                if (!before.equals(after)) {
+                    changes.add(new PackageChange(known.get(i).name(), before, after));
+                }
+                i++;
+                j++;
+            }
+        }
+        changes.sort(Comparator.comparing(PackageChange::packageName));
+        return new HistoryDelta(timestamp, changes);
+    }
+
+    /**
+     * Appends the package metrics of an analysis result to the history as a new run.
+     *
+     * @param xmlReport the analysis result
+     * @param timestamp the time of the run, in milliseconds since the epoch
+     *
+     * @throws IOException if writing the file fails
+     */
+    public void append(XmlReport xmlReport, long timestamp) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        List<XmlPackage> packages = analyzedPackages(xmlReport);
+        for (XmlPackage xmlPackage : packages) {
+            if (!packageIds.containsKey(xmlPackage.name())) {
+                byte[] name = xmlPackage.name().getBytes(StandardCharsets.UTF_8);
+                out.writeByte(TYPE_PACKAGE);
+                out.writeInt(name.length);
+                out.write(name);
+                addPackageName(xmlPackage.name());
+            }
+        }
+        packages.sort(Comparator.comparingInt(xmlPackage -> packageId(xmlPackage.name())));
+        out.writeByte(TYPE_RUN);
+        out.writeInt(RUN_HEADER_SIZE + packages.size() * ENTRY_SIZE);
+        int runPosition = out.size();
+        out.writeLong(timestamp);
+        out.writeInt(packages.size());
+        for (XmlPackage xmlPackage : packages) {
+            XmlStats stats = xmlPackage.stats();
+            out.writeInt(packageId(xmlPackage.name()));
+            out.writeInt(stats.totalClasses());
+            out.writeInt(stats.concreteClasses());
+            out.writeInt(stats.abstractClasses());
+            out.writeInt(stats.afferentCouplings());
+            out.writeInt(stats.efferentCouplings());
+            out.writeInt(stats.volatility());
+            out.writeByte(stats.hasPackageInfo() ? FLAG_HAS_PACKAGE_INFO : 0);
+            out.writeDouble(stats.abstractness());
+            out.writeDouble(stats.instability());
+            out.writeDouble(stats.distance());
+        }
+        channel.truncate(end);
+        writeFully(ByteBuffer.wrap(bytes.toByteArray()), end);
+        channel.force(false);
+        addRunPosition(end + runPosition);
+        end += bytes.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Gives the analyzed packages of a report, without duplicates.
+     */
+    private static List<XmlPackage> analyzedPackages(XmlReport xmlReport) {
+        List<XmlPackage> packages = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (XmlPackage xmlPackage : xmlReport.packagesWithoutError()) {
+            if (xmlPackage.stats() != null && names.add(xmlPackage.name())) {
+                packages.add(xmlPackage);
+            }
+        }
+        return packages;
+    }
+
+    private static XmlStats readStats(ByteBuffer entries, int index) {
+        int offset = index * ENTRY_SIZE + Integer.BYTES;
+        XmlStats stats = new XmlStats();
+        stats.totalClasses(entries.getInt(offset));
+        stats.concreteClasses(entries.getInt(offset + Integer.BYTES));
+        stats.abstractClasses(entries.getInt(offset + 2 * Integer.BYTES));
+        stats.afferentCouplings(entries.getInt(offset + 3 * Integer.BYTES));
+        stats.efferentCouplings(entries.getInt(offset + 4 * Integer.BYTES));
+        stats.volatility(entries.getInt(offset + 5 * Integer.BYTES));
+        offset += 6 * Integer.BYTES;
+        stats.hasPackageInfo((entries.get(offset) & FLAG_HAS_PACKAGE_INFO) != 0);
+        offset += Byte.BYTES;
+        stats.abstractness(entries.getDouble(offset));
+        stats.instability(entries.getDouble(offset + Double.BYTES));
+        stats.distance(entries.getDouble(offset + 2 * Double.BYTES));
+        return stats;
+    }
+
+    private int packageId(String name) {
+        return packageIds.getOrDefault(name, NONE);
+    }
+
+    private void addPackageName(String name) {
+        packageIds.putIfAbsent(name, packageNames.size());
+        packageNames.add(name);
+    }
+
+    private void addRunPosition(long position) {
+        if (runCount == runPositions.length) {
+            runPositions = Arrays.copyOf(runPositions, runCount * 2);
+        }
+        runPositions[runCount++] = position;
+    }
+
+    private ByteBuffer readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of JDepend history file: " + file);
+            }
+        }
+        return buffer;
+    }
+
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
+        }
+    }
+}
@@ -0,0 +1,6 @@
+/**
+ * Contains classes that keep a history of JDepend analysis results between builds, and find the changes since an earlier build.
+ *
+ * @author RealLifeDeveloper
+ */
+package com.reallifedeveloper.maven.jdepend.history;
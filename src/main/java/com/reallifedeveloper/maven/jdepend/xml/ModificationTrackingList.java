@@ -0,0 +1,85 @@
+package com.reallifedeveloper.maven.jdepend.xml;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A {@code List} backed by an {@code ArrayList} that counts all modifications, including {@code set}, so that indexes built from the
+ * list can tell if they are still valid.
+ *
+ * @param <E> the type of the elements in the list
+ *
+ * @author RealLifeDeveloper
+ */
+final class ModificationTrackingList<E> extends AbstractList<E> implements RandomAccess {
+
+    private final List<E> elements;
+    private int modifications;
+
+    /**
+     * Creates a new, empty {@code ModificationTrackingList}.
+     */
+    ModificationTrackingList() {
+        this.elements = new ArrayList<>();
+    }
+
+    /**
+     * Creates a new {@code ModificationTrackingList} containing the given elements.
+     *
+     * @param elements the elements to add to the list
+     */
+    ModificationTrackingList(Collection<? extends E> elements) {
+        this.elements = new ArrayList<>(elements);
+    }
+
+    /**
+     * Gives the number of modifications made to this list so far.
+     *
+     * @return the number of modifications
+     */
+    int modifications() {
+        return modifications;
+    }
+
+    @Override
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public E set(int index, E element) {
+        E previous = elements.set(index, element);
+        modifications++;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        elements.add(index, element);
+        modifications++;
+        modCount++;
+    }
+
+    @Override
+    public E remove(int index) {
+        E removed = elements.remove(index);
+        modifications++;
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        elements.clear();
+        modifications++;
+        modCount++;
+    }
+}
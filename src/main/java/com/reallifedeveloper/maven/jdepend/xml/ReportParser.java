@@ -0,0 +1,23 @@
+package com.reallifedeveloper.maven.jdepend.xml;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * A parser for XML files created by JDepend.
+ *
+ * @author RealLifeDeveloper
+ */
+public interface ReportParser {
+
+    /**
+     * Parses a file with XML generated by JDepend and creates the corresponding {@link XmlReport}.
+     *
+     * @param file the location of the JDepend XML file to parse
+     *
+     * @return an {@link XmlReport} representing the information in the XML file
+     *
+     * @throws IOException if reading the file fails, or if the file does not contain a valid JDepend XML report
+     */
+    XmlReport parse(File file) throws IOException;
+}
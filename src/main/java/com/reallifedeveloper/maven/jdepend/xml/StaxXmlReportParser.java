@@ -0,0 +1,186 @@
+package com.reallifedeveloper.maven.jdepend.xml;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlClass;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackageWithCycle;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
+
+/**
+ * A {@link ReportParser} that uses the StAX streaming API of the JDK to parse XML files created by JDepend.
+ * <p>
+ * Compared to {@link XmlReportParser}, this parser does not need a JAXB runtime or a {@code JAXBContext}, and it populates the
+ * {@link XmlReport} directly while reading the document, without reflection. For valid JDepend reports, it gives the same result as
+ * {@link XmlReportParser}: leading and trailing whitespace is removed from all strings, and unknown elements are ignored.
+ * <p>
+ * Instances of this class are thread-safe.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class StaxXmlReportParser implements ReportParser {
+
+    private static final String ROOT_ELEMENT = "JDepend";
+
+    private final XMLInputFactory inputFactory;
+
+    /**
+     * Creates a new {@code StaxXmlReportParser}.
+     */
+    public StaxXmlReportParser() {
+        this.inputFactory = XMLInputFactory.newFactory();
+        this.inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        this.inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+        this.inputFactory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+    }
+
+    @Override
+    public XmlReport parse(File file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+            XMLStreamReader reader = inputFactory.createXMLStreamReader(in);
+            try {
+                return readReport(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (XMLStreamException | NumberFormatException e) {
+            throw new IOException("Failed to parse JDepend XML report " + file, e);
+        }
+    }
+
+    private static XmlReport readReport(XMLStreamReader reader) throws XMLStreamException {
+        reader.nextTag();
+        if (!ROOT_ELEMENT.equals(reader.getLocalName())) {
+            throw new XMLStreamException("Unexpected root element: " + reader.getLocalName(), reader.getLocation());
+        }
+        XmlReport xmlReport = new XmlReport();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+            case "Packages" -> readPackages(reader, xmlReport.packages());
+            case "Cycles" -> readCycles(reader, xmlReport.cycles());
+            default -> skipElement(reader);
+            }
+        }
+        return xmlReport;
+    }
+
+    private static void readPackages(XMLStreamReader reader, List<XmlPackage> packages) throws XMLStreamException {
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("Package".equals(reader.getLocalName())) {
+                packages.add(readPackage(reader));
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    private static XmlPackage readPackage(XMLStreamReader reader) throws XMLStreamException {
+        XmlPackage xmlPackage = new XmlPackage();
+        xmlPackage.name(readAttribute(reader, "name"));
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+            case "Stats" -> xmlPackage.stats(readStats(reader));
+            case "AbstractClasses" -> readClasses(reader, xmlPackage.abstractClasses());
+            case "ConcreteClasses" -> readClasses(reader, xmlPackage.concreteClasses());
+            case "DependsUpon" -> readPackageNames(reader, xmlPackage.dependsUpon());
+            case "UsedBy" -> readPackageNames(reader, xmlPackage.usedBy());
+            case "error" -> xmlPackage.error(readText(reader));
+            default -> skipElement(reader);
+            }
+        }
+        return xmlPackage;
+    }
+
+    private static XmlStats readStats(XMLStreamReader reader) throws XMLStreamException {
+        XmlStats stats = new XmlStats();
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            switch (reader.getLocalName()) {
+            case "TotalClasses" -> stats.totalClasses(Integer.parseInt(readText(reader)));
+            case "ConcreteClasses" -> stats.concreteClasses(Integer.parseInt(readText(reader)));
+            case "AbstractClasses" -> stats.abstractClasses(Integer.parseInt(readText(reader)));
+            case "HasPackageInfo" -> stats.hasPackageInfo(Boolean.parseBoolean(readText(reader)));
+            case "Ca" -> stats.afferentCouplings(Integer.parseInt(readText(reader)));
+            case "Ce" -> stats.efferentCouplings(Integer.parseInt(readText(reader)));
+            case "A" -> stats.abstractness(Double.parseDouble(readText(reader)));
+            case "I" -> stats.instability(Double.parseDouble(readText(reader)));
+            case "D" -> stats.distance(Double.parseDouble(readText(reader)));
+            case "V" -> stats.volatility(Integer.parseInt(readText(reader)));
+            default -> skipElement(reader);
+            }
+        }
+        return stats;
+    }
+
+    private static void readClasses(XMLStreamReader reader, List<XmlClass> classes) throws XMLStreamException {
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("Class".equals(reader.getLocalName())) {
+                XmlClass xmlClass = new XmlClass();
+                xmlClass.sourceFile(readAttribute(reader, "sourceFile"));
+                xmlClass.name(readText(reader));
+                classes.add(xmlClass);
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    private static void readPackageNames(XMLStreamReader reader, List<String> packageNames) throws XMLStreamException {
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("Package".equals(reader.getLocalName())) {
+                packageNames.add(readText(reader));
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    private static void readCycles(XMLStreamReader reader, List<XmlPackageWithCycle> cycles) throws XMLStreamException {
+        while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+            if ("Package".equals(reader.getLocalName())) {
+                XmlPackageWithCycle xmlPackageWithCycle = new XmlPackageWithCycle();
+                xmlPackageWithCycle.name(readAttribute(reader, "Name"));
+                readPackageNames(reader, xmlPackageWithCycle.packagesInCycle());
+                cycles.add(xmlPackageWithCycle);
+            } else {
+                skipElement(reader);
+            }
+        }
+    }
+
+    private static String readText(XMLStreamReader reader) throws XMLStreamException {
+        return reader.getElementText().trim();
+    }
+
+    private static String readAttribute(XMLStreamReader reader, String name) throws XMLStreamException {
+        String value = reader.getAttributeValue(null, name);
+        if (value == null) {
+            throw new XMLStreamException("Missing attribute " + name + " on element " + reader.getLocalName(), reader.getLocation());
+        }
+        return value.trim();
+    }
+
+    /**
+     * Skips the current element, including all its content. When this method returns, the reader is positioned at the end element.
+     */
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+}
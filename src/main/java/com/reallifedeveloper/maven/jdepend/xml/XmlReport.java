@@ -1,9 +1,14 @@
 package com.reallifedeveloper.maven.jdepend.xml;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
+import org.checkerframework.checker.nullness.qual.Nullable;
+
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import jakarta.xml.bind.annotation.XmlAccessType;
 import jakarta.xml.bind.annotation.XmlAccessorType;
@@ -12,11 +17,19 @@ import jakarta.xml.bind.annotation.XmlElement;
 import jakarta.xml.bind.annotation.XmlElementWrapper;
 import jakarta.xml.bind.annotation.XmlRootElement;
 import jakarta.xml.bind.annotation.XmlValue;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import lombok.experimental.Accessors;
 
 /**
  * A representation of the XML report generated by JDepend.
+ * <p>
+ * Lookups by package name, and the partition of the packages into packages with and without errors, are served from indexes that are
+ * built the first time they are needed. The indexes are rebuilt automatically when the {@code packages} or {@code cycles} lists are
+ * modified, but not when a package in one of the lists is modified after the indexes have been built.
  *
  * @author RealLifeDeveloper
  */
@@ -30,11 +43,45 @@ public class XmlReport {
 
     @XmlElementWrapper(name = "Packages")
     @XmlElement(name = "Package")
-    private List<XmlPackage> packages = new ArrayList<>();
+    private List<XmlPackage> packages = new ModificationTrackingList<>();
 
     @XmlElementWrapper(name = "Cycles")
     @XmlElement(name = "Package")
-    private List<XmlPackageWithCycle> cycles = new ArrayList<>();
+    private List<XmlPackageWithCycle> cycles = new ModificationTrackingList<>();
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient volatile @Nullable PackageIndex packageIndex;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private transient volatile @Nullable CycleIndex cycleIndex;
+
+    /**
+     * Sets the packages of this report. The list is copied, so later modifications of {@code packages} are not reflected in the report.
+     *
+     * @param packages the new packages
+     *
+     * @return this {@code XmlReport}
+     */
+    public XmlReport packages(List<XmlPackage> packages) {
+        this.packages = new ModificationTrackingList<>(packages);
+        return this;
+    }
+
+    /**
+     * Sets the cycles of this report. The list is copied, so later modifications of {@code cycles} are not reflected in the report.
+     *
+     * @param cycles the new cycles
+     *
+     * @return this {@code XmlReport}
+     */
+    public XmlReport cycles(List<XmlPackageWithCycle> cycles) {
+        this.cycles = new ModificationTrackingList<>(cycles);
+        return this;
+    }
 
     /**
      * Gives the packages that were successfully analyzed by JDepend.
@@ -45,7 +92,7 @@ public class XmlReport {
      * @return the packages that were successfully analyzed by JDepend
      */
     public List<XmlPackage> packagesWithoutError() {
-        return packages().stream().filter(p -> p.error() == null).toList();
+        return packageIndex().packagesWithoutError();
     }
 
     /**
@@ -54,7 +101,19 @@ public class XmlReport {
      * @return the packages that were included in the JDepend report, but not successfully analyzed
      */
     public List<XmlPackage> packagesWithError() {
-        return packages().stream().filter(p -> p.error() != null).toList();
+        return packageIndex().packagesWithError();
+    }
+
+    /**
+     * Finds the package with the given name.
+     *
+     * @param packageName the name of the package to find
+     *
+     * @return an optional containing the first {@link XmlPackage} named {@code packageName}, or an empty optional if there is no such
+     *         package
+     */
+    public Optional<XmlPackage> findPackage(String packageName) {
+        return Optional.ofNullable(packageIndex().packagesByName().get(packageName));
     }
 
     /**
@@ -66,7 +125,81 @@ public class XmlReport {
      *         optional otherwise
      */
     public Optional<XmlPackageWithCycle> findPackageWithCycle(String packageName) {
-        return cycles().stream().filter(c -> packageName.equals(c.name())).findFirst();
+        return Optional.ofNullable(cycleIndex().cyclesByName().get(packageName));
+    }
+
+    private PackageIndex packageIndex() {
+        PackageIndex index = packageIndex;
+        int modifications = modifications(packages);
+        if (index == null || !index.isValidFor(packages, modifications)) {
+            index = PackageIndex.create(packages, modifications);
+            packageIndex = index;
+        }
+        return index;
+    }
+
+    private CycleIndex cycleIndex() {
+        CycleIndex index = cycleIndex;
+        int modifications = modifications(cycles);
+        if (index == null || !index.isValidFor(cycles, modifications)) {
+            index = CycleIndex.create(cycles, modifications);
+            cycleIndex = index;
+        }
+        return index;
+    }
+
+    /**
+     * Gives the number of modifications of a list, or -1 if the list does not track modifications. Lists that do not track
+     * modifications can only end up here if set by reflection, e.g., by a JAXB implementation that replaces the list; the index is then
+     * always rebuilt.
+     */
+    private static int modifications(List<?> list) {
+        return list instanceof ModificationTrackingList<?> trackingList ? trackingList.modifications() : -1;
+    }
+
+    /**
+     * An immutable index of the packages, valid as long as the list of packages is the same and has not been modified.
+     */
+    private record PackageIndex(List<XmlPackage> packages, int modifications, Map<String, XmlPackage> packagesByName,
+            List<XmlPackage> packagesWithoutError, List<XmlPackage> packagesWithError) {
+
+        static PackageIndex create(List<XmlPackage> packages, int modifications) {
+            Map<String, XmlPackage> packagesByName = new HashMap<>();
+            List<XmlPackage> packagesWithoutError = new ArrayList<>();
+            List<XmlPackage> packagesWithError = new ArrayList<>();
+            for (XmlPackage xmlPackage : packages) {
+                packagesByName.putIfAbsent(xmlPackage.name(), xmlPackage);
+                if (xmlPackage.error() == null) {
+                    packagesWithoutError.add(xmlPackage);
+                } else {
+                    packagesWithError.add(xmlPackage);
+                }
+            }
+            return new PackageIndex(packages, modifications, packagesByName, Collections.unmodifiableList(packagesWithoutError),
+                    Collections.unmodifiableList(packagesWithError));
+        }
+
+        boolean isValidFor(List<XmlPackage> currentPackages, int currentModifications) {
+            return packages == currentPackages && modifications == currentModifications && currentModifications >= 0;
+        }
+    }
+
+    /**
+     * An immutable index of the cycles, valid as long as the list of cycles is the same and has not been modified.
+     */
+    private record CycleIndex(List<XmlPackageWithCycle> cycles, int modifications, Map<String, XmlPackageWithCycle> cyclesByName) {
+
+        static CycleIndex create(List<XmlPackageWithCycle> cycles, int modifications) {
+            Map<String, XmlPackageWithCycle> cyclesByName = new HashMap<>();
+            for (XmlPackageWithCycle cycle : cycles) {
+                cyclesByName.putIfAbsent(cycle.name(), cycle);
+            }
+            return new CycleIndex(cycles, modifications, cyclesByName);
+        }
+
+        boolean isValidFor(List<XmlPackageWithCycle> currentCycles, int currentModifications) {
+            return cycles == currentCycles && modifications == currentModifications && currentModifications >= 0;
+        }
     }
 
     /**
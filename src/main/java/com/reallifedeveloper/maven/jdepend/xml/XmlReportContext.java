@@ -0,0 +1,43 @@
+package com.reallifedeveloper.maven.jdepend.xml;
+
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Holds the {@code JAXBContext} for {@link XmlReport}, which is expensive to create but thread-safe, so that it is created only once.
+ * <p>
+ * The context is kept in a static field of this class, so there is one context per class loader that loads the plugin, and it goes
+ * away together with the class loader.
+ *
+ * @author RealLifeDeveloper
+ */
+final class XmlReportContext {
+
+    private static volatile @Nullable JAXBContext context;
+
+    private XmlReportContext() {
+    }
+
+    /**
+     * Gives the {@code JAXBContext} for {@link XmlReport}, creating it the first time this method is called.
+     *
+     * @return the shared {@code JAXBContext}
+     *
+     * @throws JAXBException if creating the context fails
+     */
+    static JAXBContext get() throws JAXBException {
+        JAXBContext result = context;
+        if (result == null) {
+            synchronized (XmlReportContext.class) {
+                result = context;
+                if (result == null) {
+                    result = JAXBContext.newInstance(XmlReport.class);
+                    context = result;
+                }
+            }
+        }
+        return result;
+    }
+}
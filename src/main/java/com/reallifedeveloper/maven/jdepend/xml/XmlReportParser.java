@@ -1,6 +1,15 @@
 package com.reallifedeveloper.maven.jdepend.xml;
 
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBException;
@@ -8,23 +17,29 @@ import jakarta.xml.bind.Unmarshaller;
 import jakarta.xml.bind.helpers.DefaultValidationEventHandler;
 
 /**
- * A parser for XML files created by JDepend.
+ * A {@link ReportParser} that uses JAXB to parse XML files created by JDepend.
+ * <p>
+ * The {@code JAXBContext} is created once and shared by all instances. An {@code Unmarshaller} is not thread-safe, so each instance
+ * keeps a pool of unmarshallers, and a parse takes one from the pool, or creates a new one if the pool is empty, and returns it when
+ * done. The pool never holds more unmarshallers than the largest number of concurrent parses.
+ * <p>
+ * Instances of this class are thread-safe.
  *
  * @author RealLifeDeveloper
  */
-public final class XmlReportParser {
+public final class XmlReportParser implements ReportParser {
 
-    private final Unmarshaller unmarshaller;
+    private final JAXBContext jaxbContext;
+    private final Queue<Unmarshaller> unmarshallers = new ConcurrentLinkedQueue<>();
 
     /**
      * Creates a new {@code XmlReportParser}.
      *
-     * @throws JAXBException if creating the underlying JAXB unmarshaller fails
+     * @throws JAXBException if creating the underlying JAXB context or unmarshaller fails
      */
     public XmlReportParser() throws JAXBException {
-        JAXBContext jaxbContext = JAXBContext.newInstance(XmlReport.class);
-        this.unmarshaller = jaxbContext.createUnmarshaller();
-        this.unmarshaller.setEventHandler(new DefaultValidationEventHandler());
+        this.jaxbContext = XmlReportContext.get();
+        unmarshallers.add(createUnmarshaller());
     }
 
     /**
@@ -34,9 +49,88 @@ public final class XmlReportParser {
      *
      * @return an {@link XmlReport} representing the information in the XML file
      *
-     * @throws JAXBException if any unepxected errors occur while parsing
+     * @throws IOException if reading the file fails, or if the file does not contain a valid JDepend XML report
      */
-    public XmlReport parse(File file) throws JAXBException {
-        return (XmlReport) unmarshaller.unmarshal(file);
+    @Override
+    public XmlReport parse(File file) throws IOException {
+        return parse(file.toPath());
+    }
+
+    /**
+     * Parses a file with XML generated by JDepend and creates the corresponding {@link XmlReport}.
+     *
+     * @param path the location of the JDepend XML file to parse
+     *
+     * @return an {@link XmlReport} representing the information in the XML file
+     *
+     * @throws IOException if reading the file fails, or if the file does not contain a valid JDepend XML report
+     */
+    public XmlReport parse(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return parse(in, path.toString());
+        }
+    }
+
+    /**
+     * Parses XML generated by JDepend from a channel and creates the corresponding {@link XmlReport}. The channel is not closed.
+     *
+     * @param channel the channel to read the JDepend XML from
+     *
+     * @return an {@link XmlReport} representing the information in the XML
+     *
+     * @throws IOException if reading from the channel fails, or if it does not contain a valid JDepend XML report
+     */
+    public XmlReport parse(ReadableByteChannel channel) throws IOException {
+        // Channels.newInputStream would close the channel when the stream is closed, so the stream is left open.
+        return parse(Channels.newInputStream(channel), "from channel " + channel);
+    }
+
+    /**
+     * Parses XML generated by JDepend from an input stream and creates the corresponding {@link XmlReport}. The stream is not closed.
+     *
+     * @param in the input stream to read the JDepend XML from
+     *
+     * @return an {@link XmlReport} representing the information in the XML
+     *
+     * @throws IOException if reading from the stream fails, or if it does not contain a valid JDepend XML report
+     */
+    public XmlReport parse(InputStream in) throws IOException {
+        return parse(in, "from input stream " + in);
+    }
+
+    private XmlReport parse(InputStream in, String source) throws IOException {
+        Unmarshaller unmarshaller = unmarshallers.poll();
+        try {
+            if (unmarshaller == null) {
+                unmarshaller = createUnmarshaller();
+            }
+            XmlReport xmlReport = (XmlReport) unmarshaller.unmarshal(new NonClosingInputStream(in));
+            // An unmarshaller that failed is not returned to the pool, in case it was left in an inconsistent state.
+            unmarshallers.add(unmarshaller);
+            return xmlReport;
+        } catch (JAXBException e) {
+            throw new IOException("Failed to parse JDepend XML report " + source, e);
+        }
+    }
+
+    private Unmarshaller createUnmarshaller() throws JAXBException {
+        Unmarshaller unmarshaller = jaxbContext.createUnmarshaller();
+        unmarshaller.setEventHandler(new DefaultValidationEventHandler());
+        return unmarshaller;
+    }
+
+    /**
+     * A buffered input stream that does not close the underlying stream, since the XML parser used by JAXB closes its input when done.
+     */
+    private static final class NonClosingInputStream extends BufferedInputStream {
+
+        NonClosingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() {
+            // The underlying stream is closed by whoever opened it.
+        }
     }
 }
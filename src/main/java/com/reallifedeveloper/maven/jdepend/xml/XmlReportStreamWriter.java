@@ -0,0 +1,211 @@
+package com.reallifedeveloper.maven.jdepend.xml;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlClass;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackageWithCycle;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
+
+/**
+ * Writes an XML file in the same format as {@link XmlReportWriter}, one package at a time, so that the whole report never has to be in
+ * memory. As with {@code XmlReportWriter}, a package with no classes or dependencies of a kind gets an empty element for it, e.g.,
+ * {@code <UsedBy/>}.
+ * <p>
+ * Packages are written with {@link #writePackage(XmlPackage)}, in the order they should appear in the report, followed by the cycles
+ * with {@link #writeCycles(List)}. The document is completed when the writer is closed.
+ * <p>
+ * This class is not thread-safe.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class XmlReportStreamWriter implements Closeable {
+
+    private static final String ENCODING = StandardCharsets.UTF_8.name();
+    private static final String INDENT = "    ";
+    private static final String PACKAGE_ELEMENT = "Package";
+    private static final String CLASS_ELEMENT = "Class";
+
+    private final OutputStream out;
+    private final XMLStreamWriter writer;
+    private boolean cyclesWritten;
+
+    /**
+     * Creates a new {@code XmlReportStreamWriter}, creating the parent directory of the file if necessary, and writes the start of the
+     * document.
+     *
+     * @param file the file to write to
+     *
+     * @throws IOException if creating the file or writing to it fails
+     */
+    public XmlReportStreamWriter(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        this.out = new BufferedOutputStream(Files.newOutputStream(file.toPath()));
+        try {
+            this.writer = XMLOutputFactory.newFactory().createXMLStreamWriter(out, ENCODING);
+            writer.writeStartDocument(ENCODING, "1.0");
+            writer.writeCharacters("\n");
+            writer.writeStartElement("JDepend");
+            startElement(1, "Packages");
+        } catch (XMLStreamException e) {
+            out.close();
+            throw new IOException("Failed to write JDepend XML report " + file, e);
+        }
+    }
+
+    /**
+     * Writes a package.
+     *
+     * @param xmlPackage the package to write
+     *
+     * @throws IOException if writing fails
+     */
+    public void writePackage(XmlPackage xmlPackage) throws IOException {
+        if (cyclesWritten) {
+            throw new IllegalStateException("Packages cannot be written after the cycles");
+        }
+        try {
+            startElement(2, PACKAGE_ELEMENT);
+            writer.writeAttribute("name", xmlPackage.name());
+            XmlStats stats = xmlPackage.stats();
+            if (stats != null) {
+                startElement(3, "Stats");
+                writeElement(4, "TotalClasses", Integer.toString(stats.totalClasses()));
+                writeElement(4, "ConcreteClasses", Integer.toString(stats.concreteClasses()));
+                writeElement(4, "AbstractClasses", Integer.toString(stats.abstractClasses()));
+                writeElement(4, "HasPackageInfo", Boolean.toString(stats.hasPackageInfo()));
+                writeElement(4, "Ca", Integer.toString(stats.afferentCouplings()));
+                writeElement(4, "Ce", Integer.toString(stats.efferentCouplings()));
+                writeElement(4, "A", Double.toString(stats.abstractness()));
+                writeElement(4, "I", Double.toString(stats.instability()));
+                writeElement(4, "D", Double.toString(stats.distance()));
+                writeElement(4, "V", Integer.toString(stats.volatility()));
+                endElement(3);
+            }
+            writeClasses("AbstractClasses", xmlPackage.abstractClasses());
+            writeClasses("ConcreteClasses", xmlPackage.concreteClasses());
+            writeNames(3, "DependsUpon", xmlPackage.dependsUpon());
+            writeNames(3, "UsedBy", xmlPackage.usedBy());
+            String error = xmlPackage.error();
+            if (error != null) {
+                writeElement(3, "error", error);
+            }
+            endElement(2);
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write package " + xmlPackage.name(), e);
+        }
+    }
+
+    /**
+     * Writes the cycles, after all packages have been written.
+     *
+     * @param cycles the cycles to write
+     *
+     * @throws IOException if writing fails
+     */
+    public void writeCycles(List<XmlPackageWithCycle> cycles) throws IOException {
+        if (cyclesWritten) {
+            throw new IllegalStateException("Cycles have already been written");
+        }
+        cyclesWritten = true;
+        try {
+            endElement(1);
+            startElement(1, "Cycles");
+            for (XmlPackageWithCycle cycle : cycles) {
+                startElement(2, PACKAGE_ELEMENT);
+                writer.writeAttribute("Name", cycle.name());
+                for (String packageInCycle : cycle.packagesInCycle()) {
+                    writeElement(3, PACKAGE_ELEMENT, packageInCycle);
+                }
+                endElement(2);
+            }
+            endElement(1);
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to write cycles", e);
+        }
+    }
+
+    /**
+     * Completes the document, writing an empty {@code Cycles} element if no cycles have been written, and closes the file.
+     *
+     * @throws IOException if writing fails
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!cyclesWritten) {
+                writeCycles(List.of());
+            }
+            writer.writeCharacters("\n");
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.close();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to complete JDepend XML report", e);
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeClasses(String name, List<XmlClass> classes) throws XMLStreamException {
+        if (classes.isEmpty()) {
+            emptyElement(3, name);
+            return;
+        }
+        startElement(3, name);
+        for (XmlClass xmlClass : classes) {
+            startElement(4, CLASS_ELEMENT);
+            writer.writeAttribute("sourceFile", xmlClass.sourceFile());
+            writer.writeCharacters(xmlClass.name());
+            writer.writeEndElement();
+        }
+        endElement(3);
+    }
+
+    private void writeNames(int level, String name, List<String> packageNames) throws XMLStreamException {
+        if (packageNames.isEmpty()) {
+            emptyElement(level, name);
+            return;
+        }
+        startElement(level, name);
+        for (String packageName : packageNames) {
+            writeElement(level + 1, PACKAGE_ELEMENT, packageName);
+        }
+        endElement(level);
+    }
+
+    private void writeElement(int level, String name, String text) throws XMLStreamException {
+        startElement(level, name);
+        writer.writeCharacters(text);
+        writer.writeEndElement();
+    }
+
+    private void startElement(int level, String name) throws XMLStreamException {
+        writer.writeCharacters("\n" + INDENT.repeat(level));
+        writer.writeStartElement(name);
+    }
+
+    private void emptyElement(int level, String name) throws XMLStreamException {
+        writer.writeCharacters("\n" + INDENT.repeat(level));
+        writer.writeEmptyElement(name);
+    }
+
+    private void endElement(int level) throws XMLStreamException {
+        writer.writeCharacters("\n" + INDENT.repeat(level));
+        writer.writeEndElement();
+    }
+}
@@ -0,0 +1,47 @@
+package com.reallifedeveloper.maven.jdepend.xml;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.Marshaller;
+
+/**
+ * A writer that creates XML files in the same format as the ones generated by JDepend.
+ * <p>
+ * The {@code JAXBContext} is shared with {@link XmlReportParser}, but a {@code Marshaller} is not thread-safe, so neither is this class.
+ *
+ * @author RealLifeDeveloper
+ */
+public final class XmlReportWriter {
+
+    private final Marshaller marshaller;
+
+    /**
+     * Creates a new {@code XmlReportWriter}.
+     *
+     * @throws JAXBException if creating the underlying JAXB context or marshaller fails
+     */
+    public XmlReportWriter() throws JAXBException {
+        this.marshaller = XmlReportContext.get().createMarshaller();
+        this.marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+    }
+
+    /**
+     * Writes an {@link XmlReport} to a file, creating the parent directory if necessary.
+     *
+     * @param xmlReport the {@link XmlReport} to write
+     * @param file      the file to write to
+     *
+     * @throws JAXBException if any unexpected errors occur while writing the XML
+     * @throws IOException   if creating the parent directory fails
+     */
+    public void write(XmlReport xmlReport, File file) throws JAXBException, IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            Files.createDirectories(parent.toPath());
+        }
+        marshaller.marshal(xmlReport, file);
+    }
+}
@@ -0,0 +1,59 @@
+package com.reallifedeveloper.maven.jdepend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class InputFingerprintTest {
+
+    private static final String CONFIGURATION = "foo=bar";
+
+    @Test
+    public void fingerprintShouldBeSameForSameInputs(@TempDir Path tempDir) throws Exception {
+        Files.write(tempDir.resolve("Foo.class"), new byte[] { 1, 2, 3 });
+        InputFingerprint fingerprint = InputFingerprint.of(tempDir.toFile(), CONFIGURATION, Locale.ENGLISH);
+        assertEquals(fingerprint.value(), InputFingerprint.of(tempDir.toFile(), CONFIGURATION, Locale.ENGLISH).value());
+    }
+
+    @Test
+    public void fingerprintShouldChangeWhenAnyInputChanges(@TempDir Path tempDir) throws Exception {
+        Files.write(tempDir.resolve("Foo.class"), new byte[] { 1, 2, 3 });
+        String fingerprint = InputFingerprint.of(tempDir.toFile(), CONFIGURATION, Locale.ENGLISH).value();
+        assertNotEquals(fingerprint, InputFingerprint.of(tempDir.toFile(), "foo=baz", Locale.ENGLISH).value());
+        assertNotEquals(fingerprint, InputFingerprint.of(tempDir.toFile(), CONFIGURATION, Locale.GERMAN).value());
+        Files.write(tempDir.resolve("Foo.class"), new byte[] { 1, 2, 4 });
+        assertNotEquals(fingerprint, InputFingerprint.of(tempDir.toFile(), CONFIGURATION, Locale.ENGLISH).value());
+    }
+
+    @Test
+    public void fingerprintShouldChangeWhenClassFileMovesToAnotherDirectory(@TempDir Path tempDir) throws Exception {
+        File main = Files.createDirectories(tempDir.resolve("main")).toFile();
+        File test = Files.createDirectories(tempDir.resolve("test")).toFile();
+        Files.write(main.toPath().resolve("Foo.class"), new byte[] { 1, 2, 3 });
+        String fingerprint = InputFingerprint.of(List.of(main, test), CONFIGURATION, Locale.ENGLISH).value();
+        assertEquals(InputFingerprint.of(main, CONFIGURATION, Locale.ENGLISH).value(),
+                InputFingerprint.of(List.of(main), CONFIGURATION, Locale.ENGLISH).value());
+        Files.move(main.toPath().resolve("Foo.class"), test.toPath().resolve("Foo.class"));
+        assertNotEquals(fingerprint, InputFingerprint.of(List.of(main, test), CONFIGURATION, Locale.ENGLISH).value());
+    }
+
+    @Test
+    public void matchesShouldCompareWithStoredFingerprint(@TempDir Path tempDir) throws Exception {
+        File file = tempDir.resolve("fingerprint").toFile();
+        InputFingerprint fingerprint = InputFingerprint.of(new File("target/classes"), CONFIGURATION, Locale.ENGLISH);
+        assertFalse(fingerprint.matches(file));
+        fingerprint.writeTo(file);
+        assertTrue(fingerprint.matches(file));
+        assertFalse(InputFingerprint.of(new File("target/classes"), "foo=baz", Locale.ENGLISH).matches(file));
+    }
+}
@@ -0,0 +1,132 @@
+package com.reallifedeveloper.maven.jdepend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.project.MavenProject;
+import org.apache.maven.reporting.MavenReportException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.reallifedeveloper.maven.jdepend.analysis.AnalysisCache;
+import com.reallifedeveloper.maven.jdepend.analysis.JDependAnalyzer;
+import com.reallifedeveloper.maven.jdepend.analysis.PackagePatternFilter;
+import com.reallifedeveloper.maven.jdepend.xml.StaxXmlReportParser;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReportWriter;
+
+public class JDependAggregateReportTest {
+
+    private static final Locale LOCALE = Locale.getDefault();
+    private static final SinkFactory SINK_FACTORY = new SinkFactory();
+
+    private StringWriter out = new StringWriter();
+    private Sink sink = SINK_FACTORY.createSink(out);
+
+    private JDependAggregateReport report;
+
+    @BeforeEach
+    public void init() {
+        report = new JDependAggregateReport();
+        out.getBuffer().setLength(0);
+    }
+
+    @Test
+    public void generateShouldMergeModuleResultsAndAnalyzeModulesWithoutResult(@TempDir Path tempDir) throws Exception {
+        XmlReport expected = new JDependAnalyzer().analyze(new File("target/classes"));
+        File module1Directory = tempDir.resolve("module1").toFile();
+        new XmlReportWriter().write(expected, new File(module1Directory, "jdepend-report.xml"));
+        MavenProject module1 = createModule("jar", module1Directory, new File("no_such_directory"));
+        MavenProject module2 = createModule("jar", tempDir.resolve("module2").toFile(), new File("target/classes"));
+        MavenProject parent = createModule("pom", tempDir.resolve("parent").toFile(), new File("no_such_directory"));
+        File reportFile = tempDir.resolve("jdepend-aggregate-report.xml").toFile();
+        report.setReactorProjects(List.of(parent, module1, module2));
+        report.setReportFile(reportFile);
+        report.setWriteXmlReport(true);
+
+        report.generate(sink, null, LOCALE);
+
+        assertTrue(out.toString().contains("JDepend Metrics Report"));
+        assertEquals(expected, new StaxXmlReportParser().parse(reportFile));
+    }
+
+    @Test
+    public void generateWithExcludePackagesShouldFilterModuleResultsAndAnalyzedModules(@TempDir Path tempDir) throws Exception {
+        PackagePatternFilter filter = PackagePatternFilter.of(List.of(), List.of("**.format"));
+        XmlReport expected = new JDependAnalyzer().packageFilter(filter).analyze(new File("target/classes"));
+        File module1Directory = tempDir.resolve("module1").toFile();
+        new XmlReportWriter().write(new JDependAnalyzer().analyze(new File("target/classes")), new File(module1Directory,
+                "jdepend-report.xml"));
+        MavenProject module1 = createModule("jar", module1Directory, new File("no_such_directory"));
+        MavenProject module2 = createModule("jar", tempDir.resolve("module2").toFile(), new File("target/classes"));
+        File reportFile = tempDir.resolve("jdepend-aggregate-report.xml").toFile();
+        report.setReactorProjects(List.of(module1, module2));
+        report.setReportFile(reportFile);
+        report.setWriteXmlReport(true);
+        report.setExcludePackages(List.of("**.format"));
+
+        report.generate(sink, null, LOCALE);
+
+        assertEquals(expected, new StaxXmlReportParser().parse(reportFile));
+    }
+
+    @Test
+    public void generateWithInvalidPackagePatternShouldThrowMavenReportException() {
+        report.setReactorProjects(List.of());
+        report.setIncludePackages(List.of("com..example"));
+        assertThrows(MavenReportException.class, () -> report.generate(sink, null, LOCALE));
+    }
+
+    @Test
+    public void generateShouldUseSharedAnalysisCacheOnlyIfAnalysisCacheSizeIsPositive(@TempDir Path tempDir) throws Exception {
+        Path classesDirectory = tempDir.resolve("classes");
+        Path packageDirectory = Files.createDirectories(classesDirectory.resolve("com/reallifedeveloper/maven/jdepend"));
+        Files.copy(Path.of("target/classes/com/reallifedeveloper/maven/jdepend/InputFingerprint.class"),
+                packageDirectory.resolve("InputFingerprint.class"));
+        report.setReactorProjects(List.of(createModule("jar", tempDir.resolve("module").toFile(), classesDirectory.toFile())));
+        int size = AnalysisCache.shared().size();
+
+        report.setAnalysisCacheSize(0);
+        report.generate(sink, null, LOCALE);
+        assertEquals(size, AnalysisCache.shared().size());
+
+        report.setAnalysisCacheSize(AnalysisCache.DEFAULT_MAX_CLASSES);
+        report.generate(SINK_FACTORY.createSink(out), null, LOCALE);
+        assertEquals(size + 1, AnalysisCache.shared().size());
+    }
+
+    @Test
+    public void generateShouldNotGenerateReportWhenSkipIsTrue() throws Exception {
+        report.setSkip(true);
+        report.generate(sink, null, LOCALE);
+        assertTrue(out.toString().isEmpty());
+    }
+
+    @Test
+    public void getOutputNameShouldReturnHardcodedName() {
+        assertEquals("jdepend-aggregate-report", report.getOutputName());
+    }
+
+    @Test
+    public void getNameShouldReturnNameFromResourceBundle() {
+        assertEquals("JDepend (Aggregate)", report.getName(LOCALE));
+    }
+
+    private static MavenProject createModule(String packaging, File buildDirectory, File outputDirectory) {
+        MavenProject module = new MavenProject();
+        module.setPackaging(packaging);
+        module.getBuild().setDirectory(buildDirectory.getPath());
+        module.getBuild().setOutputDirectory(outputDirectory.getPath());
+        return module;
+    }
+}
@@ -0,0 +1,86 @@
+package com.reallifedeveloper.maven.jdepend;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.List;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class JDependCheckTest {
+
+    private JDependCheck check;
+
+    @BeforeEach
+    public void init() {
+        check = new JDependCheck();
+        check.setClassesDirectory(new File("target/classes"));
+    }
+
+    @Test
+    public void executeShouldPassForPluginWithoutCycles() {
+        assertDoesNotThrow(() -> check.execute());
+    }
+
+    @Test
+    public void executeShouldFailWhenThresholdIsExceeded() {
+        check.setMaxEfferentCouplings(0);
+        Exception e = assertThrows(MojoFailureException.class, () -> check.execute());
+        assertTrue(e.getMessage().startsWith("JDepend check failed with "), e.getMessage());
+    }
+
+    @Test
+    public void executeWithFailFastShouldReportFirstViolation() {
+        check.setMaxEfferentCouplings(0);
+        check.setFailFast(true);
+        Exception e = assertThrows(MojoFailureException.class, () -> check.execute());
+        assertTrue(e.getMessage().contains("Efferent couplings (Ce) is "), e.getMessage());
+    }
+
+    @Test
+    public void executeShouldOnlyWarnIfFailOnViolationIsFalse() {
+        check.setMaxEfferentCouplings(0);
+        check.setFailOnViolation(false);
+        assertDoesNotThrow(() -> check.execute());
+    }
+
+    @Test
+    public void executeShouldFailWhenLayerRuleIsViolated() {
+        check.setFailOnCycles(false);
+        check.setLayerRules(List.of("..analysis.. must not depend on ..xml.."));
+        Exception e = assertThrows(MojoFailureException.class, () -> check.execute());
+        assertTrue(e.getMessage().startsWith("JDepend check failed with "), e.getMessage());
+    }
+
+    @Test
+    public void executeShouldPassWhenLayerRulesAreFollowed() {
+        check.setLayerRules(List.of("..xml.. must not depend on ..analysis.., ..check.."));
+        assertDoesNotThrow(() -> check.execute());
+    }
+
+    @Test
+    public void executeShouldFailOnInvalidLayerRule() {
+        check.setLayerRules(List.of("..domain.. depends on ..infrastructure.."));
+        Exception e = assertThrows(MojoExecutionException.class, () -> check.execute());
+        assertTrue(e.getMessage().startsWith("Invalid layer rule"), e.getMessage());
+    }
+
+    @Test
+    public void executeShouldDoNothingWhenSkipIsTrue() {
+        check.setMaxEfferentCouplings(0);
+        check.setSkip(true);
+        assertDoesNotThrow(() -> check.execute());
+    }
+
+    @Test
+    public void executeShouldDoNothingWithoutClasses() {
+        check.setMaxEfferentCouplings(0);
+        check.setClassesDirectory(new File("no_such_directory"));
+        assertDoesNotThrow(() -> check.execute());
+    }
+}
@@ -2,13 +2,19 @@ package com.reallifedeveloper.maven.jdepend;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.FileNotFoundException;
 import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.ForkJoinPool;
 
 import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.impl.SinkWrapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.util.ResourceUtils;
@@ -22,7 +28,13 @@ import org.xmlunit.diff.ComparisonResult;
 import org.xmlunit.diff.Diff;
 import org.xmlunit.diff.DifferenceEvaluator;
 
+import com.reallifedeveloper.maven.jdepend.analysis.ClassGraph;
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+import com.reallifedeveloper.maven.jdepend.check.Violation;
+import com.reallifedeveloper.maven.jdepend.history.HistoryDelta;
+import com.reallifedeveloper.maven.jdepend.history.HistoryDelta.PackageChange;
 import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
 import com.reallifedeveloper.maven.jdepend.xml.XmlReportParser;
 
 public class JDependReportRendererTest {
@@ -55,13 +67,149 @@ public class JDependReportRendererTest {
         assertHtmlReport(HTML_REPORT_RESOURCE_LOCATION, out.toString());
     }
 
+    @Test
+    public void renderWithPoolShouldCreateSameHtmlAsWithoutPool() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            reportRenderer.pool(pool).render();
+        } finally {
+            pool.shutdown();
+        }
+        assertHtmlReport(HTML_REPORT_RESOURCE_LOCATION, out.toString());
+    }
+
     @Test
     public void renderShouldHandleEmptyXmlReport() throws Exception {
-        JDependReportRenderer emptyReportRenderer = new JDependReportRenderer(new XmlReport(), BUNDLE, sink);
+        JDependReportRenderer emptyReportRenderer = new JDependReportRenderer(new XmlReport(), new PackageGraph.Builder().build(), BUNDLE,
+                sink);
         emptyReportRenderer.render();
         assertHtmlReport(EMPTY_HTML_REPORT_RESOURCE_LOCATION, out.toString());
     }
 
+    @Test
+    public void renderShouldShowChangesSinceBaseline() throws Exception {
+        XmlStats before = new XmlStats();
+        before.afferentCouplings(2);
+        before.instability(0.5);
+        XmlStats after = new XmlStats();
+        after.afferentCouplings(2);
+        after.instability(0.75);
+        HistoryDelta historyDelta = new HistoryDelta(0, List.of(new PackageChange("foo.changed", before, after),
+                new PackageChange("foo.new", null, after), new PackageChange("foo.old", before, null)));
+        new JDependReportRenderer(xmlReport, BUNDLE, sink).historyDelta(historyDelta).render();
+        String html = out.toString();
+        assertTrue(html.contains("Changes Since Baseline"));
+        assertTrue(html.contains("1970-01-01T00:00:00Z"));
+        assertTrue(html.contains("foo.changed"));
+        assertTrue(html.matches("(?s).*50% \\S+ 75%.*"), html);
+        assertTrue(html.contains("added"));
+        assertTrue(html.contains("removed"));
+    }
+
+    @Test
+    public void renderShouldShowThatNothingHasChangedSinceBaseline() throws Exception {
+        new JDependReportRenderer(xmlReport, BUNDLE, sink).historyDelta(new HistoryDelta(0, List.of())).render();
+        assertTrue(out.toString().contains("No packages have been added, removed or have changed metrics since the baseline run."));
+    }
+
+    @Test
+    public void renderShouldShowLayerViolations() throws Exception {
+        List<Violation> layerViolations = List.of(new Violation("foo.domain",
+                "Dependency on foo.infrastructure violates layer rule: ..domain.. must not depend on ..infrastructure.."));
+        new JDependReportRenderer(xmlReport, BUNDLE, sink).layerViolations(layerViolations).render();
+        String html = out.toString();
+        assertTrue(html.contains("Layer Rule Violations"));
+        assertTrue(html.contains("Dependency on foo.infrastructure violates layer rule"));
+    }
+
+    @Test
+    public void renderShouldShowThatNoLayerRulesAreViolated() throws Exception {
+        new JDependReportRenderer(xmlReport, BUNDLE, sink).layerViolations(List.of()).render();
+        assertTrue(out.toString().contains("No dependencies between packages violate the configured layer rules."));
+    }
+
+    @Test
+    public void renderShouldShowClassRootsOfPackages() throws Exception {
+        Map<String, List<String>> packageRoots = Map.of("foo.domain", List.of("main", "test"));
+        new JDependReportRenderer(xmlReport, BUNDLE, sink).packageRoots(packageRoots).render();
+        String html = out.toString();
+        assertTrue(html.contains("Class Roots"));
+        assertTrue(html.contains("main, test"), html);
+    }
+
+    @Test
+    public void renderShouldShowClassesResponsibleForCycles() throws Exception {
+        ClassGraph classGraph = new ClassGraph.Builder()
+                .addClass("com.reallifedeveloper.common.domain.event.DomainEventPublisher",
+                        List.of("com.reallifedeveloper.common.domain.registry.CommonDomainRegistry"))
+                .addClass("com.reallifedeveloper.common.domain.registry.CommonDomainRegistry",
+                        List.of("com.reallifedeveloper.common.domain.event.DomainEventPublisher"))
+                .build();
+        new JDependReportRenderer(xmlReport, BUNDLE, sink).classGraph(classGraph).render();
+        String html = out.toString();
+        assertTrue(html.contains("Class dependencies causing the cycle:"));
+        assertTrue(html.matches("(?s).*event\\.DomainEventPublisher \\S+ [\\w.]+\\.registry\\.CommonDomainRegistry.*"), html);
+    }
+
+    @Test
+    public void renderShouldShowWhenNoClassesAreFoundForCycleStep() throws Exception {
+        // The dependency from registry back to event is only caused by an annotation that the class graph does not record
+        ClassGraph classGraph = new ClassGraph.Builder()
+                .addClass("com.reallifedeveloper.common.domain.event.DomainEventPublisher",
+                        List.of("com.reallifedeveloper.common.domain.registry.CommonDomainRegistry"))
+                .build();
+        new JDependReportRenderer(xmlReport, BUNDLE, sink).classGraph(classGraph).render();
+        String html = out.toString();
+        assertTrue(html.matches("(?s).*domain\\.registry \\S+ [\\w.]+\\.domain\\.event: no class-level dependency found.*"), html);
+    }
+
+    @Test
+    public void renderToNonXhtmlSinkShouldNotWriteRawXhtmlFragments() throws Exception {
+        List<String> rawTexts = new ArrayList<>();
+        Sink nonXhtmlSink = new SinkWrapper(sink) {
+            @Override
+            public void rawText(String text) {
+                rawTexts.add(text);
+                super.rawText(text);
+            }
+        };
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            new JDependReportRenderer(xmlReport, BUNDLE, nonXhtmlSink).pool(pool).render();
+        } finally {
+            pool.shutdown();
+        }
+        assertTrue(rawTexts.stream().noneMatch(text -> text.contains("<section")), rawTexts.toString());
+        String html = out.toString();
+        assertTrue(html.contains("id=\"com.reallifedeveloper.common.domain.event\""), html);
+        assertTrue(html.contains("Abstract Classes"), html);
+    }
+
+    @Test
+    public void renderWithPagesShouldLinkToPagesInsteadOfShowingPackages() throws Exception {
+        List<ReportPage> pages = ReportPage.split(xmlReport.packagesWithoutError(), ReportPage.Split.PREFIX, 3, 0, "jdepend-report");
+        reportRenderer.pages(pages).render();
+        String html = out.toString();
+        assertTrue(html.contains("href=\"jdepend-report-com.reallifedeveloper.common.html\""), html);
+        assertTrue(html.contains("Explanation"));
+        assertFalse(html.contains("Abstract Classes"));
+        assertFalse(html.contains("id=\"com.reallifedeveloper.common.domain\""));
+    }
+
+    @Test
+    public void renderForPageShouldShowOnlyPackagesOnPage() throws Exception {
+        List<ReportPage> pages = ReportPage.split(xmlReport.packagesWithoutError(), ReportPage.Split.PACKAGE, 0, 0, "jdepend-report");
+        ReportPage page = pages.stream().filter(p -> "com.reallifedeveloper.common.domain".equals(p.title())).findFirst().orElseThrow();
+        JDependReportRenderer pageRenderer = reportRenderer.forPage(page, "jdepend-report.html", sink);
+        assertEquals("JDepend Metrics Report: com.reallifedeveloper.common.domain", pageRenderer.getTitle());
+        pageRenderer.render();
+        String html = out.toString();
+        assertTrue(html.contains("href=\"jdepend-report.html\""), html);
+        assertTrue(html.contains("id=\"com.reallifedeveloper.common.domain\""));
+        assertFalse(html.contains("id=\"com.reallifedeveloper.common.domain.event\""));
+        assertFalse(html.contains("Explanation"));
+    }
+
     @Test
     public void getTitleShouldReturnTitleFromResourceBundle() {
         assertEquals("JDepend Metrics Report", reportRenderer.getTitle());
@@ -7,12 +7,30 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
+import java.util.Set;
 
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DefaultArtifact;
+import org.apache.maven.artifact.handler.DefaultArtifactHandler;
 import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
 import org.apache.maven.reporting.MavenReportException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.reallifedeveloper.maven.jdepend.analysis.ClassArchiveTest;
+import com.reallifedeveloper.maven.jdepend.analysis.JDependAnalyzer;
+import com.reallifedeveloper.maven.jdepend.format.BinaryReportParser;
+import com.reallifedeveloper.maven.jdepend.format.JsonReportParser;
+import com.reallifedeveloper.maven.jdepend.xml.StaxXmlReportParser;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
 
 public class JDependReportTest {
 
@@ -38,6 +56,333 @@ public class JDependReportTest {
         assertTrue(out.toString().contains("JDepend Metrics Report"));
     }
 
+    @Test
+    public void generateShouldNotWriteXmlReportByDefault(@TempDir Path tempDir) throws Exception {
+        File reportFile = tempDir.resolve("jdepend-report.xml").toFile();
+        report.setReportFile(reportFile);
+        report.generate(sink, null, LOCALE);
+        assertFalse(reportFile.exists());
+    }
+
+    @Test
+    public void generateShouldWriteXmlReportIfRequested(@TempDir Path tempDir) throws Exception {
+        File reportFile = tempDir.resolve("jdepend-report.xml").toFile();
+        report.setReportFile(reportFile);
+        report.setWriteXmlReport(true);
+        report.generate(sink, null, LOCALE);
+        assertTrue(reportFile.exists());
+    }
+
+    @Test
+    public void generateShouldShowChangesSinceBaselineIfHistoryFileIsSet(@TempDir Path tempDir) throws Exception {
+        report.setHistoryFile(tempDir.resolve("history.bin").toFile());
+        report.generate(sink, null, LOCALE);
+        assertFalse(out.toString().contains("Changes Since Baseline"));
+        out.getBuffer().setLength(0);
+        report.generate(SINK_FACTORY.createSink(out), null, LOCALE);
+        assertTrue(out.toString().contains("Changes Since Baseline"));
+    }
+
+    @Test
+    public void generateShouldWriteJsonAndBinaryReportsIfRequested(@TempDir Path tempDir) throws Exception {
+        File jsonReportFile = tempDir.resolve("jdepend-report.json").toFile();
+        File binaryReportFile = tempDir.resolve("jdepend-report.bin").toFile();
+        report.setJsonReportFile(jsonReportFile);
+        report.setBinaryReportFile(binaryReportFile);
+        report.setWriteJsonReport(true);
+        report.setWriteBinaryReport(true);
+        report.generate(sink, null, LOCALE);
+        XmlReport expected = new JDependAnalyzer().analyze(new File("target/classes"));
+        assertEquals(expected, new JsonReportParser().parse(jsonReportFile));
+        assertEquals(expected, new BinaryReportParser().parse(binaryReportFile));
+    }
+
+    @Test
+    public void generateShouldWriteDotAndGraphmlGraphsIfRequested(@TempDir Path tempDir) throws Exception {
+        File dotGraphFile = tempDir.resolve("jdepend-graph.dot").toFile();
+        File graphmlFile = tempDir.resolve("jdepend-graph.graphml").toFile();
+        report.setDotGraphFile(dotGraphFile);
+        report.setGraphmlFile(graphmlFile);
+        report.setWriteDotGraph(true);
+        report.setWriteGraphml(true);
+        report.setGraphPrefixDepth(4);
+        report.generate(sink, null, LOCALE);
+        String dot = Files.readString(dotGraphFile.toPath());
+        assertTrue(dot.contains("\"com.reallifedeveloper.maven.jdepend\" -> \"java.io\";"), dot);
+        assertFalse(dot.contains("com.reallifedeveloper.maven.jdepend.analysis"), dot);
+        assertTrue(Files.readString(graphmlFile.toPath()).contains("<node id=\"com.reallifedeveloper.maven.jdepend\">"));
+    }
+
+    @Test
+    public void generateShouldWriteMetricsIfRequested(@TempDir Path tempDir) throws Exception {
+        File metricsFile = tempDir.resolve("jdepend-metrics.json").toFile();
+        report.setMetricsFile(metricsFile);
+        report.setWriteMetrics(true);
+        report.generate(sink, null, LOCALE);
+        String json = Files.readString(metricsFile.toPath());
+        assertTrue(json.contains("{\"name\":\"analysis\","), json);
+        assertTrue(json.contains("{\"name\":\"rendering\","), json);
+        assertTrue(json.contains("\"packages\":"), json);
+    }
+
+    @Test
+    public void generateShouldRenderLayerViolations() throws Exception {
+        report.setLayerRules(List.of("..analysis.. must not depend on ..xml.."));
+        report.generate(sink, null, LOCALE);
+        assertTrue(out.toString().contains("Dependency on com.reallifedeveloper.maven.jdepend.xml violates layer rule"), out.toString());
+    }
+
+    @Test
+    public void generateShouldFailOnLayerViolationsIfRequested() {
+        report.setLayerRules(List.of("..analysis.. must not depend on ..xml.."));
+        report.setFailOnLayerViolations(true);
+        Exception e = assertThrows(MavenReportException.class, () -> report.generate(sink, null, LOCALE));
+        assertTrue(e.getMessage().startsWith("JDepend layer rules violated with "), e.getMessage());
+    }
+
+    @Test
+    public void isReportUpToDateShouldBeFalseWhenFailOnLayerViolationsIsTurnedOn(@TempDir Path tempDir) throws Exception {
+        report.setReportOutputDirectory(tempDir.toFile());
+        report.setReportFile(tempDir.resolve("jdepend-report.xml").toFile());
+        report.setFingerprintFile(tempDir.resolve("jdepend-report.fingerprint").toFile());
+        report.setUpToDateCheck(true);
+        report.setLayerRules(List.of("..analysis.. must not depend on ..xml.."));
+        Files.writeString(tempDir.resolve("jdepend-report.html"), "");
+        report.generate(sink, null, LOCALE);
+        assertTrue(report.isReportUpToDate());
+
+        report.setFailOnLayerViolations(true);
+        assertFalse(report.isReportUpToDate());
+        assertThrows(MavenReportException.class, () -> report.generate(SINK_FACTORY.createSink(out), null, LOCALE));
+        assertFalse(report.isReportUpToDate());
+    }
+
+    @Test
+    public void isReportUpToDateShouldBeFalseUntilRequestedJsonReportIsWritten(@TempDir Path tempDir) throws Exception {
+        File jsonReportFile = tempDir.resolve("jdepend-report.json").toFile();
+        report.setReportOutputDirectory(tempDir.toFile());
+        report.setReportFile(tempDir.resolve("jdepend-report.xml").toFile());
+        report.setFingerprintFile(tempDir.resolve("jdepend-report.fingerprint").toFile());
+        report.setJsonReportFile(jsonReportFile);
+        report.setUpToDateCheck(true);
+        Files.writeString(tempDir.resolve("jdepend-report.html"), "");
+        report.generate(sink, null, LOCALE);
+        assertTrue(report.isReportUpToDate());
+
+        report.setWriteJsonReport(true);
+        assertFalse(report.isReportUpToDate());
+        report.generate(SINK_FACTORY.createSink(out), null, LOCALE);
+        assertTrue(jsonReportFile.isFile());
+        assertTrue(report.isReportUpToDate());
+
+        Files.delete(jsonReportFile.toPath());
+        assertFalse(report.isReportUpToDate());
+    }
+
+    @Test
+    public void isReportUpToDateShouldBeFalseWhenGraphSettingsChange(@TempDir Path tempDir) throws Exception {
+        File dotGraphFile = tempDir.resolve("jdepend-graph.dot").toFile();
+        report.setReportOutputDirectory(tempDir.toFile());
+        report.setReportFile(tempDir.resolve("jdepend-report.xml").toFile());
+        report.setFingerprintFile(tempDir.resolve("jdepend-report.fingerprint").toFile());
+        report.setDotGraphFile(dotGraphFile);
+        report.setUpToDateCheck(true);
+        Files.writeString(tempDir.resolve("jdepend-report.html"), "");
+        report.generate(sink, null, LOCALE);
+        assertTrue(report.isReportUpToDate());
+
+        report.setWriteDotGraph(true);
+        assertFalse(report.isReportUpToDate());
+        report.generate(SINK_FACTORY.createSink(out), null, LOCALE);
+        assertTrue(dotGraphFile.isFile());
+        assertTrue(report.isReportUpToDate());
+
+        report.setGraphPrefixDepth(2);
+        assertFalse(report.isReportUpToDate());
+    }
+
+    @Test
+    public void isReportUpToDateShouldBeFalseWhenHistorySettingsChange(@TempDir Path tempDir) throws Exception {
+        File historyFile = tempDir.resolve("history.bin").toFile();
+        report.setReportOutputDirectory(tempDir.toFile());
+        report.setReportFile(tempDir.resolve("jdepend-report.xml").toFile());
+        report.setFingerprintFile(tempDir.resolve("jdepend-report.fingerprint").toFile());
+        report.setUpToDateCheck(true);
+        Files.writeString(tempDir.resolve("jdepend-report.html"), "");
+        report.generate(sink, null, LOCALE);
+        assertTrue(report.isReportUpToDate());
+
+        report.setHistoryFile(historyFile);
+        assertFalse(report.isReportUpToDate());
+        report.generate(SINK_FACTORY.createSink(out), null, LOCALE);
+        assertTrue(historyFile.isFile());
+        assertTrue(report.isReportUpToDate());
+
+        report.setHistoryBaseline(2);
+        assertFalse(report.isReportUpToDate());
+    }
+
+    @Test
+    public void isReportUpToDateShouldBeFalseUntilRequestedMetricsAreWritten(@TempDir Path tempDir) throws Exception {
+        File metricsFile = tempDir.resolve("jdepend-metrics.json").toFile();
+        report.setReportOutputDirectory(tempDir.toFile());
+        report.setReportFile(tempDir.resolve("jdepend-report.xml").toFile());
+        report.setFingerprintFile(tempDir.resolve("jdepend-report.fingerprint").toFile());
+        report.setMetricsFile(metricsFile);
+        report.setUpToDateCheck(true);
+        Files.writeString(tempDir.resolve("jdepend-report.html"), "");
+        report.generate(sink, null, LOCALE);
+        assertTrue(report.isReportUpToDate());
+
+        report.setWriteMetrics(true);
+        assertFalse(report.isReportUpToDate());
+        report.generate(SINK_FACTORY.createSink(out), null, LOCALE);
+        assertTrue(metricsFile.isFile());
+        assertTrue(report.isReportUpToDate());
+    }
+
+    @Test
+    public void isReportUpToDateShouldOnlyIgnoreParametersThatDoNotAffectTheReport(@TempDir Path tempDir) throws Exception {
+        report.setReportOutputDirectory(tempDir.toFile());
+        report.setReportFile(tempDir.resolve("jdepend-report.xml").toFile());
+        report.setFingerprintFile(tempDir.resolve("jdepend-report.fingerprint").toFile());
+        report.setUpToDateCheck(true);
+        Files.writeString(tempDir.resolve("jdepend-report.html"), "");
+        report.generate(sink, null, LOCALE);
+        assertTrue(report.isReportUpToDate());
+
+        report.setThreads(2);
+        report.setIncremental(false);
+        report.setAnalysisCacheSize(0);
+        assertTrue(report.isReportUpToDate());
+
+        report.setWriteXmlReport(true);
+        assertFalse(report.isReportUpToDate());
+        report.setWriteXmlReport(false);
+        report.setMaxRowsPerPage(10);
+        assertFalse(report.isReportUpToDate());
+    }
+
+    @Test
+    public void generateWithClassRootsShouldShowClassRootsOfPackages() throws Exception {
+        report.setClassRoots(List.of("test=target/test-classes", "missing=target/no-such-directory"));
+        report.generate(sink, null, LOCALE);
+        String html = out.toString();
+        assertTrue(html.contains("Class Roots"), html);
+        assertTrue(html.contains("main, test"), html);
+        assertTrue(html.contains("JDependReportTest"), html);
+        assertFalse(html.contains("missing"), html);
+    }
+
+    @Test
+    public void generateShouldThrowMavenReportExceptionOnInvalidClassRoot() {
+        report.setClassRoots(List.of("main=target/test-classes"));
+        Exception e = assertThrows(MavenReportException.class, () -> report.generate(sink, null, LOCALE));
+        assertTrue(e.getMessage().startsWith("Invalid class root"), e.getMessage());
+    }
+
+    @Test
+    public void generateWithStreamingShouldWriteXmlReportAndRenderPackages(@TempDir Path tempDir) throws Exception {
+        File reportFile = tempDir.resolve("jdepend-report.xml").toFile();
+        report.setReportFile(reportFile);
+        report.setStreaming(true);
+        report.generate(sink, null, LOCALE);
+        assertEquals(new JDependAnalyzer().analyze(new File("target/classes")), new StaxXmlReportParser().parse(reportFile));
+        assertTrue(out.toString().contains("id=\"com.reallifedeveloper.maven.jdepend.analysis\""));
+    }
+
+    @Test
+    public void generateWithStreamingShouldOnlyWarnAboutUnsupportedParametersThatAreSet(@TempDir Path tempDir) throws Exception {
+        List<String> warnings = new ArrayList<>();
+        report.setLog(new SystemStreamLog() {
+            @Override
+            public void warn(CharSequence content) {
+                warnings.add(content.toString());
+            }
+        });
+        report.setReportFile(tempDir.resolve("jdepend-report.xml").toFile());
+        report.setStreaming(true);
+        report.setIncremental(true);
+        report.generate(sink, null, LOCALE);
+        assertEquals(List.of(), warnings);
+
+        report.setClassLevel(true);
+        report.generate(SINK_FACTORY.createSink(out), null, LOCALE);
+        assertEquals(List.of("classLevel is not supported in streaming mode and is ignored"), warnings);
+    }
+
+    @Test
+    public void generateWithSplitByShouldRenderOnePagePerPrefix(@TempDir Path tempDir) throws Exception {
+        report.setReportOutputDirectory(tempDir.toFile());
+        report.setSplitBy(ReportPage.Split.PREFIX);
+        report.setPrefixDepth(4);
+        report.generate(sink, SINK_FACTORY, LOCALE);
+        assertTrue(out.toString().contains("href=\"jdepend-report-com.reallifedeveloper.maven.jdepend.html\""), out.toString());
+        File page = tempDir.resolve("jdepend-report-com.reallifedeveloper.maven.jdepend.html").toFile();
+        assertTrue(page.isFile());
+        assertTrue(Files.readString(page.toPath()).contains("id=\"com.reallifedeveloper.maven.jdepend.analysis\""));
+    }
+
+    @Test
+    public void isReportUpToDateShouldBeFalseWhenPageOfSplitReportIsDeleted(@TempDir Path tempDir) throws Exception {
+        report.setReportOutputDirectory(tempDir.toFile());
+        report.setReportFile(tempDir.resolve("jdepend-report.xml").toFile());
+        report.setFingerprintFile(tempDir.resolve("jdepend-report.fingerprint").toFile());
+        report.setUpToDateCheck(true);
+        report.setSplitBy(ReportPage.Split.PREFIX);
+        report.setPrefixDepth(4);
+        Files.writeString(tempDir.resolve("jdepend-report.html"), "");
+        report.generate(sink, SINK_FACTORY, LOCALE);
+        assertTrue(report.isReportUpToDate());
+
+        Files.delete(tempDir.resolve("jdepend-report-com.reallifedeveloper.maven.jdepend.html"));
+        assertFalse(report.isReportUpToDate());
+    }
+
+    @Test
+    public void generateWithSplitByShouldRenderSinglePageWithoutSinkFactory() throws Exception {
+        report.setSplitBy(ReportPage.Split.PACKAGE);
+        report.generate(sink, null, LOCALE);
+        assertTrue(out.toString().contains("id=\"com.reallifedeveloper.maven.jdepend.analysis\""));
+    }
+
+    @Test
+    public void generateWithUpToDateCheckShouldReuseAnalysisResultWhenInputsAreUnchanged(@TempDir Path tempDir) throws Exception {
+        File reportFile = tempDir.resolve("jdepend-report.xml").toFile();
+        File fingerprintFile = tempDir.resolve("jdepend-report.fingerprint").toFile();
+        report.setReportFile(reportFile);
+        report.setFingerprintFile(fingerprintFile);
+        report.setUpToDateCheck(true);
+        report.generate(sink, null, LOCALE);
+        String firstReport = out.toString();
+        assertTrue(reportFile.exists());
+        assertTrue(fingerprintFile.exists());
+
+        out.getBuffer().setLength(0);
+        report.generate(SINK_FACTORY.createSink(out), null, LOCALE);
+        assertEquals(firstReport, out.toString());
+    }
+
+    @Test
+    public void generateShouldAnalyzeIncludedDependencies(@TempDir Path tempDir) throws Exception {
+        File jar = ClassArchiveTest.createJar(Path.of("target/test-classes"), tempDir.resolve("test-classes.jar"));
+        MavenProject project = new MavenProject();
+        project.setArtifacts(Set.of(createArtifact("com.example", "platform-core", jar),
+                createArtifact("org.example", "other", jar)));
+        File artifactCacheDirectory = tempDir.resolve("repository").toFile();
+        report.setProject(project);
+        report.setArtifactCacheDirectory(artifactCacheDirectory);
+        // The JAR may already be in the shared analysis cache, which would leave the artifact cache unused.
+        report.setAnalysisCacheSize(0);
+        report.setIncludeDependencies(List.of("com.example:platform-*"));
+
+        report.generate(sink, null, LOCALE);
+
+        assertTrue(out.toString().contains("JDependReportTest"));
+        assertTrue(new File(artifactCacheDirectory, "com/example/platform-core/1.0/platform-core-1.0.jdepend").isFile());
+        assertFalse(new File(artifactCacheDirectory, "org/example/other/1.0/other-1.0.jdepend").exists());
+    }
+
     @Test
     public void generateShouldNotGenerateReportWhenSkipIsTrue() throws Exception {
         report.setSkip(true);
@@ -61,6 +406,12 @@ public class JDependReportTest {
         assertEquals("Fields have not been correctly set: classesDirectory=foo, reportFile=null", e.getMessage());
     }
 
+    private static Artifact createArtifact(String groupId, String artifactId, File file) {
+        Artifact artifact = new DefaultArtifact(groupId, artifactId, "1.0", "compile", "jar", null, new DefaultArtifactHandler("jar"));
+        artifact.setFile(file);
+        return artifact;
+    }
+
     @Test
     public void canGenerateReportShouldBeTrueIfParametersHaveBeenCorrectlySet() throws Exception {
         assertTrue(report.canGenerateReport());
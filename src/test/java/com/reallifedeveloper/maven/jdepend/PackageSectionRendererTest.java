@@ -0,0 +1,58 @@
+package com.reallifedeveloper.maven.jdepend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.impl.SinkWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.ResourceUtils;
+
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+import com.reallifedeveloper.maven.jdepend.analysis.StronglyConnectedComponents;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReportParser;
+
+public class PackageSectionRendererTest {
+
+    private static final ResourceBundle BUNDLE = ResourceBundle.getBundle("com.reallifedeveloper.maven.jdepend.jdepend-report",
+            Locale.getDefault(), JDependReport.class.getClassLoader());
+
+    @Test
+    public void renderShouldCreateSelfContainedSection() throws Exception {
+        XmlReport xmlReport = new XmlReportParser().parse(ResourceUtils.getFile("classpath:jdepend-report.xml"));
+        PackageGraph packageGraph = PackageGraph.of(xmlReport);
+        PackageSectionRenderer renderer = new PackageSectionRenderer(xmlReport, BUNDLE, packageGraph,
+                StronglyConnectedComponents.of(packageGraph), null);
+        XmlPackage xmlPackage = xmlReport.findPackage("com.reallifedeveloper.common.domain.event").orElseThrow();
+        String html = renderer.render(xmlPackage);
+        assertTrue(html.contains("<a id=\"com.reallifedeveloper.common.domain.event\"></a>"), html);
+        assertTrue(html.contains("<h4>Abstract Classes</h4>"), html);
+        assertTrue(html.contains("tangle of 2 packages"), html);
+        assertEquals(html.split("<section>", -1).length, html.split("</section>", -1).length, html);
+    }
+
+    @Test
+    public void canWriteFragmentsToShouldOnlyAcceptXhtmlSinks() {
+        Sink xhtmlSink = new SinkFactory().createSink(new StringWriter());
+        assertTrue(PackageSectionRenderer.canWriteFragmentsTo(xhtmlSink));
+        assertFalse(PackageSectionRenderer.canWriteFragmentsTo(new SinkWrapper(xhtmlSink)));
+    }
+
+    @Test
+    public void renderShouldGiveSameResultInParallel() throws Exception {
+        XmlReport xmlReport = new XmlReportParser().parse(ResourceUtils.getFile("classpath:jdepend-report.xml"));
+        PackageGraph packageGraph = PackageGraph.of(xmlReport);
+        PackageSectionRenderer renderer = new PackageSectionRenderer(xmlReport, BUNDLE, packageGraph,
+                StronglyConnectedComponents.of(packageGraph), null);
+        List<XmlPackage> packages = xmlReport.packagesWithoutError();
+        assertEquals(packages.stream().map(renderer::render).toList(), packages.parallelStream().map(renderer::render).toList());
+    }
+}
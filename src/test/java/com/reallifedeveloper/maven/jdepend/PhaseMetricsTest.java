@@ -0,0 +1,116 @@
+package com.reallifedeveloper.maven.jdepend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.ResourceUtils;
+
+import com.reallifedeveloper.maven.jdepend.PhaseMetrics.PhaseResult;
+import com.reallifedeveloper.maven.jdepend.xml.StaxXmlReportParser;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+
+public class PhaseMetricsTest {
+
+    @Test
+    public void closingPhaseShouldRecordMeasurements() throws Exception {
+        PhaseMetrics metrics = new PhaseMetrics();
+        try (PhaseMetrics.Phase phase = metrics.start("first")) {
+            Thread.sleep(5);
+        }
+        PhaseMetrics.Phase second = metrics.start("second");
+        second.close();
+        second.close();
+
+        List<PhaseResult> phases = metrics.phases();
+        assertEquals(List.of("first", "second"), phases.stream().map(PhaseResult::name).toList());
+        assertTrue(phases.get(0).wallTimeNanos() >= 5_000_000L);
+        assertTrue(phases.get(0).cpuTimeNanos() >= -1);
+        assertTrue(phases.get(0).allocatedBytes() >= -1);
+    }
+
+    @Test
+    public void allocatedBytesShouldIncludeWorkerThreadsThatTerminatedDuringPhase() throws Exception {
+        PhaseMetrics metrics = new PhaseMetrics();
+        int tasks = 64;
+        int bytesPerTask = 1_000_000;
+        try (PhaseMetrics.Phase phase = metrics.start("parallel")) {
+            ForkJoinPool pool = new ForkJoinPool(4, metrics.threadFactory(), null, false);
+            pool.submit(() -> IntStream.range(0, tasks).parallel().forEach(i -> consume(new byte[bytesPerTask]))).join();
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(1, TimeUnit.MINUTES));
+        }
+        long allocatedBytes = metrics.phases().get(0).allocatedBytes();
+        assertTrue(allocatedBytes == -1 || allocatedBytes >= (long) tasks * bytesPerTask, Long.toString(allocatedBytes));
+    }
+
+    @Test
+    public void allocatedBytesShouldNotIncludeOtherThreads() throws Exception {
+        PhaseMetrics metrics = new PhaseMetrics();
+        int bytesPerArray = 1_000_000;
+        int arrays = 64;
+        try (PhaseMetrics.Phase phase = metrics.start("other thread")) {
+            Thread other = new Thread(() -> IntStream.range(0, arrays).forEach(i -> consume(new byte[bytesPerArray])));
+            other.start();
+            other.join();
+        }
+        long allocatedBytes = metrics.phases().get(0).allocatedBytes();
+        assertTrue(allocatedBytes < (long) arrays * bytesPerArray, Long.toString(allocatedBytes));
+    }
+
+    @Test
+    public void disabledMetricsShouldRecordNothing() throws Exception {
+        PhaseMetrics metrics = new PhaseMetrics(false);
+        metrics.start("analysis").close();
+        metrics.count("classes", 42);
+        metrics.countPackages(new StaxXmlReportParser().parse(ResourceUtils.getFile("classpath:jdepend-report.xml")));
+
+        assertTrue(metrics.phases().isEmpty());
+        assertTrue(metrics.counts().isEmpty());
+        assertEquals(ForkJoinPool.defaultForkJoinWorkerThreadFactory, metrics.threadFactory());
+    }
+
+    private static void consume(byte[] bytes) {
+        assertEquals(0, bytes[bytes.length - 1]);
+    }
+
+    @Test
+    public void countPackagesShouldCountClassesPackagesAndDependencies() throws Exception {
+        XmlReport xmlReport = new StaxXmlReportParser().parse(ResourceUtils.getFile("classpath:jdepend-report.xml"));
+        PhaseMetrics metrics = new PhaseMetrics();
+
+        metrics.countPackages(xmlReport);
+
+        long classes = xmlReport.packagesWithoutError().stream().mapToLong(p -> p.stats().totalClasses()).sum();
+        long dependencies = xmlReport.packagesWithoutError().stream().mapToLong(p -> p.dependsUpon().size()).sum();
+        assertEquals(Map.of("classes", classes, "packages", 50L, "dependencies", dependencies), metrics.counts());
+        assertEquals(List.of("classes", "packages", "dependencies"), List.copyOf(metrics.counts().keySet()));
+    }
+
+    @Test
+    public void writeShouldWritePhasesAndCountsAsJson(@TempDir Path tempDir) throws Exception {
+        PhaseMetrics metrics = new PhaseMetrics();
+        metrics.start("analysis").close();
+        metrics.start("rendering").close();
+        metrics.count("classes", 42);
+        File file = tempDir.resolve("target/jdepend-metrics.json").toFile();
+
+        metrics.write(file);
+
+        String json = Files.readString(file.toPath());
+        assertTrue(json.startsWith("{\"phases\":[{\"name\":\"analysis\",\"wallTimeNanos\":"), json);
+        assertTrue(json.contains("},{\"name\":\"rendering\",\"wallTimeNanos\":"), json);
+        assertTrue(json.endsWith("],\"counts\":{\"classes\":42}}"), json);
+        assertEquals(3, metrics.summary().size());
+    }
+}
@@ -0,0 +1,46 @@
+package com.reallifedeveloper.maven.jdepend;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+
+public class ReportPageTest {
+
+    private static final List<XmlPackage> PACKAGES = List.of(xmlPackage("com.example.a"), xmlPackage("com.example.a.b"),
+            xmlPackage("com.example.a.c"), xmlPackage("com.example.d"), xmlPackage("org"));
+
+    @Test
+    public void splitByPackageShouldGiveOnePagePerPackage() {
+        List<ReportPage> pages = ReportPage.split(PACKAGES, ReportPage.Split.PACKAGE, 0, 0, "report");
+        assertEquals(List.of("report-com.example.a.html", "report-com.example.a.b.html", "report-com.example.a.c.html",
+                "report-com.example.d.html", "report-org.html"), pages.stream().map(ReportPage::fileName).toList());
+        assertEquals(List.of(PACKAGES.get(1)), pages.get(1).packages());
+        assertEquals("com.example.a.b", pages.get(1).title());
+    }
+
+    @Test
+    public void splitByPrefixShouldGroupPackagesWithSamePrefix() {
+        List<ReportPage> pages = ReportPage.split(PACKAGES, ReportPage.Split.PREFIX, 3, 0, "report");
+        assertEquals(List.of("com.example.a", "com.example.d", "org"), pages.stream().map(ReportPage::title).toList());
+        assertEquals(PACKAGES.subList(0, 3), pages.get(0).packages());
+    }
+
+    @Test
+    public void splitShouldNotPutMoreThanMaxRowsOnAPage() {
+        List<ReportPage> pages = ReportPage.split(PACKAGES, ReportPage.Split.PREFIX, 1, 2, "report");
+        assertEquals(List.of("report-com-1.html", "report-com-2.html", "report-org.html"),
+                pages.stream().map(ReportPage::fileName).toList());
+        assertEquals(List.of("com (1/2)", "com (2/2)", "org"), pages.stream().map(ReportPage::title).toList());
+        assertEquals(PACKAGES.subList(2, 4), pages.get(1).packages());
+    }
+
+    private static XmlPackage xmlPackage(String name) {
+        XmlPackage xmlPackage = new XmlPackage();
+        xmlPackage.name(name);
+        return xmlPackage;
+    }
+}
@@ -0,0 +1,148 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class AnalysisCacheTest {
+
+    @Test
+    public void putShouldEvictLeastRecentlyUsedEntries() {
+        AnalysisCache cache = new AnalysisCache(5);
+        cache.put("a", classes(2));
+        cache.put("b", classes(2));
+        assertNotNull(cache.get("a"));
+
+        cache.put("c", classes(2));
+
+        assertNotNull(cache.get("a"));
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("c"));
+        assertEquals(2, cache.size());
+        assertEquals(4, cache.classCount());
+    }
+
+    @Test
+    public void putShouldNotAddEntryLargerThanCache() {
+        AnalysisCache cache = new AnalysisCache(3);
+        cache.put("a", classes(2));
+
+        cache.put("b", classes(4));
+
+        assertNull(cache.get("b"));
+        assertNotNull(cache.get("a"));
+    }
+
+    @Test
+    public void putShouldReplaceEntryWithSameKey() {
+        AnalysisCache cache = new AnalysisCache(10);
+        cache.put("a", classes(2));
+        cache.put("a", classes(3));
+
+        assertEquals(1, cache.size());
+        assertEquals(3, cache.classCount());
+    }
+
+    @Test
+    public void maxClassesShouldEvictEntriesWhenReduced() {
+        AnalysisCache cache = new AnalysisCache(10);
+        cache.put("a", classes(3));
+        cache.put("b", classes(3));
+
+        cache.maxClasses(4);
+
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.classCount());
+    }
+
+    @Test
+    public void cacheShouldStayWithinBoundsUnderConcurrentUse() throws Exception {
+        AnalysisCache cache = new AnalysisCache(100);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                String key = "key" + i % 50;
+                futures.add(executor.submit(() -> {
+                    if (cache.get(key) == null) {
+                        cache.put(key, classes(7));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(14, cache.size());
+        assertEquals(98, cache.classCount());
+    }
+
+    @Test
+    public void sharedShouldAlwaysGiveSameInstance() {
+        assertSame(AnalysisCache.shared(), AnalysisCache.shared());
+        assertSame(AnalysisCache.shared(), AnalysisCache.shared(1));
+        assertNull(AnalysisCache.shared(0));
+    }
+
+    @Test
+    public void sharedWithSmallerBoundShouldNotShrinkSharedCache() {
+        AnalysisCache cache = AnalysisCache.shared(2);
+        cache.put("sharedWithSmallerBoundShouldNotShrinkSharedCache", classes(2));
+        AnalysisCache.shared(1);
+        assertNotNull(cache.get("sharedWithSmallerBoundShouldNotShrinkSharedCache"));
+    }
+
+    @Test
+    public void directoryKeyShouldDependOnPathsAndContentOnly(@TempDir Path tempDir) throws Exception {
+        Path first = tempDir.resolve("first");
+        Path second = tempDir.resolve("second");
+        Path firstClassFile = Files.createDirectories(first.resolve("com/example")).resolve("Foo.class");
+        Path secondClassFile = Files.createDirectories(second.resolve("com/example")).resolve("Foo.class");
+        byte[] hash = ClassFileCache.hash(new byte[] { 1, 2, 3 });
+        String key = AnalysisCache.directoryKey(first, List.of(firstClassFile), List.of(hash));
+
+        assertEquals(key, AnalysisCache.directoryKey(second, List.of(secondClassFile), List.of(hash)));
+        byte[] otherHash = ClassFileCache.hash(new byte[] { 1, 2, 4 });
+        assertNotEquals(key, AnalysisCache.directoryKey(first, List.of(firstClassFile), List.of(otherHash)));
+        assertNotEquals(key, AnalysisCache.directoryKey(first, List.of(first.resolve("com/example/Bar.class")), List.of(hash)));
+        assertNotEquals(key, AnalysisCache.directoryKey(first, List.of(), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> AnalysisCache.directoryKey(first, List.of(firstClassFile), List.of()));
+    }
+
+    @Test
+    public void archiveKeyShouldDependOnContentOnly(@TempDir Path tempDir) throws Exception {
+        File first = Files.write(tempDir.resolve("first.jar"), new byte[] { 1, 2, 3 }).toFile();
+        File second = Files.write(tempDir.resolve("second.jar"), new byte[] { 1, 2, 3 }).toFile();
+        File third = Files.write(tempDir.resolve("third.jar"), new byte[] { 1, 2, 4 }).toFile();
+
+        assertEquals(AnalysisCache.archiveKey(first), AnalysisCache.archiveKey(second));
+        assertNotEquals(AnalysisCache.archiveKey(first), AnalysisCache.archiveKey(third));
+        assertEquals(AnalysisCache.archiveKey(first), AnalysisCache.archiveKey(ClassArchiveCache.checksum(first)));
+    }
+
+    private static List<ClassFileInfo> classes(int count) {
+        return IntStream.range(0, count).mapToObj(i -> new ClassFileInfo("com.example.C" + i, "com.example", "C" + i + ".java", false,
+                List.of("java.lang"))).toList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ClassArchiveCacheTest {
+
+    private static final String KEY = "com.example:foo:jar:1.0";
+    private static final List<ClassFileInfo> INFOS = List.of(new ClassFileInfo("foo.Bar", "foo", "Bar.java", true, List.of("baz")),
+            new ClassFileInfo("foo.Baz", "foo", "Baz.java", false, List.of()));
+    private static final byte[] CHECKSUM = ClassFileCache.hash("foo".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    public void savedCacheShouldBeLoadedWithSameKeyAndChecksum(@TempDir Path tempDir) throws Exception {
+        File file = tempDir.resolve("com/example/foo.jdepend").toFile();
+        ClassArchiveCache.save(file, KEY, CHECKSUM, INFOS);
+        assertEquals(INFOS, ClassArchiveCache.load(file, KEY, CHECKSUM));
+    }
+
+    @Test
+    public void loadShouldGiveNullForOtherKeyOrChecksum(@TempDir Path tempDir) throws Exception {
+        File file = tempDir.resolve("foo.jdepend").toFile();
+        ClassArchiveCache.save(file, KEY, CHECKSUM, INFOS);
+        assertNull(ClassArchiveCache.load(file, "com.example:foo:jar:1.1", CHECKSUM));
+        assertNull(ClassArchiveCache.load(file, KEY, ClassFileCache.hash("bar".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void loadShouldGiveNullForMissingOrCorruptFile(@TempDir Path tempDir) throws Exception {
+        File file = tempDir.resolve("foo.jdepend").toFile();
+        assertNull(ClassArchiveCache.load(file, KEY, CHECKSUM));
+        Files.write(file.toPath(), new byte[] { 1, 2, 3 });
+        assertNull(ClassArchiveCache.load(file, KEY, CHECKSUM));
+    }
+
+    @Test
+    public void checksumShouldBeHashOfContent(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("foo.jar");
+        byte[] content = new byte[100_000];
+        Arrays.fill(content, (byte) 42);
+        Files.write(file, content);
+        assertArrayEquals(ClassFileCache.hash(content), ClassArchiveCache.checksum(file.toFile()));
+        Files.write(file, new byte[] { 1 });
+        assertFalse(Arrays.equals(ClassFileCache.hash(content), ClassArchiveCache.checksum(file.toFile())));
+    }
+}
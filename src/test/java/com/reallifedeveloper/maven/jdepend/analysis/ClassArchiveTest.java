@@ -0,0 +1,117 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ClassArchiveTest {
+
+    private static final File CLASSES_DIRECTORY = new File("target/classes");
+
+    @Test
+    public void readClassFilesShouldGiveSameClassesAsClassesDirectory(@TempDir Path tempDir) throws Exception {
+        File jar = createJar(CLASSES_DIRECTORY.toPath(), tempDir.resolve("classes.jar"));
+
+        List<ClassFileInfo> classFileInfos = ClassArchive.readClassFiles(jar);
+
+        List<String> expectedClassNames = JDependAnalyzer.findClassFiles(CLASSES_DIRECTORY.toPath()).stream()
+                .map(p -> CLASSES_DIRECTORY.toPath().relativize(p).toString().replace(File.separatorChar, '/'))
+                .map(name -> name.substring(0, name.length() - ".class".length()).replace('/', '.')).sorted().toList();
+        assertEquals(expectedClassNames, classFileInfos.stream().map(ClassFileInfo::name).sorted().toList());
+    }
+
+    @Test
+    public void readClassFilesShouldIgnoreModuleInfoAndMetaInf(@TempDir Path tempDir) throws Exception {
+        File jar = tempDir.resolve("test.jar").toFile();
+        String entryName = "com/reallifedeveloper/maven/jdepend/JDependReport.class";
+        byte[] classFile = Files.readAllBytes(CLASSES_DIRECTORY.toPath().resolve(entryName));
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+            addEntry(out, entryName, classFile);
+            addEntry(out, "module-info.class", classFile);
+            addEntry(out, "META-INF/versions/17/" + entryName, classFile);
+            addEntry(out, "README.txt", new byte[0]);
+        }
+
+        List<ClassFileInfo> classFileInfos = ClassArchive.readClassFiles(jar);
+
+        List<String> classNames = classFileInfos.stream().map(ClassFileInfo::name).toList();
+        assertEquals(List.of("com.reallifedeveloper.maven.jdepend.JDependReport"), classNames);
+    }
+
+    @Test
+    public void readShouldUseCacheForUnchangedArchive(@TempDir Path tempDir) throws Exception {
+        File jar = createJar(CLASSES_DIRECTORY.toPath(), tempDir.resolve("classes.jar"));
+        File cacheFile = tempDir.resolve("cache/classes.jdepend").toFile();
+        ClassArchive archive = new ClassArchive(jar, "com.example:classes:jar:1.0", cacheFile);
+
+        List<ClassFileInfo> classFileInfos = archive.read();
+        assertTrue(cacheFile.isFile());
+        assertEquals(classFileInfos, ClassArchiveCache.load(cacheFile, archive.key(), ClassArchiveCache.checksum(jar)));
+        assertEquals(classFileInfos, archive.read());
+    }
+
+    @Test
+    public void readShouldNotUseCacheForChangedArchive(@TempDir Path tempDir) throws Exception {
+        File jar = createJar(CLASSES_DIRECTORY.toPath(), tempDir.resolve("classes.jar"));
+        File cacheFile = tempDir.resolve("classes.jdepend").toFile();
+        ClassArchive archive = new ClassArchive(jar, "com.example:classes:jar:1.0", cacheFile);
+        archive.read();
+
+        ClassFileInfo fakeClass = new ClassFileInfo("foo.Bar", "foo", "Bar.java", false, List.of());
+        ClassArchiveCache.save(cacheFile, archive.key(), ClassArchiveCache.checksum(jar), List.of(fakeClass));
+        assertEquals(List.of(fakeClass), archive.read());
+
+        createJar(Path.of("target/test-classes"), jar.toPath());
+        assertFalse(archive.read().contains(fakeClass));
+    }
+
+    @Test
+    public void readWithChecksumShouldUseGivenChecksumForCache(@TempDir Path tempDir) throws Exception {
+        File jar = createJar(CLASSES_DIRECTORY.toPath(), tempDir.resolve("classes.jar"));
+        File cacheFile = tempDir.resolve("classes.jdepend").toFile();
+        ClassArchive archive = new ClassArchive(jar, "com.example:classes:jar:1.0", cacheFile);
+        byte[] checksum = ClassArchiveCache.checksum(jar);
+
+        ClassFileInfo fakeClass = new ClassFileInfo("foo.Bar", "foo", "Bar.java", false, List.of());
+        ClassArchiveCache.save(cacheFile, archive.key(), checksum, List.of(fakeClass));
+        assertEquals(List.of(fakeClass), archive.read(checksum));
+        assertFalse(archive.read(new byte[] { 1, 2, 3 }).contains(fakeClass));
+    }
+
+    /**
+     * Creates a JAR file containing all class files in a directory.
+     *
+     * @param classesDirectory the directory containing the class files
+     * @param jar              the JAR file to create
+     *
+     * @return the JAR file
+     *
+     * @throws IOException if reading the class files or writing the JAR file fails
+     */
+    public static File createJar(Path classesDirectory, Path jar) throws IOException {
+        try (JarOutputStream out = new JarOutputStream(Files.newOutputStream(jar))) {
+            for (Path classFile : JDependAnalyzer.findClassFiles(classesDirectory)) {
+                String name = classesDirectory.relativize(classFile).toString().replace(File.separatorChar, '/');
+                addEntry(out, name, Files.readAllBytes(classFile));
+            }
+        }
+        return jar.toFile();
+    }
+
+    private static void addEntry(JarOutputStream out, String name, byte[] content) throws IOException {
+        out.putNextEntry(new ZipEntry(name));
+        out.write(content);
+        out.closeEntry();
+    }
+}
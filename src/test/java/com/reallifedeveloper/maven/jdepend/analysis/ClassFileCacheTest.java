@@ -0,0 +1,81 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ClassFileCacheTest {
+
+    private static final File ROOT = new File("target/classes");
+    private static final ClassFileInfo INFO = new ClassFileInfo("foo.Bar", "foo", "Bar.java", true, List.of("baz", "java.util"));
+    private static final byte[] HASH = ClassFileCache.hash("foo".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    public void getShouldFindEntryWithSameSizeAndLastModified() {
+        ClassFileCache cache = new ClassFileCache(ROOT);
+        cache.put("foo/Bar.class", 42, 4711, HASH, INFO);
+        assertEquals(INFO, cache.get("foo/Bar.class", 42, 4711));
+        assertNull(cache.get("foo/Bar.class", 42, 4712));
+        assertNull(cache.get("foo/Baz.class", 42, 4711));
+    }
+
+    @Test
+    public void getShouldFindEntryWithSameHash() {
+        ClassFileCache cache = new ClassFileCache(ROOT);
+        cache.put("foo/Bar.class", 42, 4711, HASH, INFO);
+        assertEquals(INFO, cache.get("foo/Bar.class", ClassFileCache.hash("foo".getBytes(StandardCharsets.UTF_8))));
+        assertNull(cache.get("foo/Bar.class", ClassFileCache.hash("bar".getBytes(StandardCharsets.UTF_8))));
+    }
+
+    @Test
+    public void savedCacheShouldBeLoadedWithSameEntries(@TempDir Path tempDir) throws Exception {
+        File file = tempDir.resolve("cache.bin").toFile();
+        ClassFileCache cache = new ClassFileCache(ROOT);
+        cache.put("foo/Bar.class", 42, 4711, HASH, INFO);
+        assertTrue(cache.isModified());
+        cache.save(file);
+        assertFalse(cache.isModified());
+
+        ClassFileCache loadedCache = ClassFileCache.load(file, ROOT);
+        assertEquals(1, loadedCache.size());
+        assertEquals(INFO, loadedCache.get("foo/Bar.class", HASH));
+    }
+
+    @Test
+    public void loadShouldGiveEmptyCacheForOtherRoot(@TempDir Path tempDir) throws Exception {
+        File file = tempDir.resolve("cache.bin").toFile();
+        ClassFileCache cache = new ClassFileCache(ROOT);
+        cache.put("foo/Bar.class", 42, 4711, HASH, INFO);
+        cache.save(file);
+        assertEquals(0, ClassFileCache.load(file, new File("target/test-classes")).size());
+    }
+
+    @Test
+    public void loadShouldGiveEmptyCacheForCorruptFile(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("cache.bin");
+        Files.writeString(file, "This is not a cache file");
+        assertEquals(0, ClassFileCache.load(file.toFile(), ROOT).size());
+        assertEquals(0, ClassFileCache.load(tempDir.resolve("no-such-file").toFile(), ROOT).size());
+    }
+
+    @Test
+    public void retainAllShouldRemoveOtherEntries() {
+        ClassFileCache cache = new ClassFileCache(ROOT);
+        cache.put("foo/Bar.class", 42, 4711, HASH, INFO);
+        cache.put("foo/Baz.class", 42, 4711, HASH, INFO);
+        cache.retainAll(Set.of("foo/Baz.class"));
+        assertEquals(1, cache.size());
+        assertNull(cache.get("foo/Bar.class", HASH));
+    }
+}
@@ -0,0 +1,66 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.reallifedeveloper.maven.jdepend.analysis.ClassGraph.ClassDependency;
+
+public class ClassGraphTest {
+
+    @Test
+    public void buildShouldGiveConsecutiveIdsToClassesInSamePackage() {
+        ClassGraph graph = new ClassGraph.Builder().addClass("a.b.Foo", List.of("a.b.c.Bar", "a.b.zed")).addClass("a.b.c.Bar", List.of())
+                .build();
+        assertEquals(3, graph.size());
+        assertEquals("a.b.Foo", graph.name(0));
+        assertEquals("a.b.zed", graph.name(1));
+        assertEquals("a.b.c.Bar", graph.name(2));
+        assertEquals(2, graph.id("a.b.c.Bar"));
+        assertEquals(-1, graph.id("a.b.Baz"));
+        assertTrue(graph.isAnalyzed(0));
+        assertFalse(graph.isAnalyzed(1));
+    }
+
+    @Test
+    public void buildShouldIgnoreSelfAndDuplicateDependencies() {
+        ClassGraph graph = new ClassGraph.Builder().addClass("p.A", List.of("p.A", "q.B", "q.B")).addClass("p.A", List.of("q.B", "q.C"))
+                .build();
+        int a = graph.id("p.A");
+        assertEquals(2, graph.efferentCount(a));
+        assertEquals(graph.id("q.B"), graph.efferent(a, 0));
+        assertEquals(graph.id("q.C"), graph.efferent(a, 1));
+        assertEquals(2, graph.dependencyCount());
+    }
+
+    @Test
+    public void dependenciesShouldGiveClassesResponsibleForPackageDependency() {
+        ClassGraph graph = new ClassGraph.Builder().addClass("p.A", List.of("q.B", "r.C")).addClass("p.D", List.of("q.E", "p.A"))
+                .addClass("q.B", List.of("p.A")).build();
+        assertEquals(List.of(new ClassDependency("p.A", "q.B"), new ClassDependency("p.D", "q.E")), graph.dependencies("p", "q"));
+        assertEquals(List.of(new ClassDependency("q.B", "p.A")), graph.dependencies("q", "p"));
+        assertEquals(List.of(), graph.dependencies("r", "p"));
+        assertEquals(List.of(), graph.dependencies("x", "p"));
+        assertEquals("p.A -> q.B", graph.dependencies("p", "q").get(0).toString());
+    }
+
+    @Test
+    public void packageOfShouldHandleDefaultPackage() {
+        assertEquals("", ClassGraph.packageOf("Foo"));
+        assertEquals("a.b", ClassGraph.packageOf("a.b.Foo$Bar"));
+    }
+
+    @Test
+    public void analyzeClassesShouldMatchPackageLevelAnalysis() throws Exception {
+        File classesDirectory = new File("target/classes");
+        ClassGraph graph = new JDependAnalyzer().threads(2).analyzeClasses(classesDirectory);
+        assertTrue(graph.isAnalyzed(graph.id(JDependAnalyzer.class.getName())));
+        assertFalse(graph.dependencies(JDependAnalyzer.class.getPackageName(), "com.reallifedeveloper.maven.jdepend.xml").isEmpty());
+        assertTrue(graph.dependencies("com.reallifedeveloper.maven.jdepend.xml", JDependAnalyzer.class.getPackageName()).isEmpty());
+    }
+}
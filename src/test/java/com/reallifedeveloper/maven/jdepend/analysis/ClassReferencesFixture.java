@@ -0,0 +1,33 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * A class used by {@link ClassReferencesTest}, that refers to some classes only through annotations and generic signatures, so that
+ * they never appear as class constants or in descriptors.
+ */
+@Tag("fixture")
+class ClassReferencesFixture extends ArrayList<LongAccumulator> {
+
+    private static final long serialVersionUID = 1L;
+
+    @SuppressFBWarnings("UUF_UNUSED_FIELD")
+    private transient List<LongAdder> adders;
+
+    @Timeout(value = 1, unit = TimeUnit.SECONDS)
+    List<DoubleAdder> values(@TempDir Path directory) {
+        return new ArrayList<>();
+    }
+}
@@ -0,0 +1,75 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ClassReferencesTest {
+
+    @Test
+    public void parseShouldFindReferencedClasses() throws Exception {
+        ClassReferences classReferences = parse(JDependAnalyzer.class);
+        assertEquals(JDependAnalyzer.class.getName(), classReferences.name());
+        List<String> referencedClasses = classReferences.referencedClasses();
+        assertTrue(referencedClasses.contains(ClassFileInfo.class.getName()));
+        assertTrue(referencedClasses.contains(ClassGraph.class.getName()));
+        assertTrue(referencedClasses.contains("jdepend.framework.ClassFileParser"));
+        assertTrue(referencedClasses.contains("java.util.concurrent.ForkJoinPool"));
+        assertFalse(referencedClasses.contains(JDependAnalyzer.class.getName()));
+        List<String> sorted = new ArrayList<>(referencedClasses);
+        sorted.sort(null);
+        assertEquals(sorted, referencedClasses);
+    }
+
+    @Test
+    public void parseShouldFindClassesInDescriptors() throws Exception {
+        // Only referenced in a method signature and a field type, never as a class constant
+        ClassReferences classReferences = parse(ClassGraph.ClassDependency.class);
+        assertTrue(classReferences.referencedClasses().contains("java.lang.String"));
+    }
+
+    @Test
+    public void parseShouldFindClassesInAnnotations() throws Exception {
+        List<String> referencedClasses = parse(ClassReferencesFixture.class).referencedClasses();
+        assertTrue(referencedClasses.contains("org.junit.jupiter.api.Tag"));
+        assertTrue(referencedClasses.contains("edu.umd.cs.findbugs.annotations.SuppressFBWarnings"));
+        assertTrue(referencedClasses.contains("org.junit.jupiter.api.Timeout"));
+        assertTrue(referencedClasses.contains("java.util.concurrent.TimeUnit"));
+        assertTrue(referencedClasses.contains("org.junit.jupiter.api.io.TempDir"));
+    }
+
+    @Test
+    public void parseShouldFindClassesInGenericSignatures() throws Exception {
+        List<String> referencedClasses = parse(ClassReferencesFixture.class).referencedClasses();
+        assertTrue(referencedClasses.contains("java.util.concurrent.atomic.LongAccumulator"));
+        assertTrue(referencedClasses.contains("java.util.concurrent.atomic.LongAdder"));
+        assertTrue(referencedClasses.contains("java.util.concurrent.atomic.DoubleAdder"));
+    }
+
+    @Test
+    public void parseShouldThrowIOExceptionForInvalidClassFile() throws Exception {
+        assertThrows(IOException.class, () -> ClassReferences.parse(new byte[] { 1, 2, 3, 4 }));
+        byte[] classFile = classFile(JDependAnalyzer.class);
+        assertThrows(IOException.class, () -> ClassReferences.parse(Arrays.copyOf(classFile, classFile.length / 2)));
+    }
+
+    private static ClassReferences parse(Class<?> clazz) throws IOException {
+        return ClassReferences.parse(classFile(clazz));
+    }
+
+    private static byte[] classFile(Class<?> clazz) throws IOException {
+        String classFile = clazz.getName().replace('.', '/') + ".class";
+        Path mainClassFile = Path.of("target/classes", classFile);
+        return Files.readAllBytes(Files.exists(mainClassFile) ? mainClassFile : Path.of("target/test-classes", classFile));
+    }
+}
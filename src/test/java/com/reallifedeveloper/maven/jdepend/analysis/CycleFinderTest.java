@@ -0,0 +1,55 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class CycleFinderTest {
+
+    private final PackageGraph graph = new PackageGraph.Builder().addDependency("a", "b").addDependency("b", "c")
+            .addDependency("c", "a").addDependency("b", "a").addDependency("x", "y").addDependency("y", "a").addDependency("z", "x")
+            .addDependency("q", "r").build();
+    private final CycleFinder cycleFinder = new CycleFinder(graph);
+
+    @Test
+    public void shortestCycleShouldBeFoundForPackagesInCycle() {
+        assertEquals(List.of("b", "a"), names(cycleFinder.shortestCycle(graph.id("a"))));
+        assertEquals(List.of("a", "b"), names(cycleFinder.shortestCycle(graph.id("b"))));
+        assertEquals(List.of("a", "b", "c"), names(cycleFinder.shortestCycle(graph.id("c"))));
+        assertEquals(List.of(), names(cycleFinder.shortestCycle(graph.id("x"))));
+    }
+
+    @Test
+    public void cycleShouldIncludePathToNearestCycle() {
+        assertEquals(List.of("b", "a"), names(cycleFinder.cycle(graph.id("a"))));
+        assertEquals(List.of("a", "b", "a"), names(cycleFinder.cycle(graph.id("y"))));
+        assertEquals(List.of("y", "a", "b", "a"), names(cycleFinder.cycle(graph.id("x"))));
+        assertEquals(List.of("x", "y", "a", "b", "a"), names(cycleFinder.cycle(graph.id("z"))));
+        assertEquals(List.of(), names(cycleFinder.cycle(graph.id("q"))));
+    }
+
+    @Test
+    public void reachesCycleShouldBeTrueForPackagesInOrDependingUponCycles() {
+        assertTrue(cycleFinder.reachesCycle(graph.id("c")));
+        assertTrue(cycleFinder.reachesCycle(graph.id("z")));
+        assertFalse(cycleFinder.reachesCycle(graph.id("q")));
+        assertFalse(cycleFinder.reachesCycle(graph.id("r")));
+    }
+
+    @Test
+    public void representativeCyclesShouldBeDistinctAndBounded() {
+        List<List<String>> cycles = cycleFinder.representativeCycles(10).stream().map(this::names).toList();
+        assertEquals(List.of(List.of("a", "b"), List.of("a", "b", "c")), cycles);
+        assertEquals(1, cycleFinder.representativeCycles(1).size());
+        assertTrue(cycleFinder.representativeCycles(0).isEmpty());
+    }
+
+    private List<String> names(int[] ids) {
+        return Arrays.stream(ids).mapToObj(graph::name).toList();
+    }
+}
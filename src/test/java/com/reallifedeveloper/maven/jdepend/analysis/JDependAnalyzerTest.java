@@ -0,0 +1,208 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReportParser;
+
+public class JDependAnalyzerTest {
+
+    private static final File CLASSES_DIRECTORY = new File("target/classes");
+
+    @Test
+    public void analyzeShouldGiveSameResultAsParsingXmlReportFromJDepend(@TempDir Path tempDir) throws Exception {
+        File xmlFile = tempDir.resolve("jdepend-report.xml").toFile();
+        jdepend.xmlui.JDepend.main(new String[] { "-file", xmlFile.getPath(), CLASSES_DIRECTORY.getPath() });
+        XmlReport expected = new XmlReportParser().parse(xmlFile);
+
+        XmlReport actual = new JDependAnalyzer().analyze(CLASSES_DIRECTORY);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void analyzeShouldFindPackagesOfThePlugin() throws Exception {
+        XmlReport xmlReport = new JDependAnalyzer().analyze(CLASSES_DIRECTORY);
+
+        XmlPackage xmlPackage = xmlReport.packagesWithoutError().stream()
+                .filter(p -> "com.reallifedeveloper.maven.jdepend.xml".equals(p.name())).findFirst().orElseThrow();
+        assertTrue(xmlPackage.stats().hasPackageInfo());
+        assertTrue(xmlPackage.concreteClasses().stream()
+                .anyMatch(c -> "com.reallifedeveloper.maven.jdepend.xml.XmlReport".equals(c.name())));
+        assertTrue(xmlPackage.concreteClasses().stream().noneMatch(c -> c.name().endsWith("package-info")));
+    }
+
+    @Test
+    public void analyzeShouldGiveSameResultRegardlessOfNumberOfThreads() throws Exception {
+        XmlReport serial = new JDependAnalyzer().threads(1).analyze(CLASSES_DIRECTORY);
+        assertEquals(serial, new JDependAnalyzer().threads(4).analyze(CLASSES_DIRECTORY));
+        assertEquals(serial, new JDependAnalyzer().analyze(CLASSES_DIRECTORY));
+    }
+
+    @Test
+    public void analyzeWithPackageFilterShouldLeaveOutRejectedPackages() throws Exception {
+        PackagePatternFilter filter = PackagePatternFilter.of(List.of("com.reallifedeveloper.**"), List.of("**.format"));
+        XmlReport xmlReport = new JDependAnalyzer().packageFilter(filter).analyze(CLASSES_DIRECTORY);
+
+        List<String> packageNames = xmlReport.packages().stream().map(XmlPackage::name).toList();
+        assertTrue(packageNames.contains("com.reallifedeveloper.maven.jdepend.xml"));
+        assertFalse(packageNames.contains("com.reallifedeveloper.maven.jdepend.format"));
+        assertFalse(packageNames.contains("java.lang"));
+        assertTrue(xmlReport.packages().stream().noneMatch(p -> p.dependsUpon().contains("com.reallifedeveloper.maven.jdepend.format")));
+    }
+
+    @Test
+    public void analyzeClassesWithPackageFilterShouldNotReadRejectedClasses() throws Exception {
+        PackagePatternFilter filter = PackagePatternFilter.of(List.of(), List.of("**.format"));
+        ClassGraph classGraph = new JDependAnalyzer().packageFilter(filter).analyzeClasses(CLASSES_DIRECTORY);
+
+        assertTrue(classGraph.id("com.reallifedeveloper.maven.jdepend.xml.XmlReport") >= 0);
+        int excluded = classGraph.id("com.reallifedeveloper.maven.jdepend.format.JsonReportWriter");
+        assertTrue(excluded < 0 || !classGraph.isAnalyzed(excluded));
+    }
+
+    @Test
+    public void effectiveThreadsShouldDefaultToAvailableProcessors() {
+        assertEquals(Runtime.getRuntime().availableProcessors(), new JDependAnalyzer().effectiveThreads());
+        assertEquals(3, new JDependAnalyzer().threads(3).effectiveThreads());
+    }
+
+    @Test
+    public void analyzeWithCacheShouldGiveSameResultAndHandleDeletedClasses(@TempDir Path tempDir) throws Exception {
+        Path classesDirectory = copyClasses(tempDir.resolve("classes"));
+        File cacheFile = tempDir.resolve("jdepend-cache.bin").toFile();
+        JDependAnalyzer analyzer = new JDependAnalyzer().cacheFile(cacheFile);
+        XmlReport expected = new JDependAnalyzer().analyze(classesDirectory.toFile());
+
+        assertEquals(expected, analyzer.analyze(classesDirectory.toFile()));
+        assertTrue(cacheFile.isFile());
+        assertEquals(expected, analyzer.analyze(classesDirectory.toFile()));
+
+        Files.delete(classesDirectory.resolve("com/reallifedeveloper/maven/jdepend/xml/XmlReportWriter.class"));
+        XmlReport xmlReport = analyzer.analyze(classesDirectory.toFile());
+        assertFalse(xmlReport.packagesWithoutError().stream().flatMap(p -> p.concreteClasses().stream())
+                .anyMatch(c -> "com.reallifedeveloper.maven.jdepend.xml.XmlReportWriter".equals(c.name())));
+    }
+
+    @Test
+    public void analyzeWithArchivesShouldGiveSameResultAsClassesDirectory(@TempDir Path tempDir) throws Exception {
+        XmlReport expected = new JDependAnalyzer().analyze(CLASSES_DIRECTORY);
+        Path emptyDirectory = Files.createDirectories(tempDir.resolve("empty"));
+        File jar = ClassArchiveTest.createJar(CLASSES_DIRECTORY.toPath(), tempDir.resolve("classes.jar"));
+        ClassArchive archive = new ClassArchive(jar, "com.example:classes:jar:1.0", null);
+
+        assertEquals(expected, new JDependAnalyzer().archives(List.of(archive)).analyze(emptyDirectory.toFile()));
+        assertEquals(expected, new JDependAnalyzer().archives(List.of(archive, archive)).analyze(CLASSES_DIRECTORY));
+    }
+
+    @Test
+    public void analyzeWithAnalysisCacheShouldReuseClassesDirectoryAndArchives(@TempDir Path tempDir) throws Exception {
+        Path classesDirectory = copyClasses(tempDir.resolve("classes"));
+        File jar = ClassArchiveTest.createJar(Path.of("target/test-classes"), tempDir.resolve("test-classes.jar"));
+        List<ClassArchive> archives = List.of(new ClassArchive(jar, "com.example:test-classes:jar:1.0", null));
+        AnalysisCache analysisCache = new AnalysisCache(AnalysisCache.DEFAULT_MAX_CLASSES);
+        XmlReport expected = new JDependAnalyzer().archives(archives).analyze(classesDirectory.toFile());
+
+        assertEquals(expected, new JDependAnalyzer().archives(archives).analysisCache(analysisCache).analyze(classesDirectory.toFile()));
+        assertEquals(2, analysisCache.size());
+        assertEquals(expected, new JDependAnalyzer().archives(archives).analysisCache(analysisCache).analyze(classesDirectory.toFile()));
+        assertEquals(2, analysisCache.size());
+
+        Files.delete(classesDirectory.resolve("com/reallifedeveloper/maven/jdepend/xml/XmlReportWriter.class"));
+        XmlReport xmlReport = new JDependAnalyzer().archives(archives).analysisCache(analysisCache).analyze(classesDirectory.toFile());
+        assertEquals(new JDependAnalyzer().archives(archives).analyze(classesDirectory.toFile()), xmlReport);
+        assertEquals(3, analysisCache.size());
+    }
+
+    @Test
+    public void analyzeWithClassRootsShouldCombineRootsAndGiveRootsOfEachPackage(@TempDir Path tempDir) throws Exception {
+        File testClasses = new File("target/test-classes");
+        File cacheFile = tempDir.resolve("jdepend-cache.bin").toFile();
+        List<ClassRoot> classRoots = List.of(new ClassRoot("main", CLASSES_DIRECTORY), new ClassRoot("test", testClasses));
+        AnalysisResult analysisResult = new JDependAnalyzer().cacheFile(cacheFile).analyze(classRoots);
+
+        assertEquals(List.of("main", "test"), analysisResult.packageRoots().get("com.reallifedeveloper.maven.jdepend.analysis"));
+        assertFalse(analysisResult.packageRoots().containsKey("java.util"));
+        assertTrue(cacheFile.isFile());
+        assertTrue(tempDir.resolve("jdepend-cache-test.bin").toFile().isFile());
+
+        // As on a class path, the test classes are combined with the main classes in the same way as an archive would be.
+        File jar = ClassArchiveTest.createJar(testClasses.toPath(), tempDir.resolve("test-classes.jar"));
+        List<ClassArchive> archives = List.of(new ClassArchive(jar, "com.example:test-classes:jar:1.0", null));
+        assertEquals(new JDependAnalyzer().archives(archives).analyze(CLASSES_DIRECTORY), analysisResult.xmlReport());
+        AnalysisResult singleThreadedResult = new JDependAnalyzer().threads(1).analyze(classRoots);
+        assertEquals(analysisResult.xmlReport(), singleThreadedResult.xmlReport());
+        assertEquals(analysisResult.packageRoots(), singleThreadedResult.packageRoots());
+    }
+
+    @Test
+    public void analyzeWithClassRootsShouldGivePackageGraphOfXmlReport() throws Exception {
+        AnalysisResult analysisResult = new JDependAnalyzer().analyze(List.of(new ClassRoot("main", CLASSES_DIRECTORY)));
+        PackageGraph packageGraph = analysisResult.packageGraph();
+        PackageGraph expected = PackageGraph.of(analysisResult.xmlReport());
+        assertEquals(expected.size(), packageGraph.size());
+        assertEquals(expected.dependencyCount(), packageGraph.dependencyCount());
+        for (int id = 0; id < packageGraph.size(); id++) {
+            assertEquals(expected.name(id), packageGraph.name(id));
+            assertEquals(expected.efferentCount(id), packageGraph.efferentCount(id));
+        }
+    }
+
+    @Test
+    public void analyzeWithClassLevelShouldGiveClassGraphOfClassRootsAndArchives(@TempDir Path tempDir) throws Exception {
+        File jar = ClassArchiveTest.createJar(new File("target/test-classes").toPath(), tempDir.resolve("test-classes.jar"));
+        List<ClassArchive> archives = List.of(new ClassArchive(jar, "com.example:test-classes:jar:1.0", null));
+        List<ClassRoot> classRoots = List.of(new ClassRoot("main", CLASSES_DIRECTORY));
+        File cacheFile = tempDir.resolve("jdepend-cache.bin").toFile();
+        AnalysisCache analysisCache = new AnalysisCache(AnalysisCache.DEFAULT_MAX_CLASSES);
+        JDependAnalyzer analyzer = new JDependAnalyzer().archives(archives).cacheFile(cacheFile).analysisCache(analysisCache);
+
+        AnalysisResult analysisResult = analyzer.classLevel(true).analyze(classRoots);
+
+        ClassGraph classGraph = analysisResult.classGraph();
+        assertNotNull(classGraph);
+        String analyzerClass = JDependAnalyzer.class.getName();
+        String testClass = JDependAnalyzerTest.class.getName();
+        assertTrue(classGraph.isAnalyzed(classGraph.id(analyzerClass)));
+        assertTrue(classGraph.isAnalyzed(classGraph.id(testClass)));
+        String analysisPackage = JDependAnalyzer.class.getPackageName();
+        assertTrue(classGraph.dependencies(analysisPackage, analysisPackage).contains(new ClassGraph.ClassDependency(testClass,
+                analyzerClass)));
+        // Cached class file information and the analysis cache must give the same class graph
+        ClassGraph cachedClassGraph = analyzer.analyze(classRoots).classGraph();
+        assertNotNull(cachedClassGraph);
+        assertEquals(classGraph.dependencyCount(), cachedClassGraph.dependencyCount());
+        assertEquals(classGraph.dependencyCount(), new JDependAnalyzer().archives(archives).analyzeClasses(classRoots).dependencyCount());
+        assertEquals(analysisResult.xmlReport(), new JDependAnalyzer().archives(archives).analyze(classRoots).xmlReport());
+        assertNull(new JDependAnalyzer().analyze(classRoots).classGraph());
+    }
+
+    private static Path copyClasses(Path target) throws Exception {
+        Path source = CLASSES_DIRECTORY.toPath();
+        try (Stream<Path> paths = Files.walk(source)) {
+            for (Path path : paths.toList()) {
+                Path copy = target.resolve(source.relativize(path).toString());
+                if (Files.isDirectory(path)) {
+                    Files.createDirectories(copy);
+                } else {
+                    Files.copy(path, copy);
+                }
+            }
+        }
+        return target;
+    }
+}
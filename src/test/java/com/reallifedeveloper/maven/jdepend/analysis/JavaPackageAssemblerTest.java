@@ -0,0 +1,36 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jdepend.framework.PackageFilter;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+
+public class JavaPackageAssemblerTest {
+
+    @Test
+    public void assemblerShouldCreatePackagesFromClasses() {
+        JavaPackageAssembler assembler = new JavaPackageAssembler(new PackageFilter(List.of("java.*")));
+        assembler.add(new ClassFileInfo("foo.A", "foo", "A.java", false, List.of("bar", "foo", "java.util")));
+        assembler.add(new ClassFileInfo("foo.B", "foo", "B.java", true, List.of("bar")));
+        assembler.add(new ClassFileInfo("foo.package-info", "foo", "package-info.java", true, List.of()));
+        assembler.add(new ClassFileInfo("java.util.List", "java.util", "List.java", true, List.of()));
+
+        XmlReport xmlReport = assembler.toXmlReport();
+
+        assertEquals(List.of("bar", "foo"), xmlReport.packages().stream().map(XmlPackage::name).toList());
+        XmlPackage foo = xmlReport.packages().get(1);
+        assertEquals(1, foo.abstractClasses().size());
+        assertEquals(1, foo.concreteClasses().size());
+        assertEquals(List.of("bar"), foo.dependsUpon());
+        assertTrue(foo.stats().hasPackageInfo());
+        assertEquals(XmlReportBuilder.NOT_ANALYZED_ERROR, xmlReport.packages().get(0).error());
+        assertTrue(xmlReport.cycles().isEmpty());
+    }
+}
@@ -0,0 +1,149 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jdepend.framework.PackageFilter;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
+
+public class PackageGraphTest {
+
+    @Test
+    public void builderShouldCreateSortedPackagesAndDependencies() {
+        PackageGraph graph = new PackageGraph.Builder().addAnalyzedPackage("c", 1, 2, 1, true).addDependency("c", "a")
+                .addDependency("c", "b").addDependency("c", "a").addDependency("c", "c").addDependency("b", "a").addPackage("d").build();
+
+        assertEquals(4, graph.size());
+        assertEquals(List.of("a", "b", "c", "d"), names(graph));
+        assertEquals(3, graph.dependencyCount());
+        int a = graph.id("a");
+        int b = graph.id("b");
+        int c = graph.id("c");
+        assertEquals(-1, graph.id("e"));
+        assertEquals(List.of(a, b), efferents(graph, c));
+        assertEquals(List.of(b, c), afferents(graph, a));
+        assertEquals(List.of(), efferents(graph, a));
+        assertTrue(graph.isAnalyzed(c));
+        assertFalse(graph.isAnalyzed(a));
+        assertTrue(graph.hasPackageInfo(c));
+        assertEquals(3, graph.totalClasses(c));
+        assertEquals(1.0 / 3, graph.abstractness(c));
+        assertEquals(1.0, graph.instability(c));
+        assertEquals(1.0 / 3, graph.distance(c), 1e-9);
+    }
+
+    @Test
+    public void ofShouldGiveSameMetricsAsXmlReport() throws Exception {
+        XmlReport xmlReport = new JDependAnalyzer().analyze(new File("target/classes"));
+
+        PackageGraph graph = PackageGraph.of(xmlReport);
+
+        assertEquals(xmlReport.packages().stream().map(XmlPackage::name).toList(), names(graph));
+        for (XmlPackage xmlPackage : xmlReport.packagesWithoutError()) {
+            int id = graph.id(xmlPackage.name());
+            XmlStats stats = xmlPackage.stats();
+            assertTrue(graph.isAnalyzed(id));
+            assertEquals(stats.totalClasses(), graph.totalClasses(id));
+            assertEquals(stats.abstractClasses(), graph.abstractClasses(id));
+            assertEquals(stats.afferentCouplings(), graph.afferentCount(id));
+            assertEquals(stats.efferentCouplings(), graph.efferentCount(id));
+            assertEquals(stats.abstractness(), XmlReportBuilder.round(graph.abstractness(id)));
+            assertEquals(stats.instability(), XmlReportBuilder.round(graph.instability(id)));
+            assertEquals(stats.distance(), XmlReportBuilder.round(graph.distance(id)));
+            assertEquals(stats.hasPackageInfo(), graph.hasPackageInfo(id));
+            assertEquals(xmlPackage.dependsUpon(), efferents(graph, id).stream().map(graph::name).toList());
+            assertEquals(xmlPackage.usedBy(), afferents(graph, id).stream().map(graph::name).toList());
+        }
+        for (XmlPackage xmlPackage : xmlReport.packagesWithError()) {
+            assertFalse(graph.isAnalyzed(graph.id(xmlPackage.name())));
+        }
+    }
+
+    @Test
+    public void assemblerShouldCreateSameGraphAsXmlReport() {
+        JavaPackageAssembler assembler = new JavaPackageAssembler(new PackageFilter(List.of()));
+        assembler.add(new ClassFileInfo("foo.A", "foo", "A.java", false, List.of("bar", "baz")));
+        assembler.add(new ClassFileInfo("foo.B", "foo", "B.java", true, List.of("bar")));
+        assembler.add(new ClassFileInfo("foo.package-info", "foo", "package-info.java", true, List.of()));
+        assembler.add(new ClassFileInfo("bar.C", "bar", "C.java", false, List.of("foo")));
+
+        PackageGraph graph = assembler.toPackageGraph();
+        PackageGraph expected = PackageGraph.of(assembler.toXmlReport());
+
+        assertEquals(names(expected), names(graph));
+        for (int id = 0; id < graph.size(); id++) {
+            assertEquals(efferents(expected, id), efferents(graph, id));
+            assertEquals(afferents(expected, id), afferents(graph, id));
+            assertEquals(expected.isAnalyzed(id), graph.isAnalyzed(id));
+            assertEquals(expected.abstractClasses(id), graph.abstractClasses(id));
+            assertEquals(expected.concreteClasses(id), graph.concreteClasses(id));
+            assertEquals(expected.hasPackageInfo(id), graph.hasPackageInfo(id));
+        }
+    }
+
+    @Test
+    public void collapseShouldMergePackagesWithSamePrefix() {
+        PackageGraph graph = new PackageGraph.Builder().addAnalyzedPackage("com.example.a", 1, 1, 1, false)
+                .addAnalyzedPackage("com.example.b.impl", 0, 3, 2, true).addAnalyzedPackage("com.other", 2, 0, 1, false)
+                .addDependency("com.example.a", "com.example.b.impl").addDependency("com.example.a", "com.other")
+                .addDependency("com.example.b.impl", "com.other").addDependency("com.other", "java.util").build();
+
+        PackageGraph collapsed = graph.collapse(2);
+
+        assertEquals(List.of("com.example", "com.other", "java.util"), names(collapsed));
+        int example = collapsed.id("com.example");
+        int other = collapsed.id("com.other");
+        assertEquals(List.of(other), efferents(collapsed, example));
+        assertEquals(5, collapsed.totalClasses(example));
+        assertEquals(1, collapsed.abstractClasses(example));
+        assertEquals(2, collapsed.volatility(example));
+        assertTrue(collapsed.hasPackageInfo(example));
+        assertTrue(collapsed.isAnalyzed(other));
+        assertFalse(collapsed.isAnalyzed(collapsed.id("java.util")));
+        assertSame(graph, graph.collapse(0));
+    }
+
+    @Test
+    public void prefixShouldGiveLeadingPartsOfPackageName() {
+        assertEquals("com", PackageGraph.prefix("com.example.foo", 1));
+        assertEquals("com.example", PackageGraph.prefix("com.example.foo", 2));
+        assertEquals("com.example.foo", PackageGraph.prefix("com.example.foo", 3));
+        assertEquals("com.example.foo", PackageGraph.prefix("com.example.foo", 4));
+        assertEquals("", PackageGraph.prefix("", 2));
+    }
+
+    private static List<String> names(PackageGraph graph) {
+        List<String> names = new ArrayList<>();
+        for (int id = 0; id < graph.size(); id++) {
+            names.add(graph.name(id));
+        }
+        return names;
+    }
+
+    private static List<Integer> efferents(PackageGraph graph, int id) {
+        List<Integer> efferents = new ArrayList<>();
+        for (int i = 0; i < graph.efferentCount(id); i++) {
+            efferents.add(graph.efferent(id, i));
+        }
+        return efferents;
+    }
+
+    private static List<Integer> afferents(PackageGraph graph, int id) {
+        List<Integer> afferents = new ArrayList<>();
+        for (int i = 0; i < graph.afferentCount(id); i++) {
+            afferents.add(graph.afferent(id, i));
+        }
+        return afferents;
+    }
+}
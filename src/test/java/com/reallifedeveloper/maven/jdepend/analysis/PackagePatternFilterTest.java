@@ -0,0 +1,59 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class PackagePatternFilterTest {
+
+    private final PackagePatternFilter filter = PackagePatternFilter.of(List.of("com.example.**"),
+            List.of("**.generated.**", "com.example.*.proto"));
+
+    @Test
+    public void acceptShouldUseIncludeAndExcludePatterns() {
+        assertTrue(filter.accept("com.example"));
+        assertTrue(filter.accept("com.example.foo"));
+        assertTrue(filter.accept("com.example.foo.bar.proto"));
+        assertFalse(filter.accept("com"));
+        assertFalse(filter.accept("org.example"));
+        assertFalse(filter.accept("com.example.generated"));
+        assertFalse(filter.accept("com.example.foo.generated.bar"));
+        assertFalse(filter.accept("com.example.foo.proto"));
+    }
+
+    @Test
+    public void acceptsAnyBelowShouldOnlyBeFalseIfWholeSubtreeIsRejected() {
+        assertTrue(filter.acceptsAnyBelow("com"));
+        assertTrue(filter.acceptsAnyBelow("com.example.foo.proto"));
+        assertFalse(filter.acceptsAnyBelow("org"));
+        assertFalse(filter.acceptsAnyBelow("com.example.generated"));
+    }
+
+    @Test
+    public void singlePartWildcardShouldMatchExactlyOnePart() {
+        PackagePatternFilter onePart = PackagePatternFilter.of(List.of("com.*.api"), List.of());
+        assertTrue(onePart.accept("com.foo.api"));
+        assertFalse(onePart.accept("com.api"));
+        assertFalse(onePart.accept("com.foo.bar.api"));
+        assertFalse(onePart.acceptsAnyBelow("com.foo.api.impl"));
+    }
+
+    @Test
+    public void noPatternsShouldAcceptAllPackages() {
+        PackagePatternFilter acceptAll = PackagePatternFilter.of(List.of(), List.of());
+        assertSame(PackagePatternFilter.ACCEPT_ALL, acceptAll);
+        assertTrue(acceptAll.acceptsAll());
+        assertTrue(acceptAll.accept("anything.at.all"));
+    }
+
+    @Test
+    public void ofShouldRejectEmptyPatterns() {
+        assertThrows(IllegalArgumentException.class, () -> PackagePatternFilter.of(List.of(" "), List.of()));
+        assertThrows(IllegalArgumentException.class, () -> PackagePatternFilter.of(List.of(), List.of("com..example")));
+    }
+}
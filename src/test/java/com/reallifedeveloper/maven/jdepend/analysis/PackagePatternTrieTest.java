@@ -0,0 +1,51 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.BitSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class PackagePatternTrieTest {
+
+    private final PackagePatternTrie trie = PackagePatternTrie.of(List.of("com.example.**", "**.domain.**", "com.*.domain", "com.example"));
+
+    @Test
+    public void matchesShouldGiveIdsOfAllMatchingPatterns() {
+        assertEquals(bits(0, 3), trie.matches("com.example"));
+        assertEquals(bits(0, 1, 2), trie.matches("com.example.domain"));
+        assertEquals(bits(1), trie.matches("org.domain.model"));
+        assertEquals(bits(), trie.matches("org.example"));
+    }
+
+    @Test
+    public void matchesAnyShouldBeTrueIfAnyPatternMatches() {
+        assertTrue(trie.matchesAny("com.example.foo"));
+        assertFalse(trie.matchesAny("com"));
+    }
+
+    @Test
+    public void subtreeQueriesShouldConsiderPackagesBelow() {
+        assertTrue(trie.canMatchBelow("com"));
+        assertFalse(trie.matchesAllBelow("com"));
+        assertTrue(trie.matchesAllBelow("com.example"));
+        assertTrue(trie.canMatchBelow("org"));
+        assertFalse(PackagePatternTrie.of(List.of("com.example")).canMatchBelow("org"));
+    }
+
+    @Test
+    public void sizeShouldBeNumberOfPatterns() {
+        assertEquals(4, trie.size());
+    }
+
+    private static BitSet bits(int... ids) {
+        BitSet bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,66 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.reallifedeveloper.maven.jdepend.xml.StaxXmlReportParser;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+
+public class StreamingAnalyzerTest {
+
+    private static final File CLASSES_DIRECTORY = new File("target/classes");
+
+    @Test
+    public void analyzeShouldWriteSameXmlReportAsJDependAnalyzer(@TempDir Path tempDir) throws Exception {
+        XmlReport expected = new JDependAnalyzer().analyze(CLASSES_DIRECTORY);
+        File xmlFile = tempDir.resolve("jdepend-report.xml").toFile();
+
+        new StreamingAnalyzer().threads(2).analyze(CLASSES_DIRECTORY, xmlFile);
+
+        assertEquals(expected, new StaxXmlReportParser().parse(xmlFile));
+    }
+
+    @Test
+    public void analyzeShouldReturnReportWithoutClasses(@TempDir Path tempDir) throws Exception {
+        XmlReport expected = new JDependAnalyzer().analyze(CLASSES_DIRECTORY);
+        for (XmlPackage xmlPackage : expected.packages()) {
+            xmlPackage.abstractClasses().clear();
+            xmlPackage.concreteClasses().clear();
+        }
+
+        XmlReport actual = new StreamingAnalyzer().analyze(CLASSES_DIRECTORY, tempDir.resolve("jdepend-report.xml").toFile());
+
+        assertEquals(expected.packages(), actual.packages());
+        assertEquals(expected.cycles(), actual.cycles());
+    }
+
+    @Test
+    public void analyzeWithPackageFilterShouldGiveSameResultAsJDependAnalyzer(@TempDir Path tempDir) throws Exception {
+        PackagePatternFilter filter = PackagePatternFilter.of(List.of("com.reallifedeveloper.**"), List.of("**.format"));
+        XmlReport expected = new JDependAnalyzer().packageFilter(filter).analyze(CLASSES_DIRECTORY);
+        File xmlFile = tempDir.resolve("jdepend-report.xml").toFile();
+
+        new StreamingAnalyzer().packageFilter(filter).analyze(CLASSES_DIRECTORY, xmlFile);
+
+        XmlReport actual = new StaxXmlReportParser().parse(xmlFile);
+        assertEquals(expected, actual);
+        List<String> packageNames = actual.packages().stream().map(XmlPackage::name).toList();
+        assertTrue(packageNames.contains("com.reallifedeveloper.maven.jdepend.xml"));
+        assertFalse(packageNames.contains("com.reallifedeveloper.maven.jdepend.format"));
+    }
+
+    @Test
+    public void effectiveThreadsShouldDefaultToAvailableProcessors() {
+        assertEquals(Runtime.getRuntime().availableProcessors(), new StreamingAnalyzer().effectiveThreads());
+        assertEquals(3, new StreamingAnalyzer().threads(3).effectiveThreads());
+    }
+}
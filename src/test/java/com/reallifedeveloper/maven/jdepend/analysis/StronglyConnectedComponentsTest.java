@@ -0,0 +1,56 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class StronglyConnectedComponentsTest {
+
+    @Test
+    public void componentsShouldBeFoundAndNumberedInReverseTopologicalOrder() {
+        PackageGraph graph = new PackageGraph.Builder().addDependency("a", "b").addDependency("b", "c").addDependency("c", "a")
+                .addDependency("c", "d").addDependency("d", "e").addDependency("e", "d").addDependency("f", "a").build();
+
+        StronglyConnectedComponents components = StronglyConnectedComponents.of(graph);
+
+        assertEquals(3, components.componentCount());
+        int abc = components.component(graph.id("a"));
+        int de = components.component(graph.id("d"));
+        int f = components.component(graph.id("f"));
+        assertEquals(abc, components.component(graph.id("b")));
+        assertEquals(abc, components.component(graph.id("c")));
+        assertEquals(de, components.component(graph.id("e")));
+        assertNotEquals(abc, de);
+        assertTrue(de < abc);
+        assertTrue(abc < f);
+        assertArrayEquals(new int[] { graph.id("a"), graph.id("b"), graph.id("c") }, components.members(abc));
+        assertEquals(3, components.tangleSize(graph.id("b")));
+        assertEquals(1, components.tangleSize(graph.id("f")));
+        assertTrue(components.isInCycle(graph.id("e")));
+        assertFalse(components.isInCycle(graph.id("f")));
+    }
+
+    @Test
+    public void deepTangleShouldNotOverflowStack() {
+        int size = 200_000;
+        PackageGraph.Builder builder = new PackageGraph.Builder();
+        for (int i = 0; i < size; i++) {
+            builder.addDependency("p" + i, "p" + (i + 1) % size);
+        }
+        PackageGraph graph = builder.build();
+
+        StronglyConnectedComponents components = StronglyConnectedComponents.of(graph);
+
+        assertEquals(1, components.componentCount());
+        assertEquals(size, components.tangleSize(0));
+    }
+
+    @Test
+    public void emptyGraphShouldHaveNoComponents() {
+        assertEquals(0, StronglyConnectedComponents.of(new PackageGraph.Builder().build()).componentCount());
+    }
+}
@@ -0,0 +1,79 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jdepend.framework.JavaClass;
+import jdepend.framework.JavaPackage;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
+
+public class XmlReportBuilderTest {
+
+    @Test
+    public void buildShouldCreateSortedPackagesWithStatsAndCycles() {
+        JavaPackage p1 = createPackage("foo.p1", "foo.p1.B", "foo.p1.A");
+        JavaPackage p2 = createPackage("foo.p2", "foo.p2.C");
+        JavaPackage external = new JavaPackage("bar.external");
+        p1.dependsUpon(p2);
+        p1.dependsUpon(external);
+        p2.dependsUpon(p1);
+
+        XmlReport xmlReport = XmlReportBuilder.build(List.of(p2, external, p1), "foo.p1"::equals);
+
+        assertEquals(List.of("bar.external", "foo.p1", "foo.p2"), xmlReport.packages().stream().map(XmlPackage::name).toList());
+        assertEquals(XmlReportBuilder.NOT_ANALYZED_ERROR, xmlReport.packages().get(0).error());
+        XmlPackage xmlPackage = xmlReport.packages().get(1);
+        assertEquals(List.of("foo.p1.A", "foo.p1.B"), xmlPackage.concreteClasses().stream().map(c -> c.name()).toList());
+        assertEquals(List.of("bar.external", "foo.p2"), xmlPackage.dependsUpon());
+        assertEquals(List.of("foo.p2"), xmlPackage.usedBy());
+        assertTrue(xmlPackage.stats().hasPackageInfo());
+        assertEquals(2, xmlPackage.stats().efferentCouplings());
+        assertEquals(1, xmlPackage.stats().afferentCouplings());
+        assertEquals(0.67, xmlPackage.stats().instability());
+        assertEquals(List.of("foo.p1", "foo.p2"), xmlReport.cycles().stream().map(c -> c.name()).toList());
+        assertEquals(List.of("foo.p2", "foo.p1"), xmlReport.cycles().get(0).packagesInCycle());
+    }
+
+    @Test
+    public void createStatsShouldCalculateDerivedMetrics() {
+        XmlStats stats = XmlReportBuilder.createStats(1, 3, 2, 8, 1, true);
+        assertEquals(4, stats.totalClasses());
+        assertEquals(0.25, stats.abstractness());
+        assertEquals(0.8, stats.instability());
+        assertEquals(0.05, stats.distance());
+    }
+
+    @Test
+    public void createStatsShouldHandleEmptyPackage() {
+        XmlStats stats = XmlReportBuilder.createStats(0, 0, 0, 0, 1, false);
+        assertEquals(0, stats.abstractness());
+        assertEquals(0, stats.instability());
+        assertEquals(1, stats.distance());
+    }
+
+    @Test
+    public void isPackageInfoShouldOnlyAcceptPackageInfoClasses() {
+        assertTrue(XmlReportBuilder.isPackageInfo("foo.bar.package-info"));
+        assertTrue(XmlReportBuilder.isPackageInfo("package-info"));
+        assertFalse(XmlReportBuilder.isPackageInfo("foo.bar.Mypackage-info"));
+        assertFalse(XmlReportBuilder.isPackageInfo("foo.bar.Foo"));
+    }
+
+    private static JavaPackage createPackage(String name, String... classNames) {
+        JavaPackage javaPackage = new JavaPackage(name);
+        for (String className : classNames) {
+            JavaClass javaClass = new JavaClass(className);
+            javaClass.setPackageName(name);
+            javaPackage.addClass(javaClass);
+        }
+        return javaPackage;
+    }
+}
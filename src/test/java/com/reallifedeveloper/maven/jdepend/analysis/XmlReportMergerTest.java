@@ -0,0 +1,82 @@
+package com.reallifedeveloper.maven.jdepend.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jdepend.framework.PackageFilter;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+
+public class XmlReportMergerTest {
+
+    @Test
+    public void mergeShouldFindCyclesSpanningModules() {
+        JavaPackageAssembler module1 = new JavaPackageAssembler(new PackageFilter(List.of()));
+        module1.add(new ClassFileInfo("foo.A", "foo", "A.java", false, List.of("bar")));
+        module1.add(new ClassFileInfo("foo.package-info", "foo", "package-info.java", true, List.of()));
+        JavaPackageAssembler module2 = new JavaPackageAssembler(new PackageFilter(List.of()));
+        module2.add(new ClassFileInfo("bar.B", "bar", "B.java", true, List.of("foo")));
+
+        XmlReport xmlReport = XmlReportMerger.merge(List.of(module1.toXmlReport(), module2.toXmlReport()));
+
+        assertEquals(List.of("bar", "foo"), xmlReport.packages().stream().map(XmlPackage::name).toList());
+        XmlPackage bar = xmlReport.findPackage("bar").orElseThrow();
+        XmlPackage foo = xmlReport.findPackage("foo").orElseThrow();
+        assertNull(bar.error());
+        assertNull(foo.error());
+        assertEquals(1, bar.abstractClasses().size());
+        assertEquals(List.of("foo"), bar.usedBy());
+        assertEquals(List.of("bar"), foo.usedBy());
+        assertTrue(foo.stats().hasPackageInfo());
+        assertFalse(bar.stats().hasPackageInfo());
+        assertEquals(2, xmlReport.cycles().size());
+    }
+
+    @Test
+    public void mergeShouldCountClassesPresentInSeveralModulesOnce() {
+        JavaPackageAssembler module = new JavaPackageAssembler(new PackageFilter(List.of()));
+        module.add(new ClassFileInfo("foo.A", "foo", "A.java", false, List.of("bar")));
+        XmlReport moduleReport = module.toXmlReport();
+
+        XmlReport xmlReport = XmlReportMerger.merge(List.of(moduleReport, moduleReport));
+
+        assertEquals(1, xmlReport.findPackage("foo").orElseThrow().stats().totalClasses());
+        assertEquals(List.of("bar"), xmlReport.findPackage("foo").orElseThrow().dependsUpon());
+        assertEquals(XmlReportBuilder.NOT_ANALYZED_ERROR, xmlReport.findPackage("bar").orElseThrow().error());
+    }
+
+    @Test
+    public void mergeOfOneReportShouldGiveSameResultAsAnalysis() throws Exception {
+        XmlReport moduleReport = new JDependAnalyzer().analyze(new File("target/classes"));
+
+        XmlReport xmlReport = XmlReportMerger.merge(List.of(moduleReport));
+
+        assertEquals(moduleReport, xmlReport);
+    }
+
+    @Test
+    public void mergeWithPackageFilterShouldGiveSameResultAsFilteredAnalysis() throws Exception {
+        PackagePatternFilter filter = PackagePatternFilter.of(List.of(), List.of("**.format"));
+        XmlReport moduleReport = new JDependAnalyzer().analyze(new File("target/classes"));
+
+        XmlReport xmlReport = XmlReportMerger.merge(List.of(moduleReport), filter);
+
+        assertEquals(new JDependAnalyzer().packageFilter(filter).analyze(new File("target/classes")), xmlReport);
+    }
+
+    @Test
+    public void mergeOfNoReportsShouldGiveEmptyReport() {
+        XmlReport xmlReport = XmlReportMerger.merge(List.of());
+
+        assertTrue(xmlReport.packages().isEmpty());
+        assertTrue(xmlReport.cycles().isEmpty());
+    }
+}
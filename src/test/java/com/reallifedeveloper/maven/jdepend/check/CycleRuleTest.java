@@ -0,0 +1,37 @@
+package com.reallifedeveloper.maven.jdepend.check;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jdepend.framework.PackageFilter;
+
+import com.reallifedeveloper.maven.jdepend.analysis.ClassFileInfo;
+import com.reallifedeveloper.maven.jdepend.analysis.JavaPackageAssembler;
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+
+public class CycleRuleTest {
+
+    @Test
+    public void violationsShouldIncludeAllPackagesReachingCycles() {
+        JavaPackageAssembler assembler = new JavaPackageAssembler(new PackageFilter(List.of()));
+        assembler.add(new ClassFileInfo("foo.A", "foo", "A.java", false, List.of("bar")));
+        assembler.add(new ClassFileInfo("bar.B", "bar", "B.java", false, List.of("foo")));
+        assembler.add(new ClassFileInfo("baz.C", "baz", "C.java", false, List.of("foo")));
+        assembler.add(new ClassFileInfo("qux.D", "qux", "D.java", false, List.of()));
+
+        List<Violation> violations = new CycleRule().violations(assembler.toPackageGraph()).toList();
+
+        assertEquals(List.of(new Violation("bar", "Cyclic dependency: bar -> foo -> bar"),
+                new Violation("baz", "Cyclic dependency: baz -> foo -> bar -> foo"),
+                new Violation("foo", "Cyclic dependency: foo -> bar -> foo")), violations);
+    }
+
+    @Test
+    public void violationsShouldBeEmptyWithoutCycles() {
+        assertTrue(new CycleRule().violations(new PackageGraph.Builder().build()).findAny().isEmpty());
+    }
+}
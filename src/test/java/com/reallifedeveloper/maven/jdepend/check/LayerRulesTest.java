@@ -0,0 +1,75 @@
+package com.reallifedeveloper.maven.jdepend.check;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+
+public class LayerRulesTest {
+
+    private final PackageGraph packageGraph = new PackageGraph.Builder()
+            .addDependency("com.example.application", "com.example.domain")
+            .addDependency("com.example.application", "com.example.infrastructure")
+            .addDependency("com.example.domain", "com.example.infrastructure.db")
+            .addDependency("com.example.domain", "java.util")
+            .addDependency("com.example.domain.model", "com.example.domain")
+            .addDependency("com.example.infrastructure", "com.example.domain")
+            .build();
+
+    @Test
+    public void violationsShouldIncludeForbiddenDependencies() {
+        LayerRules rules = LayerRules.of(List.of("..domain.. must not depend on ..infrastructure.."));
+
+        assertEquals(List.of(new Violation("com.example.domain", "Dependency on com.example.infrastructure.db violates layer rule: "
+                + "..domain.. must not depend on ..infrastructure..")), rules.violations(packageGraph).toList());
+    }
+
+    @Test
+    public void violationsShouldIncludeDependenciesNotInWhitelist() {
+        LayerRules rules = LayerRules.of(List.of("com.example.domain.** may only depend on com.example.domain.**, java.."));
+
+        assertEquals(List.of(new Violation("com.example.domain", "Dependency on com.example.infrastructure.db violates layer rule: "
+                + "com.example.domain.** may only depend on com.example.domain.**, java..")), rules.violations(packageGraph).toList());
+    }
+
+    @Test
+    public void violationsShouldIncludeOneViolationPerRuleInPackageOrder() {
+        LayerRules rules = LayerRules.of(List.of("com.example.* must not depend on ..infrastructure",
+                "..domain.. MUST NOT DEPEND ON com.*.infrastructure.*", "*.*.application may only depend on ..domain.."));
+
+        List<String> violations = rules.violations(packageGraph).map(Violation::toString).toList();
+
+        assertEquals(List.of(
+                "com.example.application: Dependency on com.example.infrastructure violates layer rule: "
+                        + "com.example.* must not depend on ..infrastructure",
+                "com.example.application: Dependency on com.example.infrastructure violates layer rule: "
+                        + "*.*.application may only depend on ..domain..",
+                "com.example.domain: Dependency on com.example.infrastructure.db violates layer rule: "
+                        + "..domain.. MUST NOT DEPEND ON com.*.infrastructure.*"),
+                violations);
+    }
+
+    @Test
+    public void violationsShouldBeEmptyWhenRulesAreFollowed() {
+        LayerRules rules = LayerRules.of(List.of("..infrastructure.. must not depend on ..application..",
+                "java.. may only depend on java.."));
+        assertTrue(rules.violations(packageGraph).findAny().isEmpty());
+    }
+
+    @Test
+    public void ofShouldRejectInvalidRules() {
+        assertThrows(IllegalArgumentException.class, () -> LayerRules.of(List.of("..domain.. depends on ..infrastructure..")));
+        assertThrows(IllegalArgumentException.class, () -> LayerRules.of(List.of("..domain.. must not depend on ...")));
+        assertThrows(IllegalArgumentException.class, () -> LayerRules.of(List.of("..domain.. must not depend on foo, ")));
+    }
+
+    @Test
+    public void sizeShouldBeNumberOfRules() {
+        assertEquals(2, LayerRules.of(List.of("a must not depend on b", "b may only depend on c, d")).size());
+    }
+}
@@ -0,0 +1,52 @@
+package com.reallifedeveloper.maven.jdepend.check;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jdepend.framework.PackageFilter;
+
+import com.reallifedeveloper.maven.jdepend.analysis.ClassFileInfo;
+import com.reallifedeveloper.maven.jdepend.analysis.JavaPackageAssembler;
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+
+public class ThresholdRuleTest {
+
+    private final PackageGraph packageGraph = createGraph();
+
+    @Test
+    public void maxDistanceShouldFindPackagesFarFromMainSequence() {
+        List<Violation> violations = ThresholdRule.maxDistance(0.5).violations(packageGraph).toList();
+        assertEquals(List.of(new Violation("bar", "Distance (D) is 1, but must be at most 0.5")), violations);
+    }
+
+    @Test
+    public void maxEfferentCouplingsShouldFindPackagesWithTooManyDependencies() {
+        List<Violation> violations = ThresholdRule.maxEfferentCouplings(1).violations(packageGraph).toList();
+        assertEquals(List.of(new Violation("foo", "Efferent couplings (Ce) is 2, but must be at most 1")), violations);
+        assertTrue(ThresholdRule.maxEfferentCouplings(2).violations(packageGraph).findAny().isEmpty());
+    }
+
+    @Test
+    public void maxInstabilityAndAfferentCouplingsShouldBeChecked() {
+        assertEquals(1, ThresholdRule.maxInstability(0.5).violations(packageGraph).count());
+        assertEquals(List.of("bar"), ThresholdRule.maxAfferentCouplings(0).violations(packageGraph).map(Violation::packageName).toList());
+    }
+
+    @Test
+    public void toStringShouldDescribeRule() {
+        assertEquals("Distance (D) <= 0.5", ThresholdRule.maxDistance(0.5).toString());
+        assertEquals("Efferent couplings (Ce) <= 3", ThresholdRule.maxEfferentCouplings(3).toString());
+    }
+
+    private static PackageGraph createGraph() {
+        JavaPackageAssembler assembler = new JavaPackageAssembler(new PackageFilter(List.of()));
+        assembler.add(new ClassFileInfo("foo.A", "foo", "A.java", false, List.of("bar", "external")));
+        assembler.add(new ClassFileInfo("bar.B", "bar", "B.java", false, List.of()));
+        assembler.add(new ClassFileInfo("baz.C", "baz", "C.java", true, List.of()));
+        return assembler.toPackageGraph();
+    }
+}
@@ -0,0 +1,98 @@
+package com.reallifedeveloper.maven.jdepend.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.ResourceUtils;
+
+import com.reallifedeveloper.maven.jdepend.analysis.JDependAnalyzer;
+import com.reallifedeveloper.maven.jdepend.xml.StaxXmlReportParser;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlClass;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+
+public class BinaryReportParserTest {
+
+    private final BinaryReportParser parser = new BinaryReportParser();
+
+    @Test
+    public void parseShouldHandleReportWrittenByBinaryReportWriter(@TempDir Path tempDir) throws Exception {
+        File xmlFile = ResourceUtils.getFile("classpath:jdepend-report.xml");
+        XmlReport original = new StaxXmlReportParser().parse(xmlFile);
+        File file = tempDir.resolve("binary/jdepend-report.bin").toFile();
+        new BinaryReportWriter().write(original, file);
+        XmlReport report = parser.parse(file);
+        assertEquals(50, report.packages().size());
+        assertEquals(8, report.cycles().size());
+        assertEquals(original, report);
+        assertTrue(file.length() < xmlFile.length() / 2, "Binary report should be much smaller than the XML report: " + file.length());
+    }
+
+    @Test
+    public void parseShouldHandleAnalysisResult(@TempDir Path tempDir) throws Exception {
+        XmlReport original = new JDependAnalyzer().analyze(new File("target/classes"));
+        File file = tempDir.resolve("jdepend-report.bin").toFile();
+        new BinaryReportWriter().write(original, file);
+        assertEquals(original, parser.parse(file));
+    }
+
+    @Test
+    public void parseShouldShareEqualStrings() throws Exception {
+        XmlReport report = roundTrip(new StaxXmlReportParser().parse(ResourceUtils.getFile("classpath:jdepend-report.xml")));
+        XmlPackage xmlPackage = report.packages().stream().filter(p -> !p.dependsUpon().isEmpty()).findFirst().orElseThrow();
+        String dependency = xmlPackage.dependsUpon().get(0);
+        assertSame(report.findPackage(dependency).orElseThrow().name(), dependency);
+    }
+
+    @Test
+    public void parseShouldHandleNullsAndLargeNumbers() throws Exception {
+        XmlClass xmlClass = new XmlClass();
+        xmlClass.name("p.Foo");
+        XmlPackage xmlPackage = new XmlPackage();
+        xmlPackage.name("p");
+        xmlPackage.concreteClasses().add(xmlClass);
+        xmlPackage.dependsUpon().add("q".repeat(300));
+        XmlReport original = new XmlReport().packages(List.of(xmlPackage));
+        XmlReport report = roundTrip(original);
+        assertEquals(original, report);
+        assertNull(report.packages().get(0).stats());
+        assertNull(report.packages().get(0).concreteClasses().get(0).sourceFile());
+    }
+
+    @Test
+    public void parseShouldThrowIOExceptionForInvalidFile(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("jdepend-report.bin");
+        Files.writeString(file, "<JDepend/>");
+        assertThrows(IOException.class, () -> parser.parse(file.toFile()));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(BinaryReportWriter.MAGIC);
+        out.writeInt(BinaryReportWriter.VERSION + 1);
+        assertThrows(IOException.class, () -> parser.parse(new ByteArrayInputStream(bytes.toByteArray())));
+        bytes.reset();
+        new BinaryReportWriter().write(new StaxXmlReportParser().parse(ResourceUtils.getFile("classpath:jdepend-report.xml")), bytes);
+        byte[] truncated = Arrays.copyOf(bytes.toByteArray(), bytes.size() / 2);
+        assertThrows(IOException.class, () -> parser.parse(new ByteArrayInputStream(truncated)));
+    }
+
+    private XmlReport roundTrip(XmlReport xmlReport) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new BinaryReportWriter().write(xmlReport, out);
+        return parser.parse(new ByteArrayInputStream(out.toByteArray()));
+    }
+}
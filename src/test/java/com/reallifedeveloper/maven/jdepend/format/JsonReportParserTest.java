@@ -0,0 +1,67 @@
+package com.reallifedeveloper.maven.jdepend.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.ResourceUtils;
+
+import com.reallifedeveloper.maven.jdepend.analysis.JDependAnalyzer;
+import com.reallifedeveloper.maven.jdepend.xml.StaxXmlReportParser;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+
+public class JsonReportParserTest {
+
+    private final JsonReportParser parser = new JsonReportParser();
+
+    @Test
+    public void parseShouldHandleReportWrittenByJsonReportWriter(@TempDir Path tempDir) throws Exception {
+        XmlReport original = new StaxXmlReportParser().parse(ResourceUtils.getFile("classpath:jdepend-report.xml"));
+        File file = tempDir.resolve("json/jdepend-report.json").toFile();
+        new JsonReportWriter().write(original, file);
+        XmlReport report = parser.parse(file);
+        assertEquals(50, report.packages().size());
+        assertEquals(8, report.cycles().size());
+        assertEquals(original, report);
+    }
+
+    @Test
+    public void parseShouldHandleAnalysisResult(@TempDir Path tempDir) throws Exception {
+        XmlReport original = new JDependAnalyzer().analyze(new File("target/classes"));
+        File file = tempDir.resolve("jdepend-report.json").toFile();
+        new JsonReportWriter().write(original, file);
+        assertEquals(original, parser.parse(file));
+    }
+
+    @Test
+    public void parseShouldIgnoreUnknownFieldsAndWhitespace() throws Exception {
+        XmlReport report = parser.parse(new StringReader(" { \"version\" : [1, {\"a\": null}, true, -1.5e3],\n \"packages\" : [ {\"name\": "
+                + "\"p\", \"extra\": {\"x\": \"y\"}, \"error\": \"Not \\u0061nalyzed\"} ], \"cycles\": [] } "));
+        XmlPackage xmlPackage = report.packages().get(0);
+        assertEquals("p", xmlPackage.name());
+        assertEquals("Not analyzed", xmlPackage.error());
+        assertNull(xmlPackage.stats());
+    }
+
+    @Test
+    public void parseShouldThrowIOExceptionForInvalidJson(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("jdepend-report.json");
+        Files.writeString(file, "{\"packages\":[{\"name\":\"p\",\"stats\":{\"afferentCouplings\":\"foo\"}}]}");
+        assertThrows(IOException.class, () -> parser.parse(file.toFile()));
+        Files.writeString(file, "{\"packages\":[{\"name\":\"p\"}");
+        assertThrows(IOException.class, () -> parser.parse(file.toFile()));
+        Files.writeString(file, "{\"packages\":[{\"error\":\"no name\"}]}");
+        assertThrows(IOException.class, () -> parser.parse(file.toFile()));
+        Files.writeString(file, "{} {}");
+        assertThrows(IOException.class, () -> parser.parse(file.toFile()));
+    }
+}
@@ -0,0 +1,35 @@
+package com.reallifedeveloper.maven.jdepend.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackageWithCycle;
+
+public class JsonReportWriterTest {
+
+    @Test
+    public void writeShouldOnlyIncludeNameAndErrorForPackagesWithError() throws Exception {
+        XmlPackage xmlPackage = new XmlPackage();
+        xmlPackage.name("java.lang");
+        xmlPackage.error("Package referenced, but not analyzed.");
+        StringWriter out = new StringWriter();
+        new JsonReportWriter().write(new XmlReport().packages(List.of(xmlPackage)), out);
+        assertEquals("{\"packages\":[{\"name\":\"java.lang\",\"error\":\"Package referenced, but not analyzed.\"}],\"cycles\":[]}",
+                out.toString());
+    }
+
+    @Test
+    public void writeShouldEscapeSpecialCharacters() throws Exception {
+        XmlPackageWithCycle cycle = new XmlPackageWithCycle();
+        cycle.name("a\"b\\c\n\u0001");
+        StringWriter out = new StringWriter();
+        new JsonReportWriter().write(new XmlReport().cycles(List.of(cycle)), out);
+        assertEquals("{\"packages\":[],\"cycles\":[{\"name\":\"a\\\"b\\\\c\\n\\u0001\",\"packagesInCycle\":[]}]}", out.toString());
+    }
+}
@@ -0,0 +1,103 @@
+package com.reallifedeveloper.maven.jdepend.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import com.reallifedeveloper.maven.jdepend.analysis.PackageGraph;
+
+public class PackageGraphWriterTest {
+
+    private final PackageGraph packageGraph = new PackageGraph.Builder().addAnalyzedPackage("com.example.a", 1, 1, 1, false)
+            .addAnalyzedPackage("com.example.b", 0, 2, 1, true).addAnalyzedPackage("com.other", 0, 3, 1, false)
+            .addDependency("com.example.a", "com.example.b").addDependency("com.example.b", "com.example.a")
+            .addDependency("com.example.b", "com.other").addDependency("com.other", "java.util").build();
+
+    @Test
+    public void writeDotShouldClusterCyclesAndColorByDistance() throws Exception {
+        StringWriter out = new StringWriter();
+        new PackageGraphWriter().write(packageGraph, PackageGraphWriter.Format.DOT, out);
+        assertEquals("""
+                digraph "jdepend" {
+                    node [shape=box, style=filled];
+                    subgraph "cluster_2" {
+                        label="Cycle with 2 packages";
+                        style=dashed;
+                        color=red;
+                        "com.example.a" [fillcolor="#80ff80", tooltip="TC=2, Ca=1, Ce=1, D=0.00"];
+                        "com.example.b" [fillcolor="#d5ff80", tooltip="TC=2, Ca=1, Ce=2, D=0.33"];
+                    }
+                    "com.other" [fillcolor="#ffff80", tooltip="TC=3, Ca=1, Ce=1, D=0.50"];
+                    "java.util" [fillcolor="#d3d3d3"];
+                    "com.example.a" -> "com.example.b" [color=red];
+                    "com.example.b" -> "com.example.a" [color=red];
+                    "com.example.b" -> "com.other";
+                    "com.other" -> "java.util";
+                }
+                """, out.toString());
+    }
+
+    @Test
+    public void writeDotShouldEscapeQuotes() throws Exception {
+        PackageGraph graph = new PackageGraph.Builder().addPackage("a\"b\\c").build();
+        StringWriter out = new StringWriter();
+        new PackageGraphWriter().write(graph, PackageGraphWriter.Format.DOT, out);
+        assertTrue(out.toString().contains("\"a\\\"b\\\\c\" [fillcolor="), out.toString());
+    }
+
+    @Test
+    public void writeDotWithPrefixDepthShouldCollapsePackages() throws Exception {
+        StringWriter out = new StringWriter();
+        new PackageGraphWriter().prefixDepth(1).write(packageGraph, PackageGraphWriter.Format.DOT, out);
+        String dot = out.toString();
+        assertTrue(dot.contains("\"com\" [fillcolor="), dot);
+        assertTrue(dot.contains("\"com\" -> \"java\";"), dot);
+        assertFalse(dot.contains("cluster"), dot);
+    }
+
+    @Test
+    public void writeGraphmlShouldWriteNestedGraphForCycles(@TempDir Path tempDir) throws Exception {
+        File file = tempDir.resolve("graph/jdepend-graph.graphml").toFile();
+        new PackageGraphWriter().write(packageGraph, PackageGraphWriter.Format.GRAPHML, file);
+
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Document document = factory.newDocumentBuilder().parse(new InputSource(new StringReader(Files.readString(file.toPath()))));
+        Element root = document.getDocumentElement();
+        assertEquals("graphml", root.getLocalName());
+        assertEquals("http://graphml.graphdrawing.org/xmlns", root.getNamespaceURI());
+        NodeList nodes = document.getElementsByTagName("node");
+        assertEquals(5, nodes.getLength());
+        Element cluster = (Element) nodes.item(0);
+        assertEquals("cluster_2", cluster.getAttribute("id"));
+        assertEquals(2, cluster.getElementsByTagName("node").getLength());
+        assertEquals(4, document.getElementsByTagName("edge").getLength());
+        assertEquals(2, countData(document, "cycle"));
+    }
+
+    private static int countData(Document document, String key) {
+        int count = 0;
+        NodeList data = document.getElementsByTagName("data");
+        for (int i = 0; i < data.getLength(); i++) {
+            if (key.equals(((Element) data.item(i)).getAttribute("key"))) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,138 @@
+package com.reallifedeveloper.maven.jdepend.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.ResourceUtils;
+
+import com.reallifedeveloper.maven.jdepend.history.HistoryDelta.PackageChange;
+import com.reallifedeveloper.maven.jdepend.xml.StaxXmlReportParser;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlStats;
+
+public class HistoryFileTest {
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    public void changesSinceShouldBeNullForEmptyHistory() throws Exception {
+        try (HistoryFile history = HistoryFile.open(tempDir.resolve("history/history.bin").toFile())) {
+            assertEquals(0, history.runCount());
+            assertNull(history.changesSince(readReport(), 1));
+        }
+    }
+
+    @Test
+    public void changesSinceShouldBeEmptyIfNothingHasChanged() throws Exception {
+        File file = tempDir.resolve("history.bin").toFile();
+        try (HistoryFile history = HistoryFile.open(file)) {
+            history.append(readReport(), 42);
+        }
+        try (HistoryFile history = HistoryFile.open(file)) {
+            assertEquals(1, history.runCount());
+            HistoryDelta historyDelta = history.changesSince(readReport(), 1);
+            assertNotNull(historyDelta);
+            assertEquals(42, historyDelta.baselineTimestamp());
+            assertTrue(historyDelta.changes().isEmpty());
+        }
+    }
+
+    @Test
+    public void changesSinceShouldFindAddedRemovedAndChangedPackages() throws Exception {
+        File file = tempDir.resolve("history.bin").toFile();
+        XmlReport baseline = readReport();
+        try (HistoryFile history = HistoryFile.open(file)) {
+            history.append(baseline, 1);
+        }
+        XmlReport current = readReport();
+        XmlPackage changed = current.packagesWithoutError().get(0);
+        changed.stats().afferentCouplings(changed.stats().afferentCouplings() + 1);
+        XmlPackage removed = current.packagesWithoutError().get(1);
+        current.packages().remove(removed);
+        XmlPackage added = new XmlPackage();
+        added.name("a.new.pkg");
+        added.stats(new XmlStats());
+        current.packages().add(added);
+        try (HistoryFile history = HistoryFile.open(file)) {
+            HistoryDelta historyDelta = history.changesSince(current, 1);
+            assertNotNull(historyDelta);
+            List<PackageChange> changes = historyDelta.changes();
+            assertEquals(3, changes.size());
+            assertEquals("a.new.pkg", changes.get(0).packageName());
+            assertTrue(changes.get(0).isAdded());
+            PackageChange changedPackage = changes.stream().filter(c -> c.packageName().equals(changed.name())).findAny().orElseThrow();
+            assertEquals(baseline.findPackage(changed.name()).orElseThrow().stats(), changedPackage.before());
+            assertEquals(changed.stats(), changedPackage.after());
+            PackageChange removedPackage = changes.stream().filter(c -> c.packageName().equals(removed.name())).findAny().orElseThrow();
+            assertTrue(removedPackage.isRemoved());
+            assertFalse(removedPackage.isAdded());
+            assertEquals(removed.stats(), removedPackage.before());
+        }
+    }
+
+    @Test
+    public void changesSinceShouldUseRunsBackToFindBaseline() throws Exception {
+        File file = tempDir.resolve("history.bin").toFile();
+        XmlReport modified = readReport();
+        modified.packages().remove(modified.packagesWithoutError().get(0));
+        try (HistoryFile history = HistoryFile.open(file)) {
+            history.append(readReport(), 1);
+            history.append(modified, 2);
+            history.append(modified, 3);
+            assertEquals(3, history.runCount());
+            assertEquals(0, history.changesSince(modified, 1).changes().size());
+            assertEquals(0, history.changesSince(modified, 2).changes().size());
+            assertEquals(1, history.changesSince(modified, 3).changes().size());
+            assertEquals(1, history.changesSince(modified, 3).baselineTimestamp());
+            assertNull(history.changesSince(modified, 4));
+            assertNull(history.changesSince(modified, 0));
+        }
+    }
+
+    @Test
+    public void openShouldIgnoreIncompleteRecord() throws Exception {
+        File file = tempDir.resolve("history.bin").toFile();
+        try (HistoryFile history = HistoryFile.open(file)) {
+            history.append(readReport(), 1);
+        }
+        long size = file.length();
+        Files.write(file.toPath(), new byte[] { 2, 0, 0, 1, 0, 7 }, StandardOpenOption.APPEND);
+        try (HistoryFile history = HistoryFile.open(file)) {
+            assertEquals(1, history.runCount());
+            history.append(readReport(), 2);
+        }
+        try (HistoryFile history = HistoryFile.open(file)) {
+            assertEquals(2, history.runCount());
+            assertTrue(history.changesSince(readReport(), 1).changes().isEmpty());
+        }
+        assertTrue(file.length() < 2 * size, "Package names should only be stored once");
+    }
+
+    @Test
+    public void openShouldThrowIOExceptionForInvalidFile() throws Exception {
+        Path file = tempDir.resolve("history.bin");
+        Files.writeString(file, "<JDepend/>");
+        assertThrows(IOException.class, () -> HistoryFile.open(file.toFile()));
+        Files.write(file, new byte[] { 0x4A, 0x44, 0x48, 0x53, 0, 0, 0, 99 });
+        assertThrows(IOException.class, () -> HistoryFile.open(file.toFile()));
+    }
+
+    private static XmlReport readReport() throws IOException {
+        return new StaxXmlReportParser().parse(ResourceUtils.getFile("classpath:jdepend-report.xml"));
+    }
+}
@@ -0,0 +1,56 @@
+package com.reallifedeveloper.maven.jdepend.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.ResourceUtils;
+
+public class StaxXmlReportParserTest {
+
+    private final StaxXmlReportParser parser = new StaxXmlReportParser();
+
+    @Test
+    public void parseShouldGiveSameResultAsJaxbParser() throws Exception {
+        File file = ResourceUtils.getFile("classpath:jdepend-report.xml");
+        XmlReport report = parser.parse(file);
+        assertEquals(50, report.packages().size());
+        assertEquals(8, report.cycles().size());
+        assertEquals(new XmlReportParser().parse(file), report);
+    }
+
+    @Test
+    public void parseShouldHandleReportWrittenByXmlReportWriter(@TempDir Path tempDir) throws Exception {
+        XmlReport original = parser.parse(ResourceUtils.getFile("classpath:jdepend-report.xml"));
+        File file = tempDir.resolve("jdepend-report.xml").toFile();
+        new XmlReportWriter().write(original, file);
+        assertEquals(original, parser.parse(file));
+    }
+
+    @Test
+    public void parseShouldIgnoreUnknownElements(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("jdepend-report.xml");
+        Files.writeString(file, "<JDepend><Foo><Bar/></Foo><Packages><Package name=' p '><Unknown>x</Unknown>"
+                + "<error> Not analyzed </error></Package></Packages><Cycles/></JDepend>");
+        XmlReport report = parser.parse(file.toFile());
+        assertEquals("p", report.packages().get(0).name());
+        assertEquals("Not analyzed", report.packages().get(0).error());
+        assertTrue(report.cycles().isEmpty());
+    }
+
+    @Test
+    public void parseShouldThrowIOExceptionForInvalidReport(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("jdepend-report.xml");
+        Files.writeString(file, "<NotJDepend/>");
+        assertThrows(IOException.class, () -> parser.parse(file.toFile()));
+        Files.writeString(file, "<JDepend><Packages><Package name='p'><Stats><Ca>foo</Ca></Stats></Package></Packages></JDepend>");
+        assertThrows(IOException.class, () -> parser.parse(file.toFile()));
+    }
+}
@@ -2,8 +2,24 @@ package com.reallifedeveloper.maven.jdepend.xml;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.util.ResourceUtils;
 
 import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlClass;
@@ -59,6 +75,49 @@ public class XmlReportParserTest {
         assertEquals("No stats available: package referenced, but not analyzed.", xmlPackageToTest.error());
     }
 
+    @Test
+    public void parseOverloadsShouldGiveSameResult() throws Exception {
+        XmlReportParser parser = new XmlReportParser();
+        File file = ResourceUtils.getFile("classpath:jdepend-report.xml");
+        XmlReport expected = parser.parse(file);
+
+        assertEquals(expected, parser.parse(file.toPath()));
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            assertEquals(expected, parser.parse(in));
+            assertEquals(-1, in.read());
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath())) {
+            assertEquals(expected, parser.parse(channel));
+            assertTrue(channel.isOpen());
+        }
+    }
+
+    @Test
+    public void parseShouldBeThreadSafe() throws Exception {
+        XmlReportParser parser = new XmlReportParser();
+        File file = ResourceUtils.getFile("classpath:jdepend-report.xml");
+        XmlReport expected = parser.parse(file);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Callable<XmlReport>> tasks = IntStream.range(0, 32).<Callable<XmlReport>>mapToObj(i -> () -> parser.parse(file)).toList();
+            for (Future<XmlReport> result : executor.invokeAll(tasks)) {
+                assertEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void parseShouldThrowIOExceptionForInvalidReportAndRecover(@TempDir Path tempDir) throws Exception {
+        XmlReportParser parser = new XmlReportParser();
+        Path file = tempDir.resolve("jdepend-report.xml");
+        Files.writeString(file, "<JDepend><Packages>");
+
+        assertThrows(IOException.class, () -> parser.parse(file));
+        assertEquals(50, parser.parse(ResourceUtils.getFile("classpath:jdepend-report.xml")).packages().size());
+    }
+
     private static void assertStats(XmlStats stats, int tc, int cc, int ac, boolean pi, int ca, int ce, double a, double i, double d,
             int v) {
         assertEquals(tc, stats.totalClasses());
@@ -0,0 +1,101 @@
+package com.reallifedeveloper.maven.jdepend.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.ResourceUtils;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import com.reallifedeveloper.maven.jdepend.xml.XmlReport.XmlPackage;
+
+public class XmlReportStreamWriterTest {
+
+    private final StaxXmlReportParser parser = new StaxXmlReportParser();
+
+    @Test
+    public void reportWrittenOnePackageAtATimeShouldBeParsedToOriginalReport(@TempDir Path tempDir) throws Exception {
+        XmlReport original = parser.parse(ResourceUtils.getFile("classpath:jdepend-report.xml"));
+        File file = tempDir.resolve("reports/jdepend-report.xml").toFile();
+
+        try (XmlReportStreamWriter writer = new XmlReportStreamWriter(file)) {
+            for (XmlPackage xmlPackage : original.packages()) {
+                writer.writePackage(xmlPackage);
+            }
+            writer.writeCycles(original.cycles());
+        }
+
+        assertEquals(original, parser.parse(file));
+        assertEquals(original, new XmlReportParser().parse(file));
+    }
+
+    @Test
+    public void packageWithEmptyListsShouldBeWrittenAsByXmlReportWriter(@TempDir Path tempDir) throws Exception {
+        XmlPackage emptyPackage = new XmlPackage();
+        emptyPackage.name("com.example.empty");
+        XmlReport xmlReport = new XmlReport().packages(List.of(emptyPackage));
+        File jaxbFile = tempDir.resolve("jaxb.xml").toFile();
+        File streamFile = tempDir.resolve("stream.xml").toFile();
+
+        new XmlReportWriter().write(xmlReport, jaxbFile);
+        try (XmlReportStreamWriter writer = new XmlReportStreamWriter(streamFile)) {
+            writer.writePackage(emptyPackage);
+        }
+
+        Element jaxbRoot = parseWithoutWhitespace(jaxbFile);
+        Element streamRoot = parseWithoutWhitespace(streamFile);
+        assertNotNull(jaxbRoot.getElementsByTagName("UsedBy").item(0));
+        assertTrue(jaxbRoot.isEqualNode(streamRoot), "Stream writer output differs from XmlReportWriter output");
+    }
+
+    @Test
+    public void closeWithoutPackagesShouldWriteEmptyReport(@TempDir Path tempDir) throws Exception {
+        File file = tempDir.resolve("jdepend-report.xml").toFile();
+
+        new XmlReportStreamWriter(file).close();
+
+        XmlReport xmlReport = parser.parse(file);
+        assertTrue(xmlReport.packages().isEmpty());
+        assertTrue(xmlReport.cycles().isEmpty());
+    }
+
+    @Test
+    public void writePackageAfterCyclesShouldThrowIllegalStateException(@TempDir Path tempDir) throws Exception {
+        try (XmlReportStreamWriter writer = new XmlReportStreamWriter(tempDir.resolve("jdepend-report.xml").toFile())) {
+            writer.writeCycles(List.of());
+            XmlPackage xmlPackage = new XmlPackage();
+            xmlPackage.name("p");
+            assertThrows(IllegalStateException.class, () -> writer.writePackage(xmlPackage));
+            assertThrows(IllegalStateException.class, () -> writer.writeCycles(List.of()));
+        }
+    }
+
+    private static Element parseWithoutWhitespace(File file) throws Exception {
+        Element root = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(file).getDocumentElement();
+        removeWhitespace(root);
+        return root;
+    }
+
+    private static void removeWhitespace(Node node) {
+        Node child = node.getFirstChild();
+        while (child != null) {
+            Node next = child.getNextSibling();
+            if (child.getNodeType() == Node.TEXT_NODE && child.getNodeValue().isBlank()) {
+                node.removeChild(child);
+            } else {
+                removeWhitespace(child);
+            }
+            child = next;
+        }
+    }
+}
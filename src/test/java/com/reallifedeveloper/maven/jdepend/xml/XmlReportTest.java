@@ -1,9 +1,12 @@
 package com.reallifedeveloper.maven.jdepend.xml;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -47,6 +50,43 @@ public class XmlReportTest {
         assertTrue(testReport.findPackageWithCycle("foo.bar.p2").isEmpty());
     }
 
+    @Test
+    public void findPackageShouldFindPackageByName() {
+        assertEquals("com.error", testReport.findPackage("com.error").get().name());
+        assertTrue(testReport.findPackage("no.such.package").isEmpty());
+    }
+
+    @Test
+    public void packagesWithoutErrorShouldBeCachedUntilPackagesAreModified() {
+        List<XmlPackage> packagesWithoutError = testReport.packagesWithoutError();
+        assertSame(packagesWithoutError, testReport.packagesWithoutError());
+        testReport.packages().add(createPackage("foo.bar.p3"));
+        assertEquals(3, testReport.packagesWithoutError().size());
+        assertEquals("foo.bar.p3", testReport.findPackage("foo.bar.p3").get().name());
+        testReport.packages().remove(0);
+        assertTrue(testReport.findPackage("foo.bar.p1").isEmpty());
+        testReport.packages().set(0, createPackage("foo.bar.p4"));
+        assertTrue(testReport.findPackage("foo.bar.p2").isEmpty());
+        assertEquals("foo.bar.p4", testReport.packagesWithoutError().get(0).name());
+    }
+
+    @Test
+    public void indexesShouldBeRebuiltWhenListsAreReplaced() {
+        assertTrue(testReport.findPackageWithCycle("foo.bar.p1").isPresent());
+        testReport.cycles(List.of(createCycle("foo.bar.p2", "foo.bar.p2", "foo.bar.p1", "foo.bar.p2")));
+        assertTrue(testReport.findPackageWithCycle("foo.bar.p1").isEmpty());
+        assertTrue(testReport.findPackageWithCycle("foo.bar.p2").isPresent());
+        testReport.packages(List.of(createPackage("foo.bar.p5")));
+        assertEquals(1, testReport.packagesWithoutError().size());
+        testReport.cycles().clear();
+        assertTrue(testReport.findPackageWithCycle("foo.bar.p2").isEmpty());
+    }
+
+    @Test
+    public void packagesWithoutErrorShouldNotBeModifiable() {
+        assertThrows(UnsupportedOperationException.class, () -> testReport.packagesWithoutError().clear());
+    }
+
     private static XmlPackage createPackage(String name) {
         XmlPackage xmlPackage = new XmlPackage();
         xmlPackage.name(name);
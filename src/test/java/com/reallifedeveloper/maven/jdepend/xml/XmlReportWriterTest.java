@@ -0,0 +1,24 @@
+package com.reallifedeveloper.maven.jdepend.xml;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.ResourceUtils;
+
+public class XmlReportWriterTest {
+
+    @Test
+    public void writtenReportShouldBeParsedIntoEqualReport(@TempDir Path tempDir) throws Exception {
+        XmlReportParser parser = new XmlReportParser();
+        XmlReport original = parser.parse(ResourceUtils.getFile("classpath:jdepend-report.xml"));
+        File file = tempDir.resolve("subdir/jdepend-report.xml").toFile();
+
+        new XmlReportWriter().write(original, file);
+
+        assertEquals(original, parser.parse(file));
+    }
+}